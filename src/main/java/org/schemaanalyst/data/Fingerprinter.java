@@ -0,0 +1,254 @@
+package org.schemaanalyst.data;
+
+import java.math.BigDecimal;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Works out 64-bit fingerprints of {@link Data}, {@link Row}s, {@link Cell}s
+ * and {@link Value}s from their contents, without writing them out as strings.
+ * Fingerprints are stable, i.e., they do not depend on the identities of
+ * objects, and two objects that would be written out as the same string by
+ * <code>toString()</code> have the same fingerprint, so objects with
+ * different fingerprints are certainly different. Objects with the same
+ * fingerprint are almost always the same, but this should be confirmed, for
+ * example with {@link #sameValues(Row, Row)}.
+ * </p>
+ *
+ * <p>
+ * An instance of the class caches the fingerprints of the data and rows it is
+ * asked about, by their identity. Values can be changed in place, so the
+ * data and rows must not be changed while the instance is in use, or must be
+ * {@link #forget(Object) forgotten} when they are.
+ * </p>
+ */
+public class Fingerprinter {
+
+    private static final long PRIME = 0x100000001b3L;
+    private static final long BOOLEAN = 1, NUMERIC = 2, STRING = 3, DATE = 4, TIME = 5, DATE_TIME = 6,
+            TIMESTAMP = 7, NULL = 8, ROW = 9, DATA = 10;
+
+    private final Map<Object, Long> fingerprints = new IdentityHashMap<>();
+
+    /**
+     * Returns the fingerprint of a data object, working it out the first time
+     * it is asked for.
+     *
+     * @param data The data
+     * @return The fingerprint of the data
+     */
+    public long get(Data data) {
+        Long fingerprint = fingerprints.get(data);
+        if (fingerprint == null) {
+            fingerprint = fingerprint(data);
+            fingerprints.put(data, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Returns the fingerprint of a row, working it out the first time it is
+     * asked for.
+     *
+     * @param row The row
+     * @return The fingerprint of the row
+     */
+    public long get(Row row) {
+        Long fingerprint = fingerprints.get(row);
+        if (fingerprint == null) {
+            fingerprint = fingerprint(row);
+            fingerprints.put(row, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Discards the cached fingerprint of a data object or row that has
+     * changed.
+     *
+     * @param dataOrRow The data or row
+     */
+    public void forget(Object dataOrRow) {
+        fingerprints.remove(dataOrRow);
+    }
+
+    /**
+     * Works out the fingerprint of a data object, from its rows in order. As
+     * with <code>toString()</code>, tables without rows make no difference.
+     *
+     * @param data The data
+     * @return The fingerprint of the data
+     */
+    public static long fingerprint(Data data) {
+        long hash = DATA;
+        for (List<Row> rows : data.data.values()) {
+            for (Row row : rows) {
+                hash = combine(hash, fingerprint(row));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Works out the fingerprint of a row, from the name of its table and its
+     * cells.
+     *
+     * @param row The row
+     * @return The fingerprint of the row
+     */
+    public static long fingerprint(Row row) {
+        long hash = combine(ROW, (row.table == null) ? NULL : fingerprint(row.table.getName()));
+        for (Cell cell : row.cells) {
+            hash = combine(hash, fingerprint(cell));
+        }
+        return hash;
+    }
+
+    /**
+     * Works out the fingerprint of a cell, from the name of its column and its
+     * value.
+     *
+     * @param cell The cell
+     * @return The fingerprint of the cell
+     */
+    public static long fingerprint(Cell cell) {
+        return combine(fingerprint(cell.getColumn().getName()), fingerprint(cell.getValue()));
+    }
+
+    /**
+     * Works out the fingerprint of a value, which may be null.
+     *
+     * @param value The value
+     * @return The fingerprint of the value
+     */
+    public static long fingerprint(Value value) {
+        if (value == null) {
+            return NULL;
+        }
+        return new ValueVisitor() {
+            long hash;
+
+            @Override
+            public void visit(BooleanValue value) {
+                hash = combine(BOOLEAN, value.get() ? 1 : 0);
+            }
+
+            @Override
+            public void visit(DateValue value) {
+                hash = combine(combine(combine(DATE,
+                        intValue(value.getYear())), intValue(value.getMonth())), intValue(value.getDay()));
+            }
+
+            @Override
+            public void visit(DateTimeValue value) {
+                hash = combine(combine(combine(combine(combine(combine(DATE_TIME,
+                        intValue(value.getYear())), intValue(value.getMonth())), intValue(value.getDay())),
+                        intValue(value.getHour())), intValue(value.getMinute())), intValue(value.getSecond()));
+            }
+
+            @Override
+            public void visit(NumericValue value) {
+                hash = combine(NUMERIC, numericFingerprint(value));
+            }
+
+            @Override
+            public void visit(StringValue value) {
+                // quotes are left out when strings are written, so they are here
+                hash = STRING;
+                for (int i = 0; i < value.getLength(); i++) {
+                    int character = intValue(value.getCharacter(i));
+                    if (character != '"' && character != '\'') {
+                        hash = combine(hash, character);
+                    }
+                }
+            }
+
+            @Override
+            public void visit(TimeValue value) {
+                hash = combine(combine(combine(TIME,
+                        intValue(value.getHour())), intValue(value.getMinute())), intValue(value.getSecond()));
+            }
+
+            @Override
+            public void visit(TimestampValue value) {
+                // timestamps are written to the second
+                hash = combine(TIMESTAMP,
+                        value.isLongValued() ? value.getLong() : value.get().longValue());
+            }
+
+            long fingerprint(Value value) {
+                value.accept(this);
+                return hash;
+            }
+        }.fingerprint(value);
+    }
+
+    /**
+     * Returns whether two rows are for the same table and have cells for the
+     * same columns with equal values, so that the rows behave the same way
+     * wherever they are used.
+     *
+     * @param row1 The first row
+     * @param row2 The second row
+     * @return Whether the rows have the same values
+     */
+    public static boolean sameValues(Row row1, Row row2) {
+        if (row1.table != row2.table || row1.cells.size() != row2.cells.size()) {
+            return false;
+        }
+        for (int i = 0; i < row1.cells.size(); i++) {
+            Cell cell1 = row1.cells.get(i);
+            Cell cell2 = row2.cells.get(i);
+            if (cell1.getColumn() != cell2.getColumn()) {
+                return false;
+            }
+            Value value1 = cell1.getValue();
+            Value value2 = cell2.getValue();
+            if (value1 == null ? value2 != null : !value1.equals(value2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // numbers are written out in full, so 1E+3 is the same as 1000, but not 1000.0
+    private static long numericFingerprint(NumericValue value) {
+        if (value.isLongValued()) {
+            return value.getLong();
+        }
+        BigDecimal number = value.get();
+        if (number.scale() < 0) {
+            number = number.setScale(0);
+        }
+        if (number.scale() == 0 && number.unscaledValue().bitLength() < 64) {
+            return number.longValue();
+        }
+        return combine(combine(number.scale(), number.unscaledValue().hashCode()),
+                number.unscaledValue().longValue());
+    }
+
+    private static int intValue(NumericValue value) {
+        return value.isLongValued() ? (int) value.getLong() : value.get().intValue();
+    }
+
+    private static long fingerprint(String string) {
+        long hash = STRING;
+        for (int i = 0; i < string.length(); i++) {
+            hash = combine(hash, string.charAt(i));
+        }
+        return hash;
+    }
+
+    private static long combine(long hash, long value) {
+        return (hash ^ mix(value)) * PRIME;
+    }
+
+    // the finalising step of SplitMix64, spreading the bits of a value
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
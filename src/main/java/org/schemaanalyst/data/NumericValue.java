@@ -1,13 +1,24 @@
 package org.schemaanalyst.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.math.BigDecimal;
 
 public class NumericValue extends Value {
 
     private static final long serialVersionUID = -5783509968308882198L;
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
     protected BigDecimal value = BigDecimal.ZERO;
     public BigDecimal min, max;
 
+    // A primitive mirror of value, min and max. The mirror is only valid
+    // when longValued (the value has a scale of zero and fits in a long) and
+    // longBounded (any bounds have a scale of zero and fit in a long) hold.
+    protected transient boolean longValued = true, longBounded = true;
+    protected transient long longValue, longMin = Long.MIN_VALUE, longMax = Long.MAX_VALUE;
+
     public NumericValue() {
     }
 
@@ -22,6 +33,7 @@ public class NumericValue extends Value {
     public NumericValue(int min, int max) {
         this.min = new BigDecimal(min);
         this.max = new BigDecimal(max);
+        updateLongBounds();
     }
 
     public NumericValue(int value, int min, int max) {
@@ -36,6 +48,7 @@ public class NumericValue extends Value {
     public NumericValue(String min, String max) {
         this.min = new BigDecimal(min);
         this.max = new BigDecimal(max);
+        updateLongBounds();
     }
 
     public NumericValue(String value, String min, String max) {
@@ -63,6 +76,85 @@ public class NumericValue extends Value {
         } else {
             this.value = value;
         }
+        updateLongValue();
+    }
+
+    /**
+     * Sets the value from a primitive, clamping it to the bounds of this
+     * value without any intermediate BigDecimal arithmetic where the bounds
+     * fit in a long.
+     * @param value The new value.
+     */
+    public void set(long value) {
+        if (!longBounded) {
+            set(BigDecimal.valueOf(value));
+            return;
+        }
+
+        if (value < longMin) {
+            this.value = min;
+            value = longMin;
+        } else if (value > longMax) {
+            this.value = max;
+            value = longMax;
+        } else {
+            this.value = BigDecimal.valueOf(value);
+        }
+        longValue = value;
+        longValued = true;
+    }
+
+    /**
+     * Indicates whether this value can be read and stepped as a primitive
+     * long, i.e., it has no fractional part, and it and its bounds fit in a
+     * long.
+     * @return True if {@link #getLong()} and {@link #set(long)} can be used
+     * in place of their BigDecimal equivalents.
+     */
+    public boolean isLongValued() {
+        return longValued && longBounded;
+    }
+
+    /**
+     * Returns the value as a primitive long. Only meaningful when
+     * {@link #isLongValued()} is true.
+     * @return The value as a long.
+     */
+    public long getLong() {
+        return longValue;
+    }
+
+    protected void updateLongValue() {
+        longValued = fitsLong(value);
+        if (longValued) {
+            longValue = value.longValue();
+        }
+    }
+
+    protected void updateLongBounds() {
+        longBounded = (min == null || fitsLong(min)) && (max == null || fitsLong(max));
+        if (longBounded) {
+            longMin = (min == null) ? Long.MIN_VALUE : min.longValue();
+            longMax = (max == null) ? Long.MAX_VALUE : max.longValue();
+        }
+    }
+
+    private static boolean fitsLong(BigDecimal value) {
+        return value.scale() == 0
+                && value.compareTo(LONG_MIN) >= 0
+                && value.compareTo(LONG_MAX) <= 0;
+    }
+
+    protected void copyValue(NumericValue source) {
+        value = source.value;
+        longValue = source.longValue;
+        longValued = source.longValued;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        updateLongBounds();
+        updateLongValue();
     }
 
     public BigDecimal getStepSize() {
@@ -77,9 +169,12 @@ public class NumericValue extends Value {
     @Override
     public NumericValue duplicate() {
         NumericValue duplicate = new NumericValue();
-        duplicate.value = value;
+        duplicate.copyValue(this);
         duplicate.min = min;
         duplicate.max = max;
+        duplicate.longBounded = longBounded;
+        duplicate.longMin = longMin;
+        duplicate.longMax = longMax;
         return duplicate;
     }
 
@@ -4,6 +4,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.schemaanalyst.sqlrepresentation.Column;
 import org.schemaanalyst.sqlrepresentation.Table;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,6 +24,10 @@ public class Row implements Serializable {
     protected Table table;
     protected List<Cell> cells;
 
+    // the cells indexed by the ordinals of their columns in the table, so
+    // that a table's own column objects can be looked up without a search
+    protected transient Cell[] slots;
+
     public Row(Table table, ValueFactory valueFactory) {
         this.table = table;
         this.cells = new ArrayList<>();
@@ -29,6 +35,7 @@ public class Row implements Serializable {
             Cell cell = new Cell(column, valueFactory);
             this.cells.add(cell);
         }
+        fillSlots();
     }
 
     public Row(Table table, List<Cell> cells) {
@@ -37,6 +44,7 @@ public class Row implements Serializable {
         for (Cell cell : cells) {
             this.cells.add(cell);
         }
+        fillSlots();
     }
 
     public Row(Cell... cells) {
@@ -44,6 +52,7 @@ public class Row implements Serializable {
         for (Cell cell : cells) {
             this.cells.add(cell);
         }
+        fillSlots();
     }
 
     public Row(List<Cell> cells) {
@@ -51,6 +60,34 @@ public class Row implements Serializable {
         for (Cell cell : cells) {
             this.cells.add(cell);
         }
+        fillSlots();
+    }
+
+    private void fillSlots() {
+        if (table == null) {
+            slots = new Cell[0];
+            return;
+        }
+        slots = new Cell[table.getNumColumns()];
+        for (Cell cell : cells) {
+            int ordinal = table.getColumnOrdinal(cell.getColumn());
+            if (ordinal >= 0 && ordinal < slots.length && slots[ordinal] == null) {
+                slots[ordinal] = cell;
+            }
+        }
+    }
+
+    private Cell getSlot(Column column) {
+        if (table != null) {
+            int ordinal = table.getColumnOrdinal(column);
+            if (ordinal >= 0 && ordinal < slots.length) {
+                Cell cell = slots[ordinal];
+                if (cell != null && cell.getColumn() == column) {
+                    return cell;
+                }
+            }
+        }
+        return null;
     }
 
     public int getNumCells() {
@@ -78,6 +115,11 @@ public class Row implements Serializable {
     }
 
     public Cell getCell(Column column) {
+        Cell slot = getSlot(column);
+        if (slot != null) {
+            return slot;
+        }
+        // columns that are not the table's own objects are found by equality
         for (Cell cell : cells) {
             if (column.equals(cell.getColumn())) {
                 return cell;
@@ -92,6 +134,9 @@ public class Row implements Serializable {
     }
 
     public boolean hasColumn(Column column) {
+        if (getSlot(column) != null) {
+            return true;
+        }
         for (Cell cell : cells) {
             if (column.equals(cell.getColumn())) {
                 return true;
@@ -121,6 +166,11 @@ public class Row implements Serializable {
         return new Row(table, duplicateCells);
     }
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        fillSlots();
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -43,7 +43,7 @@ public class TimestampValue extends NumericValue {
     @Override
     public TimestampValue duplicate() {
         TimestampValue duplicate = new TimestampValue();
-        duplicate.value = value;
+        duplicate.copyValue(this);
         return duplicate;
     }
 
@@ -1,11 +1,26 @@
 package org.schemaanalyst.data;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
- * Created by phil on 26/02/2014.
+ * <p>
+ * A library of values, by type, that data generators can set cells to, for
+ * example the constants mined from a schema's CHECK constraints by a
+ * {@link ValueMiner}.
+ * </p>
+ *
+ * <p>
+ * For sampling, the values are also kept in arrays of their parts, e.g.,
+ * <code>BigDecimal</code>s for numeric values and the year, month and day of
+ * dates, which are indexed without copying or allocating. The arrays are
+ * worked out when first needed after a value is added. A library can be
+ * {@link #freeze() frozen}, after which values can no longer be added, and it
+ * can be shared by generators in different threads.
+ * </p>
  */
 public class ValueLibrary {
 
@@ -17,6 +32,9 @@ public class ValueLibrary {
     private LinkedHashSet<TimeValue> timeValues;
     private LinkedHashSet<TimestampValue> timestampValues;
 
+    private boolean frozen;
+    private Samples samples;
+
     private ValueVisitor valueCategorizer = new ValueVisitor() {
         @Override
         public void visit(BooleanValue value) {
@@ -65,35 +83,231 @@ public class ValueLibrary {
     }
 
     public List<BooleanValue> getBooleanValues() {
-        return new ArrayList<>(booleanValues);
+        return frozen ? getSamples().booleanValues : new ArrayList<>(booleanValues);
     }
 
     public List<DateTimeValue> getDateTimeValues() {
-        return new ArrayList<>(dateTimeValues);
+        return frozen ? getSamples().dateTimeValues : new ArrayList<>(dateTimeValues);
     }
 
     public List<DateValue> getDateValues() {
-        return new ArrayList<>(dateValues);
+        return frozen ? getSamples().dateValues : new ArrayList<>(dateValues);
     }
 
     public List<NumericValue> getNumericValues() {
-        return new ArrayList<>(numericValues);
+        return frozen ? getSamples().numericValues : new ArrayList<>(numericValues);
     }
 
     public List<StringValue> getStringValues() {
-        return new ArrayList<>(stringValues);
+        return frozen ? getSamples().stringValues : new ArrayList<>(stringValues);
     }
 
     public List<TimeValue> getTimeValues() {
-        return new ArrayList<>(timeValues);
+        return frozen ? getSamples().timeValues : new ArrayList<>(timeValues);
     }
 
     public List<TimestampValue> getTimestampValues() {
-        return new ArrayList<>(timestampValues);
+        return frozen ? getSamples().timestampValues : new ArrayList<>(timestampValues);
     }
 
     public void addValue(Value value) {
+        if (frozen) {
+            throw new DataException("Cannot add value " + value + " to a frozen value library");
+        }
         Value duplicatedValue = value.duplicate();
         duplicatedValue.accept(valueCategorizer);
+        samples = null;
+    }
+
+    /**
+     * Stops values being added to the library, so that it can be shared. The
+     * lists returned by the getters are then unmodifiable, and the same on
+     * each call.
+     *
+     * @return This library
+     */
+    public ValueLibrary freeze() {
+        getSamples();
+        frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    public int getNumBooleanValues() {
+        return getSamples().booleans.length;
+    }
+
+    public int getNumDateTimeValues() {
+        return getSamples().dateTimes.length;
+    }
+
+    public int getNumDateValues() {
+        return getSamples().dates.length;
+    }
+
+    public int getNumNumericValues() {
+        return getSamples().numerics.length;
+    }
+
+    public int getNumStringValues() {
+        return getSamples().strings.length;
+    }
+
+    public int getNumTimeValues() {
+        return getSamples().times.length;
+    }
+
+    public int getNumTimestampValues() {
+        return getSamples().timestamps.length;
+    }
+
+    /**
+     * Sets a value to one of the library's boolean values.
+     *
+     * @param index The index of the library value, in the order values were
+     *              added
+     * @param target The value to set
+     */
+    public void copyBooleanValue(int index, BooleanValue target) {
+        target.set(getSamples().booleans[index]);
+    }
+
+    /**
+     * Sets a value to one of the library's date-time values.
+     *
+     * @param index The index of the library value, in the order values were
+     *              added
+     * @param target The value to set
+     */
+    public void copyDateTimeValue(int index, DateTimeValue target) {
+        BigDecimal[] dateTime = getSamples().dateTimes[index];
+        target.getYear().set(dateTime[0]);
+        target.getMonth().set(dateTime[1]);
+        target.getDay().set(dateTime[2]);
+        target.getHour().set(dateTime[3]);
+        target.getMinute().set(dateTime[4]);
+        target.getSecond().set(dateTime[5]);
+    }
+
+    /**
+     * Sets a value to one of the library's date values.
+     *
+     * @param index The index of the library value, in the order values were
+     *              added
+     * @param target The value to set
+     */
+    public void copyDateValue(int index, DateValue target) {
+        BigDecimal[] date = getSamples().dates[index];
+        target.getYear().set(date[0]);
+        target.getMonth().set(date[1]);
+        target.getDay().set(date[2]);
+    }
+
+    /**
+     * Sets a value to one of the library's numeric values.
+     *
+     * @param index The index of the library value, in the order values were
+     *              added
+     * @param target The value to set
+     */
+    public void copyNumericValue(int index, NumericValue target) {
+        target.set(getSamples().numerics[index]);
+    }
+
+    /**
+     * Sets a value to one of the library's string values.
+     *
+     * @param index The index of the library value, in the order values were
+     *              added
+     * @param target The value to set
+     */
+    public void copyStringValue(int index, StringValue target) {
+        target.set(getSamples().strings[index]);
+    }
+
+    /**
+     * Sets a value to one of the library's time values.
+     *
+     * @param index The index of the library value, in the order values were
+     *              added
+     * @param target The value to set
+     */
+    public void copyTimeValue(int index, TimeValue target) {
+        BigDecimal[] time = getSamples().times[index];
+        target.getHour().set(time[0]);
+        target.getMinute().set(time[1]);
+        target.getSecond().set(time[2]);
+    }
+
+    /**
+     * Sets a value to one of the library's timestamp values.
+     *
+     * @param index The index of the library value, in the order values were
+     *              added
+     * @param target The value to set
+     */
+    public void copyTimestampValue(int index, NumericValue target) {
+        target.set(getSamples().timestamps[index]);
+    }
+
+    private Samples getSamples() {
+        Samples samples = this.samples;
+        if (samples == null) {
+            samples = new Samples();
+            this.samples = samples;
+        }
+        return samples;
+    }
+
+    // the values of the library as it was when the samples were made, by type
+    // and in their parts, none of which change
+    private class Samples {
+
+        final List<BooleanValue> booleanValues = Collections.unmodifiableList(new ArrayList<>(ValueLibrary.this.booleanValues));
+        final List<DateTimeValue> dateTimeValues = Collections.unmodifiableList(new ArrayList<>(ValueLibrary.this.dateTimeValues));
+        final List<DateValue> dateValues = Collections.unmodifiableList(new ArrayList<>(ValueLibrary.this.dateValues));
+        final List<NumericValue> numericValues = Collections.unmodifiableList(new ArrayList<>(ValueLibrary.this.numericValues));
+        final List<StringValue> stringValues = Collections.unmodifiableList(new ArrayList<>(ValueLibrary.this.stringValues));
+        final List<TimeValue> timeValues = Collections.unmodifiableList(new ArrayList<>(ValueLibrary.this.timeValues));
+        final List<TimestampValue> timestampValues = Collections.unmodifiableList(new ArrayList<>(ValueLibrary.this.timestampValues));
+
+        final boolean[] booleans = new boolean[booleanValues.size()];
+        final BigDecimal[][] dateTimes = new BigDecimal[dateTimeValues.size()][];
+        final BigDecimal[][] dates = new BigDecimal[dateValues.size()][];
+        final BigDecimal[] numerics = new BigDecimal[numericValues.size()];
+        final String[] strings = new String[stringValues.size()];
+        final BigDecimal[][] times = new BigDecimal[timeValues.size()][];
+        final BigDecimal[] timestamps = new BigDecimal[timestampValues.size()];
+
+        Samples() {
+            for (int i = 0; i < booleans.length; i++) {
+                booleans[i] = booleanValues.get(i).get();
+            }
+            for (int i = 0; i < dateTimes.length; i++) {
+                DateTimeValue value = dateTimeValues.get(i);
+                dateTimes[i] = new BigDecimal[]{value.getYear().get(), value.getMonth().get(), value.getDay().get(),
+                        value.getHour().get(), value.getMinute().get(), value.getSecond().get()};
+            }
+            for (int i = 0; i < dates.length; i++) {
+                DateValue value = dateValues.get(i);
+                dates[i] = new BigDecimal[]{value.getYear().get(), value.getMonth().get(), value.getDay().get()};
+            }
+            for (int i = 0; i < numerics.length; i++) {
+                numerics[i] = numericValues.get(i).get();
+            }
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = stringValues.get(i).get();
+            }
+            for (int i = 0; i < times.length; i++) {
+                TimeValue value = timeValues.get(i);
+                times[i] = new BigDecimal[]{value.getHour().get(), value.getMinute().get(), value.getSecond().get()};
+            }
+            for (int i = 0; i < timestamps.length; i++) {
+                timestamps[i] = timestampValues.get(i).get();
+            }
+        }
     }
 }
@@ -6,20 +6,82 @@ import org.schemaanalyst.sqlrepresentation.expression.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Created by phil on 26/02/2014.
  */
 public class ValueMiner {
 
+    private static final int MAX_SHARED_LIBRARIES = 256;
+
+    // frozen libraries, by the constants they hold, so that a schema's library
+    // is mined once however many data generators use it, and the least
+    // recently used are dropped first
+    private static final Map<String, ValueLibrary> sharedLibraries =
+            new LinkedHashMap<String, ValueLibrary>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ValueLibrary> eldest) {
+                    return size() > MAX_SHARED_LIBRARIES;
+                }
+            };
+
+    /**
+     * Returns a frozen library of the values in a schema's CHECK constraints,
+     * which is made the first time it is asked for and then shared between
+     * schemas with the same constants, including across threads.
+     *
+     * @param schema The schema
+     * @return The frozen library
+     */
+    public ValueLibrary mineShared(Schema schema) {
+        List<ConstantExpression> constantExpressions = extractConstantExpressions(getExpressions(schema));
+        StringBuilder key = new StringBuilder();
+        for (ConstantExpression constantExpression : constantExpressions) {
+            appendKey(constantExpression.getValue(), key);
+        }
+        String constants = key.toString();
+        synchronized (sharedLibraries) {
+            ValueLibrary library = sharedLibraries.get(constants);
+            if (library == null) {
+                library = extractConstantsIntoValueLibrary(constantExpressions).freeze();
+                sharedLibraries.put(constants, library);
+            }
+            return library;
+        }
+    }
+
+    // the type and exact contents of a value, unlike toString(), which leaves
+    // quotes out of strings and does not give the type
+    private static void appendKey(Value value, StringBuilder key) {
+        key.append(value.getClass().getSimpleName()).append('(');
+        if (value instanceof CompoundValue) {
+            for (Value element : ((CompoundValue) value).getElements()) {
+                appendKey(element, key);
+            }
+        } else if (value instanceof NumericValue) {
+            key.append(((NumericValue) value).get());
+        } else if (value instanceof BooleanValue) {
+            key.append(((BooleanValue) value).get());
+        } else {
+            key.append(value);
+        }
+        key.append(')');
+    }
+
     public ValueLibrary mine(Schema schema) {
+        return mine(getExpressions(schema));
+    }
+
+    private List<Expression> getExpressions(Schema schema) {
         List<Expression> expressions = new ArrayList<>();
         List<CheckConstraint> checkConstraints = schema.getCheckConstraints();
         for (CheckConstraint checkConstraint : checkConstraints) {
             expressions.add(checkConstraint.getExpression());
         }
-        return mine(expressions);
+        return expressions;
     }
 
     public ValueLibrary mine(Expression expression) {
@@ -27,6 +89,10 @@ public class ValueMiner {
     }
 
     public ValueLibrary mine(List<Expression> expressions) {
+        return extractConstantsIntoValueLibrary(extractConstantExpressions(expressions));
+    }
+
+    private List<ConstantExpression> extractConstantExpressions(List<Expression> expressions) {
         class ExpressionValueMiner implements ExpressionVisitor {
 
             List<ConstantExpression> constantExpressions;
@@ -93,8 +159,7 @@ public class ValueMiner {
             }
         }
 
-        return extractConstantsIntoValueLibrary(
-                new ExpressionValueMiner().extractConstantExpressions(expressions));
+        return new ExpressionValueMiner().extractConstantExpressions(expressions);
     }
 
     private ValueLibrary extractConstantsIntoValueLibrary(List<ConstantExpression> constantExpressions) {
@@ -1,6 +1,5 @@
 package org.schemaanalyst.data.generation;
 
-import org.schemaanalyst.data.Data;
 import org.schemaanalyst.data.ValueLibrary;
 import org.schemaanalyst.data.ValueMiner;
 import org.schemaanalyst.data.generation.domino.DominoDataGenerator;
@@ -13,15 +12,15 @@ import org.schemaanalyst.data.generation.cellvaluegeneration.ReadableCellValueGe
 import org.schemaanalyst.data.generation.cellvaluegeneration.ValueInitializationProfile;
 import org.schemaanalyst.data.generation.random.RandomDataGenerator;
 import org.schemaanalyst.data.generation.search.AlternatingValueSearch;
-import org.schemaanalyst.data.generation.search.Search;
 import org.schemaanalyst.data.generation.search.SearchBasedDataGenerator;
+import org.schemaanalyst.data.generation.search.SearchBasedDataGenerator.ObjectiveFunctionType;
 import org.schemaanalyst.data.generation.search.termination.CombinedTerminationCriterion;
 import org.schemaanalyst.data.generation.search.termination.CounterTerminationCriterion;
 import org.schemaanalyst.data.generation.search.termination.OptimumTerminationCriterion;
 import org.schemaanalyst.data.generation.search.termination.TerminationCriterion;
 import org.schemaanalyst.sqlrepresentation.Schema;
 import org.schemaanalyst.util.random.Random;
-import org.schemaanalyst.util.random.SimpleRandom;
+import org.schemaanalyst.util.random.RandomFactory;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -38,11 +37,25 @@ public class DataGeneratorFactory {
         return instantiate(dataGeneratorName, randomSeed, maxEvaluations, null);
     }
 
-    @SuppressWarnings("unchecked")
     public static DataGenerator instantiate(String dataGeneratorName,
                                             long randomSeed,
                                             int maxEvaluations,
                                             Schema schema) {
+        return instantiate(dataGeneratorName, randomSeed, maxEvaluations, schema, RandomFactory.DEFAULT);
+    }
+
+    /**
+     * Instantiates a data generator that uses a particular kind of random
+     * number generator, named as for {@link RandomFactory}. The random number
+     * generator is made with the seed and passed to the data generator's
+     * factory method, e.g. {@link #avsDefaultsGenerator(Random, int, Schema)}.
+     */
+    @SuppressWarnings("unchecked")
+    public static DataGenerator instantiate(String dataGeneratorName,
+                                            long randomSeed,
+                                            int maxEvaluations,
+                                            Schema schema,
+                                            String randomNumberGeneratorName) {
         Class<DataGeneratorFactory> c = DataGeneratorFactory.class;
         Method methods[] = c.getMethods();
 
@@ -50,8 +63,9 @@ public class DataGeneratorFactory {
 
         for (Method m : methods) {
             if (m.getName().equals(instantiatingMethodName)) {
+                Random random = RandomFactory.instantiate(randomNumberGeneratorName, randomSeed);
                 try {
-                    Object[] args = {randomSeed, maxEvaluations, schema};
+                    Object[] args = {random, maxEvaluations, schema};
                     return (DataGenerator) m.invoke(null, args);
                 } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
                     throw new RuntimeException(e);
@@ -62,8 +76,35 @@ public class DataGeneratorFactory {
         throw new DataGenerationException("Unknown data generator \"" + dataGeneratorName + "\"");
     }
 
-    private static Random makeRandomNumberGenerator(long seed) {
-        return new SimpleRandom(seed);
+    /**
+     * Returns a provider of data generators of a particular name, each of
+     * which is instantiated with the random seed given to the provider.
+     */
+    public static DataGeneratorProvider provider(final String dataGeneratorName,
+                                                 final int maxEvaluations,
+                                                 final Schema schema) {
+        return provider(dataGeneratorName, maxEvaluations, schema, RandomFactory.DEFAULT);
+    }
+
+    /**
+     * Returns a provider of data generators of a particular name, that use a
+     * particular kind of random number generator, each of which is
+     * instantiated with the random seed given to the provider.
+     */
+    public static DataGeneratorProvider provider(final String dataGeneratorName,
+                                                 final int maxEvaluations,
+                                                 final Schema schema,
+                                                 final String randomNumberGeneratorName) {
+        // fail early for an unknown data generator
+        instantiate(dataGeneratorName, 0, maxEvaluations, schema, randomNumberGeneratorName);
+
+        return new DataGeneratorProvider() {
+            @Override
+            public DataGenerator instantiate(long randomSeed) {
+                return DataGeneratorFactory.instantiate(
+                        dataGeneratorName, randomSeed, maxEvaluations, schema, randomNumberGeneratorName);
+            }
+        };
     }
 
     private static RandomCellValueGenerator makeRandomCellValueGenerator(Random random, Schema schema) {
@@ -77,8 +118,8 @@ public class DataGeneratorFactory {
 
     private static ValueLibrary makeValueLibrary(Schema schema) {
         return (schema == null)
-                ? new ValueLibrary()
-                : new ValueMiner().mine(schema);
+                ? new ValueLibrary().freeze()
+                : new ValueMiner().mineShared(schema);
     }
 
     public static SearchBasedDataGenerator makeAlternatingValueSearch(
@@ -86,11 +127,32 @@ public class DataGeneratorFactory {
             int maxEvaluations,
             CellInitializer startInitializer,
             CellInitializer restartInitializer) {
+        return makeAlternatingValueSearch(random, maxEvaluations, startInitializer, restartInitializer, true);
+    }
+
+    public static SearchBasedDataGenerator makeAlternatingValueSearch(
+            Random random,
+            int maxEvaluations,
+            CellInitializer startInitializer,
+            CellInitializer restartInitializer,
+            boolean primitiveNumericMoves) {
+        return makeAlternatingValueSearch(random, maxEvaluations, startInitializer, restartInitializer,
+                primitiveNumericMoves, ObjectiveFunctionType.BIG_DECIMAL);
+    }
 
-        Search<Data> search = new AlternatingValueSearch(
+    public static SearchBasedDataGenerator makeAlternatingValueSearch(
+            Random random,
+            int maxEvaluations,
+            CellInitializer startInitializer,
+            CellInitializer restartInitializer,
+            boolean primitiveNumericMoves,
+            ObjectiveFunctionType objectiveFunctionType) {
+
+        AlternatingValueSearch search = new AlternatingValueSearch(
                 random,
                 startInitializer,
                 restartInitializer);
+        search.setPrimitiveNumericMoves(primitiveNumericMoves);
 
         TerminationCriterion terminationCriterion = new CombinedTerminationCriterion(
                 new CounterTerminationCriterion(search.getEvaluationsCounter(), maxEvaluations),
@@ -98,11 +160,10 @@ public class DataGeneratorFactory {
 
         search.setTerminationCriterion(terminationCriterion);
 
-        return new SearchBasedDataGenerator(search);
+        return new SearchBasedDataGenerator(search, objectiveFunctionType);
     }
 
-    public static SearchBasedDataGenerator avsDefaultsGenerator(long randomSeed, int maxEvaluations, Schema schema) {
-        Random random = makeRandomNumberGenerator(randomSeed);
+    public static SearchBasedDataGenerator avsDefaultsGenerator(Random random, int maxEvaluations, Schema schema) {
         RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
 
         return makeAlternatingValueSearch(
@@ -112,8 +173,42 @@ public class DataGeneratorFactory {
                 new RandomCellInitializer(randomCellValueGenerator));
     }
 
-    public static SearchBasedDataGenerator avsGenerator(long randomSeed, int maxEvaluations, Schema schema) {
-        Random random = makeRandomNumberGenerator(randomSeed);
+    public static SearchBasedDataGenerator avsDefaultsBigDecimalGenerator(Random random, int maxEvaluations, Schema schema) {
+        RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
+
+        return makeAlternatingValueSearch(
+                random,
+                maxEvaluations,
+                new DefaultCellInitializer(),
+                new RandomCellInitializer(randomCellValueGenerator),
+                false);
+    }
+
+    public static SearchBasedDataGenerator avsDefaultsDoubleGenerator(Random random, int maxEvaluations, Schema schema) {
+        RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
+
+        return makeAlternatingValueSearch(
+                random,
+                maxEvaluations,
+                new DefaultCellInitializer(),
+                new RandomCellInitializer(randomCellValueGenerator),
+                true,
+                ObjectiveFunctionType.DOUBLE);
+    }
+
+    public static SearchBasedDataGenerator avsDefaultsIncrementalGenerator(Random random, int maxEvaluations, Schema schema) {
+        RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
+
+        return makeAlternatingValueSearch(
+                random,
+                maxEvaluations,
+                new DefaultCellInitializer(),
+                new RandomCellInitializer(randomCellValueGenerator),
+                true,
+                ObjectiveFunctionType.INCREMENTAL);
+    }
+
+    public static SearchBasedDataGenerator avsGenerator(Random random, int maxEvaluations, Schema schema) {
         RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
         RandomCellInitializer randomCellInitializer = new RandomCellInitializer(randomCellValueGenerator);
 
@@ -124,8 +219,33 @@ public class DataGeneratorFactory {
                 randomCellInitializer);
     }
 
-    public static RandomDataGenerator randomGenerator(long randomSeed, int maxEvaluations, Schema schema) {
-        Random random = makeRandomNumberGenerator(randomSeed);
+    public static SearchBasedDataGenerator avsDoubleGenerator(Random random, int maxEvaluations, Schema schema) {
+        RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
+        RandomCellInitializer randomCellInitializer = new RandomCellInitializer(randomCellValueGenerator);
+
+        return makeAlternatingValueSearch(
+                random,
+                maxEvaluations,
+                randomCellInitializer,
+                randomCellInitializer,
+                true,
+                ObjectiveFunctionType.DOUBLE);
+    }
+
+    public static SearchBasedDataGenerator avsIncrementalGenerator(Random random, int maxEvaluations, Schema schema) {
+        RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
+        RandomCellInitializer randomCellInitializer = new RandomCellInitializer(randomCellValueGenerator);
+
+        return makeAlternatingValueSearch(
+                random,
+                maxEvaluations,
+                randomCellInitializer,
+                randomCellInitializer,
+                true,
+                ObjectiveFunctionType.INCREMENTAL);
+    }
+
+    public static RandomDataGenerator randomGenerator(Random random, int maxEvaluations, Schema schema) {
         RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
         RandomCellInitializer randomCellInitializer = new RandomCellInitializer(randomCellValueGenerator);
 
@@ -135,8 +255,7 @@ public class DataGeneratorFactory {
                 randomCellInitializer);
     }
 
-    public static RandomDataGenerator randomDefaultsGenerator(long randomSeed, int maxEvaluations, Schema schema) {
-        Random random = makeRandomNumberGenerator(randomSeed);
+    public static RandomDataGenerator randomDefaultsGenerator(Random random, int maxEvaluations, Schema schema) {
         RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
 
         return new RandomDataGenerator(
@@ -148,8 +267,7 @@ public class DataGeneratorFactory {
 
     
 
-    public static DominoDataGenerator dominoRandomGenerator(long randomSeed, int maxEvaluations, Schema schema) {
-        Random random = makeRandomNumberGenerator(randomSeed);
+    public static DominoDataGenerator dominoRandomGenerator(Random random, int maxEvaluations, Schema schema) {
 
         RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
         RandomCellInitializer randomCellInitializer = new RandomCellInitializer(randomCellValueGenerator);
@@ -161,8 +279,7 @@ public class DataGeneratorFactory {
                 randomCellInitializer);
     }
 
-    public static DominoDataGenerator dominoAVSGenerator(long randomSeed, int maxEvaluations, Schema schema) {
-        Random random = makeRandomNumberGenerator(randomSeed);
+    public static DominoDataGenerator dominoAVSGenerator(Random random, int maxEvaluations, Schema schema) {
 
         DefaultCellInitializer defaultCellInitializer = new DefaultCellInitializer();
         RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
@@ -194,8 +311,7 @@ public class DataGeneratorFactory {
                 0.25);
     }
     
-    public static DominoDataGenerator dominoColNamerGenerator(long randomSeed, int maxEvaluations, Schema schema) {
-        Random random = makeRandomNumberGenerator(randomSeed);
+    public static DominoDataGenerator dominoColNamerGenerator(Random random, int maxEvaluations, Schema schema) {
         ColNameCellValueGenerator randomCellValueGenerator = makeColNameCellValueGenerator(random, schema);
         RandomCellInitializer randomCellInitializer = new RandomCellInitializer(randomCellValueGenerator);
 
@@ -215,8 +331,7 @@ public class DataGeneratorFactory {
                 0.25);
     }
     
-    public static DominoDataGenerator dominoReadGenerator(long randomSeed, int maxEvaluations, Schema schema) {
-        Random random = makeRandomNumberGenerator(randomSeed);
+    public static DominoDataGenerator dominoReadGenerator(Random random, int maxEvaluations, Schema schema) {
         ReadableCellValueGenerator randomCellValueGenerator = makeReadableCellValueGenerator(random, schema);
         RandomCellInitializer randomCellInitializer = new RandomCellInitializer(randomCellValueGenerator);
 
@@ -227,8 +342,7 @@ public class DataGeneratorFactory {
                 randomCellInitializer);
     }
     
-    public static SearchBasedDataGenerator avslangmodelGenerator(long randomSeed, int maxEvaluations, Schema schema) {
-        Random random = makeRandomNumberGenerator(randomSeed);
+    public static SearchBasedDataGenerator avslangmodelGenerator(Random random, int maxEvaluations, Schema schema) {
         RandomCellValueGenerator randomCellValueGenerator = makeRandomCellValueGenerator(random, schema);
         RandomCellInitializer randomCellInitializer = new RandomCellInitializer(randomCellValueGenerator);
 
@@ -0,0 +1,16 @@
+package org.schemaanalyst.data.generation;
+
+/**
+ * Instantiates data generators from a random seed, so that callers that
+ * need several independent data generators (e.g. one per thread, or one
+ * per test requirement) can create them on demand.
+ */
+public interface DataGeneratorProvider {
+
+    /**
+     * Instantiates a new data generator.
+     * @param randomSeed The random seed for the data generator.
+     * @return A new data generator.
+     */
+    DataGenerator instantiate(long randomSeed);
+}
@@ -4,7 +4,6 @@ import org.schemaanalyst.data.*;
 import org.schemaanalyst.util.random.Random;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 /**
  * Created by phil on 26/02/2014.
@@ -16,6 +15,9 @@ public class RandomCellValueGenerator {
     protected ValueLibrary valueLibrary;
     protected double nullProbability, useLibraryProbability;
 
+    // made once per generator, so that library draws do not allocate
+    private final LibraryValueSetter libraryValueSetter = new LibraryValueSetter();
+
     public RandomCellValueGenerator(
             Random random,
             ValueInitializationProfile profile,
@@ -52,116 +54,94 @@ public class RandomCellValueGenerator {
     }
 
     protected boolean setToLibraryValue(Cell cell) {
+        return libraryValueSetter.setCell(cell);
+    }
 
-        return new ValueVisitor() {
+    private class LibraryValueSetter implements ValueVisitor {
 
-            boolean success = false;
+        boolean success = false;
 
-            public boolean setCell(Cell cell) {
-                cell.getValue().accept(this);
-                return success;
-            }
+        boolean setCell(Cell cell) {
+            cell.getValue().accept(this);
+            return success;
+        }
 
-            @Override
-            public void visit(BooleanValue value) {
-                List<BooleanValue> booleanValues = valueLibrary.getBooleanValues();
-                int size = booleanValues.size();
-                if (size > 0) {
-                    BooleanValue newValue = booleanValues.get(random.nextInt(booleanValues.size()));
-                    value.set(newValue.get());
-                    success = true;
-                } else {
-                    success = false;
-                }
+        @Override
+        public void visit(BooleanValue value) {
+            int size = valueLibrary.getNumBooleanValues();
+            if (size > 0) {
+                valueLibrary.copyBooleanValue(random.nextInt(size), value);
+                success = true;
+            } else {
+                success = false;
             }
+        }
 
-            @Override
-            public void visit(DateValue value) {
-                List<DateValue> dateValues = valueLibrary.getDateValues();
-                int size = dateValues.size();
-                if (size > 0) {
-                    DateValue newValue = dateValues.get(random.nextInt(dateValues.size()));
-                    value.getYear().set(newValue.getYear().get());
-                    value.getMonth().set(newValue.getMonth().get());
-                    value.getDay().set(newValue.getDay().get());
-                    success = true;
-                } else {
-                    success = false;
-                }
+        @Override
+        public void visit(DateValue value) {
+            int size = valueLibrary.getNumDateValues();
+            if (size > 0) {
+                valueLibrary.copyDateValue(random.nextInt(size), value);
+                success = true;
+            } else {
+                success = false;
             }
+        }
 
-            @Override
-            public void visit(DateTimeValue value) {
-                List<DateTimeValue> dateTimeValues = valueLibrary.getDateTimeValues();
-                int size = dateTimeValues.size();
-                if (size > 0) {
-                    DateTimeValue newValue = dateTimeValues.get(random.nextInt(dateTimeValues.size()));
-                    value.getYear().set(newValue.getYear().get());
-                    value.getMonth().set(newValue.getMonth().get());
-                    value.getDay().set(newValue.getDay().get());
-                    value.getHour().set(newValue.getHour().get());
-                    value.getMinute().set(newValue.getMinute().get());
-                    value.getSecond().set(newValue.getSecond().get());
-                    success = true;
-                } else {
-                    success = false;
-                }
+        @Override
+        public void visit(DateTimeValue value) {
+            int size = valueLibrary.getNumDateTimeValues();
+            if (size > 0) {
+                valueLibrary.copyDateTimeValue(random.nextInt(size), value);
+                success = true;
+            } else {
+                success = false;
             }
+        }
 
-            @Override
-            public void visit(NumericValue value) {
-                List<NumericValue> numericValues = valueLibrary.getNumericValues();
-                int size = numericValues.size();
-                if (size > 0) {
-                    NumericValue newValue = numericValues.get(random.nextInt(numericValues.size()));
-                    value.set(newValue.get());
-                    success = true;
-                } else {
-                    success = false;
-                }
+        @Override
+        public void visit(NumericValue value) {
+            int size = valueLibrary.getNumNumericValues();
+            if (size > 0) {
+                valueLibrary.copyNumericValue(random.nextInt(size), value);
+                success = true;
+            } else {
+                success = false;
             }
+        }
 
-            @Override
-            public void visit(StringValue value) {
-                List<StringValue> stringValues = valueLibrary.getStringValues();
-                int size = stringValues.size();
-                if (size > 0) {
-                    StringValue newValue = stringValues.get(random.nextInt(stringValues.size()));
-                    value.set(newValue.get());
-                    success = true;
-                } else {
-                    success = false;
-                }
+        @Override
+        public void visit(StringValue value) {
+            int size = valueLibrary.getNumStringValues();
+            if (size > 0) {
+                valueLibrary.copyStringValue(random.nextInt(size), value);
+                success = true;
+            } else {
+                success = false;
             }
+        }
 
-            @Override
-            public void visit(TimeValue value) {
-                List<TimeValue> timeValues = valueLibrary.getTimeValues();
-                int size = timeValues.size();
-                if (size > 0) {
-                    TimeValue newValue = timeValues.get(random.nextInt(timeValues.size()));
-                    value.getHour().set(newValue.getHour().get());
-                    value.getMinute().set(newValue.getMinute().get());
-                    value.getSecond().set(newValue.getSecond().get());
-                    success = true;
-                } else {
-                    success = false;
-                }
+        @Override
+        public void visit(TimeValue value) {
+            int size = valueLibrary.getNumTimeValues();
+            if (size > 0) {
+                valueLibrary.copyTimeValue(random.nextInt(size), value);
+                success = true;
+            } else {
+                success = false;
             }
+        }
 
-            @Override
-            public void visit(TimestampValue value) {
-                List<TimestampValue> timestampValues = valueLibrary.getTimestampValues();
-                int size = timestampValues.size();
-                if (size > 0) {
-                    NumericValue newValue = timestampValues.get(random.nextInt(timestampValues.size()));
-                    value.set(newValue.get());
-                    success = true;
-                } else {
-                    success = false;
-                }
+        @Override
+        public void visit(TimestampValue value) {
+            int size = valueLibrary.getNumTimestampValues();
+            if (size > 0) {
+                valueLibrary.copyTimestampValue(random.nextInt(size), value);
+                success = true;
+            } else {
+                success = false;
             }
-        }.setCell(cell);
+        }
     }
 
     private void generateRandomValue(Cell cell) {
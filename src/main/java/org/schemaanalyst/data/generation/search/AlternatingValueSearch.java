@@ -3,6 +3,7 @@ package org.schemaanalyst.data.generation.search;
 import org.schemaanalyst.data.*;
 import org.schemaanalyst.data.generation.cellinitialization.CellInitializer;
 import org.schemaanalyst.data.generation.search.objective.ObjectiveValue;
+import org.schemaanalyst.data.generation.search.objective.incremental.IncrementalObjectiveFunction;
 import org.schemaanalyst.util.random.Random;
 
 import java.math.BigDecimal;
@@ -13,13 +14,17 @@ import java.util.logging.Logger;
 public class AlternatingValueSearch extends Search<Data> {
 
     protected static final int ACCELERATION_BASE = 2;
+    protected static final long[] LONG_STEP_SIZES = longStepSizes();
     protected Random random;
     protected CellInitializer startInitialiser;
     protected CellInitializer restartInitialiser;
     protected Data data; // protected so that test class can access
     protected List<Cell> cells;
+    protected Cell currentCell;
+    protected BestDataJournal bestDataJournal;
     protected ObjectiveValue lastObjVal;
     protected boolean makeNullMoves;
+    protected boolean primitiveNumericMoves = true;
 
     public AlternatingValueSearch(Random random,
                                   CellInitializer startInitializer,
@@ -39,14 +44,32 @@ public class AlternatingValueSearch extends Search<Data> {
         this.makeNullMoves = makeNullMoves;
     }
 
+    /**
+     * Sets whether numeric moves on values that fit in a long are made using
+     * primitive arithmetic (the default) or always using BigDecimal
+     * arithmetic. Both produce the same sequence of values.
+     * @param primitiveNumericMoves Whether to use primitive numeric moves.
+     */
+    public void setPrimitiveNumericMoves(boolean primitiveNumericMoves) {
+        this.primitiveNumericMoves = primitiveNumericMoves;
+    }
+
+    @Override
+    public void initialize() {
+        super.initialize();
+        bestDataJournal = null;
+    }
+
     @Override
     public void search(Data data) {
         // set up
         this.data = data;
         cells = data.getCells();
+        bestDataJournal = new BestDataJournal(data);
 
         // start
         startInitialiser.initialize(data);
+        cellsInitialized();
         lastObjVal = null;
         evaluate();
 
@@ -60,7 +83,9 @@ public class AlternatingValueSearch extends Search<Data> {
             }
 
             if (!terminationCriterion.satisfied()) {
+                bestDataJournal.allCellsWillChange();
                 restartInitialiser.initialize(data);
+                cellsInitialized();
                 lastObjVal = null;
                 evaluate();
             }
@@ -68,6 +93,9 @@ public class AlternatingValueSearch extends Search<Data> {
     }
 
     protected boolean evaluate() {
+        if (currentCell != null) {
+            cellChanged(currentCell);
+        }
         ObjectiveValue nextObjVal = evaluate(data);
 
         boolean improvement = (lastObjVal == null || nextObjVal.betterThan(lastObjVal));
@@ -103,6 +131,8 @@ public class AlternatingValueSearch extends Search<Data> {
 
     protected boolean valueSearch(Cell cell) {
         boolean improvement = false;
+        currentCell = cell;
+        bestDataJournal.cellWillChange(cell);
 
         if (makeNullMoves || (!makeNullMoves && cell.isNull())) {
             improvement = invertNullMove(cell);
@@ -114,9 +144,59 @@ public class AlternatingValueSearch extends Search<Data> {
             }
         }
 
+        // the last move on the cell may have been reverted since it was evaluated
+        cellChanged(cell);
+        currentCell = null;
+
         return improvement;
     }
 
+    @Override
+    protected void recordBestCandidateSolution(Data candidateSolution) {
+        if (candidateSolution != data) {
+            super.recordBestCandidateSolution(candidateSolution);
+            return;
+        }
+
+        // only the cells changed after this point need to be journalled,
+        // starting with the cell currently being moved
+        bestCandidateSolution = null;
+        bestDataJournal.recordBest();
+        if (currentCell != null) {
+            bestDataJournal.cellWillChange(currentCell);
+        }
+    }
+
+    @Override
+    public Data getBestCandidateSolution() {
+        if (bestCandidateSolution == null && bestDataJournal != null) {
+            return bestDataJournal.getBestData();
+        }
+        return bestCandidateSolution;
+    }
+
+    /**
+     * Tells an incremental objective function that a cell has changed since
+     * the last evaluation.
+     * @param cell The cell that has changed.
+     */
+    protected void cellChanged(Cell cell) {
+        if (objFun instanceof IncrementalObjectiveFunction) {
+            ((IncrementalObjectiveFunction) objFun).cellChanged(cell);
+        }
+    }
+
+    /**
+     * Tells an incremental objective function that all of the cells have
+     * been (re)initialized since the last evaluation.
+     */
+    protected void cellsInitialized() {
+        currentCell = null;
+        if (objFun instanceof IncrementalObjectiveFunction) {
+            ((IncrementalObjectiveFunction) objFun).invalidate();
+        }
+    }
+
     protected boolean invertNullMove(Cell cell) {
         boolean improvement = false;
 
@@ -328,6 +408,24 @@ public class AlternatingValueSearch extends Search<Data> {
     }
 
     protected boolean numericMove(NumericValue value, int direction, int step) {
+        if (primitiveNumericMoves && value.isLongValued() && step < LONG_STEP_SIZES.length) {
+            long originalValue = value.getLong();
+            long move = direction * LONG_STEP_SIZES[step];
+            long newValue = originalValue + move;
+
+            // only take the primitive route if the addition did not overflow
+            if (((originalValue ^ newValue) & (move ^ newValue)) >= 0) {
+                value.set(newValue);
+
+                boolean improvement = evaluate();
+                if (!improvement) {
+                    value.set(originalValue);
+                }
+
+                return improvement;
+            }
+        }
+
         BigDecimal originalValue = value.get();
 
         BigDecimal newValue = calculateNewNumericValue(direction, step, originalValue);
@@ -350,6 +448,22 @@ public class AlternatingValueSearch extends Search<Data> {
         return originalValue.add(move);
     }
 
+    private static long[] longStepSizes() {
+        // powers of the acceleration base that can be represented as a long
+        int numSteps = 0;
+        for (long stepSize = 1; stepSize <= Long.MAX_VALUE / ACCELERATION_BASE; stepSize *= ACCELERATION_BASE) {
+            numSteps++;
+        }
+
+        long[] stepSizes = new long[numSteps + 1];
+        long stepSize = 1;
+        for (int i = 0; i < stepSizes.length; i++) {
+            stepSizes[i] = stepSize;
+            stepSize *= ACCELERATION_BASE;
+        }
+        return stepSizes;
+    }
+
     protected boolean timeValueSearch(TimeValue value) {
         return compoundValueSearch(value);
     }
@@ -0,0 +1,112 @@
+package org.schemaanalyst.data.generation.search;
+
+import org.schemaanalyst.data.Cell;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.Value;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Tracks the best version of a {@link Data} instance that a search has
+ * found, while the search continues to change the instance in place,
+ * without duplicating all of its rows, cells and values each time it
+ * improves.
+ * </p>
+ *
+ * <p>
+ * Instead, the search declares each cell it is about to change through
+ * {@link #cellWillChange(Cell)}, and the journal saves that cell's value
+ * the first time it changes after the best version was recorded (an undo
+ * log). Recording a new best version just empties the journal. A full
+ * {@link Data} instance is only materialised, by duplicating the current
+ * data and undoing the journalled changes, when {@link #getBestData()} is
+ * called.
+ * </p>
+ */
+public class BestDataJournal {
+
+    private Data data;
+    private List<Cell> cells;
+    private Map<Cell, Integer> cellIndices;
+    private Map<Cell, Value> bestValues;
+    private boolean hasBest;
+    private Data bestData;
+
+    /**
+     * Constructor.
+     * @param data The data instance that the search changes in place.
+     */
+    public BestDataJournal(Data data) {
+        this.data = data;
+        this.cells = data.getCells();
+        this.cellIndices = new IdentityHashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            cellIndices.put(cells.get(i), i);
+        }
+        this.bestValues = new IdentityHashMap<>();
+    }
+
+    /**
+     * Records the data, as it currently is, as the best version.
+     */
+    public void recordBest() {
+        bestValues.clear();
+        hasBest = true;
+        bestData = null;
+    }
+
+    /**
+     * Declares that a cell is about to change.
+     * @param cell The cell, which must belong to the data.
+     */
+    public void cellWillChange(Cell cell) {
+        if (hasBest && !bestValues.containsKey(cell)) {
+            Value value = cell.getValue();
+            bestValues.put(cell, (value == null) ? null : value.duplicate());
+        }
+    }
+
+    /**
+     * Declares that all of the cells are about to change (e.g. on a restart).
+     */
+    public void allCellsWillChange() {
+        for (Cell cell : cells) {
+            cellWillChange(cell);
+        }
+    }
+
+    /**
+     * Returns whether a best version of the data has been recorded.
+     * @return Whether a best version has been recorded.
+     */
+    public boolean hasBest() {
+        return hasBest;
+    }
+
+    /**
+     * Returns the number of cells whose best values are currently journalled.
+     * @return The number of journalled cells.
+     */
+    public int getNumJournalledCells() {
+        return bestValues.size();
+    }
+
+    /**
+     * Returns a new instance of the best version of the data, or null if
+     * no best version has been recorded.
+     * @return The best version of the data.
+     */
+    public Data getBestData() {
+        if (hasBest && bestData == null) {
+            bestData = data.duplicate();
+            List<Cell> bestCells = bestData.getCells();
+            for (Map.Entry<Cell, Value> entry : bestValues.entrySet()) {
+                bestCells.get(cellIndices.get(entry.getKey())).setValue(entry.getValue());
+            }
+        }
+        return bestData;
+    }
+}
@@ -80,13 +80,25 @@ public abstract class Search<T> {
 
         if (bestObjVal == null || objVal.betterThan(bestObjVal)) {
             bestObjVal = objVal;
-            bestCandidateSolution = duplicator.duplicate(candidateSolution);
+            recordBestCandidateSolution(candidateSolution);
         }
 
         evaluationsCounter.increment();
         return objVal;
     }
 
+    /**
+     * Records a candidate solution as the best found so far, by duplicating
+     * it. Subclasses that know how the candidate solution changes between
+     * evaluations may record it more cheaply, in which case they should also
+     * override {@link #getBestCandidateSolution()}.
+     *
+     * @param candidateSolution The new best candidate solution.
+     */
+    protected void recordBestCandidateSolution(T candidateSolution) {
+        bestCandidateSolution = duplicator.duplicate(candidateSolution);
+    }
+
     /**
      * Returns the best objective value found by the generation so far.
      *
@@ -3,7 +3,10 @@ package org.schemaanalyst.data.generation.search;
 import org.schemaanalyst.data.Data;
 import org.schemaanalyst.data.generation.DataGenerator;
 import org.schemaanalyst.data.generation.search.objective.ObjectiveValue;
+import org.schemaanalyst.data.generation.search.objective.ObjectiveFunction;
+import org.schemaanalyst.data.generation.search.objective.incremental.IncrementalPredicateObjectiveFunction;
 import org.schemaanalyst.data.generation.search.objective.predicate.PredicateObjectiveFunctionFactory;
+import org.schemaanalyst.data.generation.search.objective.primitive.DoublePredicateObjectiveFunctionFactory;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
 
 /**
@@ -11,16 +14,40 @@ import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
  */
 public class SearchBasedDataGenerator extends DataGenerator {
 
+    /**
+     * The kinds of objective function that predicates can be evaluated with.
+     */
+    public enum ObjectiveFunctionType {
+        /** Trees of BigDecimal objective values. */
+        BIG_DECIMAL,
+        /** Primitive double values, re-evaluating all the data each time. */
+        DOUBLE,
+        /** Primitive double values, re-evaluating only what the last move changed. */
+        INCREMENTAL
+    }
+
     private Search<Data> search;
+    private ObjectiveFunctionType objectiveFunctionType;
+
+    public SearchBasedDataGenerator(Search<Data> search) {
+        this(search, ObjectiveFunctionType.BIG_DECIMAL);
+    }
 
-    public SearchBasedDataGenerator(Search search) {
+    /**
+     * Constructor.
+     * @param search The search to generate data with.
+     * @param objectiveFunctionType The kind of objective function to
+     *                              evaluate predicates with.
+     */
+    public SearchBasedDataGenerator(Search<Data> search, ObjectiveFunctionType objectiveFunctionType) {
         this.search = search;
+        this.objectiveFunctionType = objectiveFunctionType;
     }
 
     @Override
     public SearchBasedDataGenerationReport generateData(Data data, Data state, Predicate predicate) {
 
-        search.setObjectiveFunction(PredicateObjectiveFunctionFactory.createObjectiveFunction(predicate, state));
+        search.setObjectiveFunction(createObjectiveFunction(predicate, state));
         search.initialize();
         search.search(data);
 
@@ -37,4 +64,15 @@ public class SearchBasedDataGenerator extends DataGenerator {
                 numEvaluations,
                 bestObjectiveValue);
     }
+
+    private ObjectiveFunction<Data> createObjectiveFunction(Predicate predicate, Data state) {
+        switch (objectiveFunctionType) {
+            case DOUBLE:
+                return DoublePredicateObjectiveFunctionFactory.createObjectiveFunction(predicate, state);
+            case INCREMENTAL:
+                return new IncrementalPredicateObjectiveFunction(predicate, state);
+            default:
+                return PredicateObjectiveFunctionFactory.createObjectiveFunction(predicate, state);
+        }
+    }
 }
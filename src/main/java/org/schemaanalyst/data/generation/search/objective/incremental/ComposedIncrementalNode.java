@@ -0,0 +1,68 @@
+package org.schemaanalyst.data.generation.search.objective.incremental;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.WORST_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+
+/**
+ * Combines the values of the nodes for the sub-predicates of an AND or OR
+ * predicate, in the same way as
+ * {@link org.schemaanalyst.data.generation.search.objective.primitive.DoubleComposedPredicateObjectiveFunction}.
+ */
+class ComposedIncrementalNode extends IncrementalNode {
+
+    private IncrementalNode[] subNodes;
+    private int[] weights;
+    private boolean sumOf;
+
+    ComposedIncrementalNode(IncrementalNode[] subNodes, int[] weights, boolean sumOf) {
+        this.subNodes = subNodes;
+        this.weights = weights;
+        this.sumOf = sumOf;
+    }
+
+    @Override
+    void rebuild(Data data, Data state) {
+        for (IncrementalNode subNode : subNodes) {
+            subNode.rebuild(data, state);
+        }
+        computeValue();
+    }
+
+    @Override
+    void cellChanged(Table table, int rowIndex, Column column) {
+        for (IncrementalNode subNode : subNodes) {
+            subNode.cellChanged(table, rowIndex, column);
+        }
+    }
+
+    @Override
+    void update() {
+        for (IncrementalNode subNode : subNodes) {
+            subNode.update();
+        }
+        computeValue();
+    }
+
+    private void computeValue() {
+        if (sumOf) {
+            double sum = 0;
+            for (int i = 0; i < subNodes.length; i++) {
+                double subValue = subNodes[i].getValue();
+                for (int j = 0; j < weights[i]; j++) {
+                    sum += subValue;
+                }
+            }
+            value = normalize(sum);
+        } else {
+            double best = WORST_DOUBLE;
+            for (IncrementalNode subNode : subNodes) {
+                best = Math.min(best, subNode.getValue());
+            }
+            value = best;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.schemaanalyst.data.generation.search.objective.incremental;
+
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.generation.search.objective.primitive.DoubleExpressionRowObjectiveFunctionFactory;
+import org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveFunction;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.ExpressionPredicate;
+
+/**
+ * An incremental node for an {@link ExpressionPredicate}.
+ */
+class ExpressionIncrementalNode extends RowIncrementalNode {
+
+    private DoubleObjectiveFunction<Row> rowObjFun;
+
+    ExpressionIncrementalNode(ExpressionPredicate expressionPredicate) {
+        super(expressionPredicate.getTable(), expressionPredicate.getExpression().getColumnsInvolved());
+        this.rowObjFun = new DoubleExpressionRowObjectiveFunctionFactory(
+                expressionPredicate.getExpression(),
+                expressionPredicate.getTruthValue(),
+                true).create();
+    }
+
+    @Override
+    protected double evaluateRow(Row row) {
+        return rowObjFun.evaluateValue(row);
+    }
+}
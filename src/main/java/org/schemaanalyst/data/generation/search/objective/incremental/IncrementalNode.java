@@ -0,0 +1,39 @@
+package org.schemaanalyst.data.generation.search.objective.incremental;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+
+/**
+ * A node of an {@link IncrementalPredicateObjectiveFunction}, corresponding
+ * to one (sub-)predicate, which holds the objective value of its predicate
+ * for the data it was last updated with.
+ */
+abstract class IncrementalNode {
+
+    protected double value;
+
+    /**
+     * Recomputes all cached results for (possibly structurally new) data.
+     * @param data The data.
+     * @param state The state the predicate is evaluated against.
+     */
+    abstract void rebuild(Data data, Data state);
+
+    /**
+     * Marks the cached results depending on a cell as out of date.
+     * @param table The table of the row containing the cell.
+     * @param rowIndex The index of the row containing the cell.
+     * @param column The column of the cell.
+     */
+    abstract void cellChanged(Table table, int rowIndex, Column column);
+
+    /**
+     * Recomputes out-of-date cached results and the node's value.
+     */
+    abstract void update();
+
+    double getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,25 @@
+package org.schemaanalyst.data.generation.search.objective.incremental;
+
+import org.schemaanalyst.data.Cell;
+
+/**
+ * An objective function that caches the results of its sub-objectives
+ * between evaluations, and so needs to be told by the search which cells
+ * of the candidate solution have changed since it was last evaluated.
+ */
+public interface IncrementalObjectiveFunction {
+
+    /**
+     * Notifies the objective function that the value of a cell has changed
+     * (including being reverted) since the last evaluation.
+     * @param cell The cell that has changed.
+     */
+    void cellChanged(Cell cell);
+
+    /**
+     * Notifies the objective function that any cell may have changed (e.g.
+     * following the initialization of a candidate solution), so that the
+     * next evaluation is performed in full.
+     */
+    void invalidate();
+}
@@ -0,0 +1,174 @@
+package org.schemaanalyst.data.generation.search.objective.incremental;
+
+import org.schemaanalyst.data.Cell;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.generation.search.objective.ObjectiveFunction;
+import org.schemaanalyst.data.generation.search.objective.predicate.PredicateObjectiveFunctionFactory;
+import org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveFunction;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.*;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A predicate objective function that caches the objective values of its
+ * expression, null and match sub-predicates for each row (or, for match
+ * predicates, each pair of rows), and on each evaluation only re-evaluates
+ * those that read a cell that has changed since the last evaluation.
+ * </p>
+ *
+ * <p>
+ * The values computed are identical to those of the non-incremental
+ * {@link org.schemaanalyst.data.generation.search.objective.primitive.DoublePredicateObjectiveFunctionFactory}
+ * functions, provided that the search reports every changed cell through
+ * {@link #cellChanged(Cell)} and calls {@link #invalidate()} whenever it
+ * changes cells wholesale. Evaluating a different {@link Data} instance to
+ * the one last evaluated always results in a full evaluation.
+ * </p>
+ */
+public class IncrementalPredicateObjectiveFunction extends DoubleObjectiveFunction<Data>
+        implements IncrementalObjectiveFunction {
+
+    // weights, as used by ComposedPredicateObjectiveFunction
+    private static final int DEFAULT_WEIGHT = 1;
+    private static final int NULL_PREDICATE_WEIGHT = 5;
+
+    private static class CellLocation {
+        Table table;
+        int rowIndex;
+
+        CellLocation(Table table, int rowIndex) {
+            this.table = table;
+            this.rowIndex = rowIndex;
+        }
+    }
+
+    private Predicate predicate;
+    private Data state;
+    private IncrementalNode root;
+
+    private Data data;
+    private Map<Cell, CellLocation> cellLocations;
+    private List<Cell> changedCells;
+
+    public IncrementalPredicateObjectiveFunction(Predicate predicate, Data state) {
+        this.predicate = predicate;
+        this.state = state;
+        this.root = createNode(predicate);
+        this.cellLocations = new IdentityHashMap<>();
+        this.changedCells = new ArrayList<>();
+    }
+
+    private IncrementalNode createNode(Predicate predicate) {
+        return new PredicateVisitor() {
+            IncrementalNode node;
+
+            IncrementalNode create(Predicate predicate) {
+                predicate.accept(this);
+                return node;
+            }
+
+            @Override
+            public void visit(AndPredicate predicate) {
+                node = createComposedNode(predicate, true);
+            }
+
+            @Override
+            public void visit(ExpressionPredicate predicate) {
+                node = new ExpressionIncrementalNode(predicate);
+            }
+
+            @Override
+            public void visit(MatchPredicate predicate) {
+                node = new MatchIncrementalNode(predicate, state);
+            }
+
+            @Override
+            public void visit(NullPredicate predicate) {
+                node = new NullIncrementalNode(predicate);
+            }
+
+            @Override
+            public void visit(OrPredicate predicate) {
+                node = createComposedNode(predicate, false);
+            }
+        }.create(predicate);
+    }
+
+    private IncrementalNode createComposedNode(ComposedPredicate predicate, boolean sumOf) {
+        List<Predicate> subPredicates = predicate.getSubPredicates();
+        IncrementalNode[] subNodes = new IncrementalNode[subPredicates.size()];
+        int[] weights = new int[subPredicates.size()];
+        for (int i = 0; i < subNodes.length; i++) {
+            Predicate subPredicate = subPredicates.get(i);
+            subNodes[i] = createNode(subPredicate);
+            weights[i] = (subPredicate instanceof NullPredicate) ? NULL_PREDICATE_WEIGHT : DEFAULT_WEIGHT;
+        }
+        return new ComposedIncrementalNode(subNodes, weights, sumOf);
+    }
+
+    @Override
+    public void cellChanged(Cell cell) {
+        if (data != null) {
+            changedCells.add(cell);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        data = null;
+        changedCells.clear();
+    }
+
+    @Override
+    public double evaluateValue(Data data) {
+        if (data != this.data) {
+            rebuild(data);
+        } else if (!changedCells.isEmpty()) {
+            for (Cell cell : changedCells) {
+                CellLocation location = cellLocations.get(cell);
+                if (location == null) {
+                    // a cell that was not part of the data when it was indexed
+                    rebuild(data);
+                    return root.getValue();
+                }
+                root.cellChanged(location.table, location.rowIndex, cell.getColumn());
+            }
+            changedCells.clear();
+            root.update();
+        }
+        return root.getValue();
+    }
+
+    private void rebuild(Data data) {
+        this.data = data;
+        changedCells.clear();
+
+        cellLocations.clear();
+        for (Table table : data.getTables()) {
+            List<Row> rows = data.getRows(table);
+            for (int i = 0; i < rows.size(); i++) {
+                for (Cell cell : rows.get(i).getCells()) {
+                    cellLocations.put(cell, new CellLocation(table, i));
+                }
+            }
+        }
+
+        root.rebuild(data, state);
+    }
+
+    @Override
+    protected ObjectiveFunction<Data> createDescriptiveObjectiveFunction() {
+        return PredicateObjectiveFunctionFactory.createObjectiveFunction(predicate, state);
+    }
+
+    @Override
+    public String toString() {
+        return "Predicate " + predicate;
+    }
+}
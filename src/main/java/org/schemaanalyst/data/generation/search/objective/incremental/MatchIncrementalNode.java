@@ -0,0 +1,166 @@
+package org.schemaanalyst.data.generation.search.objective.incremental;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.generation.search.objective.primitive.DoubleMatchPredicateObjectiveFunction;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.MatchPredicate;
+
+import java.util.List;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.WORST_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+
+/**
+ * An incremental node for a {@link MatchPredicate}. The objective value of
+ * every pair of a row and a row it is compared with is cached, and only the
+ * pairs involving a row with a changed cell in one of the matched columns
+ * are re-evaluated.
+ */
+class MatchIncrementalNode extends IncrementalNode {
+
+    private DoubleMatchPredicateObjectiveFunction pairObjFun;
+    private Table table, referenceTable;
+    private List<Column> columns, referenceColumns;
+    private boolean forAll, sameTable, includeCurrentRow;
+
+    private List<Row> rows, referenceRows, stateRows;
+    private double[][] pairValues;
+    private double[] rowValues;
+    private boolean[] dirtyRows, dirtyReferenceRows;
+    private int[] dirtyReferenceIndices;
+    private int numDirtyReferenceRows;
+    private boolean dirty;
+
+    MatchIncrementalNode(MatchPredicate matchPredicate, Data state) {
+        pairObjFun = new DoubleMatchPredicateObjectiveFunction(matchPredicate, state);
+        table = matchPredicate.getTable();
+        referenceTable = matchPredicate.getReferenceTable();
+        columns = matchPredicate.getColumns();
+        referenceColumns = matchPredicate.getReferenceColumns();
+        forAll = pairObjFun.isForAll();
+        sameTable = table.equals(referenceTable);
+        includeCurrentRow = !matchPredicate.colsAreRefCols();
+    }
+
+    @Override
+    void rebuild(Data data, Data state) {
+        rows = data.getRows(table);
+        referenceRows = sameTable ? rows : data.getRows(referenceTable);
+        stateRows = state.getRows(referenceTable);
+
+        pairValues = new double[rows.size()][];
+        rowValues = new double[rows.size()];
+        dirtyRows = new boolean[rows.size()];
+        dirtyReferenceRows = new boolean[referenceRows.size()];
+        dirtyReferenceIndices = new int[referenceRows.size()];
+        numDirtyReferenceRows = 0;
+        dirty = false;
+
+        for (int i = 0; i < pairValues.length; i++) {
+            pairValues[i] = new double[getNumDataCompareRows(i) + stateRows.size()];
+            for (int j = 0; j < pairValues[i].length; j++) {
+                computePair(i, j);
+            }
+            computeRowValue(i);
+        }
+        computeValue();
+    }
+
+    @Override
+    void cellChanged(Table table, int rowIndex, Column column) {
+        if (this.table.equals(table) && columns.contains(column)) {
+            dirtyRows[rowIndex] = true;
+            dirty = true;
+        }
+        if (referenceTable.equals(table) && referenceColumns.contains(column)
+                && !dirtyReferenceRows[rowIndex]) {
+            dirtyReferenceRows[rowIndex] = true;
+            dirtyReferenceIndices[numDirtyReferenceRows++] = rowIndex;
+            dirty = true;
+        }
+    }
+
+    @Override
+    void update() {
+        if (!dirty) {
+            return;
+        }
+
+        for (int i = 0; i < pairValues.length; i++) {
+            int numDataCompareRows = getNumDataCompareRows(i);
+            boolean rowChanged = false;
+
+            if (dirtyRows[i]) {
+                for (int j = 0; j < pairValues[i].length; j++) {
+                    computePair(i, j);
+                }
+                dirtyRows[i] = false;
+                rowChanged = true;
+            } else {
+                for (int k = 0; k < numDirtyReferenceRows; k++) {
+                    int j = dirtyReferenceIndices[k];
+                    if (j < numDataCompareRows) {
+                        computePair(i, j);
+                        rowChanged = true;
+                    }
+                }
+            }
+
+            if (rowChanged) {
+                computeRowValue(i);
+            }
+        }
+
+        for (int k = 0; k < numDirtyReferenceRows; k++) {
+            dirtyReferenceRows[dirtyReferenceIndices[k]] = false;
+        }
+        numDirtyReferenceRows = 0;
+        dirty = false;
+
+        computeValue();
+    }
+
+    private int getNumDataCompareRows(int index) {
+        if (sameTable) {
+            return includeCurrentRow ? index + 1 : index;
+        }
+        return referenceRows.size();
+    }
+
+    private void computePair(int index, int compareIndex) {
+        int numDataCompareRows = getNumDataCompareRows(index);
+        Row compareRow = (compareIndex < numDataCompareRows)
+                ? referenceRows.get(compareIndex)
+                : stateRows.get(compareIndex - numDataCompareRows);
+        pairValues[index][compareIndex] = pairObjFun.compareRows(rows.get(index), compareRow);
+    }
+
+    private void computeRowValue(int index) {
+        // if the predicate holds for all rows, we need a "sum of"
+        // else if it's for one row, we need a "best of"
+        double rowSum = 0, rowBest = WORST_DOUBLE;
+        for (double pairValue : pairValues[index]) {
+            rowSum += pairValue;
+            rowBest = Math.min(rowBest, pairValue);
+        }
+        rowValues[index] = forAll ? normalize(rowSum) : rowBest;
+    }
+
+    private void computeValue() {
+        if (rowValues.length == 0) {
+            value = WORST_DOUBLE;
+            return;
+        }
+
+        double sum = 0;
+        for (int i = 0; i < rowValues.length; i++) {
+            // rows with nothing to compare against do not contribute
+            if (pairValues[i].length > 0) {
+                sum += rowValues[i];
+            }
+        }
+        value = normalize(sum);
+    }
+}
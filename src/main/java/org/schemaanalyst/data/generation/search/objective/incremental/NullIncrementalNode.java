@@ -0,0 +1,27 @@
+package org.schemaanalyst.data.generation.search.objective.incremental;
+
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.generation.search.objective.primitive.DoubleValueObjectiveFunction;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.NullPredicate;
+
+import java.util.Collections;
+
+/**
+ * An incremental node for a {@link NullPredicate}.
+ */
+class NullIncrementalNode extends RowIncrementalNode {
+
+    private NullPredicate nullPredicate;
+
+    NullIncrementalNode(NullPredicate nullPredicate) {
+        super(nullPredicate.getTable(), Collections.singletonList(nullPredicate.getColumn()));
+        this.nullPredicate = nullPredicate;
+    }
+
+    @Override
+    protected double evaluateRow(Row row) {
+        return DoubleValueObjectiveFunction.computeNull(
+                row.getCell(nullPredicate.getColumn()).getValue(),
+                nullPredicate.getTruthValue());
+    }
+}
@@ -0,0 +1,79 @@
+package org.schemaanalyst.data.generation.search.objective.incremental;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+
+import java.util.List;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.WORST_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+
+/**
+ * A node for a predicate whose value is the normalized sum of a per-row
+ * value over the rows of a table (i.e., expression and null predicates).
+ * Only the rows with a changed cell in one of the columns the predicate
+ * reads are re-evaluated.
+ */
+abstract class RowIncrementalNode extends IncrementalNode {
+
+    private Table table;
+    private List<Column> columns;
+    private List<Row> rows;
+    private double[] rowValues;
+    private boolean[] dirtyRows;
+    private boolean dirty;
+
+    RowIncrementalNode(Table table, List<Column> columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+
+    protected abstract double evaluateRow(Row row);
+
+    @Override
+    void rebuild(Data data, Data state) {
+        rows = data.getRows(table);
+        rowValues = new double[rows.size()];
+        dirtyRows = new boolean[rows.size()];
+        for (int i = 0; i < rowValues.length; i++) {
+            rowValues[i] = evaluateRow(rows.get(i));
+        }
+        computeValue();
+    }
+
+    @Override
+    void cellChanged(Table table, int rowIndex, Column column) {
+        if (this.table.equals(table) && columns.contains(column)) {
+            dirtyRows[rowIndex] = true;
+            dirty = true;
+        }
+    }
+
+    @Override
+    void update() {
+        if (dirty) {
+            for (int i = 0; i < rowValues.length; i++) {
+                if (dirtyRows[i]) {
+                    rowValues[i] = evaluateRow(rows.get(i));
+                    dirtyRows[i] = false;
+                }
+            }
+            dirty = false;
+            computeValue();
+        }
+    }
+
+    private void computeValue() {
+        if (rowValues.length == 0) {
+            value = WORST_DOUBLE;
+        } else {
+            double sum = 0;
+            for (double rowValue : rowValues) {
+                sum += rowValue;
+            }
+            value = normalize(sum);
+        }
+    }
+}
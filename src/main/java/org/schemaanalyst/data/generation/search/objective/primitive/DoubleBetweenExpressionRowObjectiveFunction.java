@@ -0,0 +1,63 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.data.generation.search.objective.row.ExpressionEvaluator;
+import org.schemaanalyst.logic.RelationalOperator;
+import org.schemaanalyst.sqlrepresentation.expression.BetweenExpression;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+
+/**
+ * Double equivalent of
+ * {@link org.schemaanalyst.data.generation.search.objective.row.BetweenExpressionRowObjectiveFunction}.
+ */
+public class DoubleBetweenExpressionRowObjectiveFunction extends DoubleExpressionRowObjectiveFunction {
+
+    private ExpressionEvaluator subjectEvaluator, lhsEvaluator, rhsEvaluator;
+    private RelationalOperator lhsOp, rhsOp;
+    private boolean evaluateTrueForm, symmetric;
+
+    public DoubleBetweenExpressionRowObjectiveFunction(BetweenExpression expression,
+                                                       boolean goalIsToSatisfy,
+                                                       boolean allowNull) {
+        super(expression, goalIsToSatisfy, allowNull);
+        evaluateTrueForm = (goalIsToSatisfy != expression.isNotBetween());
+        symmetric = expression.isSymmetric();
+
+        subjectEvaluator = new ExpressionEvaluator(expression.getSubject());
+        lhsEvaluator = new ExpressionEvaluator(expression.getLHS());
+        rhsEvaluator = new ExpressionEvaluator(expression.getRHS());
+
+        if (evaluateTrueForm) {
+            lhsOp = RelationalOperator.GREATER_OR_EQUALS;
+            rhsOp = RelationalOperator.LESS_OR_EQUALS;
+        } else {
+            lhsOp = RelationalOperator.LESS;
+            rhsOp = RelationalOperator.GREATER;
+        }
+    }
+
+    @Override
+    public double evaluateValue(Row row) {
+        Value subjectValue = subjectEvaluator.evaluate(row);
+        Value lhsValue = lhsEvaluator.evaluate(row);
+        Value rhsValue = rhsEvaluator.evaluate(row);
+
+        if (symmetric) {
+            if (lhsValue != null && rhsValue != null && lhsValue.compareTo(rhsValue) > 0) {
+                Value temp = lhsValue;
+                lhsValue = rhsValue;
+                rhsValue = temp;
+            }
+        }
+
+        double lhsObjVal = DoubleValueObjectiveFunction.computeRelational(subjectValue, lhsOp, lhsValue, allowNull);
+        double rhsObjVal = DoubleValueObjectiveFunction.computeRelational(subjectValue, rhsOp, rhsValue, allowNull);
+
+        // "sum of" for the true form, "best of" for the false form
+        return evaluateTrueForm
+                ? normalize(lhsObjVal + rhsObjVal)
+                : Math.min(lhsObjVal, rhsObjVal);
+    }
+}
@@ -0,0 +1,53 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.sqlrepresentation.expression.CompoundExpression;
+import org.schemaanalyst.sqlrepresentation.expression.Expression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.WORST_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+
+/**
+ * Double equivalent of the AND and OR expression row objective functions,
+ * which take the "sum of" or the "best of" their sub-objective values.
+ */
+public class DoubleComposedExpressionRowObjectiveFunction extends DoubleExpressionRowObjectiveFunction {
+
+    protected List<DoubleObjectiveFunction<Row>> subObjFuns;
+    protected boolean sumOf;
+
+    public DoubleComposedExpressionRowObjectiveFunction(CompoundExpression expression,
+                                                        boolean goalIsToSatisfy,
+                                                        boolean allowNull,
+                                                        boolean sumOf) {
+        super(expression, goalIsToSatisfy, allowNull);
+        this.sumOf = sumOf;
+
+        List<Expression> subexpressions = expression.getSubexpressions();
+        subObjFuns = new ArrayList<>(subexpressions.size());
+        for (Expression subexpression : subexpressions) {
+            subObjFuns.add(new DoubleExpressionRowObjectiveFunctionFactory(
+                    subexpression, goalIsToSatisfy, allowNull).create());
+        }
+    }
+
+    @Override
+    public double evaluateValue(Row row) {
+        if (sumOf) {
+            double sum = 0;
+            for (int i = 0; i < subObjFuns.size(); i++) {
+                sum += subObjFuns.get(i).evaluateValue(row);
+            }
+            return normalize(sum);
+        }
+
+        double best = WORST_DOUBLE;
+        for (int i = 0; i < subObjFuns.size(); i++) {
+            best = Math.min(best, subObjFuns.get(i).evaluateValue(row));
+        }
+        return best;
+    }
+}
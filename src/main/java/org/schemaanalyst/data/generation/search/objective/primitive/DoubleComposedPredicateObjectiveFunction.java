@@ -0,0 +1,60 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.ComposedPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.NullPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
+
+import java.util.List;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.WORST_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+
+/**
+ * Double equivalent of the AND and OR predicate objective functions, which
+ * take the weighted "sum of" or the "best of" their sub-objective values.
+ */
+public class DoubleComposedPredicateObjectiveFunction extends DoublePredicateObjectiveFunction {
+
+    // weights, as used by ComposedPredicateObjectiveFunction
+    private static final int DEFAULT_WEIGHT = 1;
+    private static final int NULL_PREDICATE_WEIGHT = 5;
+
+    private DoublePredicateObjectiveFunction[] objectiveFunctions;
+    private int[] weights;
+    private boolean sumOf;
+
+    public DoubleComposedPredicateObjectiveFunction(ComposedPredicate predicate, Data state, boolean sumOf) {
+        super(predicate, state);
+        this.sumOf = sumOf;
+
+        List<Predicate> subPredicates = predicate.getSubPredicates();
+        objectiveFunctions = new DoublePredicateObjectiveFunction[subPredicates.size()];
+        weights = new int[subPredicates.size()];
+        for (int i = 0; i < objectiveFunctions.length; i++) {
+            Predicate subPredicate = subPredicates.get(i);
+            objectiveFunctions[i] = DoublePredicateObjectiveFunctionFactory.createObjectiveFunction(subPredicate, state);
+            weights[i] = (subPredicate instanceof NullPredicate) ? NULL_PREDICATE_WEIGHT : DEFAULT_WEIGHT;
+        }
+    }
+
+    @Override
+    public double evaluateValue(Data data) {
+        if (sumOf) {
+            double sum = 0;
+            for (int i = 0; i < objectiveFunctions.length; i++) {
+                double objVal = objectiveFunctions[i].evaluateValue(data);
+                for (int j = 0; j < weights[i]; j++) {
+                    sum += objVal;
+                }
+            }
+            return normalize(sum);
+        }
+
+        double best = WORST_DOUBLE;
+        for (DoublePredicateObjectiveFunction objectiveFunction : objectiveFunctions) {
+            best = Math.min(best, objectiveFunction.evaluateValue(data));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,43 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.ExpressionPredicate;
+
+import java.util.List;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.WORST_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+
+/**
+ * Double equivalent of
+ * {@link org.schemaanalyst.data.generation.search.objective.predicate.ExpressionPredicateObjectiveFunction}.
+ */
+public class DoubleExpressionPredicateObjectiveFunction extends DoublePredicateObjectiveFunction {
+
+    private ExpressionPredicate expressionPredicate;
+    private DoubleObjectiveFunction<Row> rowObjFun;
+
+    public DoubleExpressionPredicateObjectiveFunction(ExpressionPredicate expressionPredicate, Data state) {
+        super(expressionPredicate, state);
+        this.expressionPredicate = expressionPredicate;
+        this.rowObjFun = new DoubleExpressionRowObjectiveFunctionFactory(
+                expressionPredicate.getExpression(),
+                expressionPredicate.getTruthValue(),
+                true).create();
+    }
+
+    @Override
+    public double evaluateValue(Data data) {
+        List<Row> rows = data.getRows(expressionPredicate.getTable());
+        if (rows.isEmpty()) {
+            return WORST_DOUBLE;
+        }
+
+        double sum = 0;
+        for (Row row : rows) {
+            sum += rowObjFun.evaluateValue(row);
+        }
+        return normalize(sum);
+    }
+}
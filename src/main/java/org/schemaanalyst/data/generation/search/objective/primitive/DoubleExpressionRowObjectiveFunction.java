@@ -0,0 +1,33 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.generation.search.objective.ObjectiveFunction;
+import org.schemaanalyst.data.generation.search.objective.row.ExpressionRowObjectiveFunctionFactory;
+import org.schemaanalyst.sqlrepresentation.expression.Expression;
+
+/**
+ * Base class for double objective functions over an expression and a row.
+ */
+public abstract class DoubleExpressionRowObjectiveFunction extends DoubleObjectiveFunction<Row> {
+
+    protected Expression expression;
+    protected boolean goalIsToSatisfy, allowNull;
+
+    public DoubleExpressionRowObjectiveFunction(Expression expression,
+                                                boolean goalIsToSatisfy,
+                                                boolean allowNull) {
+        this.expression = expression;
+        this.goalIsToSatisfy = goalIsToSatisfy;
+        this.allowNull = allowNull;
+    }
+
+    @Override
+    protected ObjectiveFunction<Row> createDescriptiveObjectiveFunction() {
+        return new ExpressionRowObjectiveFunctionFactory(expression, goalIsToSatisfy, allowNull).create();
+    }
+
+    @Override
+    public String toString() {
+        return expression.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.generation.search.objective.ObjectiveFunctionException;
+import org.schemaanalyst.sqlrepresentation.expression.*;
+
+/**
+ * Double equivalent of
+ * {@link org.schemaanalyst.data.generation.search.objective.row.ExpressionRowObjectiveFunctionFactory}.
+ */
+public class DoubleExpressionRowObjectiveFunctionFactory {
+
+    protected Expression expression;
+    protected boolean goalIsToSatisfy, allowNull;
+
+    public DoubleExpressionRowObjectiveFunctionFactory(Expression expression,
+                                                       boolean goalIsToSatisfy,
+                                                       boolean allowNull) {
+        this.expression = expression;
+        this.goalIsToSatisfy = goalIsToSatisfy;
+        this.allowNull = allowNull;
+    }
+
+    public DoubleObjectiveFunction<Row> create() {
+
+        class ExpressionDispatcher extends ExpressionAdapter {
+
+            DoubleObjectiveFunction<Row> objFun;
+
+            DoubleObjectiveFunction<Row> dispatch() {
+                objFun = null;
+                expression.accept(this);
+
+                if (objFun == null) {
+                    throw new ObjectiveFunctionException("Expression type "
+                            + expression.getClass().getSimpleName()
+                            + " not supported for creating objective functions");
+                }
+
+                return objFun;
+            }
+
+            @Override
+            public void visit(AndExpression expression) {
+                objFun = new DoubleComposedExpressionRowObjectiveFunction(
+                        expression, goalIsToSatisfy, allowNull, goalIsToSatisfy);
+            }
+
+            @Override
+            public void visit(BetweenExpression expression) {
+                objFun = new DoubleBetweenExpressionRowObjectiveFunction(
+                        expression, goalIsToSatisfy, allowNull);
+            }
+
+            @Override
+            public void visit(InExpression expression) {
+                objFun = new DoubleInExpressionRowObjectiveFunction(
+                        expression, goalIsToSatisfy, allowNull);
+            }
+
+            @Override
+            public void visit(NullExpression expression) {
+                objFun = new DoubleNullExpressionRowObjectiveFunction(
+                        expression, goalIsToSatisfy);
+            }
+
+            @Override
+            public void visit(OrExpression expression) {
+                objFun = new DoubleComposedExpressionRowObjectiveFunction(
+                        expression, goalIsToSatisfy, allowNull, !goalIsToSatisfy);
+            }
+
+            @Override
+            public void visit(ParenthesisedExpression expression) {
+                objFun = new DoubleExpressionRowObjectiveFunctionFactory(
+                        expression.getSubexpression(), goalIsToSatisfy, allowNull).create();
+            }
+
+            @Override
+            public void visit(RelationalExpression expression) {
+                objFun = new DoubleRelationalExpressionRowObjectiveFunction(
+                        expression, goalIsToSatisfy, allowNull);
+            }
+        }
+
+        return (new ExpressionDispatcher()).dispatch();
+    }
+}
@@ -0,0 +1,67 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.data.generation.search.objective.ObjectiveFunctionException;
+import org.schemaanalyst.data.generation.search.objective.row.ExpressionEvaluator;
+import org.schemaanalyst.logic.RelationalOperator;
+import org.schemaanalyst.sqlrepresentation.expression.Expression;
+import org.schemaanalyst.sqlrepresentation.expression.InExpression;
+import org.schemaanalyst.sqlrepresentation.expression.ListExpression;
+
+import java.util.List;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.OPTIMAL_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.WORST_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+
+/**
+ * Double equivalent of
+ * {@link org.schemaanalyst.data.generation.search.objective.row.InExpressionRowObjectiveFunction}.
+ */
+public class DoubleInExpressionRowObjectiveFunction extends DoubleExpressionRowObjectiveFunction {
+
+    private ExpressionEvaluator lhsEvaluator;
+    private ExpressionEvaluator[] rhsEvaluators;
+    private RelationalOperator op;
+    private boolean evaluateTrueForm;
+
+    public DoubleInExpressionRowObjectiveFunction(InExpression expression,
+                                                  boolean goalIsToSatisfy,
+                                                  boolean allowNull) {
+        super(expression, goalIsToSatisfy, allowNull);
+        evaluateTrueForm = (goalIsToSatisfy != expression.isNotIn());
+        lhsEvaluator = new ExpressionEvaluator(expression.getLHS());
+
+        if (!(expression.getRHS() instanceof ListExpression)) {
+            throw new ObjectiveFunctionException(
+                    "Can only handle ListExpressions as the RHS of an InExpression");
+        }
+        List<Expression> subexpressions = ((ListExpression) expression.getRHS()).getSubexpressions();
+        rhsEvaluators = new ExpressionEvaluator[subexpressions.size()];
+        for (int i = 0; i < rhsEvaluators.length; i++) {
+            rhsEvaluators[i] = new ExpressionEvaluator(subexpressions.get(i));
+        }
+
+        op = evaluateTrueForm ? RelationalOperator.EQUALS : RelationalOperator.NOT_EQUALS;
+    }
+
+    @Override
+    public double evaluateValue(Row row) {
+        if (rhsEvaluators.length == 0) {
+            return evaluateTrueForm ? WORST_DOUBLE : OPTIMAL_DOUBLE;
+        }
+
+        Value lhsValue = lhsEvaluator.evaluate(row);
+
+        // "best of" for the true form, "sum of" for the false form
+        double best = WORST_DOUBLE, sum = 0;
+        for (ExpressionEvaluator rhsEvaluator : rhsEvaluators) {
+            double objVal = DoubleValueObjectiveFunction.computeRelational(
+                    lhsValue, op, rhsEvaluator.evaluate(row), allowNull);
+            best = Math.min(best, objVal);
+            sum += objVal;
+        }
+        return evaluateTrueForm ? best : normalize(sum);
+    }
+}
@@ -0,0 +1,141 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.logic.RelationalOperator;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.MatchPredicate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.WORST_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+
+/**
+ * Double equivalent of
+ * {@link org.schemaanalyst.data.generation.search.objective.predicate.MatchPredicateObjectiveFunction}.
+ * The list of rows to compare against is a scratch buffer reused between
+ * evaluations, so instances must not be shared between threads.
+ */
+public class DoubleMatchPredicateObjectiveFunction extends DoublePredicateObjectiveFunction {
+
+    private MatchPredicate matchPredicate;
+    private Table table, referenceTable;
+    private Column[] matchingCols, matchingRefCols, nonMatchingCols, nonMatchingRefCols;
+    private boolean forAll, sumOfColumns, sameTable, includeCurrentRow;
+    private List<Row> stateRows;
+    private List<Row> compareRows;
+
+    public DoubleMatchPredicateObjectiveFunction(MatchPredicate matchPredicate, Data state) {
+        super(matchPredicate, state);
+        this.matchPredicate = matchPredicate;
+        this.table = matchPredicate.getTable();
+        this.referenceTable = matchPredicate.getReferenceTable();
+
+        matchingCols = toArray(matchPredicate.getMatchingColumns());
+        matchingRefCols = toArray(matchPredicate.getMatchingReferenceColumns());
+        nonMatchingCols = toArray(matchPredicate.getNonMatchingColumns());
+        nonMatchingRefCols = toArray(matchPredicate.getNonMatchingReferenceColumns());
+
+        // matches can hold for one row, non-matches need to hold for all rows
+        forAll = nonMatchingCols.length > 0;
+        sumOfColumns = matchPredicate.getMode() == MatchPredicate.Mode.AND;
+        sameTable = table.equals(referenceTable);
+        includeCurrentRow = !matchPredicate.colsAreRefCols();
+        compareRows = new ArrayList<>();
+    }
+
+    private static Column[] toArray(List<Column> columns) {
+        return columns.toArray(new Column[columns.size()]);
+    }
+
+    @Override
+    public double evaluateValue(Data data) {
+        List<Row> rows = data.getRows(table);
+        if (rows.isEmpty()) {
+            return WORST_DOUBLE;
+        }
+
+        List<Row> referenceRows = sameTable ? rows : data.getRows(referenceTable);
+        stateRows = state.getRows(referenceTable);
+
+        double sum = 0;
+        for (int index = 0; index < rows.size(); index++) {
+            Row row = rows.get(index);
+            setCompareRows(referenceRows, index);
+
+            if (compareRows.size() > 0) {
+                // if the predicate holds for all rows, we need a "sum of"
+                // else if it's for one row, we need a "best of"
+                double rowSum = 0, rowBest = WORST_DOUBLE;
+                for (Row compareRow : compareRows) {
+                    double objVal = compareRows(row, compareRow);
+                    rowSum += objVal;
+                    rowBest = Math.min(rowBest, objVal);
+                }
+                sum += forAll ? normalize(rowSum) : rowBest;
+            }
+        }
+        compareRows.clear();
+
+        return normalize(sum);
+    }
+
+    private void setCompareRows(List<Row> referenceRows, int index) {
+        compareRows.clear();
+        if (sameTable) {
+            int limit = includeCurrentRow ? index + 1 : index;
+            compareRows.addAll(referenceRows.subList(0, limit));
+        } else {
+            compareRows.addAll(referenceRows);
+        }
+        compareRows.addAll(stateRows);
+    }
+
+    /**
+     * Returns whether the predicate needs to hold against all the rows a
+     * row is compared with ("sum of"), rather than just one ("best of").
+     * @return Whether the predicate needs to hold for all compared rows.
+     */
+    public boolean isForAll() {
+        return forAll;
+    }
+
+    /**
+     * Computes the objective value for a single row against a single row
+     * that it is compared with.
+     * @param row The row.
+     * @param compareRow The row it is compared with.
+     * @return The objective value for the pair of rows.
+     */
+    public double compareRows(Row row, Row compareRow) {
+        double sum = 0, best = WORST_DOUBLE;
+
+        for (int i = 0; i < matchingCols.length; i++) {
+            double objVal = compareColumns(row, compareRow, matchingCols[i], matchingRefCols[i], RelationalOperator.EQUALS);
+            sum += objVal;
+            best = Math.min(best, objVal);
+        }
+        for (int i = 0; i < nonMatchingCols.length; i++) {
+            double objVal = compareColumns(row, compareRow, nonMatchingCols[i], nonMatchingRefCols[i], RelationalOperator.NOT_EQUALS);
+            sum += objVal;
+            best = Math.min(best, objVal);
+        }
+
+        return sumOfColumns ? normalize(sum) : best;
+    }
+
+    private double compareColumns(Row row, Row compareRow, Column col, Column refCol, RelationalOperator op) {
+        // TODO: check: how can the compare row NOT have the column ??
+        if (!compareRow.hasColumn(refCol)) {
+            return WORST_DOUBLE;
+        }
+        return DoubleValueObjectiveFunction.computeRelational(
+                row.getCell(col).getValue(),
+                op,
+                compareRow.getCell(refCol).getValue(),
+                true);
+    }
+}
@@ -0,0 +1,26 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.generation.search.objective.row.ExpressionEvaluator;
+import org.schemaanalyst.sqlrepresentation.expression.NullExpression;
+
+/**
+ * Double equivalent of
+ * {@link org.schemaanalyst.data.generation.search.objective.row.NullExpressionRowObjectiveFunction}.
+ */
+public class DoubleNullExpressionRowObjectiveFunction extends DoubleExpressionRowObjectiveFunction {
+
+    private ExpressionEvaluator subexpressionEvaluator;
+    private boolean nullAllowed;
+
+    public DoubleNullExpressionRowObjectiveFunction(NullExpression expression, boolean goalIsToSatisfy) {
+        super(expression, goalIsToSatisfy, false);
+        nullAllowed = goalIsToSatisfy != expression.isNotNull();
+        subexpressionEvaluator = new ExpressionEvaluator(expression.getSubexpression());
+    }
+
+    @Override
+    public double evaluateValue(Row row) {
+        return DoubleValueObjectiveFunction.computeNull(subexpressionEvaluator.evaluate(row), nullAllowed);
+    }
+}
@@ -0,0 +1,40 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.NullPredicate;
+
+import java.util.List;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.WORST_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+
+/**
+ * Double equivalent of
+ * {@link org.schemaanalyst.data.generation.search.objective.predicate.NullPredicateObjectiveFunction}.
+ */
+public class DoubleNullPredicateObjectiveFunction extends DoublePredicateObjectiveFunction {
+
+    private NullPredicate nullPredicate;
+
+    public DoubleNullPredicateObjectiveFunction(NullPredicate nullPredicate, Data state) {
+        super(nullPredicate, state);
+        this.nullPredicate = nullPredicate;
+    }
+
+    @Override
+    public double evaluateValue(Data data) {
+        List<Row> rows = data.getRows(nullPredicate.getTable());
+        if (rows.isEmpty()) {
+            return WORST_DOUBLE;
+        }
+
+        double sum = 0;
+        for (Row row : rows) {
+            sum += DoubleValueObjectiveFunction.computeNull(
+                    row.getCell(nullPredicate.getColumn()).getValue(),
+                    nullPredicate.getTruthValue());
+        }
+        return normalize(sum);
+    }
+}
@@ -0,0 +1,40 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.generation.search.objective.ObjectiveFunction;
+import org.schemaanalyst.data.generation.search.objective.ObjectiveValue;
+
+/**
+ * An objective function that computes its value as a primitive double
+ * without building a tree of {@link ObjectiveValue} objects or descriptions.
+ * The equivalent descriptive tree is only built on request, by
+ * {@link #describe(Object)}.
+ *
+ * @param <T> The type of candidate solution evaluated.
+ */
+public abstract class DoubleObjectiveFunction<T> extends ObjectiveFunction<T> {
+
+    /**
+     * Computes the objective value of a candidate solution.
+     * @param candidateSolution The candidate solution to evaluate.
+     * @return The objective value, between 0 (optimal) and 1 (worst).
+     */
+    public abstract double evaluateValue(T candidateSolution);
+
+    @Override
+    public ObjectiveValue evaluate(T candidateSolution) {
+        return new DoubleObjectiveValue(evaluateValue(candidateSolution), this);
+    }
+
+    /**
+     * Evaluates a candidate solution using the equivalent BigDecimal-based
+     * objective function, producing the full, described tree of objective
+     * values (e.g. for logging or reporting).
+     * @param candidateSolution The candidate solution to evaluate.
+     * @return The described objective value.
+     */
+    public ObjectiveValue describe(T candidateSolution) {
+        return createDescriptiveObjectiveFunction().evaluate(candidateSolution);
+    }
+
+    protected abstract ObjectiveFunction<T> createDescriptiveObjectiveFunction();
+}
@@ -0,0 +1,90 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.generation.search.objective.ObjectiveValue;
+
+import java.math.BigDecimal;
+
+/**
+ * An objective value held as a primitive double, as computed by a
+ * {@link DoubleObjectiveFunction}. The BigDecimal value and the description
+ * are only produced if they are asked for. The full tree of sub-objective
+ * values can be obtained through {@link DoubleObjectiveFunction#describe}.
+ */
+public class DoubleObjectiveValue extends ObjectiveValue {
+
+    public static final double OPTIMAL_DOUBLE = 0.0, WORST_DOUBLE = 1.0;
+
+    protected double doubleValue;
+    protected Object describedBy;
+    protected BigDecimal bigDecimalValue;
+
+    public DoubleObjectiveValue(double doubleValue, Object describedBy) {
+        this.doubleValue = doubleValue;
+        this.describedBy = describedBy;
+    }
+
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    @Override
+    public void setValue(BigDecimal value) {
+        doubleValue = value.doubleValue();
+        bigDecimalValue = value;
+    }
+
+    @Override
+    public BigDecimal getValue() {
+        if (bigDecimalValue == null) {
+            bigDecimalValue = new BigDecimal(doubleValue);
+        }
+        return bigDecimalValue;
+    }
+
+    @Override
+    public boolean isOptimal() {
+        return doubleValue == OPTIMAL_DOUBLE;
+    }
+
+    @Override
+    public boolean isWorst() {
+        return doubleValue == WORST_DOUBLE;
+    }
+
+    @Override
+    public int compareTo(ObjectiveValue other) {
+        if (other instanceof DoubleObjectiveValue) {
+            double otherValue = ((DoubleObjectiveValue) other).doubleValue;
+            if (doubleValue < otherValue) {
+                return 1;
+            }
+            if (doubleValue > otherValue) {
+                return -1;
+            }
+            return 0;
+        }
+        return super.compareTo(other);
+    }
+
+    @Override
+    public void appendToStringBuilder(StringBuilder sb, String indent) {
+        sb.append(indent);
+        sb.append("* ");
+        if (describedBy != null) {
+            sb.append(describedBy);
+            sb.append(". ");
+        }
+        sb.append("Value: ");
+        sb.append(doubleValue);
+    }
+
+    /**
+     * Normalizes a distance into the range [0, 1), in the same way as
+     * {@link ObjectiveValue#normalizeAndSetValue(BigDecimal)}.
+     * @param distance The distance to normalize.
+     * @return The normalized distance.
+     */
+    public static double normalize(double distance) {
+        return WORST_DOUBLE - (WORST_DOUBLE / (1.0 + distance));
+    }
+}
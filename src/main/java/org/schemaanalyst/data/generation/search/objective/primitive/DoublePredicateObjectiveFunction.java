@@ -0,0 +1,30 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.generation.search.objective.ObjectiveFunction;
+import org.schemaanalyst.data.generation.search.objective.predicate.PredicateObjectiveFunctionFactory;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
+
+/**
+ * Base class for double objective functions over a predicate and data.
+ */
+public abstract class DoublePredicateObjectiveFunction extends DoubleObjectiveFunction<Data> {
+
+    protected Predicate predicate;
+    protected Data state;
+
+    public DoublePredicateObjectiveFunction(Predicate predicate, Data state) {
+        this.predicate = predicate;
+        this.state = state;
+    }
+
+    @Override
+    protected ObjectiveFunction<Data> createDescriptiveObjectiveFunction() {
+        return PredicateObjectiveFunctionFactory.createObjectiveFunction(predicate, state);
+    }
+
+    @Override
+    public String toString() {
+        return "Predicate " + predicate;
+    }
+}
@@ -0,0 +1,48 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.*;
+
+/**
+ * Double equivalent of
+ * {@link org.schemaanalyst.data.generation.search.objective.predicate.PredicateObjectiveFunctionFactory}.
+ */
+public class DoublePredicateObjectiveFunctionFactory {
+
+    public static DoublePredicateObjectiveFunction createObjectiveFunction(Predicate predicate, final Data state) {
+
+        return new PredicateVisitor() {
+            DoublePredicateObjectiveFunction objFun;
+
+            DoublePredicateObjectiveFunction create(Predicate predicate) {
+                predicate.accept(this);
+                return objFun;
+            }
+
+            @Override
+            public void visit(AndPredicate predicate) {
+                objFun = new DoubleComposedPredicateObjectiveFunction(predicate, state, true);
+            }
+
+            @Override
+            public void visit(ExpressionPredicate predicate) {
+                objFun = new DoubleExpressionPredicateObjectiveFunction(predicate, state);
+            }
+
+            @Override
+            public void visit(MatchPredicate predicate) {
+                objFun = new DoubleMatchPredicateObjectiveFunction(predicate, state);
+            }
+
+            @Override
+            public void visit(NullPredicate predicate) {
+                objFun = new DoubleNullPredicateObjectiveFunction(predicate, state);
+            }
+
+            @Override
+            public void visit(OrPredicate predicate) {
+                objFun = new DoubleComposedPredicateObjectiveFunction(predicate, state, false);
+            }
+        }.create(predicate);
+    }
+}
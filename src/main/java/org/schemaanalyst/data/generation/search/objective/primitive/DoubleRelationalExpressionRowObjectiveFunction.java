@@ -0,0 +1,33 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.generation.search.objective.row.ExpressionEvaluator;
+import org.schemaanalyst.logic.RelationalOperator;
+import org.schemaanalyst.sqlrepresentation.expression.RelationalExpression;
+
+/**
+ * Double equivalent of
+ * {@link org.schemaanalyst.data.generation.search.objective.row.RelationalExpressionRowObjectiveFunction}.
+ */
+public class DoubleRelationalExpressionRowObjectiveFunction extends DoubleExpressionRowObjectiveFunction {
+
+    private ExpressionEvaluator lhsEvaluator, rhsEvaluator;
+    private RelationalOperator op;
+
+    public DoubleRelationalExpressionRowObjectiveFunction(RelationalExpression expression,
+                                                          boolean goalIsToSatisfy,
+                                                          boolean allowNull) {
+        super(expression, goalIsToSatisfy, allowNull);
+        lhsEvaluator = new ExpressionEvaluator(expression.getLHS());
+        rhsEvaluator = new ExpressionEvaluator(expression.getRHS());
+
+        RelationalOperator op = expression.getRelationalOperator();
+        this.op = goalIsToSatisfy ? op : op.inverse();
+    }
+
+    @Override
+    public double evaluateValue(Row row) {
+        return DoubleValueObjectiveFunction.computeRelational(
+                lhsEvaluator.evaluate(row), op, rhsEvaluator.evaluate(row), allowNull);
+    }
+}
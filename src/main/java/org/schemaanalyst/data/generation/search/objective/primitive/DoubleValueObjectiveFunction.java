@@ -0,0 +1,201 @@
+package org.schemaanalyst.data.generation.search.objective.primitive;
+
+import org.schemaanalyst.data.*;
+import org.schemaanalyst.data.generation.search.objective.ObjectiveFunctionException;
+import org.schemaanalyst.logic.RelationalOperator;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.OPTIMAL_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.WORST_DOUBLE;
+import static org.schemaanalyst.data.generation.search.objective.primitive.DoubleObjectiveValue.normalize;
+import static org.schemaanalyst.logic.RelationalOperator.*;
+
+/**
+ * Primitive double equivalents of the objective functions in the
+ * <tt>objective.value</tt> package. Each method computes the value that the
+ * corresponding BigDecimal-based objective function would produce, without
+ * allocating intermediate objective values.
+ */
+public class DoubleValueObjectiveFunction {
+
+    private static final double K = 1.0;
+
+    /**
+     * Double equivalent of
+     * {@link org.schemaanalyst.data.generation.search.objective.value.NullValueObjectiveFunction}.
+     */
+    public static double computeNull(Value value, boolean allowNull) {
+        if ((allowNull && value == null) || (!allowNull && value != null)) {
+            return OPTIMAL_DOUBLE;
+        }
+        return WORST_DOUBLE;
+    }
+
+    /**
+     * Double equivalent of
+     * {@link org.schemaanalyst.data.generation.search.objective.value.RelationalValueObjectiveFunction#compute}.
+     */
+    public static double computeRelational(Value lhs, RelationalOperator op, Value rhs, boolean allowNull) {
+        Value typeValue = (lhs != null) ? lhs : rhs;
+
+        if (lhs == null || rhs == null) {
+            if (typeValue instanceof BooleanValue) {
+                checkBooleanOperator(op);
+            }
+            return allowNull ? OPTIMAL_DOUBLE : WORST_DOUBLE;
+        }
+
+        if (typeValue instanceof NumericValue) {
+            return computeNumeric((NumericValue) lhs, op, (NumericValue) rhs);
+        }
+        if (typeValue instanceof BooleanValue) {
+            return computeBoolean((BooleanValue) lhs, op, (BooleanValue) rhs);
+        }
+        return computeCompound((CompoundValue) lhs, op, (CompoundValue) rhs, allowNull);
+    }
+
+    private static void checkBooleanOperator(RelationalOperator op) {
+        if (op != EQUALS && op != NOT_EQUALS) {
+            throw new ObjectiveFunctionException("Cannot use " + op + " with two boolean values");
+        }
+    }
+
+    private static double computeBoolean(BooleanValue lhs, RelationalOperator op, BooleanValue rhs) {
+        checkBooleanOperator(op);
+        boolean equal = lhs.get() == rhs.get();
+        return (equal == (op == EQUALS)) ? OPTIMAL_DOUBLE : WORST_DOUBLE;
+    }
+
+    private static double computeNumeric(NumericValue lhs, RelationalOperator op, NumericValue rhs) {
+        boolean equal;
+        int comparison;
+        double difference;
+
+        if (lhs.isLongValued() && rhs.isLongValued()) {
+            long lhsValue = lhs.getLong();
+            long rhsValue = rhs.getLong();
+            equal = lhsValue == rhsValue;
+            comparison = Long.compare(lhsValue, rhsValue);
+            long longDifference = lhsValue - rhsValue;
+
+            // only use the exact long difference if the subtraction did not overflow
+            if (((lhsValue ^ rhsValue) & (lhsValue ^ longDifference)) < 0) {
+                difference = BigDecimal.valueOf(lhsValue).subtract(BigDecimal.valueOf(rhsValue)).doubleValue();
+            } else {
+                difference = longDifference;
+            }
+        } else {
+            BigDecimal lhsValue = lhs.get();
+            BigDecimal rhsValue = rhs.get();
+            equal = lhsValue.equals(rhsValue);
+            comparison = lhsValue.compareTo(rhsValue);
+            difference = (comparison == 0) ? 0 : lhsValue.subtract(rhsValue).doubleValue();
+        }
+
+        switch (op) {
+            case EQUALS:
+                return equal ? OPTIMAL_DOUBLE : normalize(Math.abs(difference) + K);
+            case NOT_EQUALS:
+                return !equal ? OPTIMAL_DOUBLE : normalize(K);
+            case GREATER:
+                return (comparison > 0) ? OPTIMAL_DOUBLE : normalize(-difference + K);
+            case GREATER_OR_EQUALS:
+                return (comparison >= 0) ? OPTIMAL_DOUBLE : normalize(-difference + K);
+            case LESS:
+                return (comparison < 0) ? OPTIMAL_DOUBLE : normalize(difference + K);
+            case LESS_OR_EQUALS:
+                return (comparison <= 0) ? OPTIMAL_DOUBLE : normalize(difference + K);
+            default:
+                throw new ObjectiveFunctionException("Unknown relational operator " + op);
+        }
+    }
+
+    private static double computeCompound(CompoundValue lhs, RelationalOperator op, CompoundValue rhs,
+                                          boolean allowNull) {
+        // strings are compared character by character without copying their
+        // elements into a new list
+        if (lhs instanceof StringValue && rhs instanceof StringValue) {
+            StringValue lhsString = (StringValue) lhs;
+            StringValue rhsString = (StringValue) rhs;
+            return computeCompound(lhsString, lhsString.getLength(), null,
+                    op, rhsString, rhsString.getLength(), null, allowNull);
+        }
+
+        List<Value> lhsSubValues = lhs.getElements();
+        List<Value> rhsSubValues = rhs.getElements();
+        return computeCompound(null, lhsSubValues.size(), lhsSubValues,
+                op, null, rhsSubValues.size(), rhsSubValues, allowNull);
+    }
+
+    private static double computeCompound(StringValue lhsString, int lhsSize, List<Value> lhsSubValues,
+                                          RelationalOperator op,
+                                          StringValue rhsString, int rhsSize, List<Value> rhsSubValues,
+                                          boolean allowNull) {
+        int smallestSize = Math.min(lhsSize, rhsSize);
+        int sizeDiff = Math.abs(lhsSize - rhsSize);
+
+        // account for an empty compound value with no sub values
+        boolean noSubValues = lhsSize == 0 && rhsSize == 0;
+        if (noSubValues && (op == NOT_EQUALS || op == GREATER || op == LESS)) {
+            return (op == NOT_EQUALS) ? WORST_DOUBLE : normalize(WORST_DOUBLE);
+        }
+
+        // "best of" the sub values for NOT_EQUALS
+        if (op == NOT_EQUALS) {
+            if (sizeDiff > 0) {
+                return OPTIMAL_DOUBLE;
+            }
+            double best = WORST_DOUBLE;
+            for (int i = 0; i < smallestSize && best != OPTIMAL_DOUBLE; i++) {
+                best = Math.min(best, computeRelational(
+                        subValue(lhsString, lhsSubValues, i), NOT_EQUALS,
+                        subValue(rhsString, rhsSubValues, i), allowNull));
+            }
+            return best;
+        }
+
+        // "sum of" the sub values otherwise
+        double sum = 0;
+        for (int i = 0; i < smallestSize; i++) {
+            Value lhsSubValue = subValue(lhsString, lhsSubValues, i);
+            Value rhsSubValue = subValue(rhsString, rhsSubValues, i);
+            double equals = computeRelational(lhsSubValue, EQUALS, rhsSubValue, allowNull);
+
+            if (op == EQUALS || equals == OPTIMAL_DOUBLE) {
+                sum += equals;
+            } else {
+                sum += computeRelational(lhsSubValue, op, rhsSubValue, allowNull);
+                return normalize(sum);
+            }
+        }
+
+        // account for difference in list length
+        int sizeDiffPenalty = 0;
+        if (op == EQUALS && lhsSize != rhsSize) {
+            sizeDiffPenalty = sizeDiff;
+        }
+        if (op == GREATER && lhsSize <= rhsSize) {
+            sizeDiffPenalty = 1 + sizeDiff;
+        }
+        if (op == GREATER_OR_EQUALS && lhsSize < rhsSize) {
+            sizeDiffPenalty = sizeDiff;
+        }
+        if (op == LESS && lhsSize >= rhsSize) {
+            sizeDiffPenalty = 1 + sizeDiff;
+        }
+        if (op == LESS_OR_EQUALS && lhsSize > rhsSize) {
+            sizeDiffPenalty = sizeDiff;
+        }
+        for (int i = 0; i < sizeDiffPenalty; i++) {
+            sum += WORST_DOUBLE;
+        }
+
+        return normalize(sum);
+    }
+
+    private static Value subValue(StringValue string, List<Value> subValues, int index) {
+        return (string != null) ? string.getCharacter(index) : subValues.get(index);
+    }
+}
@@ -2,6 +2,7 @@ package org.schemaanalyst.data.generation.search.objective.row;
 
 import org.schemaanalyst.data.Row;
 import org.schemaanalyst.data.Value;
+import org.schemaanalyst.sqlrepresentation.Column;
 import org.schemaanalyst.sqlrepresentation.expression.ColumnExpression;
 import org.schemaanalyst.sqlrepresentation.expression.ConstantExpression;
 import org.schemaanalyst.sqlrepresentation.expression.Expression;
@@ -11,34 +12,30 @@ public class ExpressionEvaluator {
 
     protected Expression expression;
 
+    // the expression is resolved to a column or a constant once, up front
+    protected Column column;
+    protected Value constant;
+
     public ExpressionEvaluator(Expression expression) {
         this.expression = expression;
-    }
-
-    public Value evaluate(Row row) {
-
-        class ExpressionDispatcher extends ExpressionAdapter {
-            Row row;
-            Value value;
-
-            Value dispatch(Row row) {
-                this.row = row;
-                value = null;
-                expression.accept(this);
-                return value;
-            }
 
+        expression.accept(new ExpressionAdapter() {
             @Override
             public void visit(ColumnExpression expression) {
-                value = row.getCell(expression.getColumn()).getValue();
+                column = expression.getColumn();
             }
 
             @Override
             public void visit(ConstantExpression expression) {
-                value = expression.getValue();
+                constant = expression.getValue();
             }
-        }
+        });
+    }
 
-        return (new ExpressionDispatcher()).dispatch(row);
+    public Value evaluate(Row row) {
+        if (column != null) {
+            return row.getCell(column).getValue();
+        }
+        return constant;
     }
 }
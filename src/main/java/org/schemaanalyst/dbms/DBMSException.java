@@ -3,7 +3,7 @@ package org.schemaanalyst.dbms;
 /**
  * <p>
  * An DBMSException is thrown when a {@link DBMS} class cannot be found
- * matching a provided name.
+ * matching a provided name, or when a DBMS cannot be used as requested.
  * </p>
  */
 public class DBMSException extends RuntimeException {
@@ -18,4 +18,14 @@ public class DBMSException extends RuntimeException {
     public DBMSException(String message) {
         super(message);
     }
+
+    /**
+     * Constructor.
+     *
+     * @param message The descriptive message
+     * @param cause The cause
+     */
+    public DBMSException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -2,11 +2,17 @@ package org.schemaanalyst.dbms;
 
 import org.schemaanalyst.configuration.DatabaseConfiguration;
 import org.schemaanalyst.configuration.LocationsConfiguration;
+import org.schemaanalyst.data.Value;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -80,6 +86,38 @@ public abstract class DatabaseInteractor {
     protected long functionInteractions = 0;
     protected long updateInteractions = 0;
     protected long alterInteractions = 0;
+    /**
+     * The number of times this interactor's connections were leased from a
+     * {@link DatabaseInteractorPool}.
+     */
+    protected long leaseInteractions = 0;
+    /**
+     * The total time, in nanoseconds, spent waiting for those leases.
+     */
+    protected long leaseWaitTime = 0;
+    /**
+     * The number of pooled connections that were found to be unusable and
+     * replaced with new ones.
+     */
+    protected long reconnectInteractions = 0;
+    /**
+     * The prepared statements for parameterised commands, keyed by command.
+     */
+    private Map<String, PreparedStatement> preparedStatements = new HashMap<>();
+    /**
+     * The prepared statements for parameterised commands executed in batches,
+     * kept apart from the others as some drivers do not fully reset a
+     * statement after executing a batch.
+     */
+    private Map<String, PreparedStatement> batchPreparedStatements = new HashMap<>();
+    /**
+     * The connection the cached prepared statements belong to.
+     */
+    private Connection preparedStatementsConnection;
+    /**
+     * The binder for the parameters of prepared statements.
+     */
+    private ValueParameterBinder valueParameterBinder;
 
     /**
      * Constructor.
@@ -104,6 +142,61 @@ public abstract class DatabaseInteractor {
      */
     public abstract DatabaseInteractor duplicate();
 
+    /**
+     * Produce a duplicate of this interactor that makes its own connection to
+     * the same database, so that it may be used at the same time as this one.
+     * By default this is the same as {@link #duplicate()}, which is the case
+     * for DBMSs where the database is identified by its name or location.
+     *
+     * @return The duplicate DatabaseInteractor
+     */
+    public DatabaseInteractor duplicateConnection() {
+        return duplicate();
+    }
+
+    /**
+     * Whether more than one connection can be made to the database used by
+     * this interactor, via {@link #duplicateConnection()}.
+     *
+     * @return Whether concurrent connections are supported
+     */
+    public boolean supportsConcurrentConnections() {
+        return true;
+    }
+
+    /**
+     * Whether the connection used by this interactor can still be used. An
+     * interactor that has not connected yet is considered to be usable.
+     *
+     * @return Whether the connection is usable
+     */
+    public synchronized boolean isConnectionValid() {
+        if (!initialized) {
+            return true;
+        }
+        try {
+            return connection != null && !connection.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Close the connection used by this interactor, along with its cached
+     * prepared statements. The interactor reconnects if it is used again.
+     */
+    public synchronized void close() {
+        closePreparedStatements();
+        if (initialized) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Closing connection failed", e);
+            }
+            initialized = false;
+        }
+    }
+
     /**
      * Execute a command against a database. Most useful for commands that
      * return a code, such as whether or not a command worked or how many
@@ -117,10 +210,11 @@ public abstract class DatabaseInteractor {
                 initializeDatabaseConnection();
             }
             LOGGER.log(Level.FINER, "Executing statement: {0}", command);
-            Statement statement = connection.createStatement();
             recordInteraction(command);
             synchronized (this) {
-                returnCount = statement.executeUpdate(command);
+                try (Statement statement = connection.createStatement()) {
+                    returnCount = statement.executeUpdate(command);
+                }
             }
             LOGGER.log(Level.FINE, "Statement: {0}\n Result: {1}", new Object[]{command, returnCount});
         } catch (SQLException e) {
@@ -156,18 +250,18 @@ public abstract class DatabaseInteractor {
                 initializeDatabaseConnection();
             }
             LOGGER.log(Level.FINE, "Executing statement: {0}", command);
-            Statement statement = connection.createStatement();
 
             // run the command and capture the number of modified
             // values or any other type of status return code
             recordInteraction(command);
             synchronized (this) {
+                try (Statement statement = connection.createStatement()) {
+                    boolean result = statement.execute(command);
 
-                boolean result = statement.execute(command);
-
-                // this is a U,I,D that has an update count
-                if (result == UPDATE_COUNT) {
-                    returnCount = statement.getUpdateCount();
+                    // this is a U,I,D that has an update count
+                    if (result == UPDATE_COUNT) {
+                        returnCount = statement.getUpdateCount();
+                    }
                 }
             }
         } catch (SQLException e) {
@@ -249,9 +343,10 @@ public abstract class DatabaseInteractor {
                 for (String command : commands) {
                     try {
                         LOGGER.log(Level.FINER, "Executing statement: {0} (in transaction)", command);
-                        Statement statement = connection.createStatement();
                         recordInteraction(command);
-                        returnCount = statement.executeUpdate(command);
+                        try (Statement statement = connection.createStatement()) {
+                            returnCount = statement.executeUpdate(command);
+                        }
                         LOGGER.log(Level.FINE, "Statement: {0}\n Result: {1}", new Object[]{command, returnCount});
                     } catch (SQLException e) {
                         if (command.toUpperCase().contains(CREATE_TABLE_SIGNATURE)) {
@@ -318,6 +413,208 @@ public abstract class DatabaseInteractor {
         return returnCount;
     }
 
+    /**
+     * Execute a parameterised INSERT, UPDATE or DELETE command, such as one
+     * written by {@link org.schemaanalyst.sqlwriter.SQLWriter#writeParameterisedInsertStatement},
+     * with the given values as its parameters. The prepared statement for the
+     * command is kept, and reused the next time the same command is executed.
+     *
+     * @param command The command, with a ? for each parameter
+     * @param values The values of the parameters, in order
+     * @return The number of rows affected, or 0 if the command failed
+     */
+    public Integer executePreparedUpdate(String command, List<Value> values) {
+        Integer returnCount = START;
+        try {
+            if (!initialized) {
+                initializeDatabaseConnection();
+            }
+            LOGGER.log(Level.FINER, "Executing prepared statement: {0} with {1}", new Object[]{command, values});
+            recordInteraction(command);
+            synchronized (this) {
+                PreparedStatement statement = prepareStatement(command, false);
+                try {
+                    bindValues(statement, values);
+                    returnCount = statement.executeUpdate();
+                } catch (SQLException e) {
+                    discardPreparedStatement(command, false);
+                    throw e;
+                }
+            }
+            LOGGER.log(Level.FINE, "Statement: {0}\n Result: {1}", new Object[]{command, returnCount});
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Statement failed: " + command + " with " + values, e);
+        }
+        return returnCount;
+    }
+
+    /**
+     * Execute a parameterised INSERT, UPDATE or DELETE command once for each
+     * list of values, as a single JDBC batch. Unlike
+     * {@link #executeUpdatesAsBatch(Iterable)}, the result of every execution
+     * is returned, so this is only suitable where the caller does not need a
+     * later execution to happen after an earlier one fails: once an execution
+     * fails, the remaining ones may not be attempted, in which case their
+     * results are 0.
+     *
+     * @param command The command, with a ? for each parameter
+     * @param valueLists The values of the parameters for each execution
+     * @return The number of rows affected by each execution, or 0 where an
+     * execution failed or was not attempted
+     */
+    public int[] executePreparedUpdatesAsBatch(String command, List<List<Value>> valueLists) {
+        int[] returnCounts = new int[valueLists.size()];
+        if (valueLists.isEmpty()) {
+            return returnCounts;
+        }
+        try {
+            if (!initialized) {
+                initializeDatabaseConnection();
+            }
+            LOGGER.log(Level.FINE, "Executing prepared statement: {0} (in batch of {1})",
+                    new Object[]{command, valueLists.size()});
+            // Only one "interaction" is made, as for other batches
+            recordInteraction(command);
+            synchronized (this) {
+                PreparedStatement statement = prepareStatement(command, true);
+                try {
+                    for (List<Value> values : valueLists) {
+                        bindValues(statement, values);
+                        statement.addBatch();
+                    }
+                    copyBatchResults(statement.executeBatch(), returnCounts);
+                    statement.clearBatch();
+                } catch (BatchUpdateException e) {
+                    LOGGER.log(Level.FINE, "Batch failed: " + command, e);
+                    copyBatchResults(e.getUpdateCounts(), returnCounts);
+                    discardPreparedStatement(command, true);
+                } catch (SQLException e) {
+                    discardPreparedStatement(command, true);
+                    throw e;
+                }
+            }
+            LOGGER.log(Level.FINE, "Batch results: {0}", Arrays.toString(returnCounts));
+        } catch (SQLException e) {
+            LOGGER.log(Level.INFO, "Batch failed: {0}", e.getMessage());
+        }
+        return returnCounts;
+    }
+
+    private void copyBatchResults(int[] batchResults, int[] returnCounts) {
+        if (batchResults == null) {
+            return;
+        }
+        for (int i = 0; i < batchResults.length && i < returnCounts.length; i++) {
+            // failed executions, and those without a known count, are
+            // reported as failures, as they are by executeUpdate
+            returnCounts[i] = Math.max(batchResults[i], START);
+        }
+    }
+
+    private void bindValues(PreparedStatement statement, List<Value> values) throws SQLException {
+        ValueParameterBinder binder = getValueParameterBinder();
+        int index = 1;
+        for (Value value : values) {
+            binder.bindValue(statement, index, value);
+            index++;
+        }
+    }
+
+    /**
+     * Get the cached prepared statement for a command, preparing it if it has
+     * not been prepared on the current connection yet.
+     *
+     * @param command The command
+     * @param batch Whether the statement is to be executed in batches
+     * @return The prepared statement
+     * @throws SQLException If the command could not be prepared
+     */
+    protected PreparedStatement prepareStatement(String command, boolean batch) throws SQLException {
+        if (preparedStatementsConnection != connection) {
+            // the connection has been replaced, so statements for the
+            // previous one can no longer be used
+            preparedStatements.clear();
+            batchPreparedStatements.clear();
+            preparedStatementsConnection = connection;
+        }
+        Map<String, PreparedStatement> statements = batch ? batchPreparedStatements : preparedStatements;
+        PreparedStatement statement = statements.get(command);
+        if (statement == null) {
+            statement = connection.prepareStatement(command);
+            statements.put(command, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Close and forget the cached prepared statement for a command after it
+     * has failed, as some drivers cannot reuse a statement once it has.
+     *
+     * @param command The command
+     * @param batch Whether the statement was executed in batches
+     */
+    private void discardPreparedStatement(String command, boolean batch) {
+        Map<String, PreparedStatement> statements = batch ? batchPreparedStatements : preparedStatements;
+        PreparedStatement statement = statements.remove(command);
+        if (statement != null) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Closing prepared statement failed", e);
+            }
+        }
+    }
+
+    /**
+     * Close all of the cached prepared statements.
+     */
+    public synchronized void closePreparedStatements() {
+        closePreparedStatements(preparedStatements);
+        closePreparedStatements(batchPreparedStatements);
+    }
+
+    private void closePreparedStatements(Map<String, PreparedStatement> statements) {
+        for (PreparedStatement statement : statements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Closing prepared statement failed", e);
+            }
+        }
+        statements.clear();
+    }
+
+    /**
+     * Get the number of prepared statements currently cached.
+     *
+     * @return The number of prepared statements
+     */
+    public synchronized int getNumPreparedStatements() {
+        return preparedStatements.size() + batchPreparedStatements.size();
+    }
+
+    /**
+     * Get the binder for the parameters of prepared statements.
+     *
+     * @return The binder
+     */
+    protected ValueParameterBinder getValueParameterBinder() {
+        if (valueParameterBinder == null) {
+            valueParameterBinder = createValueParameterBinder();
+        }
+        return valueParameterBinder;
+    }
+
+    /**
+     * Create the binder for the parameters of prepared statements. Subclasses
+     * may override this where the DBMS needs values to be bound differently.
+     *
+     * @return A new binder
+     */
+    protected ValueParameterBinder createValueParameterBinder() {
+        return new ValueParameterBinder();
+    }
+
     /**
      * @TODO This method should be removed and is for debugging only.
      * @return The number of tables in a database
@@ -359,7 +656,8 @@ public abstract class DatabaseInteractor {
      * Add a number of extra interactions to the internal usage counters in this
      * DatabaseInteractor object.
      * 
-     * @param type The type of interaction (insert, create, drop or delete)
+     * @param type The type of interaction (insert, create, drop, delete,
+     * function, update, alter, lease, leasewait or reconnect)
      * @param number The number of interactions
      */
     public synchronized void addInteractions(String type, long number) {
@@ -385,6 +683,15 @@ public abstract class DatabaseInteractor {
             case "alter":
                 alterInteractions += number;
                 break;
+            case "lease":
+                leaseInteractions += number;
+                break;
+            case "leasewait":
+                leaseWaitTime += number;
+                break;
+            case "reconnect":
+                reconnectInteractions += number;
+                break;
             default:
                 LOGGER.log(Level.WARNING, "Unclassified database interaction: {0}", type);
         }
@@ -403,6 +710,9 @@ public abstract class DatabaseInteractor {
         addInteractions("drop", interactor.getDropInteractions());
         addInteractions("delete", interactor.getDeleteInteractions());
         addInteractions("function", interactor.getFunctionInteractions());
+        addInteractions("lease", interactor.getLeaseInteractions());
+        addInteractions("leasewait", interactor.getLeaseWaitTime());
+        addInteractions("reconnect", interactor.getReconnectInteractions());
     }
 
     /**
@@ -460,5 +770,32 @@ public abstract class DatabaseInteractor {
     public long getAlterInteractions() {
         return alterInteractions;
     }
+
+    /**
+     * Get the number of times connections were leased from a pool on behalf
+     * of this DatabaseInteractor
+     * @return 
+     */
+    public long getLeaseInteractions() {
+        return leaseInteractions;
+    }
+
+    /**
+     * Get the total time, in nanoseconds, spent waiting to lease connections
+     * from a pool on behalf of this DatabaseInteractor
+     * @return 
+     */
+    public long getLeaseWaitTime() {
+        return leaseWaitTime;
+    }
+
+    /**
+     * Get the number of pooled connections replaced because they could no
+     * longer be used
+     * @return 
+     */
+    public long getReconnectInteractions() {
+        return reconnectInteractions;
+    }
     
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package org.schemaanalyst.dbms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * A bounded pool of {@link DatabaseInteractor}s, each with its own connection
+ * to the same database, for use by several threads at once. A thread leases
+ * an interactor with {@link #lease()}, uses it without sharing it, and gives
+ * it back with {@link #release(DatabaseInteractor)}.
+ * </p>
+ *
+ * <p>
+ * Connections are made lazily, up to the size of the pool, by
+ * {@link DatabaseInteractor#duplicateConnection()}. Each pooled interactor
+ * keeps its own interaction counters. When the pool is closed, these are
+ * added to the counters of the interactor the pool was made from, together
+ * with the number of leases, the total time spent waiting for them and the
+ * number of unusable connections that had to be replaced. Where the database
+ * does not support more than one connection, the pool holds just the
+ * original interactor, so leases are served one at a time.
+ * </p>
+ */
+public class DatabaseInteractorPool {
+
+    private static final Logger LOGGER = Logger.getLogger(DatabaseInteractorPool.class.getName());
+
+    private final DatabaseInteractor databaseInteractor;
+    private final int size;
+    private final boolean shared;
+    private final BlockingQueue<DatabaseInteractor> idle;
+    private final List<DatabaseInteractor> interactors = new ArrayList<>();
+    private long leases = 0;
+    private long waitTime = 0;
+    private long reconnects = 0;
+    private boolean closed = false;
+
+    /**
+     * Constructor.
+     *
+     * @param databaseInteractor The interactor for the database, whose
+     *                           counters receive the pool's statistics
+     * @param size The maximum number of connections
+     */
+    public DatabaseInteractorPool(DatabaseInteractor databaseInteractor, int size) {
+        if (size < 1) {
+            throw new DBMSException("A pool of database interactors should have at least one connection, not " + size);
+        }
+        this.databaseInteractor = databaseInteractor;
+        this.shared = !databaseInteractor.supportsConcurrentConnections();
+        this.size = shared ? 1 : size;
+        this.idle = new LinkedBlockingQueue<>();
+        if (shared) {
+            LOGGER.log(Level.FINE, "Database does not support concurrent connections, so the pool is shared");
+            interactors.add(databaseInteractor);
+            idle.add(databaseInteractor);
+        }
+    }
+
+    /**
+     * Lease an interactor, waiting until one is available if all are in use.
+     * The interactor must be given back with {@link #release(DatabaseInteractor)}.
+     *
+     * @return The leased interactor
+     */
+    public DatabaseInteractor lease() {
+        long start = System.nanoTime();
+        DatabaseInteractor interactor = idle.poll();
+        if (interactor == null) {
+            interactor = createIfBelowSize();
+        }
+        if (interactor == null) {
+            try {
+                interactor = idle.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DBMSException("Interrupted while waiting for a database connection", e);
+            }
+        }
+        interactor = replaceIfInvalid(interactor);
+
+        synchronized (this) {
+            leases++;
+            waitTime += System.nanoTime() - start;
+        }
+        return interactor;
+    }
+
+    /**
+     * Give back an interactor leased from this pool.
+     *
+     * @param interactor The interactor
+     */
+    public void release(DatabaseInteractor interactor) {
+        synchronized (this) {
+            if (!interactors.contains(interactor)) {
+                throw new DBMSException("Database interactor was not leased from this pool");
+            }
+        }
+        idle.add(interactor);
+    }
+
+    private synchronized DatabaseInteractor createIfBelowSize() {
+        if (closed) {
+            throw new DBMSException("Database interactor pool has been closed");
+        }
+        if (interactors.size() >= size) {
+            return null;
+        }
+        DatabaseInteractor interactor = databaseInteractor.duplicateConnection();
+        interactors.add(interactor);
+        return interactor;
+    }
+
+    private DatabaseInteractor replaceIfInvalid(DatabaseInteractor interactor) {
+        if (interactor.isConnectionValid() || interactor == databaseInteractor) {
+            return interactor;
+        }
+        LOGGER.log(Level.INFO, "Replacing unusable pooled database connection");
+        interactor.close();
+        DatabaseInteractor replacement = databaseInteractor.duplicateConnection();
+        synchronized (this) {
+            // keep the counters of the old interactor, so they are not lost
+            replacement.addInteractions(interactor);
+            interactors.set(interactors.indexOf(interactor), replacement);
+            reconnects++;
+        }
+        return replacement;
+    }
+
+    /**
+     * Get the maximum number of connections in this pool.
+     *
+     * @return The size of the pool
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the interactors created by this pool so far, so that their
+     * individual statistics may be inspected.
+     *
+     * @return The pooled interactors
+     */
+    public synchronized List<DatabaseInteractor> getInteractors() {
+        return new ArrayList<>(interactors);
+    }
+
+    /**
+     * Get the number of interactors not currently leased, including those
+     * not yet created.
+     *
+     * @return The number of available interactors
+     */
+    public synchronized int getNumAvailable() {
+        return idle.size() + (size - interactors.size());
+    }
+
+    /**
+     * Close the connections made by this pool, and add their interaction
+     * counters and the pool's statistics to the interactor the pool was
+     * made from. All leased interactors should have been given back first.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (DatabaseInteractor interactor : interactors) {
+            if (interactor != databaseInteractor) {
+                databaseInteractor.addInteractions(interactor);
+                interactor.close();
+            }
+        }
+        databaseInteractor.addInteractions("lease", leases);
+        databaseInteractor.addInteractions("leasewait", waitTime);
+        databaseInteractor.addInteractions("reconnect", reconnects);
+        idle.clear();
+    }
+}
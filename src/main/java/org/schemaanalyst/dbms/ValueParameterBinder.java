@@ -0,0 +1,178 @@
+package org.schemaanalyst.dbms;
+
+import org.schemaanalyst.data.*;
+import org.schemaanalyst.sqlwriter.DateWriter;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * <p>
+ * A ValueParameterBinder sets {@link Value} objects as the parameters of a
+ * {@link PreparedStatement}, so that they are stored in the same way as the
+ * literals written by {@link org.schemaanalyst.sqlwriter.ValueSQLWriter}.
+ * </p>
+ *
+ * <p>
+ * This class binds values in the way needed by most DBMSs, however
+ * specialised subclasses may be provided where DBMSs require a different
+ * binding.
+ * </p>
+ */
+public class ValueParameterBinder {
+
+    /**
+     * Bind a value to a parameter of a prepared statement.
+     *
+     * @param statement The statement
+     * @param index The index of the parameter, starting at 1
+     * @param value The value, which may be null
+     * @throws SQLException If the value could not be bound
+     */
+    public void bindValue(final PreparedStatement statement, final int index, Value value) throws SQLException {
+
+        class ValueParameterBinderVisitor implements ValueVisitor {
+
+            SQLException exception;
+
+            void bindValue(Value value) throws SQLException {
+                value.accept(this);
+                if (exception != null) {
+                    throw exception;
+                }
+            }
+
+            @Override
+            public void visit(BooleanValue value) {
+                try {
+                    bindBooleanValue(statement, index, value);
+                } catch (SQLException e) {
+                    exception = e;
+                }
+            }
+
+            @Override
+            public void visit(DateValue value) {
+                try {
+                    bindDateValue(statement, index, value);
+                } catch (SQLException e) {
+                    exception = e;
+                }
+            }
+
+            @Override
+            public void visit(DateTimeValue value) {
+                try {
+                    bindDateTimeValue(statement, index, value);
+                } catch (SQLException e) {
+                    exception = e;
+                }
+            }
+
+            @Override
+            public void visit(NumericValue value) {
+                try {
+                    bindNumericValue(statement, index, value);
+                } catch (SQLException e) {
+                    exception = e;
+                }
+            }
+
+            @Override
+            public void visit(StringValue value) {
+                try {
+                    bindStringValue(statement, index, value);
+                } catch (SQLException e) {
+                    exception = e;
+                }
+            }
+
+            @Override
+            public void visit(TimeValue value) {
+                try {
+                    bindTimeValue(statement, index, value);
+                } catch (SQLException e) {
+                    exception = e;
+                }
+            }
+
+            @Override
+            public void visit(TimestampValue value) {
+                try {
+                    bindTimestampValue(statement, index, value);
+                } catch (SQLException e) {
+                    exception = e;
+                }
+            }
+        }
+
+        if (value == null) {
+            bindNullValue(statement, index);
+        } else {
+            new ValueParameterBinderVisitor().bindValue(value);
+        }
+    }
+
+    public void bindNullValue(PreparedStatement statement, int index) throws SQLException {
+        statement.setNull(index, statement.getParameterMetaData().getParameterType(index));
+    }
+
+    public void bindBooleanValue(PreparedStatement statement, int index, BooleanValue booleanValue) throws SQLException {
+        statement.setBoolean(index, booleanValue.get());
+    }
+
+    public void bindDateValue(PreparedStatement statement, int index, DateValue dateValue) throws SQLException {
+        // the date writer clamps the day to the end of the month
+        bindTemporalString(statement, index, new DateWriter().writeDate(dateValue));
+    }
+
+    public void bindDateTimeValue(PreparedStatement statement, int index, DateTimeValue dateTimeValue) throws SQLException {
+        bindTemporalString(statement, index, dateTimeValue.toString());
+    }
+
+    public void bindNumericValue(PreparedStatement statement, int index, NumericValue numericValue) throws SQLException {
+        if (numericValue.isLongValued()) {
+            statement.setLong(index, numericValue.getLong());
+        } else {
+            // avoid exponent notation, as the literal is written in plain form
+            BigDecimal value = numericValue.get();
+            if (value.scale() < 0) {
+                value = value.setScale(0);
+            }
+            statement.setBigDecimal(index, value);
+        }
+    }
+
+    public void bindStringValue(PreparedStatement statement, int index, StringValue stringValue) throws SQLException {
+        // the literal form has any quotes removed, so the same is done here
+        statement.setString(index, unquote(stringValue.toString()));
+    }
+
+    public void bindTimeValue(PreparedStatement statement, int index, TimeValue timeValue) throws SQLException {
+        bindTemporalString(statement, index, timeValue.toString());
+    }
+
+    public void bindTimestampValue(PreparedStatement statement, int index, TimestampValue timestampValue) throws SQLException {
+        bindTemporalString(statement, index, timestampValue.toString());
+    }
+
+    /**
+     * Bind a date or time value given as a quoted SQL literal.
+     *
+     * @param statement The statement
+     * @param index The index of the parameter
+     * @param literal The quoted literal
+     * @throws SQLException If the value could not be bound
+     */
+    protected void bindTemporalString(PreparedStatement statement, int index, String literal) throws SQLException {
+        statement.setString(index, unquote(literal));
+    }
+
+    protected static String unquote(String literal) {
+        if (literal.length() >= 2 && literal.startsWith("'") && literal.endsWith("'")) {
+            return literal.substring(1, literal.length() - 1);
+        }
+        return literal;
+    }
+}
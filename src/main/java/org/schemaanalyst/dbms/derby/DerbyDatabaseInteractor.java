@@ -88,8 +88,9 @@ public class DerbyDatabaseInteractor extends DatabaseInteractor {
                 initializeDatabaseConnection();
             }
             LOGGER.log(Level.FINE, "Executing statement: {0}", command);
-            Statement statement = connection.createStatement();
-            returnCount = statement.executeUpdate(command);
+            try (Statement statement = connection.createStatement()) {
+                returnCount = statement.executeUpdate(command);
+            }
             LOGGER.log(Level.FINE, "Statement: {0}\n Result: {1}", new Object[]{command, returnCount});
         } catch (SQLException e) {
             // if this command is a create table statement and it through 
@@ -124,15 +125,16 @@ public class DerbyDatabaseInteractor extends DatabaseInteractor {
                 initializeDatabaseConnection();
             }
             LOGGER.log(Level.FINE, "Executing statement: {0}", command);
-            Statement statement = connection.createStatement();
+            try (Statement statement = connection.createStatement()) {
 
-            // run the command and capture the number of modified
-            // values or any other type of status return code
-            boolean result = statement.execute(command);
+                // run the command and capture the number of modified
+                // values or any other type of status return code
+                boolean result = statement.execute(command);
 
-            // this is a U,I,D that has an update count
-            if (result == UPDATE_COUNT) {
-                returnCount = statement.getUpdateCount();
+                // this is a U,I,D that has an update count
+                if (result == UPDATE_COUNT) {
+                    returnCount = statement.getUpdateCount();
+                }
             }
         } catch (SQLException e) {
             // if this command is a create table statement and it through 
@@ -27,6 +27,11 @@ public class HyperSQLDatabaseInteractor extends DatabaseInteractor {
      * The database name.
      */
     private String databaseName;
+    /**
+     * The unique name of the in-memory database, shared by interactors
+     * produced with {@link #duplicateConnection()}.
+     */
+    private String memoryDatabaseName;
 
     HyperSQLDatabaseInteractor(String databaseName, DatabaseConfiguration databaseConfiguration, LocationsConfiguration locationConfiguration) {
         super(databaseConfiguration, locationConfiguration);
@@ -59,7 +64,7 @@ public class HyperSQLDatabaseInteractor extends DatabaseInteractor {
             if (!databaseConfiguration.getHsqldb_in_memory()) {
                 databaseUrl = "jdbc:hsqldb:file:/" + hsqldbDirectory.getAbsolutePath() + URL_SUFFIX;
             } else {
-                databaseUrl = "jdbc:hsqldb:mem:/database" + UUID.randomUUID().toString() + URL_SUFFIX;
+                databaseUrl = "jdbc:hsqldb:mem:/" + getMemoryDatabaseName() + URL_SUFFIX;
             }
             LOGGER.log(Level.FINE, "JDBC Connection URL: {0}", databaseUrl);
 
@@ -77,8 +82,29 @@ public class HyperSQLDatabaseInteractor extends DatabaseInteractor {
         }
     }
 
+    private synchronized String getMemoryDatabaseName() {
+        if (memoryDatabaseName == null) {
+            memoryDatabaseName = "database" + UUID.randomUUID().toString();
+        }
+        return memoryDatabaseName;
+    }
+
     @Override
     public DatabaseInteractor duplicate() {
         return new HyperSQLDatabaseInteractor(databaseName, databaseConfiguration, locationConfiguration);
     }
+
+    /**
+     * Produce a duplicate of this interactor that connects to the same
+     * database. Unlike {@link #duplicate()}, when in-memory mode is used the
+     * duplicate shares this interactor's in-memory database.
+     *
+     * @return The duplicate DatabaseInteractor
+     */
+    @Override
+    public DatabaseInteractor duplicateConnection() {
+        HyperSQLDatabaseInteractor duplicate = new HyperSQLDatabaseInteractor(databaseName, databaseConfiguration, locationConfiguration);
+        duplicate.memoryDatabaseName = getMemoryDatabaseName();
+        return duplicate;
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package org.schemaanalyst.dbms.postgres;
 import org.schemaanalyst.configuration.DatabaseConfiguration;
 import org.schemaanalyst.configuration.LocationsConfiguration;
 import org.schemaanalyst.dbms.DatabaseInteractor;
+import org.schemaanalyst.dbms.ValueParameterBinder;
 
 import java.sql.DriverManager;
 import java.sql.ResultSet;
@@ -80,6 +81,11 @@ public class PostgresDatabaseInteractor extends DatabaseInteractor {
         }
     }
 
+    @Override
+    protected ValueParameterBinder createValueParameterBinder() {
+        return new PostgresValueParameterBinder();
+    }
+
     @Override
     public DatabaseInteractor duplicate() {
         return new PostgresDatabaseInteractor(databaseConfiguration, locationConfiguration);
@@ -0,0 +1,33 @@
+package org.schemaanalyst.dbms.postgres;
+
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.dbms.ValueParameterBinder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * <p>
+ * A {@link ValueParameterBinder} that binds {@link Value} objects to the
+ * parameters of statements for the Postgres DBMS.
+ * </p>
+ *
+ * <p>
+ * Postgres does not implicitly cast a VARCHAR parameter to a date or time
+ * column, so such values, and NULLs, are sent untyped and left for the server
+ * to cast, as it does for literals.
+ * </p>
+ */
+public class PostgresValueParameterBinder extends ValueParameterBinder {
+
+    @Override
+    public void bindNullValue(PreparedStatement statement, int index) throws SQLException {
+        statement.setNull(index, Types.OTHER);
+    }
+
+    @Override
+    protected void bindTemporalString(PreparedStatement statement, int index, String literal) throws SQLException {
+        statement.setObject(index, unquote(literal), Types.OTHER);
+    }
+}
@@ -3,6 +3,7 @@ package org.schemaanalyst.dbms.sqlite;
 import org.schemaanalyst.configuration.DatabaseConfiguration;
 import org.schemaanalyst.configuration.LocationsConfiguration;
 import org.schemaanalyst.dbms.DatabaseInteractor;
+import org.schemaanalyst.dbms.ValueParameterBinder;
 import org.sqlite.SQLiteConfig;
 
 import java.io.File;
@@ -93,6 +94,22 @@ public class SQLiteDatabaseInteractor extends DatabaseInteractor {
         }
     }
 
+    /**
+     * Each connection to an in-memory SQLite database has its own database,
+     * so concurrent connections are only supported for databases on disk.
+     *
+     * @return Whether concurrent connections are supported
+     */
+    @Override
+    public boolean supportsConcurrentConnections() {
+        return !databaseConfiguration.getSqliteInMemory();
+    }
+
+    @Override
+    protected ValueParameterBinder createValueParameterBinder() {
+        return new SQLiteValueParameterBinder();
+    }
+
     @Override
     public DatabaseInteractor duplicate() {
         return new SQLiteDatabaseInteractor(databaseName, databaseConfiguration, locationConfiguration);
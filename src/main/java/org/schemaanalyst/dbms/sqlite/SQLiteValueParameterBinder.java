@@ -0,0 +1,32 @@
+package org.schemaanalyst.dbms.sqlite;
+
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.dbms.ValueParameterBinder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * <p>
+ * A {@link ValueParameterBinder} that binds {@link Value} objects to the
+ * parameters of statements for the SQLite DBMS.
+ * </p>
+ *
+ * <p>
+ * The SQLite JDBC driver does not support BigDecimal parameters. SQLite reads
+ * a numeric literal that is not a 64-bit integer as a double anyway, so such
+ * values are bound as doubles.
+ * </p>
+ */
+public class SQLiteValueParameterBinder extends ValueParameterBinder {
+
+    @Override
+    public void bindNumericValue(PreparedStatement statement, int index, NumericValue numericValue) throws SQLException {
+        if (numericValue.isLongValued()) {
+            statement.setLong(index, numericValue.getLong());
+        } else {
+            statement.setDouble(index, numericValue.get().doubleValue());
+        }
+    }
+}
@@ -6,7 +6,6 @@ import org.schemaanalyst.dbms.DBMS;
 import org.schemaanalyst.dbms.DBMSFactory;
 import org.schemaanalyst.dbms.DatabaseInteractor;
 import org.schemaanalyst.mutation.Mutant;
-import org.schemaanalyst.mutation.analysis.util.ExperimentTimer;
 import org.schemaanalyst.mutation.equivalence.ChangedConstraintFinder;
 import org.schemaanalyst.mutation.equivalence.ChangedTableFinder;
 import org.schemaanalyst.mutation.pipeline.MutationPipeline;
@@ -27,6 +26,11 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 public class FaultLocalizationExperiment extends Runner {
@@ -101,6 +105,18 @@ public class FaultLocalizationExperiment extends Runner {
     @Parameter("Which mutation analysis technique to use.")
     protected String technique = "original";
     
+    @Parameter("The number of threads to work out the scores of the faults with.")
+    protected int threads = Runtime.getRuntime().availableProcessors();
+    
+    // worked out once, in task(), and only read while the faults are scored
+    protected List<Mutant<Schema>> mutants;
+    
+    protected KillMatrix killMatrix;
+    
+    protected List<Constraint> mutantConstraints;
+    
+    protected List<Table> changedTables;
+    
     @Override
     protected void task() {
     	createFileWriter(locationsConfiguration.getResultsDir() + File.separator + schemaName + ".dat");
@@ -114,63 +130,53 @@ public class FaultLocalizationExperiment extends Runner {
 			e.printStackTrace();
 		}
     	
-//        for (Schema schema : schemas) {
         	System.out.println(schemaName);
         	instantiateDBMS();
         	String casestudy = "parsedcasestudy." + schemaName;
             Schema schemaObject = instantiateSchema(casestudy);
-//            String filename = "src/"+ packagename + "/Test" + schema.getName() + ".java";
-//            File f = new File(filename);
-//            if(f.exists()){
-//            	System.out.println(filename + " already exists");
-//            }else{
             	tempTestSuite = GenerateTestData(schemaObject);
             	originalTestSuite = GenerateTestData(schemaObject);
-//            }
             MutationPipeline<Schema> pipeline= instantiatePipeline(schemaObject, mutationPipeline);
 
             List<Mutant<Schema>> mutatedSchema = pipeline.mutate();
             
+            // every fault is localised against the same mutants, so the test
+            // suite is executed on each of them once, rather than once per fault
+            computeKillMatrix(schemaObject, mutatedSchema);
+            
+            List<String> faults = new ArrayList<>();
+            List<Constraint> originalConstraints = new ArrayList<>();
+            List<Table> mutatedTables = new ArrayList<>();
             for(int i = 0; i < mutatedSchema.size(); i++){
             	Constraint originalConstraint = null;
-            	Table mutatedTable = null;
             	String mutationOperator = mutatedSchema.get(i).getSimpleDescription();
             	if(mutationOperator.equals("CCNullifier") || mutationOperator.equals("CCRelationalExpressionOperatorE") ||
             			mutationOperator.equals("CCInExpressionRHSListExpressionElementR")){
-            		
             		originalConstraint = CompareSchema.CompareCheckConstraints(schemaObject, mutatedSchema.get(i).getMutatedArtefact());
-            		mutatedTable = ChangedTableFinder.getDifferentTable(schemaObject, mutatedSchema.get(i).getMutatedArtefact());
-            		doExpt(mutatedSchema.get(i).getMutatedArtefact(), mutatedSchema.get(i).getDescription(), originalConstraint, mutatedTable);
-            	}
-            	if(mutationOperator.equals("FKCColumnPairR") || mutationOperator.equals("FKCColumnPairE") ||
+            	}else if(mutationOperator.equals("FKCColumnPairR") || mutationOperator.equals("FKCColumnPairE") ||
             			mutationOperator.equals("FKCColumnPairA")){
             		originalConstraint = CompareSchema.CompareForeignKeyConstraints(schemaObject, mutatedSchema.get(i).getMutatedArtefact());
-            		mutatedTable = ChangedTableFinder.getDifferentTable(schemaObject, mutatedSchema.get(i).getMutatedArtefact());
-            		doExpt(mutatedSchema.get(i).getMutatedArtefact(), mutatedSchema.get(i).getDescription(), originalConstraint, mutatedTable);
-            	}
-            	if(mutationOperator.equals("PKCColumnR") || mutationOperator.equals("PKCColumnE") ||
+            	}else if(mutationOperator.equals("PKCColumnR") || mutationOperator.equals("PKCColumnE") ||
             			mutationOperator.equals("PKCColumnA")){
             		originalConstraint = CompareSchema.ComparePrimaryKeyConstraints(schemaObject, mutatedSchema.get(i).getMutatedArtefact());
-            		mutatedTable = ChangedTableFinder.getDifferentTable(schemaObject, mutatedSchema.get(i).getMutatedArtefact());
-//            		System.out.println(originalConstraint);
-//            		System.out.println(mutatedSchema.get(i).getDescription());
-            		
-            		doExpt(mutatedSchema.get(i).getMutatedArtefact(), mutatedSchema.get(i).getDescription(), originalConstraint, mutatedTable);
-            	}
-            	if(mutationOperator.equals("NNCA") || mutationOperator.equals("NNCR")){
-//            		do nothing
-            	}
-            	if(mutationOperator.equals("UCColumnA") || mutationOperator.equals("UCColumnR") ||
+            	}else if(mutationOperator.equals("UCColumnA") || mutationOperator.equals("UCColumnR") ||
             			mutationOperator.equals("UCColumnE")){
             		//should be which constraint was mutated
             		originalConstraint = CompareSchema.CompareUniqueConstraints(schemaObject, mutatedSchema.get(i).getMutatedArtefact());
-            		mutatedTable = ChangedTableFinder.getDifferentTable(schemaObject, mutatedSchema.get(i).getMutatedArtefact());
-//            		System.out.println(originalConstraint);
-            		//
-//            		System.out.println(mutatedSchema.get(i).getDescription());
-            		doExpt(mutatedSchema.get(i).getMutatedArtefact(), mutatedSchema.get(i).getDescription(), originalConstraint, mutatedTable);
+            	}else{
+            		// NNCA and NNCR faults are not localised
+            		continue;
             	}
+            	faults.add(mutatedSchema.get(i).getDescription());
+            	originalConstraints.add(originalConstraint);
+            	mutatedTables.add(changedTables.get(i));
+            }
+            
+            List<String[]> results = localiseFaults(schemaObject, faults, originalConstraints, mutatedTables);
+            for(String[] result : results){
+            	System.out.print(result[0]);
             	try {
+            		dataWriter.append(result[1]);
 					dataWriter.flush();
 				} catch (IOException e) {
 					// TODO Auto-generated catch block
@@ -180,115 +186,114 @@ public class FaultLocalizationExperiment extends Runner {
             
             closeStream();
             }
-        
-//            System.out.println();
-//        }
     
-//pass it which constraint has the seeded fault
-    void doExpt(Schema schema, String mutant, Constraint originalConstraint, Table mutatedTable) {
-    	ExperimentTimer timer = new ExperimentTimer();
-    	counter++;
-    	ArrayList<ResultMatrixRow> matrixRows = new ArrayList<ResultMatrixRow>();
-    	String casestudy = "parsedcasestudy." + schema;
-    	Schema schemaObject = instantiateSchema(casestudy);
-    	MutationPipeline<Schema> pipeline = instantiatePipeline(schemaObject, mutationPipeline);
-    	timer.start(ExperimentTimer.TimingPoint.MUTATION_TIME);
-    	List<Mutant<Schema>> mutatedSchema = pipeline.mutate();
-    	timer.stop(ExperimentTimer.TimingPoint.MUTATION_TIME);    	
-    	System.out.println("RUN " + counter + " OUT OF: " + mutatedSchema.size());
-
-    	int totalFailed = 0;
-    	int totalPassed = 0;
-    	List<TestCase> cases = originalTestSuite.getTestCases();
-    	for(int i = 0; i < cases.size(); i++){
-    		for(int j = 0; j < cases.get(i).getDBMSResults().size(); j++){
-    			if(cases.get(i).getDBMSResults().get(j)){
-    				totalPassed++;
-    			}else{
-    				totalFailed++;
-    			}
-    		}
-    	}
+    // executes the test suite on each mutant, recording which INSERTs it
+    // changed the results of, and the constraint and table each mutant changed
+    void computeKillMatrix(Schema schemaObject, List<Mutant<Schema>> mutatedSchema) {
+    	mutants = mutatedSchema;
+    	killMatrix = new KillMatrix(originalTestSuite);
+    	mutantConstraints = new ArrayList<>();
+    	changedTables = new ArrayList<>();
+    	
+    	// a mutant made by an operator not listed keeps the constraint of the
+    	// mutant before it
         Constraint c = null;
-        //EACH RUN OF FOR loop corresponds to one row in the matrix
 		for(int id = 0; id < mutatedSchema.size(); id++){
-			int passed = 0;
-            int failed = 0;
-        	if(mutatedSchema.get(id).getSimpleDescription().equals("CCNullifier") ||
-        			mutatedSchema.get(id).getSimpleDescription().equals("CCRelationalExpressionOperatorE")||
-        					mutatedSchema.get(id).getSimpleDescription().equals("CCInExpressionRHSListExpressionElementR")){
-        		c = ChangedConstraintFinder.getDifferentConstraint(schemaObject, mutatedSchema.get(id).getMutatedArtefact());
+			String operator = mutatedSchema.get(id).getSimpleDescription();
+			Schema mutatedArtefact = mutatedSchema.get(id).getMutatedArtefact();
+        	if(operator.equals("CCNullifier") ||
+        			operator.equals("CCRelationalExpressionOperatorE")||
+        					operator.equals("CCInExpressionRHSListExpressionElementR")){
+        		c = ChangedConstraintFinder.getDifferentConstraint(schemaObject, mutatedArtefact);
         	}
-        	if(mutatedSchema.get(id).getSimpleDescription().equals("FKCColumnPairR") ||
-        			mutatedSchema.get(id).getSimpleDescription().equals("FKCColumnPairE") ||
-        				mutatedSchema.get(id).getSimpleDescription().equals("FKCColumnPairA")){
-        		c = ChangedConstraintFinder.getDifferentConstraint(schemaObject, mutatedSchema.get(id).getMutatedArtefact());
+        	if(operator.equals("FKCColumnPairR") ||
+        			operator.equals("FKCColumnPairE") ||
+        				operator.equals("FKCColumnPairA")){
+        		c = ChangedConstraintFinder.getDifferentConstraint(schemaObject, mutatedArtefact);
         	}
-        	if(mutatedSchema.get(id).getSimpleDescription().equals("PKCColumnR") ||
-        			mutatedSchema.get(id).getSimpleDescription().equals("PKCColumnE") ||
-        					mutatedSchema.get(id).getSimpleDescription().equals("PKCColumnA")){
-        		c = ChangedConstraintFinder.getDifferentConstraint(schemaObject, mutatedSchema.get(id).getMutatedArtefact());
+        	if(operator.equals("PKCColumnR") ||
+        			operator.equals("PKCColumnE") ||
+        					operator.equals("PKCColumnA")){
+        		c = ChangedConstraintFinder.getDifferentConstraint(schemaObject, mutatedArtefact);
         	}
-        	if(mutatedSchema.get(id).getSimpleDescription().equals("NNCA") ||
-        			mutatedSchema.get(id).getSimpleDescription().equals("NNCR")){
-        		c = CompareSchema.CompareNotNullConstraints(schemaObject, mutatedSchema.get(id).getMutatedArtefact());
+        	if(operator.equals("NNCA") ||
+        			operator.equals("NNCR")){
+        		c = CompareSchema.CompareNotNullConstraints(schemaObject, mutatedArtefact);
         	}
-        	if(mutatedSchema.get(id).getSimpleDescription().equals("UCColumnA") ||
-        			mutatedSchema.get(id).getSimpleDescription().equals("UCColumnR") ||
-        				mutatedSchema.get(id).getSimpleDescription().equals("UCColumnE")){
-        		c = ChangedConstraintFinder.getDifferentConstraint(schemaObject, mutatedSchema.get(id).getMutatedArtefact());
+        	if(operator.equals("UCColumnA") ||
+        			operator.equals("UCColumnR") ||
+        				operator.equals("UCColumnE")){
+        		c = ChangedConstraintFinder.getDifferentConstraint(schemaObject, mutatedArtefact);
         	}
-        	
-        	// Drop existing tables
-//            timer.start(ExperimentTimer.TimingPoint.DROPS_TIME);
-        	boolean quasiMutant = false;
+        	mutantConstraints.add(c);
+        	changedTables.add(ChangedTableFinder.getDifferentTable(schemaObject, mutatedArtefact));
 
         	TestCaseExecutor executor = new TestCaseExecutor(
-                    mutatedSchema.get(id).getMutatedArtefact(),
+                    mutatedArtefact,
                     dbmsObject,
                     new DatabaseConfiguration(),
                     new LocationsConfiguration());
             executor.execute(tempTestSuite);
+            killMatrix.addMutant(tempTestSuite);
+		}
+    }
+    
+    // works out the scores of each fault in parallel, returning the console
+    // output and the results file lines for each fault, in order
+    List<String[]> localiseFaults(final Schema schemaObject, final List<String> faults,
+    		final List<Constraint> originalConstraints, final List<Table> mutatedTables) {
+    	List<Future<String[]>> futures = new ArrayList<>();
+    	ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, faults.size())));
+    	try {
+    		for(int i = 0; i < faults.size(); i++){
+    			final int fault = i;
+    			futures.add(executor.submit(new Callable<String[]>() {
+    				@Override
+    				public String[] call() {
+    					return doExpt(schemaObject, fault + 1, faults.get(fault),
+    							originalConstraints.get(fault), mutatedTables.get(fault));
+    				}
+    			}));
+    		}
+    		List<String[]> results = new ArrayList<>();
+    		for(Future<String[]> future : futures){
+    			results.add(future.get());
+    		}
+    		return results;
+    	} catch (InterruptedException e) {
+    		Thread.currentThread().interrupt();
+    		throw new RuntimeException(e);
+    	} catch (ExecutionException e) {
+    		throw new RuntimeException(e.getCause());
+    	} finally {
+    		executor.shutdownNow();
+    	}
+    }
+    
+//pass it which constraint has the seeded fault
+    String[] doExpt(Schema schemaObject, int run, String mutant, Constraint originalConstraint, Table mutatedTable) {
+    	StringBuilder log = new StringBuilder();
+    	StringBuilder data = new StringBuilder();
+    	ArrayList<ResultMatrixRow> matrixRows = new ArrayList<ResultMatrixRow>();
+    	log.append("RUN " + run + " OUT OF: " + mutants.size() + "\n");
 
-            ResultMatrixRow r;
-//            	timer.start(ExperimentTimer.TimingPoint.INSERTS_TIME);
-                 List<TestCase> mutatedCases = tempTestSuite.getTestCases();
-                 
-                 //if it passed and failed = pass
-                 //if it failed and now passes = fail
-                 for(int k = 0; k < mutatedCases.size(); k++){
-             		for(int j = 0; j < mutatedCases.get(k).getDBMSResults().size(); j++){
-             			//if original was true
-             			if(cases.get(k).getDBMSResults().get(j)){
-             				//if theyre the same
-             				if(mutatedCases.get(k).getDBMSResults().get(j).equals(cases.get(k).getDBMSResults().get(j))){
-             					
-             				}else{
-             					passed++;
-             				}
-             			}else{
-             				
-             			}
-             			if(mutatedCases.get(k).getDBMSResults().get(j).equals(cases.get(k).getDBMSResults().get(j))){
-             				
-             			}else{
-             				failed++;
-             			}
-             		}
-             	}
+    	int totalFailed = killMatrix.getTotalFailed();
+    	int totalPassed = killMatrix.getTotalPassed();
+        //EACH RUN OF FOR loop corresponds to one row in the matrix
+		for(int id = 0; id < mutants.size(); id++){
+			Constraint c = mutantConstraints.get(id);
              	boolean isFault = false;
-             	Table changedTable = ChangedTableFinder.getDifferentTable(schemaObject, mutatedSchema.get(id).getMutatedArtefact());
-             	if(mutatedSchema.get(id).getDescription().equals(mutant.toString()) &&
-             			changedTable.equals(mutatedTable)){
+             	if(mutants.get(id).getDescription().equals(mutant) &&
+             			changedTables.get(id).equals(mutatedTable)){
              		isFault = true;
              	}
              	if(c.equals(originalConstraint) && !originalConstraint.toString().equals("Empty Constraint")){
              		
              	}else{
-             		r = new ResultMatrixRow(c, mutatedSchema.get(id).getSimpleDescription(), totalFailed, totalPassed, passed, failed, isFault);
+             		ResultMatrixRow r = new ResultMatrixRow(c, mutants.get(id).getSimpleDescription(), totalFailed, totalPassed,
+             				killMatrix.getPassed(id), killMatrix.getFailed(id), isFault);
              		matrixRows.add(r);
              	}
-                
             }
 		boolean hasScore = false;
 		for(int i = 0; i < matrixRows.size(); i++){
@@ -298,49 +303,39 @@ public class FaultLocalizationExperiment extends Runner {
 		}
 		if(hasScore){
 			ResultMatrix matrix = new ResultMatrix(schemaObject, matrixRows);
-			ProcessMatrix.Process(schemaObject, matrix);
+			ProcessMatrix.processScores(matrix);
     		
-    			try
-        		{
-        		    dataWriter.append(schemaObject.getName() + ",");
+        		    data.append(schemaObject.getName() + ",");
         		    for(int i = 0; i < matrixRows.size(); i++){
         		    	if(matrixRows.get(i).isFault()){
-                		    dataWriter.append(matrixRows.get(i).getMutant() + ",");
-                		    dataWriter.append("Ochiai,");
-        		    		System.out.println("ochiai score: " + matrixRows.get(i).getScoreOchiai());
-        		    		dataWriter.append(matrixRows.get(i).getScoreOchiai() + "\n");        		    		
+                		    data.append(matrixRows.get(i).getMutant() + ",");
+                		    data.append("Ochiai,");
+        		    		log.append("ochiai score: " + matrixRows.get(i).getScoreOchiai() + "\n");
+        		    		data.append(matrixRows.get(i).getScoreOchiai() + "\n");        		    		
         		    	}
         		    }
         		    
-        		    dataWriter.append(schemaObject.getName() + ",");
+        		    data.append(schemaObject.getName() + ",");
         		    for(int i = 0; i < matrixRows.size(); i++){
         		    	if(matrixRows.get(i).isFault()){
-                		    dataWriter.append(matrixRows.get(i).getMutant() + ",");
-                		    dataWriter.append("Tarantula,");
-        		    		System.out.println("tarantula score: " + matrixRows.get(i).getScoreTarantula());
-        		    		dataWriter.append(matrixRows.get(i).getScoreTarantula() + "\n");        		    		
+                		    data.append(matrixRows.get(i).getMutant() + ",");
+                		    data.append("Tarantula,");
+        		    		log.append("tarantula score: " + matrixRows.get(i).getScoreTarantula() + "\n");
+        		    		data.append(matrixRows.get(i).getScoreTarantula() + "\n");        		    		
         		    	}
         		    }
         		    
-        		    dataWriter.append(schemaObject.getName() + ",");
+        		    data.append(schemaObject.getName() + ",");
         		    for(int i = 0; i < matrixRows.size(); i++){
         		    	if(matrixRows.get(i).isFault()){
-                		    dataWriter.append(matrixRows.get(i).getMutant() + ",");
-                		    dataWriter.append("Jaccard,");
-        		    		System.out.println("jaccard score: " + matrixRows.get(i).getScoreJaccard());
-        		    		dataWriter.append(matrixRows.get(i).getScoreJaccard() + "\n");        		    		
+                		    data.append(matrixRows.get(i).getMutant() + ",");
+                		    data.append("Jaccard,");
+        		    		log.append("jaccard score: " + matrixRows.get(i).getScoreJaccard() + "\n");
+        		    		data.append(matrixRows.get(i).getScoreJaccard() + "\n");        		    		
         		    	}
         		    }
-        		    
-        		    
-        		}
-        		catch(IOException e)
-        		{
-        		     e.printStackTrace();
-        		} 
-//    			closeStream();
     		}
-    		
+		return new String[] {log.toString(), data.toString()};
 		}
     
     	protected static void createFileWriter(String fileName){
@@ -425,7 +420,7 @@ public class FaultLocalizationExperiment extends Runner {
     
     @Override
     protected void validateParameters() {
-        // nothing to validate
+        check(threads > 0, "threads should be 1 or greater");
     }
 
     public static void main(String[] args) {
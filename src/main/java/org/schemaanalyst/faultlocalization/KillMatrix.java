@@ -0,0 +1,175 @@
+package org.schemaanalyst.faultlocalization;
+
+import org.schemaanalyst.testgeneration.TestCase;
+import org.schemaanalyst.testgeneration.TestSuite;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The INSERT statements of a test suite whose results each mutant of a schema
+ * changed, worked out once and kept as a bitset per mutant, so that the
+ * passed and failed counts of every fault's result matrix can be taken from it
+ * rather than by executing the test suite again.
+ *
+ * The INSERTs are numbered in the order of the test suite's test cases and
+ * their DBMS results. An INSERT "fails" for a mutant when the mutant changes
+ * its result, and "passes" when the original schema accepted it.
+ */
+public class KillMatrix {
+
+	private final int numInserts;
+	private final long[] passing;
+	private final List<long[]> failing = new ArrayList<>();
+
+	/**
+	 * Constructs a matrix with no mutants.
+	 *
+	 * @param originalTestSuite
+	 *            The test suite, executed on the original schema.
+	 */
+	public KillMatrix(TestSuite originalTestSuite) {
+		this(getResults(originalTestSuite));
+	}
+
+	/**
+	 * Constructs a matrix with no mutants.
+	 *
+	 * @param originalResults
+	 *            The result of each INSERT on the original schema.
+	 */
+	public KillMatrix(List<Boolean> originalResults) {
+		numInserts = originalResults.size();
+		passing = new long[(numInserts + 63) >>> 6];
+		for (int i = 0; i < numInserts; i++) {
+			if (originalResults.get(i)) {
+				passing[i >>> 6] |= 1L << i;
+			}
+		}
+	}
+
+	/**
+	 * Adds the next mutant.
+	 *
+	 * @param executedTestSuite
+	 *            The test suite, executed on the mutant.
+	 * @return The number of the mutant.
+	 */
+	public int addMutant(TestSuite executedTestSuite) {
+		return addMutant(getResults(executedTestSuite));
+	}
+
+	/**
+	 * Adds the next mutant.
+	 *
+	 * @param results
+	 *            The result of each INSERT on the mutant.
+	 * @return The number of the mutant.
+	 */
+	public int addMutant(List<Boolean> results) {
+		if (results.size() != numInserts) {
+			throw new IllegalArgumentException("The mutant has " + results.size()
+					+ " INSERT results, but the original has " + numInserts);
+		}
+		long[] changed = new long[passing.length];
+		for (int i = 0; i < numInserts; i++) {
+			boolean original = (passing[i >>> 6] & (1L << i)) != 0;
+			if (results.get(i) != original) {
+				changed[i >>> 6] |= 1L << i;
+			}
+		}
+		failing.add(changed);
+		return failing.size() - 1;
+	}
+
+	public int getNumMutants() {
+		return failing.size();
+	}
+
+	public int getNumInserts() {
+		return numInserts;
+	}
+
+	/**
+	 * Returns whether a mutant changed the result of an INSERT.
+	 *
+	 * @param mutant
+	 *            The number of the mutant.
+	 * @param insert
+	 *            The number of the INSERT.
+	 * @return Whether the result was changed.
+	 */
+	public boolean isFailed(int mutant, int insert) {
+		return (failing.get(mutant)[insert >>> 6] & (1L << insert)) != 0;
+	}
+
+	/**
+	 * Returns the number of INSERTs the original schema accepted.
+	 *
+	 * @return The number of INSERTs.
+	 */
+	public int getTotalPassed() {
+		int count = 0;
+		for (long word : passing) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of INSERTs the original schema rejected.
+	 *
+	 * @return The number of INSERTs.
+	 */
+	public int getTotalFailed() {
+		return numInserts - getTotalPassed();
+	}
+
+	/**
+	 * Returns the number of INSERTs the original schema accepted and a mutant
+	 * changed the result of.
+	 *
+	 * @param mutant
+	 *            The number of the mutant.
+	 * @return The number of INSERTs.
+	 */
+	public int getPassed(int mutant) {
+		long[] changed = failing.get(mutant);
+		int count = 0;
+		for (int i = 0; i < changed.length; i++) {
+			count += Long.bitCount(changed[i] & passing[i]);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of INSERTs a mutant changed the result of.
+	 *
+	 * @param mutant
+	 *            The number of the mutant.
+	 * @return The number of INSERTs.
+	 */
+	public int getFailed(int mutant) {
+		int count = 0;
+		for (long word : failing.get(mutant)) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the result of each INSERT of a test suite that has been
+	 * executed, in order.
+	 *
+	 * @param testSuite
+	 *            The test suite.
+	 * @return The results.
+	 */
+	public static List<Boolean> getResults(TestSuite testSuite) {
+		List<Boolean> results = new ArrayList<>();
+		for (TestCase testCase : testSuite.getTestCases()) {
+			results.addAll(testCase.getDBMSResults());
+		}
+		return results;
+	}
+}
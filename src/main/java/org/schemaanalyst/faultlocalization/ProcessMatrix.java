@@ -21,6 +21,20 @@ public class ProcessMatrix {
 		computeScores(s);
 	}
 
+	/**
+	 * Scores and ranks the rows of a matrix as {@link #Process} does, but
+	 * without setting the static fields, so that the matrices of different
+	 * faults can be processed at the same time.
+	 * 
+	 * @param matrix
+	 *            The matrix, whose rows are given their scores and ranks.
+	 */
+	public static void processScores(ResultMatrix matrix) {
+		setMatrixScores(matrix);
+		ResultMatrix[] ranked = rank(matrix.schema, matrix);
+		computeScores(ranked[0], ranked[1], ranked[2]);
+	}
+
 	public static void setMatrixScores(ResultMatrix matrix) {
 		for (int i = 0; i < matrix.size(); i++) {
 			Calculator.calculateOchiai(matrix.getRow(i));
@@ -30,6 +44,13 @@ public class ProcessMatrix {
 	}
 
 	public static void setRanks(ResultMatrix matrix) {
+		ResultMatrix[] ranked = rank(schema, matrix);
+		OchiaiRanked = ranked[0];
+		TarantulaRanked = ranked[1];
+		JaccardRanked = ranked[2];
+	}
+
+	private static ResultMatrix[] rank(Schema s, ResultMatrix matrix) {
 		ArrayList<ResultMatrixRow> matrix1 = new ArrayList<>();
 		ArrayList<ResultMatrixRow> matrix2 = new ArrayList<>();
 		ArrayList<ResultMatrixRow> matrix3 = new ArrayList<>();
@@ -44,18 +65,20 @@ public class ProcessMatrix {
 		}
 
 		Collections.sort(matrix1, new OchiaiComparator());
-		OchiaiRanked = new ResultMatrix(schema, matrix1);
-
 		Collections.sort(matrix2, new TarantulaComparator());
-		TarantulaRanked = new ResultMatrix(schema, matrix2);
-
 		Collections.sort(matrix3, new JaccardComparator());
-		JaccardRanked = new ResultMatrix(schema, matrix3);
-
+		return new ResultMatrix[] {new ResultMatrix(s, matrix1),
+				new ResultMatrix(s, matrix2), new ResultMatrix(s, matrix3)};
 	}
+
 	public static void computeScores(Schema s){
+		computeScores(OchiaiRanked, TarantulaRanked, JaccardRanked);
+	}
+
+	private static void computeScores(ResultMatrix OchiaiRanked, ResultMatrix TarantulaRanked,
+			ResultMatrix JaccardRanked){
 		ArrayList<ResultMatrixRow> oRows = OchiaiRanked.getRows();
-		rankConstraints(s);
+		rankConstraints(OchiaiRanked, TarantulaRanked, JaccardRanked);
 		int oConstraints = OchiaiRanked.size();
 		for(int i= 0; i < oRows.size(); i++){
 			if(oRows.get(i).isFault()){
@@ -93,6 +116,11 @@ public class ProcessMatrix {
 	}
 	
 	public static void rankConstraints(Schema s){
+		rankConstraints(OchiaiRanked, TarantulaRanked, JaccardRanked);
+	}
+
+	private static void rankConstraints(ResultMatrix OchiaiRanked, ResultMatrix TarantulaRanked,
+			ResultMatrix JaccardRanked){
 		
 		List<Constraint> constraints = new ArrayList<>();
 		for(int i =0; i < OchiaiRanked.size(); i++){
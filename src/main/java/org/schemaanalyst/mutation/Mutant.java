@@ -2,6 +2,7 @@ package org.schemaanalyst.mutation;
 
 import org.schemaanalyst.mutation.pipeline.MutantRemover;
 
+import java.lang.ref.SoftReference;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.logging.Level;
@@ -11,13 +12,20 @@ import java.util.logging.Logger;
  * {@link Mutant} is a wrapper around a mutated object with a string description
  * of the mutation.
  *
+ * A mutant can be compacted, after which it only keeps a {@link MutantDelta}
+ * of the mutated object, and a soft reference to the object, so that the
+ * object can be reclaimed by the garbage collector when memory runs short and
+ * made again from the delta when it is next needed.
+ *
  * @author Phil McMinn
  *
  * @param <A> The class of the mutated object.
  */
 public class Mutant<A> {
 
-    private final A artefact;
+    private A artefact;
+    private MutantDelta<A> delta;
+    private SoftReference<A> materialised;
     private Integer identifier;
     private final String description;
     private String simpleDescription;
@@ -39,14 +47,69 @@ public class Mutant<A> {
     }
 
     /**
-     * Returns the mutated object.
+     * Returns the mutated object. The object may be modified, so if the mutant
+     * has been compacted, the object is kept until the mutant is next
+     * compacted.
      *
      * @return the mutated object.
      */
-    public A getMutatedArtefact() {
+    public synchronized A getMutatedArtefact() {
+        if (artefact == null && delta != null) {
+            artefact = getMutatedArtefactView();
+        }
         return artefact;
     }
 
+    /**
+     * Returns the mutated object for reading only. If the mutant has been
+     * compacted, the object is only softly held, so it must not be modified,
+     * as the changes would be lost once it has been reclaimed.
+     *
+     * @return the mutated object.
+     */
+    public synchronized A getMutatedArtefactView() {
+        if (artefact != null || delta == null) {
+            return artefact;
+        }
+        A view = materialised.get();
+        if (view == null) {
+            view = delta.materialise();
+            materialised = new SoftReference<>(view);
+        }
+        return view;
+    }
+
+    /**
+     * Compacts the mutant, replacing the mutated object with a delta made by
+     * an encoder, unless the encoder cannot encode the object.
+     *
+     * @param encoder The encoder.
+     * @return True if the mutant is compact, else false.
+     */
+    public synchronized boolean compact(MutantEncoder<A> encoder) {
+        if (artefact == null) {
+            return delta != null;
+        }
+        MutantDelta<A> encoded = encoder.encode(artefact);
+        if (encoded == null) {
+            return false;
+        }
+        delta = encoded;
+        materialised = new SoftReference<>(artefact);
+        artefact = null;
+        return true;
+    }
+
+    /**
+     * Indicates whether the mutant has been compacted, and not had its
+     * mutated object retrieved with {@link #getMutatedArtefact()} since.
+     *
+     * @return True if the mutant is compact, else false.
+     */
+    public synchronized boolean isCompact() {
+        return artefact == null && delta != null;
+    }
+
     /**
      * Gets a description of the mutation.
      *
@@ -81,7 +144,7 @@ public class Mutant<A> {
      */
     @Override
     public boolean equals(Object obj) {
-        return artefact.equals(obj);
+        return getMutatedArtefactView().equals(obj);
     }
 
     /**
@@ -89,7 +152,7 @@ public class Mutant<A> {
      */
     @Override
     public int hashCode() {
-        return artefact.hashCode();
+        return getMutatedArtefactView().hashCode();
     }
 
     /**
@@ -97,7 +160,7 @@ public class Mutant<A> {
      */
     @Override
     public String toString() {
-        return description + " on " + artefact;
+        return description + " on " + getMutatedArtefactView();
     }
 
     /**
@@ -0,0 +1,17 @@
+package org.schemaanalyst.mutation;
+
+/**
+ * A compact record of a mutant, from which the mutated artefact can be made
+ * again when it is needed.
+ *
+ * @param <A> The class of the mutated artefact.
+ */
+public interface MutantDelta<A> {
+
+    /**
+     * Makes a new copy of the mutated artefact.
+     *
+     * @return The mutated artefact.
+     */
+    public A materialise();
+}
@@ -0,0 +1,17 @@
+package org.schemaanalyst.mutation;
+
+/**
+ * Makes {@link MutantDelta}s of mutated artefacts.
+ *
+ * @param <A> The class of the mutated artefact.
+ */
+public interface MutantEncoder<A> {
+
+    /**
+     * Encodes a mutated artefact.
+     *
+     * @param artefact The mutated artefact.
+     * @return The delta of the artefact, or null if it cannot be encoded.
+     */
+    public MutantDelta<A> encode(A artefact);
+}
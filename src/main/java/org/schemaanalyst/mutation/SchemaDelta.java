@@ -0,0 +1,254 @@
+package org.schemaanalyst.mutation;
+
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.constraint.CheckConstraint;
+import org.schemaanalyst.sqlrepresentation.constraint.Constraint;
+import org.schemaanalyst.sqlrepresentation.constraint.ConstraintVisitor;
+import org.schemaanalyst.sqlrepresentation.constraint.ForeignKeyConstraint;
+import org.schemaanalyst.sqlrepresentation.constraint.NotNullConstraint;
+import org.schemaanalyst.sqlrepresentation.constraint.PrimaryKeyConstraint;
+import org.schemaanalyst.sqlrepresentation.constraint.UniqueConstraint;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ * A {@link MutantDelta} of a mutant {@link Schema}, recording only how its
+ * constraints differ from those of the original schema.
+ * </p>
+ *
+ * <p>
+ * The mutation operators only change constraints, so the tables of a mutant
+ * are the same as the original's, and most of its constraints are equal to the
+ * original's. The delta lists the mutant's constraints in order, each either
+ * as the position of an equal constraint (with the same name) in the original
+ * schema, or, for the few constraints that were changed or added, as a copy
+ * of the constraint on the original schema's tables. It refers to the original
+ * schema, but none of the mutant's tables, columns or constraints, so a mutant
+ * schema can be thrown away once it has been encoded. Schemas whose tables or
+ * columns differ from the original's cannot be encoded.
+ * </p>
+ */
+public class SchemaDelta implements MutantDelta<Schema> {
+
+    /**
+     * Encodes mutants of an original schema.
+     */
+    public static class Encoder implements MutantEncoder<Schema> {
+
+        private final Schema original;
+        private final List<Constraint> originalConstraints;
+
+        /**
+         * Constructor.
+         *
+         * @param original The original schema, which should not be modified
+         * while its mutants are in use.
+         */
+        public Encoder(Schema original) {
+            this.original = original;
+            this.originalConstraints = original.getConstraints();
+        }
+
+        @Override
+        public SchemaDelta encode(Schema mutant) {
+            if (!haveSameTables(original, mutant) || hasEqualForeignKeyConstraints(mutant)) {
+                return null;
+            }
+
+            List<Constraint> mutantConstraints = mutant.getConstraints();
+            int[] slots = new int[mutantConstraints.size()];
+            List<Constraint> changed = new ArrayList<>();
+            boolean[] used = new boolean[originalConstraints.size()];
+            int next = 0;
+            for (int i = 0; i < slots.length; i++) {
+                Constraint constraint = mutantConstraints.get(i);
+                int index = findOriginalConstraint(constraint, used, next);
+                if (index >= 0) {
+                    used[index] = true;
+                    slots[i] = index;
+                    next = index + 1;
+                } else {
+                    changed.add(copy(constraint, original));
+                    slots[i] = -changed.size();
+                }
+            }
+            return new SchemaDelta(original, originalConstraints, slots,
+                    changed.toArray(new Constraint[changed.size()]));
+        }
+
+        private int findOriginalConstraint(Constraint constraint, boolean[] used, int next) {
+            // the unchanged constraints of a mutant are usually in the same
+            // order as in the original, so look at the next one first
+            if (next < used.length && !used[next] && isSame(constraint, originalConstraints.get(next))) {
+                return next;
+            }
+            for (int i = 0; i < used.length; i++) {
+                if (!used[i] && isSame(constraint, originalConstraints.get(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private final Schema original;
+    private final List<Constraint> originalConstraints;
+    private final int[] slots;
+    private final Constraint[] changed;
+
+    private SchemaDelta(Schema original, List<Constraint> originalConstraints, int[] slots, Constraint[] changed) {
+        this.original = original;
+        this.originalConstraints = originalConstraints;
+        this.slots = slots;
+        this.changed = changed;
+    }
+
+    /**
+     * Returns the original schema the mutant was made from.
+     *
+     * @return The original schema.
+     */
+    public Schema getOriginal() {
+        return original;
+    }
+
+    /**
+     * Returns the constraints of the mutant that are not in the original
+     * schema, on the original schema's tables. These should not be modified.
+     *
+     * @return The changed constraints.
+     */
+    public List<Constraint> getChangedConstraints() {
+        List<Constraint> constraints = new ArrayList<>();
+        for (Constraint constraint : changed) {
+            constraints.add(constraint);
+        }
+        return constraints;
+    }
+
+    /**
+     * Returns the constraints of the original schema that are not in the
+     * mutant.
+     *
+     * @return The removed constraints.
+     */
+    public List<Constraint> getRemovedConstraints() {
+        Set<Integer> kept = new HashSet<>();
+        for (int slot : slots) {
+            kept.add(slot);
+        }
+        List<Constraint> constraints = new ArrayList<>();
+        for (int i = 0; i < originalConstraints.size(); i++) {
+            if (!kept.contains(i)) {
+                constraints.add(originalConstraints.get(i));
+            }
+        }
+        return constraints;
+    }
+
+    @Override
+    public Schema materialise() {
+        Schema schema = new Schema(original.getName());
+        for (Table table : original.getTables()) {
+            schema.addTable(table.duplicate());
+        }
+        for (int slot : slots) {
+            Constraint constraint = (slot >= 0) ? originalConstraints.get(slot) : changed[-slot - 1];
+            addConstraint(schema, copy(constraint, schema));
+        }
+        return schema;
+    }
+
+    private static boolean haveSameTables(Schema original, Schema mutant) {
+        if (!original.getName().equals(mutant.getName())) {
+            return false;
+        }
+        List<Table> originalTables = original.getTables();
+        List<Table> mutantTables = mutant.getTables();
+        if (originalTables.size() != mutantTables.size()) {
+            return false;
+        }
+        for (int i = 0; i < originalTables.size(); i++) {
+            Table originalTable = originalTables.get(i);
+            Table mutantTable = mutantTables.get(i);
+            if (!originalTable.getName().equals(mutantTable.getName())) {
+                return false;
+            }
+            List<Column> originalColumns = originalTable.getColumns();
+            List<Column> mutantColumns = mutantTable.getColumns();
+            if (originalColumns.size() != mutantColumns.size()) {
+                return false;
+            }
+            for (int j = 0; j < originalColumns.size(); j++) {
+                Column originalColumn = originalColumns.get(j);
+                Column mutantColumn = mutantColumns.get(j);
+                if (!originalColumn.getName().equals(mutantColumn.getName())
+                        || !originalColumn.getDataType().equals(mutantColumn.getDataType())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasEqualForeignKeyConstraints(Schema schema) {
+        // a schema only keeps one of a set of equal foreign keys added to it,
+        // so a mutant with more than one could not be made again
+        List<ForeignKeyConstraint> foreignKeyConstraints = schema.getForeignKeyConstraints();
+        return new HashSet<>(foreignKeyConstraints).size() != foreignKeyConstraints.size();
+    }
+
+    private static boolean isSame(Constraint constraint, Constraint other) {
+        return constraint.equals(other) && Objects.equals(constraint.getName(), other.getName());
+    }
+
+    private static Constraint copy(Constraint constraint, Schema schema) {
+        Constraint copy = constraint.duplicate();
+        Table table = schema.getTable(constraint.getTable().getName());
+        if (copy instanceof ForeignKeyConstraint) {
+            ForeignKeyConstraint foreignKeyConstraint = (ForeignKeyConstraint) copy;
+            Table referenceTable = schema.getTable(foreignKeyConstraint.getReferenceTable().getName());
+            foreignKeyConstraint.remap(table, referenceTable);
+        } else {
+            copy.remap(table);
+        }
+        return copy;
+    }
+
+    private static void addConstraint(final Schema schema, Constraint constraint) {
+        constraint.accept(new ConstraintVisitor() {
+
+            @Override
+            public void visit(CheckConstraint constraint) {
+                schema.addCheckConstraint(constraint);
+            }
+
+            @Override
+            public void visit(ForeignKeyConstraint constraint) {
+                schema.addForeignKeyConstraint(constraint);
+            }
+
+            @Override
+            public void visit(NotNullConstraint constraint) {
+                schema.addNotNullConstraint(constraint);
+            }
+
+            @Override
+            public void visit(PrimaryKeyConstraint constraint) {
+                schema.setPrimaryKeyConstraint(constraint);
+            }
+
+            @Override
+            public void visit(UniqueConstraint constraint) {
+                schema.addUniqueConstraint(constraint);
+            }
+        });
+    }
+}
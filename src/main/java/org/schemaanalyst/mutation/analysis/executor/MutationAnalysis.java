@@ -23,6 +23,7 @@ import org.schemaanalyst.mutation.pipeline.MutationPipelineFactory;
 import org.schemaanalyst.reduction.ReductionFactory;
 import org.schemaanalyst.sqlrepresentation.Schema;
 import org.schemaanalyst.sqlwriter.SQLWriter;
+import org.schemaanalyst.testgeneration.BinaryTestSuiteReader;
 import org.schemaanalyst.testgeneration.TestCase;
 import org.schemaanalyst.testgeneration.TestSuite;
 import org.schemaanalyst.testgeneration.TestSuiteGenerationReport;
@@ -152,11 +153,13 @@ public class MutationAnalysis extends Runner {
     @Parameter("Whether to use transactions with this technique (if possible).")
     protected boolean useTransactions = false;
     /**
-     * The location of the input test suite to load, which will be used instead
-     * of generating a new test suite.
+     * The location of the input test suite to load, either serialized or
+     * written by a {@link org.schemaanalyst.testgeneration.BinaryTestSuiteWriter},
+     * which will be used instead of generating a new test suite.
      */
-    @Parameter("The location of the input test suite to load, which will be used"
-            + " instead of generating a new test suite.")
+    @Parameter("The location of the input test suite to load, either serialized or in the"
+            + " binary format of BinaryTestSuiteWriter, which will be used instead of"
+            + " generating a new test suite.")
     protected String inputTestSuite = null;
     /**
      * The instantiated schema.
@@ -250,6 +253,7 @@ public class MutationAnalysis extends Runner {
 
         // Stop timing
         totalTime.stop();
+        LOGGER.log(Level.INFO, "{0}", dbms.getSQLWriter().getStatementCache());
 
         // Calculate number of Nulls
         int nullCounterOriginalTestSuite = 0;
@@ -507,6 +511,10 @@ public class MutationAnalysis extends Runner {
     }
 
     private TestSuite loadTestSuite() {
+        File file = new File(inputTestSuite);
+        if (BinaryTestSuiteReader.isBinaryTestSuite(file)) {
+            return BinaryTestSuiteReader.read(file, schema, dbms.getValueFactory());
+        }
         try {
             FileInputStream fis = new FileInputStream(inputTestSuite);
             try (ObjectInputStream in = new ObjectInputStream(fis)) {
@@ -7,6 +7,7 @@ import org.schemaanalyst.dbms.DBMS;
 import org.schemaanalyst.dbms.DBMSFactory;
 import org.schemaanalyst.dbms.DatabaseInteractor;
 import org.schemaanalyst.mutation.Mutant;
+import org.schemaanalyst.mutation.analysis.executor.alters.technique.AltersTechnique;
 import org.schemaanalyst.mutation.analysis.executor.alters.technique.AltersTechniqueFactory;
 import org.schemaanalyst.mutation.analysis.executor.alters.testcase.AltersTestCaseExecutor;
 import org.schemaanalyst.mutation.analysis.executor.alters.testsuite.AltersTestSuiteExecutor;
@@ -177,6 +178,11 @@ public class MutationAnalysisAlters extends Runner {
 
         new CSVFileWriter(locationsConfiguration.getResultsDir() + File.separator + "newmutationanalysis.dat").write(result);
 
+        if (mutTechnique instanceof AltersTechnique) {
+            System.out.println("ALTER statements saved by killing mutants early: "
+                    + ((AltersTechnique) mutTechnique).getSavedStatements());
+        }
+
         if (printLive) {
             for (Mutant<Schema> mutant : analysisResult.getLive()) {
                 System.out.println("Alive: " + mutant.getSimpleDescription() + " (" + mutant.getDescription() + ")");
@@ -8,8 +8,9 @@ import java.io.ObjectInputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Paths;
 import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Logger;
 import org.apache.commons.lang3.time.StopWatch;
 import org.schemaanalyst.configuration.DatabaseConfiguration;
@@ -19,6 +20,7 @@ import org.schemaanalyst.data.generation.DataGeneratorFactory;
 import org.schemaanalyst.dbms.DBMS;
 import org.schemaanalyst.dbms.DBMSFactory;
 import org.schemaanalyst.mutation.Mutant;
+import org.schemaanalyst.mutation.SchemaDelta;
 import org.schemaanalyst.mutation.analysis.executor.technique.AnalysisResult;
 import org.schemaanalyst.mutation.analysis.executor.testcase.VirtualTestCaseExecutor;
 import org.schemaanalyst.mutation.analysis.executor.testsuite.VirtualTestSuiteExecutor;
@@ -26,6 +28,7 @@ import org.schemaanalyst.mutation.analysis.executor.testsuite.VirtualTestSuiteRe
 import org.schemaanalyst.mutation.pipeline.MutationPipeline;
 import org.schemaanalyst.mutation.pipeline.MutationPipelineFactory;
 import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.testgeneration.BinaryTestSuiteReader;
 import org.schemaanalyst.testgeneration.TestCase;
 import org.schemaanalyst.testgeneration.TestSuite;
 import org.schemaanalyst.testgeneration.TestSuiteGenerationReport;
@@ -42,6 +45,11 @@ import org.schemaanalyst.util.runner.Runner;
 /**
  * An alternative implementation of mutation analysis, using the
  * {@link VirtualTestSuiteExecutor}, inserting data from a {@link TestSuite}.
+ * Each mutant's test suite stops at the first test case whose result differs
+ * from the original schema's, and the mutants can be produced and analysed on
+ * several threads with the {@code threads} parameter. A test suite loaded in
+ * the binary format of {@link BinaryTestSuiteReader} is streamed from the file,
+ * decoding its test cases as they are executed rather than holding them all.
  * 
  * @author Chris J. Wright
  */
@@ -80,12 +88,20 @@ public class MutationAnalysisVirtual extends Runner {
             choicesMethod = "org.schemaanalyst.mutation.pipeline.MutationPipelineFactory.getPipelineChoices")
     protected String mutationPipeline = "AllOperatorsWithRemovers";
     /**
-     * The location of the input test suite to load, which will be used instead
-     * of generating a new test suite.
+     * The location of the input test suite to load, either serialized or
+     * written by a {@link org.schemaanalyst.testgeneration.BinaryTestSuiteWriter},
+     * which will be used instead of generating a new test suite.
      */
-    @Parameter("The location of the input test suite to load, which will be used"
-            + " instead of generating a new test suite.")
+    @Parameter("The location of the input test suite to load, either serialized or in the"
+            + " binary format of BinaryTestSuiteWriter, which will be used instead of"
+            + " generating a new test suite.")
     protected String inputTestSuite = null;
+    /**
+     * The number of threads to produce and analyse mutants with in parallel,
+     * or 0 to produce and analyse them one after another.
+     */
+    @Parameter("The number of threads to produce and analyse mutants with in parallel (0 to produce and analyse them one after another).")
+    protected int threads = 0;
     /**
      * The instantiated schema.
      */
@@ -98,6 +114,10 @@ public class MutationAnalysisVirtual extends Runner {
      * The report produced when generating the test suite.
      */
     private TestSuiteGenerationReport generationReport;
+    /**
+     * The reader of a binary input test suite, open while it is analysed.
+     */
+    private BinaryTestSuiteReader testSuiteReader;
     
     private static final Logger LOGGER = Logger.getLogger(MutationAnalysisVirtual.class.getName());
     
@@ -115,10 +135,10 @@ public class MutationAnalysisVirtual extends Runner {
         totalTime.start();
         
         // Generate test suite and mutants, apply mutation analysis technique
-        final TestSuite suite = Timing.timedTask(new Callable<TestSuite>() {
+        final Iterable<TestCase> testCases = Timing.timedTask(new Callable<Iterable<TestCase>>() {
             @Override
-            public TestSuite call() throws Exception {
-                return instantiateTestSuite();
+            public Iterable<TestCase> call() throws Exception {
+                return instantiateTestCases();
             }
         }, testGenerationTime);
         final List<Mutant<Schema>> mutants = Timing.timedTask(new Callable<List<Mutant<Schema>>>() {
@@ -127,19 +147,25 @@ public class MutationAnalysisVirtual extends Runner {
                 return generateMutants();
             }
         }, mutantGenerationTime);
-        final VirtualTestSuiteResult originalResults = Timing.timedTask(new Callable<VirtualTestSuiteResult>(){
-            @Override
-            public VirtualTestSuiteResult call() throws Exception {
-                return executeTestSuite(schema, suite);
-            }
-        }, originalResultsTime);
-        
-        final AnalysisResult analysisResult = Timing.timedTask(new Callable<AnalysisResult>() {
-            @Override
-            public AnalysisResult call() throws Exception {
-                return analyse(suite, mutants, originalResults);
-            }
-        },mutationAnalysisTime);
+        final VirtualTestSuiteResult originalResults;
+        final AnalysisResult analysisResult;
+        try {
+            originalResults = Timing.timedTask(new Callable<VirtualTestSuiteResult>(){
+                @Override
+                public VirtualTestSuiteResult call() throws Exception {
+                    return executeTestCases(schema, testCases);
+                }
+            }, originalResultsTime);
+
+            analysisResult = Timing.timedTask(new Callable<AnalysisResult>() {
+                @Override
+                public AnalysisResult call() throws Exception {
+                    return analyse(testCases, mutants, originalResults);
+                }
+            },mutationAnalysisTime);
+        } finally {
+            closeTestSuiteReader();
+        }
         
         // Stop timing
         totalTime.stop();
@@ -155,7 +181,7 @@ public class MutationAnalysisVirtual extends Runner {
         result.addValue("coverage", inputTestSuite == null ? generationReport.coverage() : "NA");
         //TODO: Include the coverage according to the comparison coverage criterion
         result.addValue("evaluations", inputTestSuite == null ? generationReport.getNumDataEvaluations(false) : "NA");
-        result.addValue("tests", suite.getTestCases().size());
+        result.addValue("tests", originalResults.getResults().size());
         //TODO: Include the number of insert statements
         result.addValue("mutationpipeline", mutationPipeline.replaceAll(",", "|"));
         result.addValue("scorenumerator", analysisResult.getKilled().size());
@@ -167,6 +193,7 @@ public class MutationAnalysisVirtual extends Runner {
         result.addValue("originalresultstime", originalResultsTime.getTime());
         result.addValue("mutationanalysistime", mutationAnalysisTime.getTime());
         result.addValue("timetaken", totalTime.getTime());
+        result.addValue("threads", threads);
         
         new CSVFileWriter(locationsConfiguration.getResultsDir() + File.separator + "newmutationanalysis.dat").write(result);
     }
@@ -199,6 +226,32 @@ public class MutationAnalysisVirtual extends Runner {
         }
     }
     
+    /**
+     * Generates or loads the test cases to analyse with. A binary input test
+     * suite is not loaded in full, but returned as the open
+     * {@link BinaryTestSuiteReader}, which decodes the test cases as they are
+     * iterated over and is closed once the analysis is done.
+     *
+     * @return The test cases
+     */
+    protected Iterable<TestCase> instantiateTestCases() {
+        if (inputTestSuite != null && BinaryTestSuiteReader.isBinaryTestSuite(new File(inputTestSuite))) {
+            testSuiteReader = new BinaryTestSuiteReader(new File(inputTestSuite), schema, dbms.getValueFactory());
+            return testSuiteReader;
+        }
+        return instantiateTestSuite().getTestCases();
+    }
+
+    private void closeTestSuiteReader() {
+        if (testSuiteReader != null) {
+            try {
+                testSuiteReader.close();
+            } finally {
+                testSuiteReader = null;
+            }
+        }
+    }
+    
     private TestSuite generateTestSuite() {
         // Initialise from factories
         final DataGenerator dataGen = DataGeneratorFactory.instantiate(dataGenerator, randomseed, 100000, schema);
@@ -249,6 +302,10 @@ public class MutationAnalysisVirtual extends Runner {
     }
 
     private TestSuite loadTestSuite() {
+        File file = new File(inputTestSuite);
+        if (BinaryTestSuiteReader.isBinaryTestSuite(file)) {
+            return BinaryTestSuiteReader.read(file, schema, dbms.getValueFactory());
+        }
         try {
             FileInputStream fis = new FileInputStream(inputTestSuite);
             try (ObjectInputStream in = new ObjectInputStream(fis)) {
@@ -272,32 +329,108 @@ public class MutationAnalysisVirtual extends Runner {
         } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException ex) {
             throw new RuntimeException(ex);
         }
+        if (threads > 0) {
+            pipeline.setParallel(threads);
+        }
+        pipeline.setMutantEncoder(new SchemaDelta.Encoder(schema));
         return pipeline.mutate();
     }
     
     protected VirtualTestSuiteResult executeTestSuite(Schema schema, TestSuite suite) {
+        return executeTestCases(schema, suite.getTestCases());
+    }
+    
+    protected VirtualTestSuiteResult executeTestCases(Schema schema, Iterable<TestCase> testCases) {
         VirtualTestCaseExecutor caseExecutor = new VirtualTestCaseExecutor(schema, dbms);
         VirtualTestSuiteExecutor suiteExecutor = new VirtualTestSuiteExecutor();
-        return suiteExecutor.executeTestSuite(caseExecutor, suite);
+        return suiteExecutor.executeTestSuite(caseExecutor, testCases);
     }
     
-    protected AnalysisResult analyse(TestSuite suite, List<Mutant<Schema>> mutants, VirtualTestSuiteResult originalResult) {
+    protected AnalysisResult analyse(Iterable<TestCase> testCases, List<Mutant<Schema>> mutants, VirtualTestSuiteResult originalResult) {
+        boolean[] killed = new boolean[mutants.size()];
+        if (threads > 0) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.invoke(new AnalyseMutantsTask(testCases, mutants, originalResult, killed, 0, mutants.size()));
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            for (int i = 0; i < mutants.size(); i++) {
+                killed[i] = isKilled(testCases, mutants.get(i), originalResult);
+            }
+        }
+        
+        // Collect the results in mutant order, however they were produced
         AnalysisResult result = new AnalysisResult();
-        for (Mutant<Schema> mutant : mutants) {
-            Schema mutantSchema = mutant.getMutatedArtefact();
-            VirtualTestSuiteResult mutantResult = executeTestSuite(mutantSchema, suite);
-            if (Objects.equals(originalResult, mutantResult)) {
-                result.addLive(mutant);
+        for (int i = 0; i < mutants.size(); i++) {
+            if (killed[i]) {
+                result.addKilled(mutants.get(i));
             } else {
-                result.addKilled(mutant);
+                result.addLive(mutants.get(i));
             }
         }
         return result;
     }
     
+    /**
+     * Executes the test cases against a mutant, stopping at the first test
+     * case whose result differs from the original schema's. The results are
+     * compared in order, as test cases streamed from a file are decoded
+     * afresh for each mutant.
+     *
+     * @param testCases The test cases
+     * @param mutant The mutant
+     * @param originalResult The result of the test suite for the original schema
+     * @return Whether the mutant is killed
+     */
+    protected boolean isKilled(Iterable<TestCase> testCases, Mutant<Schema> mutant, VirtualTestSuiteResult originalResult) {
+        VirtualTestCaseExecutor caseExecutor = new VirtualTestCaseExecutor(mutant.getMutatedArtefactView(), dbms);
+        VirtualTestSuiteExecutor suiteExecutor = new VirtualTestSuiteExecutor();
+        VirtualTestSuiteResult mutantResult = suiteExecutor.executeTestSuiteUntilDifferent(caseExecutor, testCases, originalResult);
+        return !originalResult.hasSameResults(mutantResult);
+    }
+    
+    /**
+     * Analyses a range of the mutants, splitting it in half until a single
+     * mutant remains, so that idle threads of the {@link ForkJoinPool} can
+     * steal the halves left by busy ones. Each mutant has its own schema and
+     * {@link VirtualTestCaseExecutor}, and the test cases are only read.
+     */
+    private class AnalyseMutantsTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Iterable<TestCase> testCases;
+        private final List<Mutant<Schema>> mutants;
+        private final VirtualTestSuiteResult originalResult;
+        private final boolean[] killed;
+        private final int from, to;
+
+        AnalyseMutantsTask(Iterable<TestCase> testCases, List<Mutant<Schema>> mutants, VirtualTestSuiteResult originalResult, boolean[] killed, int from, int to) {
+            this.testCases = testCases;
+            this.mutants = mutants;
+            this.originalResult = originalResult;
+            this.killed = killed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                killed[from] = isKilled(testCases, mutants.get(from), originalResult);
+            } else if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new AnalyseMutantsTask(testCases, mutants, originalResult, killed, from, middle),
+                        new AnalyseMutantsTask(testCases, mutants, originalResult, killed, middle, to));
+            }
+        }
+    }
+    
     @Override
     protected void validateParameters() {
-        // Do nothing
+        check(threads >= 0, "threads should be 0 or greater");
     }
 
     public static void main(String[] args) {
@@ -22,6 +22,12 @@ import java.util.*;
  */
 public class AltersTechnique extends Technique {
 
+        /**
+         * The number of ALTER statements not executed by the last analysis,
+         * because the mutants they were for had already been killed.
+         */
+        private long savedStatements;
+
         public AltersTechnique(Schema schema, List<Mutant<Schema>> mutants, TestSuite testSuite, DBMS dbms, DatabaseInteractor databaseInteractor, 
         		String dataGenerator, String criterion, long randomseed) {
         	super(schema, mutants, testSuite, dbms, databaseInteractor, false, dataGenerator, criterion, randomseed);
@@ -35,23 +41,44 @@ public class AltersTechnique extends Technique {
                 resultMap.put(mutant, new TestSuiteResult());
             }
 
+            // The mutants killed so far, whose constraints need not be added again
+            Set<Mutant<Schema>> killed = new HashSet<>();
+            List<TestCase> testCases = testSuite.getTestCases();
+            List<MixedPair<TestCase, TestCaseResult>> originalList = originalResults.getResults();
+            Set<MixedPair<TestCase, TestCaseResult>> originalSet = new HashSet<>(originalList);
+            int originalAlters = testCases.isEmpty() ? 0 : originalList.size() / testCases.size();
+            savedStatements = 0;
+
             // Add the tables
             AltersTestCaseExecutor testCaseExecutor = new AltersTestCaseExecutor(schema, databaseInteractor, dbms.getSQLWriter());
             testCaseExecutor.executeCreates();
 
             // Insert the test data
-            for (TestCase testCase : testSuite.getTestCases()) {
+            for (int i = 0; i < testCases.size(); i++) {
+                TestCase testCase = testCases.get(i);
                 
                 // Insert the test data
                 testCaseExecutor.executeInserts(testCase.getState());
                 testCaseExecutor.executeInserts(testCase.getData());
 
                 for (Mutant<Schema> mutant : mutants) {
+                    if (killed.contains(mutant)) {
+                        continue;
+                    }
+                    Schema mutantSchema = mutant.getMutatedArtefact();
+                    TestSuiteResult mutantResult = resultMap.get(mutant);
+                    int executed = mutantResult.getResults().size();
+
                     // Add the constraints
-                    testCaseExecutor.executeAlters(mutant.getMutatedArtefact(), testCase, resultMap.get(mutant));
+                    testCaseExecutor.executeAlters(mutantSchema, testCase, mutantResult);
 
                     // Drop the constraints
-                    testCaseExecutor.executeDropAlters(mutant.getMutatedArtefact());
+                    testCaseExecutor.executeDropAlters(mutantSchema);
+
+                    if (isKilled(originalList, originalSet, originalAlters, mutantResult.getResults(), executed)) {
+                        killed.add(mutant);
+                        savedStatements += (long) (testCases.size() - i - 1) * testCaseExecutor.countAlters(mutantSchema);
+                    }
                 }
 
                 // Delete the test data
@@ -62,14 +89,58 @@ public class AltersTechnique extends Technique {
             testCaseExecutor.executeDrops();
             
             // Compare results
-            AnalysisResult result = compareResults(originalResults, resultMap);
+            AnalysisResult result = compareResults(originalResults, resultMap, killed);
 
             return result;
         }
+
+        /**
+         * Returns the number of ALTER statements, adding and dropping
+         * constraints, that the last analysis did not execute because the
+         * mutants they were for had already been killed.
+         *
+         * @return The number of statements
+         */
+        public long getSavedStatements() {
+            return savedStatements;
+        }
+
+        /**
+         * Checks whether the results of a mutant for one test case kill it,
+         * whatever the results of the test cases that follow, in the same way
+         * as {@link #compareResults}: results are compared like-for-like when
+         * the mutant has as many constraints as the original schema, and when
+         * it has more, any rejection the original schema did not have kills
+         * it. When the mutant has fewer constraints, the rejections of the
+         * original schema are only known to be missing once all test cases
+         * have run, so it is never killed early.
+         */
+        private boolean isKilled(List<MixedPair<TestCase, TestCaseResult>> originalList, Set<MixedPair<TestCase, TestCaseResult>> originalSet,
+                int originalAlters, List<MixedPair<TestCase, TestCaseResult>> mutantList, int from) {
+            int mutantAlters = mutantList.size() - from;
+            for (int i = from; i < mutantList.size(); i++) {
+                MixedPair<TestCase, TestCaseResult> mutantPair = mutantList.get(i);
+                if (mutantAlters == originalAlters) {
+                    if (originalList.get(i).getSecond().wasSuccessful() != mutantPair.getSecond().wasSuccessful()) {
+                        return true;
+                    }
+                } else if (mutantAlters > originalAlters) {
+                    if (!mutantPair.getSecond().wasSuccessful() && !originalSet.contains(mutantPair)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
         
-        private AnalysisResult compareResults (TestSuiteResult originalResult, Map<Mutant<Schema>, TestSuiteResult> resultMap) {
+        private AnalysisResult compareResults (TestSuiteResult originalResult, Map<Mutant<Schema>, TestSuiteResult> resultMap, Set<Mutant<Schema>> killedMutants) {
             AnalysisResult result = new AnalysisResult();
             for (Map.Entry<Mutant<Schema>, TestSuiteResult> entry : resultMap.entrySet()) {
+                // Mutants killed early have only some of their results
+                if (killedMutants.contains(entry.getKey())) {
+                    result.addKilled(entry.getKey());
+                    continue;
+                }
                 TestSuiteResult mutantResult = entry.getValue();
                 List<MixedPair<TestCase, TestCaseResult>> originalResults = new ArrayList<>(originalResult.getResults());
                 List<MixedPair<TestCase, TestCaseResult>> mutantResults = new ArrayList<>(mutantResult.getResults());
@@ -108,6 +108,20 @@ public class AltersTestCaseExecutor {
         }
     }
 
+    /**
+     * Counts the ALTER statements that add, and then drop, the constraints of
+     * a schema, i.e., the statements executed for each test case by
+     * {@link #executeAlters(Schema, TestCase, TestSuiteResult)} and
+     * {@link #executeDropAlters(Schema)}.
+     *
+     * @param schema The schema
+     * @return The number of statements
+     */
+    public int countAlters(Schema schema) {
+        return constraintlessWriter.writeAlterTableStatements(schema).size()
+                + constraintlessWriter.writeDropAlterTableStatements(schema).size();
+    }
+
     public void executeTestCase(TestCase testCase, TestSuiteResult result) {
         // Insert the test data
         executeInserts(testCase.getState());
@@ -233,6 +233,7 @@ public class ChecksTechnique extends Technique {
 
         private void setMutant(int id) {
             constraintSQLWriter = new ConstraintAsCheckSQLWriter(String.valueOf(id));
+            clearStatementCache();
         }
     }
 
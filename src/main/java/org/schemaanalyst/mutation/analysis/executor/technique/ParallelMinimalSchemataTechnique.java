@@ -4,6 +4,7 @@ import org.schemaanalyst.data.Data;
 import org.schemaanalyst.data.Row;
 import org.schemaanalyst.dbms.DBMS;
 import org.schemaanalyst.dbms.DatabaseInteractor;
+import org.schemaanalyst.dbms.DatabaseInteractorPool;
 import org.schemaanalyst.mutation.Mutant;
 import org.schemaanalyst.mutation.analysis.executor.exceptions.InsertStatementException;
 import org.schemaanalyst.mutation.analysis.executor.testcase.TestCaseResult;
@@ -32,19 +33,19 @@ import java.util.concurrent.TimeUnit;
 public class ParallelMinimalSchemataTechnique extends Technique {
 
     final protected static int TRANSACTION_SIZE = 100;
+    final protected static int THREADS = 4;
     private final SQLWriter sqlWriter;
     private List<String> createStmts;
     private List<String> dropStmts;
     private List<String> deleteStmts;
     private Map<Integer, TestSuiteResult> resultMap;
     private Map<String, List<Integer>> changedTableMap;
-    private Map<String, DatabaseInteractor> threadInteractors;
+    private DatabaseInteractorPool interactorPool;
     ExecutorService executor;
 
     public ParallelMinimalSchemataTechnique(Schema schema, List<Mutant<Schema>> mutants, TestSuite testSuite, DBMS dbms, DatabaseInteractor databaseInteractor, boolean useTransactions, String dataGenerator, String criterion, long randomseed) {
         super(schema, mutants, testSuite, dbms, databaseInteractor, useTransactions, dataGenerator, criterion, randomseed);
         this.sqlWriter = dbms.getSQLWriter();
-        threadInteractors = new HashMap<>();
     }
 
     private class ChangedTableTask implements Runnable {
@@ -88,20 +89,24 @@ public class ParallelMinimalSchemataTechnique extends Technique {
         private final Integer mutantId;
         private final Map<Integer, TestCaseResult> failedMutants;
         private final TestCase testCase;
-        private final DatabaseInteractor interactor;
 
         public MutantInsertsTask(String insert, Integer mutantId, Map<Integer, TestCaseResult> failedMutants, TestCase testCase) {
             this.insert = insert;
             this.mutantId = mutantId;
             this.failedMutants = failedMutants;
             this.testCase = testCase;
-            interactor = getInteractorForThread(Thread.currentThread());
         }
 
         @Override
         public void run() {
             String mutInsert = insert.replace("INSERT INTO \"", "INSERT INTO \"mutant_" + mutantId + "_");
-            Integer mutResult = interactor.executeUpdate(mutInsert);
+            DatabaseInteractor interactor = interactorPool.lease();
+            Integer mutResult;
+            try {
+                mutResult = interactor.executeUpdate(mutInsert);
+            } finally {
+                interactorPool.release(interactor);
+            }
             if (mutResult != 1) {
                 TestCaseResult mutantResult = new TestCaseResult(new InsertStatementException("Failed, result was: " + mutResult, insert));
                 synchronized (failedMutants) {
@@ -123,7 +128,7 @@ public class ParallelMinimalSchemataTechnique extends Technique {
 
         // Build map of changed tables
         this.changedTableMap = new HashMap<>();
-        executor = Executors.newFixedThreadPool(4);
+        executor = Executors.newFixedThreadPool(THREADS);
         for (int id = 0; id < mutants.size(); id++) {
             Mutant<Schema> mutant = mutants.get(id);
             executor.submit(new ChangedTableTask(changedTableMap, id, mutant));
@@ -147,7 +152,9 @@ public class ParallelMinimalSchemataTechnique extends Technique {
             resultMap.put(i, new TestSuiteResult());
         }
 
-        // Execute test suite
+        // Execute test suite, inserting into the mutant tables through a
+        // pool of connections to the same database
+        interactorPool = new DatabaseInteractorPool(databaseInteractor, THREADS);
         executeDropStmts(databaseInteractor);
         executeCreateStmts(databaseInteractor);
         for (TestCase testCase : testSuite.getTestCases()) {
@@ -168,6 +175,7 @@ public class ParallelMinimalSchemataTechnique extends Technique {
             }
 
         }
+        interactorPool.close();
 
         // Build the TestSuiteResult objects
         for (int i = 0; i < mutants.size(); i++) {
@@ -199,7 +207,7 @@ public class ParallelMinimalSchemataTechnique extends Technique {
                     }
 
                     // Setup for parallel execution
-                    executor = Executors.newFixedThreadPool(4);
+                    executor = Executors.newFixedThreadPool(THREADS);
                     for (Integer mutantId : applicableMutants) {
                         // Only insert if we haven't failed yet
                         if (!failedMutants.containsKey(mutantId)) {
@@ -257,17 +265,4 @@ public class ParallelMinimalSchemataTechnique extends Technique {
         }
     }
 
-    protected DatabaseInteractor getInteractorForThread(Thread thread) {
-        String threadName = thread.getName();
-        if (!threadInteractors.containsKey(threadName)) {
-            DatabaseInteractor interactor = databaseInteractor.duplicate();
-            threadInteractors.put(threadName, interactor);
-            if (dbms.getName().equals("SQLite")) {
-                executeDropStmts(databaseInteractor);
-                executeCreateStmts(databaseInteractor);
-            }
-        }
-        return threadInteractors.get(threadName);
-    }
-
 }
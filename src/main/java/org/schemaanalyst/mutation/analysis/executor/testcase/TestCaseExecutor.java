@@ -30,6 +30,7 @@ public class TestCaseExecutor {
     final protected DatabaseInteractor databaseInteractor;
     final protected SQLWriter sqlWriter;
     final protected DBMS dbms;
+    protected boolean preparedInserts = false;
 
     /**
      * Construct an executor.
@@ -46,6 +47,16 @@ public class TestCaseExecutor {
         this.databaseInteractor = databaseInteractor;
     }
 
+    /**
+     * Set whether {@link #executeInserts(Data)} inserts rows with cached,
+     * parameterised prepared statements rather than literal INSERT statements.
+     *
+     * @param preparedInserts Whether to use prepared statements
+     */
+    public void setPreparedInserts(boolean preparedInserts) {
+        this.preparedInserts = preparedInserts;
+    }
+
     public void executeCreates() throws CreateStatementException {
         List<String> createStatements = sqlWriter.writeCreateTableStatements(schema);
         for (String statement : createStatements) {
@@ -107,12 +118,17 @@ public class TestCaseExecutor {
         for (Table table : tables) {
             if (stateTables.contains(table)) {
                 List<Row> rows = data.getRows(table);
+                String preparedStatement = preparedInserts ? sqlWriter.writeParameterisedInsertStatement(table) : null;
                 for (Row row : rows) {
-                    String statement = sqlWriter.writeInsertStatement(row);
-                    Integer result = databaseInteractor.executeUpdate(statement);
+                    Integer result;
+                    if (preparedInserts) {
+                        result = databaseInteractor.executePreparedUpdate(preparedStatement, sqlWriter.writeInsertParameters(row));
+                    } else {
+                        result = databaseInteractor.executeUpdate(sqlWriter.writeInsertStatement(row));
+                    }
                     if (result != 1) {
                         resultCounter++;
-                        listOfStatements.add(statement);
+                        listOfStatements.add(sqlWriter.writeInsertStatement(row));
                         //throw new InsertStatementException("Failed, result was: " + result, statement);
                     }
                 }
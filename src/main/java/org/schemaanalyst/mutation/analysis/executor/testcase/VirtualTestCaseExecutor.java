@@ -10,19 +10,30 @@ import org.schemaanalyst.testgeneration.coveragecriterion.integrityconstraint.Co
 import org.schemaanalyst.testgeneration.coveragecriterion.integrityconstraint.ConstraintSupplierFactory;
 import org.schemaanalyst.testgeneration.coveragecriterion.integrityconstraint.PredicateGenerator;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
-import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.PredicateChecker;
-import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.PredicateCheckerFactory;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.CompiledPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.IndexedState;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Created by phil on 28/01/2015.
+ *
+ * <p>
+ * The acceptance predicate for each table is generated and compiled into a
+ * {@link CompiledPredicate} the first time a row of that table is inserted,
+ * and reused for every later row, so an executor should be reused for all
+ * the test cases to be run against its schema. An executor is not safe for
+ * use by several threads at once.
+ * </p>
  */
 public class VirtualTestCaseExecutor {
 
     private Schema schema;
     private ConstraintSupplier constraintSupplier;
+    private Map<Table, CompiledPredicate> compiledPredicates = new HashMap<>();
 
     /**
      * Constructor
@@ -66,10 +77,11 @@ public class VirtualTestCaseExecutor {
 
     private List<Boolean> executeInserts(Data data, Data state) {
         List<Boolean> results = new ArrayList<>();
-        Data runningState = state.duplicate();
+        IndexedState runningState = new IndexedState(state);
         for (Table table : data.getTables()) {
+            CompiledPredicate compiledPredicate = getCompiledPredicate(table);
             for (Row row : data.getRows(table)) {
-                boolean result = executeInsert(row, runningState);
+                boolean result = compiledPredicate.check(row, runningState);
                 if (result) {
                     runningState.addRow(table, row);
                 }
@@ -79,12 +91,13 @@ public class VirtualTestCaseExecutor {
         return results;
     }
 
-    private boolean executeInsert(Row row, Data runningState) {
-        Table table = row.getTable();
-        Data data = new Data();
-        data.addRow(table, row);
-        Predicate predicate = PredicateGenerator.generatePredicate(constraintSupplier.getConstraints(schema, table));
-        PredicateChecker predicateChecker = PredicateCheckerFactory.instantiate(predicate, true, data, runningState);
-        return predicateChecker.check();
+    private CompiledPredicate getCompiledPredicate(Table table) {
+        CompiledPredicate compiledPredicate = compiledPredicates.get(table);
+        if (compiledPredicate == null) {
+            Predicate predicate = PredicateGenerator.generatePredicate(constraintSupplier.getConstraints(schema, table));
+            compiledPredicate = CompiledPredicate.compile(predicate, table, true);
+            compiledPredicates.put(table, compiledPredicate);
+        }
+        return compiledPredicate;
     }
 }
@@ -2,8 +2,12 @@
 package org.schemaanalyst.mutation.analysis.executor.testsuite;
 
 import org.schemaanalyst.mutation.analysis.executor.testcase.VirtualTestCaseExecutor;
+import org.schemaanalyst.mutation.analysis.executor.testcase.VirtualTestCaseResult;
 import org.schemaanalyst.testgeneration.TestCase;
 import org.schemaanalyst.testgeneration.TestSuite;
+import org.schemaanalyst.util.tuple.MixedPair;
+
+import java.util.List;
 
 /**
  *
@@ -12,11 +16,65 @@ import org.schemaanalyst.testgeneration.TestSuite;
 public class VirtualTestSuiteExecutor {
     
     public VirtualTestSuiteResult executeTestSuite(VirtualTestCaseExecutor executor, TestSuite suite) {
+        return executeTestSuite(executor, suite.getTestCases());
+    }
+
+    /**
+     * Executes a sequence of test cases, such as those streamed from a
+     * {@link org.schemaanalyst.testgeneration.BinaryTestSuiteReader}.
+     *
+     * @param executor The test case executor
+     * @param testCases The test cases
+     * @return The result
+     */
+    public VirtualTestSuiteResult executeTestSuite(VirtualTestCaseExecutor executor, Iterable<TestCase> testCases) {
         VirtualTestSuiteResult result = new VirtualTestSuiteResult();
-        for (TestCase testCase : suite.getTestCases()) {
+        for (TestCase testCase : testCases) {
             result.add(testCase, executor.executeTestCase(testCase));
         }
         return result;
     }
+
+    /**
+     * Executes a test suite until the result of a test case differs from its
+     * result in an expected suite result, such as that of the original schema,
+     * skipping the remaining test cases. The returned result therefore equals
+     * the expected result exactly when executing the whole suite would give a
+     * result equal to it.
+     *
+     * @param executor The test case executor
+     * @param suite The test suite
+     * @param expected The expected result for the suite
+     * @return The result, up to and including the first differing test case
+     */
+    public VirtualTestSuiteResult executeTestSuiteUntilDifferent(VirtualTestCaseExecutor executor, TestSuite suite, VirtualTestSuiteResult expected) {
+        return executeTestSuiteUntilDifferent(executor, suite.getTestCases(), expected);
+    }
+
+    /**
+     * Executes a sequence of test cases until the result of one differs from
+     * the result at the same position in an expected suite result. The test
+     * cases are matched by position rather than by equality, so they may be
+     * decoded afresh for each execution, as when they are streamed from a
+     * {@link org.schemaanalyst.testgeneration.BinaryTestSuiteReader}.
+     *
+     * @param executor The test case executor
+     * @param testCases The test cases, in the order of the expected result
+     * @param expected The expected result for the test cases
+     * @return The result, up to and including the first differing test case
+     */
+    public VirtualTestSuiteResult executeTestSuiteUntilDifferent(VirtualTestCaseExecutor executor, Iterable<TestCase> testCases, VirtualTestSuiteResult expected) {
+        List<MixedPair<TestCase, VirtualTestCaseResult>> expectedResults = expected.getResults();
+        VirtualTestSuiteResult result = new VirtualTestSuiteResult();
+        int index = 0;
+        for (TestCase testCase : testCases) {
+            VirtualTestCaseResult testCaseResult = executor.executeTestCase(testCase);
+            result.add(testCase, testCaseResult);
+            if (index >= expectedResults.size() || !testCaseResult.equals(expectedResults.get(index++).getSecond())) {
+                break;
+            }
+        }
+        return result;
+    }
     
 }
@@ -43,6 +43,26 @@ public class VirtualTestSuiteResult {
         return map.size();
     }
 
+    /**
+     * Checks whether another result has equal test case results in the same
+     * order, whatever the identity of the test cases, which differs when
+     * they are decoded afresh for each execution.
+     *
+     * @param other The other result
+     * @return Whether the results are the same
+     */
+    public boolean hasSameResults(VirtualTestSuiteResult other) {
+        if (result.size() != other.result.size()) {
+            return false;
+        }
+        for (int i = 0; i < result.size(); i++) {
+            if (!Objects.equals(result.get(i).getSecond(), other.result.get(i).getSecond())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public int hashCode() {
         int hash = 3;
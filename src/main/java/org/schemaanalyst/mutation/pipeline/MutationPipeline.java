@@ -2,12 +2,19 @@ package org.schemaanalyst.mutation.pipeline;
 
 import org.apache.commons.lang3.time.StopWatch;
 import org.schemaanalyst.mutation.Mutant;
+import org.schemaanalyst.mutation.MutantEncoder;
 import org.schemaanalyst.mutation.MutantProducer;
+import org.schemaanalyst.mutation.MutationException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * <p>
@@ -16,6 +23,22 @@ import java.util.Map;
  * {@link org.schemaanalyst.mutation.pipeline.MutantRemover}s.
  * </p>
  *
+ * <p>
+ * By default the producers are applied one after another. Following a call to
+ * {@link #setParallel(int)}, they are applied at the same time by a fixed pool
+ * of threads instead. Producers only read the original artefact, and mutate
+ * their own duplicates of it, so they can run independently of each other.
+ * Their mutants are still collected in the order the producers were added, so
+ * the mutants, and the identifiers they are given, are the same either way.
+ * </p>
+ *
+ * <p>
+ * If a {@link MutantEncoder} is set with {@link #setMutantEncoder}, the
+ * mutants that remain once the removers have been applied are compacted with
+ * it, so that their mutated artefacts can be reclaimed when they are not in
+ * use.
+ * </p>
+ *
  * @author Phil McMinn
  *
  * @param <A> The class of the artefact to be mutated by the pipeline.
@@ -28,6 +51,8 @@ public class MutationPipeline<A> implements MutantProducer<A> {
     protected Map<Class, Integer> removerCounts = new HashMap<>();
     protected Map<Class,StopWatch> producerTimings = new HashMap<>();
     protected Map<Class,StopWatch> removerTimings = new HashMap<>();
+    protected int parallelThreads = 0;
+    protected MutantEncoder<A> mutantEncoder;
 
     public void addProducer(MutantProducer<A> producer) {
         producers.add(producer);
@@ -37,6 +62,27 @@ public class MutationPipeline<A> implements MutantProducer<A> {
         removers.add(remover);
     }
 
+    /**
+     * Applies the producers of the pipeline in parallel.
+     *
+     * @param threads The number of threads to apply the producers with
+     */
+    public void setParallel(int threads) {
+        if (threads < 1) {
+            throw new MutationException("The number of threads should be 1 or greater, not " + threads);
+        }
+        parallelThreads = threads;
+    }
+
+    /**
+     * Compacts the mutants produced by the pipeline with an encoder.
+     *
+     * @param encoder The encoder, or null to leave the mutants as they are
+     */
+    public void setMutantEncoder(MutantEncoder<A> encoder) {
+        mutantEncoder = encoder;
+    }
+
     protected void addRemoverToFront(MutantRemover<A> remover) {
         removers.add(0, remover);
     }
@@ -48,34 +94,98 @@ public class MutationPipeline<A> implements MutantProducer<A> {
         applyProducers(mutants);
         mutants = applyRemovers(mutants);
         addIdentifiers(mutants);
+        if (mutantEncoder != null) {
+            for (Mutant<A> mutant : mutants) {
+                mutant.compact(mutantEncoder);
+            }
+        }
         return mutants;
     }
 
     private void applyProducers(List<Mutant<A>> mutants) {
+        if (parallelThreads > 0 && producers.size() > 1) {
+            applyProducersInParallel(mutants);
+            return;
+        }
         for (MutantProducer<A> producer : producers) {
-            // Time the application of each producer
-            StopWatch timer = new StopWatch();
-            timer.start();
-            List<Mutant<A>> producerMutants = producer.mutate();
-            timer.stop();
-            producerTimings.put(producer.getClass(), timer);
-            
-            // Record how many mutants were added by the operator
-            int newMutants = producerMutants.size();
-            Class producerClass = producer.getClass();
-            // Following 2 lines are for compatibility with higher-order mutation
-            int producerCount = producerCounts.containsKey(producerClass) ? producerCounts.get(producerClass) : 0;
-            producerCounts.put(producerClass, producerCount + newMutants);
-
-            // Store the name of the operator as the simple description
-            String simpleDescription = producer.getClass().getSimpleName();
-            for (Mutant<A> mutant : producerMutants) {
-                mutant.setSimpleDescription(simpleDescription);
+            ProducerResult<A> result = produce(producer);
+            addProducerResult(producer, result, mutants);
+        }
+    }
+
+    private void applyProducersInParallel(List<Mutant<A>> mutants) {
+        List<Future<ProducerResult<A>>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelThreads, producers.size()));
+        try {
+            for (final MutantProducer<A> producer : producers) {
+                futures.add(executor.submit(new Callable<ProducerResult<A>>() {
+                    @Override
+                    public ProducerResult<A> call() {
+                        return produce(producer);
+                    }
+                }));
+            }
+
+            // mutants are added in the order of the producers
+            for (int i = 0; i < producers.size(); i++) {
+                addProducerResult(producers.get(i), futures.get(i).get(), mutants);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MutationException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
             }
-            mutants.addAll(producerMutants);
+            throw new MutationException((Exception) cause);
+        } finally {
+            executor.shutdownNow();
         }
     }
-    
+
+    private ProducerResult<A> produce(MutantProducer<A> producer) {
+        // Time the application of each producer
+        StopWatch timer = new StopWatch();
+        timer.start();
+        List<Mutant<A>> producerMutants = producer.mutate();
+        timer.stop();
+        return new ProducerResult<>(producerMutants, timer);
+    }
+
+    private void addProducerResult(MutantProducer<A> producer, ProducerResult<A> result, List<Mutant<A>> mutants) {
+        List<Mutant<A>> producerMutants = result.mutants;
+        producerTimings.put(producer.getClass(), result.timer);
+
+        // Record how many mutants were added by the operator
+        int newMutants = producerMutants.size();
+        Class producerClass = producer.getClass();
+        // Following 2 lines are for compatibility with higher-order mutation
+        int producerCount = producerCounts.containsKey(producerClass) ? producerCounts.get(producerClass) : 0;
+        producerCounts.put(producerClass, producerCount + newMutants);
+
+        // Store the name of the operator as the simple description
+        String simpleDescription = producer.getClass().getSimpleName();
+        for (Mutant<A> mutant : producerMutants) {
+            mutant.setSimpleDescription(simpleDescription);
+        }
+        mutants.addAll(producerMutants);
+    }
+
+    private static class ProducerResult<A> {
+
+        private final List<Mutant<A>> mutants;
+        private final StopWatch timer;
+
+        ProducerResult(List<Mutant<A>> mutants, StopWatch timer) {
+            this.mutants = mutants;
+            this.timer = timer;
+        }
+    }
+
     private List<Mutant<A>> applyRemovers(List<Mutant<A>> mutants) {
         for (MutantRemover<A> remover : removers) {
             int initialMutants = mutants.size();
@@ -7,50 +7,453 @@ import org.schemaanalyst.dbms.DBMS;
 import org.schemaanalyst.dbms.DBMSFactory;
 import org.schemaanalyst.dbms.DatabaseInteractor;
 import org.schemaanalyst.mutation.Mutant;
+import org.schemaanalyst.mutation.MutationException;
 import org.schemaanalyst.mutation.pipeline.MutantRemover;
 import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.constraint.ForeignKeyConstraint;
 import org.schemaanalyst.sqlwriter.SQLWriter;
 import org.schemaanalyst.util.DataCapturer;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
+ * <p>
+ * Removes the mutants whose CREATE TABLE statements are rejected by the DBMS.
+ * </p>
+ *
+ * <p>
+ * Most mutants only change one table, so rather than creating and dropping
+ * every table of every mutant, each database used is given a base schema,
+ * made up of the most common CREATE TABLE statement for each table across the
+ * mutants (normally the original schema's). Only the tables whose statements
+ * differ from the base schema's, and the tables that refer to them, are then
+ * created for each mutant, after which the base schema is restored. The
+ * verdict for each set of such statements is cached, so mutants with the same
+ * changes are only checked once. If the DBMS rejects a table of the base
+ * schema, only the tables before it are kept. Where each database interactor
+ * has a database of its own (for in-memory SQLite and HyperSQL databases),
+ * the mutants are checked on several databases in parallel.
+ * </p>
  *
  * @author Chris J. Wright
  */
 public class DBMSRemover extends MutantRemover<Schema> {
 
+    private static final Logger LOGGER = Logger.getLogger(DBMSRemover.class.getName());
+
+    private final String dbms;
+    private final int threads;
+
+    /**
+     * Constructor, checking mutants on the configured DBMS with as many
+     * threads as there are processors, where the DBMS allows it.
+     */
+    public DBMSRemover() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor, checking mutants on the configured DBMS.
+     *
+     * @param threads The maximum number of threads to check mutants with,
+     * which is only used where each thread can have a database of its own
+     */
+    public DBMSRemover(int threads) {
+        this(null, threads);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param dbms The name of the DBMS to check mutants on, or null for the
+     * configured DBMS
+     * @param threads The maximum number of threads to check mutants with,
+     * which is only used where each thread can have a database of its own
+     */
+    public DBMSRemover(String dbms, int threads) {
+        if (threads < 1) {
+            throw new MutationException("The number of threads should be 1 or greater, not " + threads);
+        }
+        this.dbms = dbms;
+        this.threads = threads;
+    }
+
     @Override
     public List<Mutant<Schema>> removeMutants(List<Mutant<Schema>> mutants) {
-        
-        // Load the relevant database configuration and obtain the interactor
-        DatabaseConfiguration databaseConfiguration = new DatabaseConfiguration();
-        LocationsConfiguration locationsConfiguration = new LocationsConfiguration();
-        DBMS dbms = DBMSFactory.instantiate(databaseConfiguration.getDbms());
-        SQLWriter sqlWriter = dbms.getSQLWriter();
-        DatabaseInteractor interactor = dbms.getDatabaseInteractor("DBMSRemover", databaseConfiguration, locationsConfiguration);
-        
+
+        // Load the relevant database configuration
+        final DatabaseConfiguration databaseConfiguration = new DatabaseConfiguration();
+        final LocationsConfiguration locationsConfiguration = new LocationsConfiguration();
+        final String dbmsName = (dbms == null) ? databaseConfiguration.getDbms() : dbms;
+        SQLWriter sqlWriter = DBMSFactory.instantiate(dbmsName).getSQLWriter();
+
+        // Write the statements of each mutant, and find the base schema
+        final List<SchemaDDL> mutantDDLs = new ArrayList<>();
+        for (Mutant<Schema> mutant : mutants) {
+            mutantDDLs.add(new SchemaDDL(mutant.getMutatedArtefact(), sqlWriter));
+        }
+        final SchemaDDL base = SchemaDDL.base(mutantDDLs);
+
         // Test the mutants
-        for (Iterator<Mutant<Schema>> it = mutants.iterator(); it.hasNext();) {
+        final boolean[] valid = new boolean[mutants.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final Map<String, Boolean> verdicts = new ConcurrentHashMap<>();
+        final AtomicLong statements = new AtomicLong();
+        int workers = hasIsolatedDatabases(dbmsName, databaseConfiguration) ? Math.min(threads, mutants.size()) : 1;
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < Math.max(workers, 1); i++) {
+            final String databaseName = (i == 0) ? "DBMSRemover" : "DBMSRemover" + i;
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    DBMS workerDbms = DBMSFactory.instantiate(dbmsName);
+                    DatabaseInteractor interactor = workerDbms.getDatabaseInteractor(databaseName, databaseConfiguration, locationsConfiguration);
+                    try {
+                        Checker checker = new Checker(interactor, base, verdicts, statements);
+                        try {
+                            int index;
+                            while ((index = next.getAndIncrement()) < valid.length) {
+                                valid[index] = checker.isValid(mutantDDLs.get(index));
+                            }
+                        } finally {
+                            checker.dropBase();
+                        }
+                    } finally {
+                        interactor.close();
+                    }
+                    return null;
+                }
+            });
+        }
+        runTasks(tasks);
+        LOGGER.log(Level.FINE, "Checked {0} mutants with {1} statements on {2} databases, {3} distinct verdicts",
+                new Object[]{valid.length, statements.get(), tasks.size(), verdicts.size()});
+
+        // Remove the mutants in their original order
+        int index = 0;
+        for (Iterator<Mutant<Schema>> it = mutants.iterator(); it.hasNext(); index++) {
             Mutant<Schema> mutant = it.next();
-            Schema schema = mutant.getMutatedArtefact();
-            // Test if the CREATE works
-            for (String stmt : sqlWriter.writeCreateTableStatements(schema)) {
-                Integer result = interactor.executeUpdate(stmt);
-                if (result == -1) {
-                    it.remove();
-                    DataCapturer.capture("removedmutants", "quasimutant", schema + "-" + mutant.getSimpleDescription());
+            if (!valid[index]) {
+                it.remove();
+                DataCapturer.capture("removedmutants", "quasimutant", mutant.getMutatedArtefact() + "-" + mutant.getSimpleDescription());
+            }
+        }
+
+        return mutants;
+    }
+
+    private static boolean hasIsolatedDatabases(String dbmsName, DatabaseConfiguration databaseConfiguration) {
+        switch (dbmsName) {
+            case "SQLite":
+                return databaseConfiguration.getSqliteInMemory();
+            case "HyperSQL":
+                return databaseConfiguration.getHsqldb_in_memory();
+            default:
+                return false;
+        }
+    }
+
+    private static void runTasks(List<Callable<Void>> tasks) {
+        if (tasks.size() == 1) {
+            try {
+                tasks.get(0).call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new MutationException(e);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MutationException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new MutationException((Exception) cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The CREATE and DROP statements of a table, and the names of the tables
+     * it refers to.
+     */
+    private static class TableDDL {
+
+        private final String name;
+        private final String create;
+        private final String drop;
+        private final Set<String> references = new HashSet<>();
+
+        TableDDL(Schema schema, Table table, SQLWriter sqlWriter) {
+            name = table.getName();
+            create = sqlWriter.writeCreateTableStatement(schema, table);
+            drop = sqlWriter.writeDropTableStatement(table, true);
+            for (ForeignKeyConstraint foreignKeyConstraint : schema.getForeignKeyConstraints(table)) {
+                references.add(foreignKeyConstraint.getReferenceTable().getName());
+            }
+        }
+    }
+
+    /**
+     * The statements of a schema's tables, in the order they are created.
+     */
+    private static class SchemaDDL {
+
+        private final Map<String, TableDDL> tables = new LinkedHashMap<>();
+
+        private SchemaDDL() {
+        }
+
+        SchemaDDL(Schema schema, SQLWriter sqlWriter) {
+            for (Table table : schema.getTablesInOrder()) {
+                add(new TableDDL(schema, table, sqlWriter));
+            }
+        }
+
+        private void add(TableDDL table) {
+            tables.put(table.name, table);
+        }
+
+        List<TableDDL> getTablesInReverseOrder() {
+            List<TableDDL> reversed = new ArrayList<>(tables.values());
+            Collections.reverse(reversed);
+            return reversed;
+        }
+
+        /**
+         * Makes the schema of the tables found in more than half of the
+         * schemas, each with its most common statements, ordered so that
+         * tables come after those they refer to.
+         */
+        static SchemaDDL base(List<SchemaDDL> schemas) {
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            Map<String, TableDDL> representatives = new HashMap<>();
+            for (SchemaDDL schema : schemas) {
+                for (TableDDL table : schema.tables.values()) {
+                    Map<String, Integer> tableCounts = counts.get(table.name);
+                    if (tableCounts == null) {
+                        tableCounts = new HashMap<>();
+                        counts.put(table.name, tableCounts);
+                    }
+                    Integer count = tableCounts.get(table.create);
+                    tableCounts.put(table.create, (count == null) ? 1 : count + 1);
+                    if (!representatives.containsKey(table.create)) {
+                        representatives.put(table.create, table);
+                    }
+                }
+            }
+
+            List<TableDDL> unordered = new ArrayList<>();
+            for (Map.Entry<String, Map<String, Integer>> entry : counts.entrySet()) {
+                String mostCommon = null;
+                int total = 0, highest = 0;
+                for (Map.Entry<String, Integer> create : entry.getValue().entrySet()) {
+                    total += create.getValue();
+                    if (create.getValue() > highest) {
+                        highest = create.getValue();
+                        mostCommon = create.getKey();
+                    }
+                }
+                if (total * 2 > schemas.size()) {
+                    unordered.add(representatives.get(mostCommon));
+                }
+            }
+
+            SchemaDDL base = new SchemaDDL();
+            while (!unordered.isEmpty()) {
+                TableDDL nextTable = unordered.get(0);
+                for (TableDDL table : unordered) {
+                    if (refersOnlyTo(table, base, unordered)) {
+                        nextTable = table;
+                        break;
+                    }
+                }
+                unordered.remove(nextTable);
+                base.add(nextTable);
+            }
+            return base;
+        }
+
+        private static boolean refersOnlyTo(TableDDL table, SchemaDDL created, List<TableDDL> unordered) {
+            for (String reference : table.references) {
+                if (!reference.equals(table.name) && !created.tables.containsKey(reference)) {
+                    for (TableDDL other : unordered) {
+                        if (other.name.equals(reference)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Checks mutants against a base schema created in a database.
+     */
+    private static class Checker {
+
+        private final DatabaseInteractor interactor;
+        private final Map<String, Boolean> verdicts;
+        private final AtomicLong statements;
+        private SchemaDDL base;
+
+        Checker(DatabaseInteractor interactor, SchemaDDL base, Map<String, Boolean> verdicts, AtomicLong statements) {
+            this.interactor = interactor;
+            this.verdicts = verdicts;
+            this.statements = statements;
+            this.base = base;
+            createBase();
+        }
+
+        boolean isValid(SchemaDDL mutant) {
+            Set<String> affected = findAffectedTables(mutant);
+            String key = verdictKey(mutant, affected);
+            Boolean verdict = verdicts.get(key);
+            if (verdict != null) {
+                return verdict;
+            }
+
+            // Replace the affected tables of the base schema with the mutant's
+            for (TableDDL table : base.getTablesInReverseOrder()) {
+                if (affected.contains(table.name)) {
+                    execute(table.drop);
+                }
+            }
+            boolean valid = true;
+            for (TableDDL table : mutant.tables.values()) {
+                if (affected.contains(table.name) && execute(table.create) == -1) {
+                    valid = false;
+                    break;
+                }
+            }
+
+            // Put the base schema back
+            for (TableDDL table : mutant.getTablesInReverseOrder()) {
+                if (affected.contains(table.name)) {
+                    execute(table.drop);
+                }
+            }
+            for (TableDDL table : base.tables.values()) {
+                if (affected.contains(table.name) && execute(table.create) == -1) {
+                    dropBase();
+                    createBase();
                     break;
                 }
             }
-            // Clean up the database afterwards
-            for (String stmt : sqlWriter.writeDropTableStatements(schema, true)) {
-                interactor.executeUpdate(stmt);
+
+            verdicts.put(key, valid);
+            return valid;
+        }
+
+        /**
+         * Finds the tables of the mutant or the base schema that differ
+         * between the two, or that refer to such tables.
+         */
+        private Set<String> findAffectedTables(SchemaDDL mutant) {
+            Set<String> affected = new HashSet<>();
+            for (TableDDL table : mutant.tables.values()) {
+                TableDDL baseTable = base.tables.get(table.name);
+                if (baseTable == null || !baseTable.create.equals(table.create)) {
+                    affected.add(table.name);
+                }
+            }
+            for (TableDDL table : base.tables.values()) {
+                if (!mutant.tables.containsKey(table.name)) {
+                    affected.add(table.name);
+                }
+            }
+
+            boolean added = !affected.isEmpty();
+            while (added) {
+                added = addReferringTables(mutant, affected) | addReferringTables(base, affected);
             }
+            return affected;
+        }
+
+        private static boolean addReferringTables(SchemaDDL schema, Set<String> affected) {
+            boolean added = false;
+            for (TableDDL table : schema.tables.values()) {
+                if (!affected.contains(table.name)) {
+                    for (String reference : table.references) {
+                        if (affected.contains(reference)) {
+                            affected.add(table.name);
+                            added = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            return added;
+        }
+
+        private String verdictKey(SchemaDDL mutant, Set<String> affected) {
+            StringBuilder key = new StringBuilder();
+            key.append(new TreeSet<>(affected)).append('\n');
+            for (TableDDL table : mutant.tables.values()) {
+                if (affected.contains(table.name)) {
+                    key.append(table.create).append('\n');
+                }
+            }
+            return key.toString();
+        }
+
+        private void createBase() {
+            SchemaDDL created = new SchemaDDL();
+            for (TableDDL table : base.tables.values()) {
+                if (execute(table.create) == -1) {
+                    // the tables after this one are created for each mutant
+                    LOGGER.log(Level.FINE, "Could not create the base schema at {0}", table.name);
+                    break;
+                }
+                created.add(table);
+            }
+            base = created;
+        }
+
+        void dropBase() {
+            for (TableDDL table : base.getTablesInReverseOrder()) {
+                execute(table.drop);
+            }
+        }
+
+        private int execute(String statement) {
+            statements.incrementAndGet();
+            return interactor.executeUpdate(statement);
         }
-        
-        return mutants;
     }
-    
 }
@@ -1,7 +1,6 @@
 package org.schemaanalyst.reduction;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 import org.schemaanalyst.sqlrepresentation.Schema;
@@ -31,41 +30,35 @@ public class AdditionalGreedyReduction extends Reduction {
 	
 	public boolean reduceTestSuite() {
 		this.contextTableCreator();
-		HashMap<TestCase, Integer> sorted = this.sortTestCasesByCoveredTRs();
+		List<TestCase> testCases = this.getContextTableTestCases();
+		int[] rows = this.getContextTableRows();
+		long[] coveredRequirements = CoverageMatrix.newBitSet(coverageMatrix.getNumTestRequirements());
+		long[] allRequirements = coverageMatrix.allTestRequirements();
 		this.pickedTestCases = new ArrayList<TestCase>();
 
-		boolean coveredAll = false;
+		boolean coveredAll = !CoverageMatrix.intersectsAndNot(allRequirements, coveredRequirements);
 		while (!coveredAll) {
-			TestCase testcase = sorted.entrySet().iterator().next().getKey();
-			if (!this.pickedTestCases.contains(testcase)) {
-				boolean addToTestSuie = false;
-				for (TestRequirement tr : this.contextTable.get(testcase)) {
-					if (!this.covered.get(tr)) {
-						this.covered.put(tr, true);
-						addToTestSuie = true;
-						// remove covered trs for the next iteration
-						for (TestCase t : contextTable.keySet()) {
-							if(contextTable.get(t).contains(tr)) {
-								// remove the covered test case from the requirement
-								int new_size = this.testCaseTRCounter.get(t) - 1;
-								this.testCaseTRCounter.put(t, new_size);
-							}
-						}
-						// sort again
-						sorted = this.sortTestCasesByCoveredTRs();
-					}
-				}
-				if (addToTestSuie) {
-					this.pickedTestCases.add(testcase);
+			// pick the test case covering the most requirements not yet covered,
+			// the first in the context table if there is a tie
+			int best = -1;
+			int bestCount = 0;
+			for (int k = 0; k < rows.length; k++) {
+				int count = CoverageMatrix.cardinalityAndNot(coverageMatrix.getRow(rows[k]), coveredRequirements);
+				if (count > bestCount) {
+					best = k;
+					bestCount = count;
 				}
 			}
-
-			if (!this.covered.containsValue(false)) {
-				// All been covered
-				coveredAll = true;
+			if (best < 0) {
+				// the remaining requirements are not covered by any test case
 				break;
 			}
+			CoverageMatrix.or(coveredRequirements, coverageMatrix.getRow(rows[best]));
+			this.pickedTestCases.add(testCases.get(best));
+
+			coveredAll = !CoverageMatrix.intersectsAndNot(allRequirements, coveredRequirements);
 		}
+		this.updateCovered(coveredRequirements);
 		
 		return coveredAll;
 	}
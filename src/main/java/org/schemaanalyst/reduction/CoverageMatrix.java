@@ -0,0 +1,429 @@
+package org.schemaanalyst.reduction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.testgeneration.TestCase;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirement;
+
+/**
+ * <p>
+ * The test requirements covered by each test case of a test suite, held as
+ * bitsets of <code>long</code>s. Test cases and requirements are numbered in
+ * the order they were given, and each test case has a row whose bits are the
+ * requirements it covers, and each requirement a column whose bits are the
+ * test cases covering it, so that reductions can count and combine coverage
+ * with popcounts and masks rather than by searching lists.
+ * </p>
+ *
+ * <p>
+ * A test case can only cover a requirement for the same tables, with the same
+ * need for a comparison row and the same expected result as its own
+ * requirement, so requirements are grouped by these first, and a
+ * {@link CoverageCheck} is only asked about the requirements in a test case's
+ * group. The checks for different test cases are shared between a number of
+ * threads.
+ * </p>
+ *
+ * <p>
+ * The static methods work on bitsets of any length made by
+ * {@link #newBitSet(int)}.
+ * </p>
+ */
+public class CoverageMatrix {
+
+    /**
+     * Decides whether a test case covers a requirement whose tables, need for
+     * a comparison row and expected result match those of its own requirement.
+     * Checks may be made by several threads at the same time.
+     */
+    public interface CoverageCheck {
+        boolean covers(TestCase testCase, TestRequirement testRequirement);
+    }
+
+    private final List<TestCase> testCases;
+    private final List<TestRequirement> testRequirements;
+    private final Map<TestRequirement, Integer> testRequirementIndexes;
+    private final long[][] rows;
+    private final long[][] columns;
+
+    /**
+     * Constructs the matrix, checking the test cases in parallel.
+     *
+     * @param testCases The test cases
+     * @param testRequirements The test requirements
+     * @param check Decides which of the requirements each test case covers
+     * @param threads The number of threads to check test cases with (1 to
+     * check them in this thread)
+     */
+    public CoverageMatrix(List<TestCase> testCases, List<TestRequirement> testRequirements,
+                          CoverageCheck check, int threads) {
+        this.testCases = new ArrayList<>(testCases);
+        this.testRequirements = new ArrayList<>(testRequirements);
+        testRequirementIndexes = new HashMap<>();
+        for (int i = 0; i < this.testRequirements.size(); i++) {
+            if (!testRequirementIndexes.containsKey(this.testRequirements.get(i))) {
+                testRequirementIndexes.put(this.testRequirements.get(i), i);
+            }
+        }
+
+        rows = new long[this.testCases.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = newBitSet(this.testRequirements.size());
+        }
+        fillRows(groupTestRequirements(), check, threads);
+
+        columns = new long[this.testRequirements.size()][];
+        for (int j = 0; j < columns.length; j++) {
+            columns[j] = newBitSet(rows.length);
+        }
+        for (int i = 0; i < rows.length; i++) {
+            for (int j = nextSetBit(rows[i], 0); j >= 0; j = nextSetBit(rows[i], j + 1)) {
+                set(columns[j], i);
+            }
+        }
+    }
+
+    private Map<Signature, int[]> groupTestRequirements() {
+        Map<Signature, List<Integer>> groups = new HashMap<>();
+        for (int j = 0; j < testRequirements.size(); j++) {
+            Signature signature = new Signature(testRequirements.get(j));
+            List<Integer> group = groups.get(signature);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(signature, group);
+            }
+            group.add(j);
+        }
+
+        Map<Signature, int[]> groupIndexes = new HashMap<>();
+        for (Map.Entry<Signature, List<Integer>> entry : groups.entrySet()) {
+            int[] indexes = new int[entry.getValue().size()];
+            for (int k = 0; k < indexes.length; k++) {
+                indexes[k] = entry.getValue().get(k);
+            }
+            groupIndexes.put(entry.getKey(), indexes);
+        }
+        return groupIndexes;
+    }
+
+    private void fillRows(final Map<Signature, int[]> groups, final CoverageCheck check, int threads) {
+        final AtomicInteger next = new AtomicInteger();
+        Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                // each test case is claimed by one thread, which alone writes its row
+                for (int i = next.getAndIncrement(); i < rows.length; i = next.getAndIncrement()) {
+                    TestCase testCase = testCases.get(i);
+                    int[] group = groups.get(new Signature(testCase.getTestRequirement()));
+                    if (group != null) {
+                        for (int j : group) {
+                            if (check.covers(testCase, testRequirements.get(j))) {
+                                set(rows[i], j);
+                            }
+                        }
+                    }
+                }
+            }
+        };
+
+        int workers = Math.min(threads, rows.length);
+        if (workers <= 1) {
+            worker.run();
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the number of test cases.
+     *
+     * @return The number of test cases
+     */
+    public int getNumTestCases() {
+        return testCases.size();
+    }
+
+    /**
+     * Returns the number of test requirements.
+     *
+     * @return The number of test requirements
+     */
+    public int getNumTestRequirements() {
+        return testRequirements.size();
+    }
+
+    /**
+     * Returns a test case.
+     *
+     * @param testCase The number of the test case
+     * @return The test case
+     */
+    public TestCase getTestCase(int testCase) {
+        return testCases.get(testCase);
+    }
+
+    /**
+     * Returns a test requirement.
+     *
+     * @param testRequirement The number of the test requirement
+     * @return The test requirement
+     */
+    public TestRequirement getTestRequirement(int testRequirement) {
+        return testRequirements.get(testRequirement);
+    }
+
+    /**
+     * Returns the number of the first test requirement equal to the one
+     * given.
+     *
+     * @param testRequirement The test requirement
+     * @return The number of the test requirement, or -1 if it is not in the
+     * matrix
+     */
+    public int indexOf(TestRequirement testRequirement) {
+        Integer index = testRequirementIndexes.get(testRequirement);
+        return (index == null) ? -1 : index;
+    }
+
+    /**
+     * Returns whether a test case covers a test requirement.
+     *
+     * @param testCase The number of the test case
+     * @param testRequirement The number of the test requirement
+     * @return Whether the test case covers the test requirement
+     */
+    public boolean covers(int testCase, int testRequirement) {
+        return get(rows[testCase], testRequirement);
+    }
+
+    /**
+     * Records that a test case covers a test requirement, whatever the
+     * {@link CoverageCheck} decided.
+     *
+     * @param testCase The number of the test case
+     * @param testRequirement The number of the test requirement
+     */
+    public void add(int testCase, int testRequirement) {
+        set(rows[testCase], testRequirement);
+        set(columns[testRequirement], testCase);
+    }
+
+    /**
+     * Returns the test requirements covered by a test case. The bitset must
+     * not be modified.
+     *
+     * @param testCase The number of the test case
+     * @return The bitset of the test requirements covered
+     */
+    public long[] getRow(int testCase) {
+        return rows[testCase];
+    }
+
+    /**
+     * Returns the test cases covering a test requirement. The bitset must not
+     * be modified.
+     *
+     * @param testRequirement The number of the test requirement
+     * @return The bitset of the test cases covering the requirement
+     */
+    public long[] getColumn(int testRequirement) {
+        return columns[testRequirement];
+    }
+
+    /**
+     * Returns a bitset with a bit set for each test requirement.
+     *
+     * @return The bitset of all the test requirements
+     */
+    public long[] allTestRequirements() {
+        long[] bits = newBitSet(testRequirements.size());
+        for (int j = 0; j < testRequirements.size(); j++) {
+            set(bits, j);
+        }
+        return bits;
+    }
+
+    /**
+     * Makes an empty bitset.
+     *
+     * @param size The number of bits needed
+     * @return The bitset
+     */
+    public static long[] newBitSet(int size) {
+        return new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * Sets a bit.
+     *
+     * @param bits The bitset
+     * @param index The bit to set
+     */
+    public static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Returns whether a bit is set.
+     *
+     * @param bits The bitset
+     * @param index The bit
+     * @return Whether the bit is set
+     */
+    public static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the number of bits set.
+     *
+     * @param bits The bitset
+     * @return The number of bits set
+     */
+    public static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of bits set in one bitset but not in another of the
+     * same length.
+     *
+     * @param bits The bitset to count
+     * @param mask The bits not to count
+     * @return The number of bits set in <code>bits</code> and not in
+     * <code>mask</code>
+     */
+    public static int cardinalityAndNot(long[] bits, long[] mask) {
+        int count = 0;
+        for (int i = 0; i < bits.length; i++) {
+            count += Long.bitCount(bits[i] & ~mask[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns whether one bitset has any bit set that is not set in another
+     * of the same length.
+     *
+     * @param bits The bitset
+     * @param mask The bits to ignore
+     * @return Whether <code>bits</code> has a bit set that <code>mask</code>
+     * does not
+     */
+    public static boolean intersectsAndNot(long[] bits, long[] mask) {
+        for (int i = 0; i < bits.length; i++) {
+            if ((bits[i] & ~mask[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the bits of one bitset in another of the same length.
+     *
+     * @param target The bitset to set bits in
+     * @param bits The bits to set
+     */
+    public static void or(long[] target, long[] bits) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= bits[i];
+        }
+    }
+
+    /**
+     * Returns the first bit set at or after an index.
+     *
+     * @param bits The bitset
+     * @param from The index to start from
+     * @return The index of the bit, or -1 if there is none
+     */
+    public static int nextSetBit(long[] bits, int from) {
+        int word = from >>> 6;
+        if (word >= bits.length) {
+            return -1;
+        }
+        long remaining = bits[word] & (-1L << from);
+        while (true) {
+            if (remaining != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(remaining);
+            }
+            if (++word == bits.length) {
+                return -1;
+            }
+            remaining = bits[word];
+        }
+    }
+
+    /**
+     * The tables, need for a comparison row and expected result of a
+     * requirement, which must match for a test case to cover it. Results are
+     * compared by identity, as they are by the reductions.
+     */
+    private static class Signature {
+
+        private final Set<Table> tables;
+        private final boolean requiresComparisonRow;
+        private final Boolean result;
+
+        Signature(TestRequirement testRequirement) {
+            tables = testRequirement.getTables();
+            requiresComparisonRow = testRequirement.getRequiresComparisonRow();
+            result = testRequirement.getResult();
+        }
+
+        @Override
+        public int hashCode() {
+            return (tables.hashCode() * 31 + (requiresComparisonRow ? 1 : 0)) * 31
+                    + System.identityHashCode(result);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) obj;
+            return tables.equals(other.tables) && requiresComparisonRow == other.requiresComparisonRow
+                    && result == other.result;
+        }
+    }
+}
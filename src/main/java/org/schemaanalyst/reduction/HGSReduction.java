@@ -2,6 +2,7 @@ package org.schemaanalyst.reduction;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -10,8 +11,6 @@ import org.schemaanalyst.testgeneration.TestCase;
 import org.schemaanalyst.testgeneration.TestSuite;
 import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirement;
 import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirements;
-import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
-import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.PredicateChecker;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.PredicateCheckerFactory;
 
 /**
@@ -33,87 +32,128 @@ public class HGSReduction extends Reduction {
 		super(originalTestSuite, testRequirements, schema, failedTestRequirements);
 	}
 	
-	private int getMaxCardinality(HashMap<TestRequirement, TestSuite> trTS) {
+	private int getMaxCardinality(int[] keys) {
 		int max = 0;
-		for (TestRequirement i : trTS.keySet()) {
-			int size = trTS.get(i).getTestCases().size();
+		for (int j : keys) {
+			int size = CoverageMatrix.cardinality(coverageMatrix.getColumn(j));
 			if (size > max)
 				max = size;
 		}
 		return max;
 	}
+
+	private CoverageMatrix buildCoverageMatrix(List<TestRequirement> testRequirements) {
+		// the predicates are printed once each, rather than for every check
+		final Map<TestRequirement, String> predicateStrings = new IdentityHashMap<TestRequirement, String>();
+		for (TestRequirement tr : testRequirements) {
+			predicateStrings.put(tr, tr.getPredicate().toString());
+		}
+		for (TestCase tc : originalTestSuite.getTestCases()) {
+			if (!predicateStrings.containsKey(tc.getTestRequirement())) {
+				predicateStrings.put(tc.getTestRequirement(), tc.getTestRequirement().getPredicate().toString());
+			}
+		}
+
+		return new CoverageMatrix(originalTestSuite.getTestCases(), testRequirements,
+				new CoverageMatrix.CoverageCheck() {
+					@Override
+					public boolean covers(TestCase tc, TestRequirement tr) {
+						boolean checkStringChecker = predicateStrings.get(tr)
+								.equals(predicateStrings.get(tc.getTestRequirement()));
+						return checkStringChecker || PredicateCheckerFactory.instantiate(tr.getPredicate(), true,
+								tc.getData(), tc.getState()).check();
+					}
+				}, threads);
+	}
 	
 	public boolean reduceTestSuite() {
 		// T1 = tc1, tc2
 		// T2 = tc1, tc3
 		// T3 = tc2, tc3
 		// TS = T1 & T2
-		HashMap<TestRequirement, TestSuite> trTS = new HashMap<TestRequirement, TestSuite>();
-		HashMap<TestSuite, Boolean> marks = new HashMap<TestSuite, Boolean>();
-		for (TestRequirement tr : allTestRequirements.getTestRequirements()) {
-			TestSuite newTS = new TestSuite();
-			for (TestCase tc : originalTestSuite.getTestCases()) {
-				boolean linkedTablesCheck = this.checkRequiredTables(tc, tr);
-				boolean equalComparsion = tr.getRequiresComparisonRow() == tc.getTestRequirement()
-						.getRequiresComparisonRow();
-				boolean equalResults = tr.getResult() == tc.getTestRequirement().getResult();
-				boolean passedAllChecks = linkedTablesCheck && equalComparsion && equalResults;
-				if (passedAllChecks) {
-					PredicateChecker predicateChecker = PredicateCheckerFactory.instantiate(tr.getPredicate(), true,
-							tc.getData(), tc.getState());
+		List<TestRequirement> testRequirements = allTestRequirements.getTestRequirements();
+		coverageMatrix = this.buildCoverageMatrix(testRequirements);
 
-					Predicate pr = tr.getPredicate();
-					Predicate tcPR = tc.getTestRequirement().getPredicate();
-					boolean checkStringChecker = pr.toString().equals(tcPR.toString());
+		// the requirements are visited in the order of a hash map of them, as
+		// they always have been, and equal requirements share the test cases
+		// of the last of them
+		HashMap<TestRequirement, Integer> trTS = new HashMap<TestRequirement, Integer>();
+		for (int j = 0; j < testRequirements.size(); j++) {
+			trTS.put(testRequirements.get(j), j);
+		}
+		int[] keys = new int[trTS.size()];
+		int n = 0;
+		for (int j : trTS.values()) {
+			keys[n++] = j;
+		}
 
-					if (predicateChecker.check() || checkStringChecker) {
-						newTS.addTestCase(tc);
-					}
+		// equal test cases are treated as one, numbered by the first of them
+		int numTestCases = coverageMatrix.getNumTestCases();
+		HashMap<TestCase, Integer> firstIndexes = new HashMap<TestCase, Integer>();
+		int[] testCaseClasses = new int[numTestCases];
+		for (int i = 0; i < numTestCases; i++) {
+			Integer first = firstIndexes.get(coverageMatrix.getTestCase(i));
+			if (first == null) {
+				first = i;
+				firstIndexes.put(coverageMatrix.getTestCase(i), i);
+			}
+			testCaseClasses[i] = first;
+		}
+		long[][] classColumns = new long[keys.length][];
+		int[] containing = new int[numTestCases];
+		for (int k = 0; k < keys.length; k++) {
+			long[] column = coverageMatrix.getColumn(keys[k]);
+			classColumns[k] = CoverageMatrix.newBitSet(numTestCases);
+			for (int i = CoverageMatrix.nextSetBit(column, 0); i >= 0; i = CoverageMatrix.nextSetBit(column, i + 1)) {
+				if (!CoverageMatrix.get(classColumns[k], testCaseClasses[i])) {
+					CoverageMatrix.set(classColumns[k], testCaseClasses[i]);
+					containing[testCaseClasses[i]]++;
 				}
 			}
-			trTS.put(tr, newTS);
-			marks.put(newTS, false);
 		}
+
+		boolean[] marks = new boolean[keys.length];
+		boolean[] inNewTS = new boolean[numTestCases];
 		int currentCardinality = 1;
-		int maxCardinality = this.getMaxCardinality(trTS);
+		int maxCardinality = this.getMaxCardinality(keys);
 		TestSuite newTS = new TestSuite();
 		
-		for (TestRequirement i : trTS.keySet()) {
-			int size = trTS.get(i).getTestCases().size();
-			if (size == currentCardinality) {
-				newTS.addTestCase(trTS.get(i).getTestCases().get(0));
-				marks.put(trTS.get(i), true);
+		for (int k = 0; k < keys.length; k++) {
+			long[] column = coverageMatrix.getColumn(keys[k]);
+			if (CoverageMatrix.cardinality(column) == currentCardinality) {
+				int i = CoverageMatrix.nextSetBit(column, 0);
+				newTS.addTestCase(coverageMatrix.getTestCase(i));
+				inNewTS[testCaseClasses[i]] = true;
+				marks[k] = true;
 			}
 		}
 		while (currentCardinality <= maxCardinality) {
 			currentCardinality = currentCardinality + 1;
-			for (TestRequirement i : trTS.keySet()) {
-				if (!marks.get(trTS.get(i))) {
-					if (trTS.get(i).getTestCases().size() == currentCardinality) {
-						HashMap<TestCase, Integer> tcCounter = new HashMap<TestCase, Integer>();
-						for (TestCase tc : trTS.get(i).getTestCases()) {
-							int tc_counter = 1;
-							for (TestRequirement tr : trTS.keySet()) {
-								if (trTS.get(tr).getTestCases().contains(tc) || newTS.getTestCases().contains(tc)) {
-									tc_counter++;
-								}
-							}
-							tcCounter.put(tc, tc_counter);
-						}
-	
-						Map.Entry<TestCase, Integer> maxEntry = null;
-	
-						for (Map.Entry<TestCase, Integer> entry : tcCounter.entrySet()) {
-							if (maxEntry == null || entry.getValue() > maxEntry.getValue()) {
-								maxEntry = entry;
-							}
+			for (int k = 0; k < keys.length; k++) {
+				long[] column = coverageMatrix.getColumn(keys[k]);
+				if (!marks[k] && CoverageMatrix.cardinality(column) == currentCardinality) {
+					// a test case counts once for each requirement it covers, or
+					// for every requirement once it is in the new test suite
+					HashMap<TestCase, Integer> tcCounter = new HashMap<TestCase, Integer>();
+					for (int i = CoverageMatrix.nextSetBit(column, 0); i >= 0; i = CoverageMatrix.nextSetBit(column, i + 1)) {
+						int c = testCaseClasses[i];
+						tcCounter.put(coverageMatrix.getTestCase(i), 1 + (inNewTS[c] ? keys.length : containing[c]));
+					}
+
+					Map.Entry<TestCase, Integer> maxEntry = null;
+
+					for (Map.Entry<TestCase, Integer> entry : tcCounter.entrySet()) {
+						if (maxEntry == null || entry.getValue() > maxEntry.getValue()) {
+							maxEntry = entry;
 						}
-						if (!newTS.getTestCases().contains(maxEntry.getKey())) {
-							newTS.addTestCase(maxEntry.getKey());
-							for (TestRequirement tr : trTS.keySet()) {
-								if (trTS.get(tr).getTestCases().contains(maxEntry.getKey())) {
-									marks.put(trTS.get(tr), true);
-								}
+					}
+					int c = firstIndexes.get(maxEntry.getKey());
+					if (!inNewTS[c]) {
+						newTS.addTestCase(maxEntry.getKey());
+						inNewTS[c] = true;
+						for (int l = 0; l < keys.length; l++) {
+							if (CoverageMatrix.get(classColumns[l], c)) {
+								marks[l] = true;
 							}
 						}
 					}
@@ -2,7 +2,8 @@ package org.schemaanalyst.reduction;
 
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 import org.schemaanalyst.sqlrepresentation.Schema;
@@ -33,30 +34,39 @@ public class NaiveGreedyReduction extends Reduction {
 	
 	public boolean reduceTestSuite() {
 		this.contextTableCreator();
-		HashMap<TestCase, Integer> sorted = this.sortTestCasesByCoveredTRs();
+		List<TestCase> testCases = this.getContextTableTestCases();
+		final int[] rows = this.getContextTableRows();
+		long[] coveredRequirements = CoverageMatrix.newBitSet(coverageMatrix.getNumTestRequirements());
+		long[] allRequirements = coverageMatrix.allTestRequirements();
 		this.pickedTestCases = new ArrayList<TestCase>();
 
-		boolean coveredAll = false;
-		for (TestCase testcase : sorted.keySet()) {
-			if (!this.pickedTestCases.contains(testcase)) {
-				boolean addToTestSuie = false;
-				for (TestRequirement tr : this.contextTable.get(testcase)) {
-					if (!this.covered.get(tr)) {
-						this.covered.put(tr, true);
-						addToTestSuie = true;
-					}
-				}
-				if (addToTestSuie) {
-					this.pickedTestCases.add(testcase);
-				}
+		// the test cases covering the most requirements first, in the order
+		// of the context table if there is a tie
+		Integer[] sorted = new Integer[rows.length];
+		for (int k = 0; k < rows.length; k++) {
+			sorted[k] = k;
+		}
+		Arrays.sort(sorted, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer k1, Integer k2) {
+				return Integer.compare(CoverageMatrix.cardinality(coverageMatrix.getRow(rows[k2])),
+						CoverageMatrix.cardinality(coverageMatrix.getRow(rows[k1])));
 			}
+		});
 
-			if (!this.covered.containsValue(false)) {
-				// All been covered
-				coveredAll = true;
+		boolean coveredAll = !CoverageMatrix.intersectsAndNot(allRequirements, coveredRequirements);
+		for (int k : sorted) {
+			if (coveredAll) {
 				break;
 			}
+			long[] row = coverageMatrix.getRow(rows[k]);
+			if (CoverageMatrix.intersectsAndNot(row, coveredRequirements)) {
+				CoverageMatrix.or(coveredRequirements, row);
+				this.pickedTestCases.add(testCases.get(k));
+			}
+			coveredAll = !CoverageMatrix.intersectsAndNot(allRequirements, coveredRequirements);
 		}
+		this.updateCovered(coveredRequirements);
 		return coveredAll;
 	}
 
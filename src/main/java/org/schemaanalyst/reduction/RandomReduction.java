@@ -33,29 +33,28 @@ public class RandomReduction extends Reduction {
 		Random random = new Random(randomseed);
 		this.contextTableCreator();
 		List<TestCase> testCases = this.getContextTableTestCases();
+		int[] rows = this.getContextTableRows();
+		long[] coveredRequirements = CoverageMatrix.newBitSet(coverageMatrix.getNumTestRequirements());
+		long[] allRequirements = coverageMatrix.allTestRequirements();
 		this.pickedTestCases = new ArrayList<TestCase>();
 
-		boolean coveredAll = false;
-		while (!coveredAll) {
-			TestCase aTestCase = testCases.get(random.nextInt(testCases.size()));
-			if (!this.pickedTestCases.contains(aTestCase)) {
-				boolean addToTestSuie = false;
-				for (TestRequirement tr : contextTable.get(aTestCase)) {
-					if (!this.covered.get(tr)) {
-						this.covered.put(tr, true);
-						addToTestSuie = true;
-					}
-				}
-				if (addToTestSuie) {
-					this.pickedTestCases.add(aTestCase);
-				}
-			}
+		// only the requirements some test case covers are waited for, or it would never stop
+		long[] coverable = CoverageMatrix.newBitSet(coverageMatrix.getNumTestRequirements());
+		for (int row : rows) {
+			CoverageMatrix.or(coverable, coverageMatrix.getRow(row));
+		}
 
-			if (!this.covered.containsValue(false)) {
-				coveredAll = true;
-				break;
+		while (CoverageMatrix.intersectsAndNot(coverable, coveredRequirements)) {
+			int k = random.nextInt(rows.length);
+			long[] row = coverageMatrix.getRow(rows[k]);
+			// a test case already picked covers nothing new, so is never picked twice
+			if (CoverageMatrix.intersectsAndNot(row, coveredRequirements)) {
+				CoverageMatrix.or(coveredRequirements, row);
+				this.pickedTestCases.add(testCases.get(k));
 			}
 		}
+		boolean coveredAll = !CoverageMatrix.intersectsAndNot(allRequirements, coveredRequirements);
+		this.updateCovered(coveredRequirements);
 		//System.out.println("Are all the requirments covered == " + coveredAll);
 		return coveredAll;
 	}
@@ -3,19 +3,24 @@ package org.schemaanalyst.reduction;
 import static java.util.stream.Collectors.toMap;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.Fingerprinter;
 import org.schemaanalyst.sqlrepresentation.Schema;
 import org.schemaanalyst.sqlrepresentation.Table;
 import org.schemaanalyst.testgeneration.TestCase;
 import org.schemaanalyst.testgeneration.TestSuite;
 import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirement;
 import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementDescriptor;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementID;
 import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirements;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.PredicateChecker;
@@ -39,6 +44,10 @@ public class Reduction {
 	protected HashMap<TestRequirement, Boolean> covered;
 	// Each test case with the number (counted) of test requirements (TRs) covered
 	protected HashMap<TestCase, Integer> testCaseTRCounter;
+	// The test requirements covered by each test case, built with the context table
+	protected CoverageMatrix coverageMatrix;
+	// The number of threads the coverage matrix is built with
+	protected int threads = Runtime.getRuntime().availableProcessors();
 	// Selected test case for the reduced test suite
 	protected List<TestCase> pickedTestCases;
 	public int numberOfMerges = 0;
@@ -93,81 +102,173 @@ public class Reduction {
 	}
 	
 	private void combiningDuplicateTestCases() {
+		// test cases are only compared with the earlier, kept, test cases whose
+		// state and data have the same fingerprints, and so may be written out
+		// the same way, rather than with all of them
+		Fingerprinter fingerprinter = new Fingerprinter();
+		HashMap<Long, List<TestCase>> keptTestCases = new HashMap<Long, List<TestCase>>();
+		IdentityHashMap<TestCase, String[]> strings = new IdentityHashMap<TestCase, String[]>();
+		reducedTestSuite = new TestSuite();
 
-		this.copyOriginalTestSuiteIntoReducedTestSuite();
+		for (TestCase tc : originalTestSuite.getTestCases()) {
+			long fingerprint = fingerprinter.get(tc.getState()) * 31 + fingerprinter.get(tc.getData());
+			List<TestCase> candidates = keptTestCases.get(fingerprint);
+			if (candidates == null) {
+				candidates = new ArrayList<TestCase>();
+				keptTestCases.put(fingerprint, candidates);
+			}
 
-		for (int i = 0; i < reducedTestSuite.getTestCases().size(); i++) {
-			for (int j = i + 1; j < reducedTestSuite.getTestCases().size(); j++) {
-				Data state1 = reducedTestSuite.getTestCases().get(i).getState();
-				Data data1 = reducedTestSuite.getTestCases().get(i).getData();
-				Data state2 = reducedTestSuite.getTestCases().get(j).getState();
-				Data data2 = reducedTestSuite.getTestCases().get(j).getData();
-				if (state1.toString().equals(state2.toString()) && data1.toString().equals(data2.toString())) {
-					for (TestRequirementDescriptor d : reducedTestSuite.getTestCases().get(j).getTestRequirement()
-							.getDescriptors()) {
-						boolean notInDesc = true;
-						for (TestRequirementDescriptor desc : reducedTestSuite.getTestCases().get(i).getTestRequirement()
-								.getDescriptors()) {
-							if (desc.toString().equals(d.toString()))
-								notInDesc = false;
-						}
-						if (notInDesc) {
-							String des = d.getMsg() + " - Reduced";
-							TestRequirementDescriptor newD = new TestRequirementDescriptor(d.getID(), des);
-							reducedTestSuite.getTestCases().get(i).getTestRequirement().addDescriptor(newD);
-						}
+			TestCase kept = null;
+			for (TestCase candidate : candidates) {
+				if (Arrays.equals(getStrings(candidate, strings), getStrings(tc, strings))) {
+					kept = candidate;
+					break;
+				}
+			}
+
+			if (kept == null) {
+				candidates.add(tc);
+				reducedTestSuite.addTestCase(tc);
+			} else {
+				List<TestRequirementDescriptor> keptDescriptors = kept.getTestRequirement().getDescriptors();
+				for (TestRequirementDescriptor d : tc.getTestRequirement().getDescriptors()) {
+					if (!keptDescriptors.contains(d)) {
+						String des = d.getMsg() + " - Reduced";
+						TestRequirementDescriptor newD = new TestRequirementDescriptor(d.getID(), des);
+						kept.getTestRequirement().addDescriptor(newD);
+						keptDescriptors.add(newD);
 					}
-					reducedTestSuite.removeTestCase(j);
-					j--;
 				}
 			}
 		}
 	}
+
+	private String[] getStrings(TestCase tc, IdentityHashMap<TestCase, String[]> strings) {
+		String[] stateAndData = strings.get(tc);
+		if (stateAndData == null) {
+			stateAndData = new String[] {tc.getState().toString(), tc.getData().toString()};
+			strings.put(tc, stateAndData);
+		}
+		return stateAndData;
+	}
 	
 	public void contextTableCreator() {
 		contextTable = new HashMap<TestCase, List<TestRequirement>>();
 		testCaseTRCounter = new HashMap<TestCase, Integer>();
 		covered = new HashMap<TestRequirement, Boolean>();
-		
-		for (TestCase tc : originalTestSuite.getTestCases()) {
-			List<TestRequirement> coveredTestRequirements = new ArrayList<TestRequirement>();
-			if (!coveredTestRequirements.contains(tc.getTestRequirement()))
-				coveredTestRequirements.add(tc.getTestRequirement());
-			for (TestRequirement tr : allTestRequirements.getTestRequirements()) {
-				if (!failedTestRequirements.contains(tr)) {
-					covered.put(tr, false);
-					boolean linkedTablesCheck = this.checkRequiredTables(tc, tr);
-					boolean equalComparsion = tr.getRequiresComparisonRow() == tc.getTestRequirement()
-							.getRequiresComparisonRow();
-					boolean equalResults = tr.getResult() == tc.getTestRequirement().getResult();
-					boolean passedAllChecks = linkedTablesCheck && equalComparsion && equalResults;
-					if (passedAllChecks) {
-						PredicateChecker predicateChecker = PredicateCheckerFactory.instantiate(tr.getPredicate(), true,
-								tc.getData(), tc.getState());
-						if (predicateChecker.check()) {
-							if (!coveredTestRequirements.contains(tr)) {
-								coveredTestRequirements.add(tr);
-								
-								for (TestRequirementDescriptor d : tr.getDescriptors()) {
-									boolean notInDesc = true;
-									for (TestRequirementDescriptor desc : tc.getTestRequirement().getDescriptors()) {
-										if (desc.getID().toString().equals(d.getID().toString()))
-											notInDesc = false;
-									}
-									if (notInDesc) {
-										String des = d.getMsg() + " - Subsumed - " + tr.getResult();
-										TestRequirementDescriptor newD = new TestRequirementDescriptor(d.getID(), des);
-										tc.getTestRequirement().addDescriptor(newD);
-									}
-								}
-								
-							}
-						}
+
+		Set<TestRequirement> failed = new HashSet<TestRequirement>();
+		if (failedTestRequirements != null) {
+			failed.addAll(failedTestRequirements);
+		}
+		List<TestRequirement> testRequirements = new ArrayList<TestRequirement>();
+		for (TestRequirement tr : allTestRequirements.getTestRequirements()) {
+			if (!failed.contains(tr) && !covered.containsKey(tr)) {
+				covered.put(tr, false);
+				testRequirements.add(tr);
+			}
+		}
+
+		// the predicates are checked in parallel, the descriptors added afterwards in order
+		coverageMatrix = new CoverageMatrix(originalTestSuite.getTestCases(), testRequirements,
+				new CoverageMatrix.CoverageCheck() {
+					@Override
+					public boolean covers(TestCase tc, TestRequirement tr) {
+						return PredicateCheckerFactory.instantiate(tr.getPredicate(), true, tc.getData(),
+								tc.getState()).check();
 					}
-					testCaseTRCounter.put(tc, coveredTestRequirements.size());
-					contextTable.put(tc, coveredTestRequirements);
+				}, threads);
+
+		for (int i = 0; i < coverageMatrix.getNumTestCases(); i++) {
+			TestCase tc = coverageMatrix.getTestCase(i);
+			List<TestRequirement> coveredTestRequirements = new ArrayList<TestRequirement>();
+			coveredTestRequirements.add(tc.getTestRequirement());
+			int own = coverageMatrix.indexOf(tc.getTestRequirement());
+			long[] row = coverageMatrix.getRow(i);
+			for (int j = CoverageMatrix.nextSetBit(row, 0); j >= 0; j = CoverageMatrix.nextSetBit(row, j + 1)) {
+				if (j != own) {
+					TestRequirement tr = coverageMatrix.getTestRequirement(j);
+					coveredTestRequirements.add(tr);
+					addSubsumedDescriptors(tc, tr);
 				}
 			}
+			if (own >= 0) {
+				coverageMatrix.add(i, own);
+			}
+			if (!testRequirements.isEmpty()) {
+				testCaseTRCounter.put(tc, coveredTestRequirements.size());
+				contextTable.put(tc, coveredTestRequirements);
+			}
+		}
+	}
+
+	private void addSubsumedDescriptors(TestCase tc, TestRequirement tr) {
+		Set<TestRequirementID> ids = new HashSet<TestRequirementID>();
+		for (TestRequirementDescriptor desc : tc.getTestRequirement().getDescriptors()) {
+			ids.add(desc.getID());
+		}
+		for (TestRequirementDescriptor d : tr.getDescriptors()) {
+			if (ids.add(d.getID())) {
+				String des = d.getMsg() + " - Subsumed - " + tr.getResult();
+				TestRequirementDescriptor newD = new TestRequirementDescriptor(d.getID(), des);
+				tc.getTestRequirement().addDescriptor(newD);
+			}
+		}
+	}
+
+	/**
+	 * Sets the number of threads the coverage matrix is built with.
+	 * 
+	 * @param threads The number of threads (1 to build it in this thread)
+	 */
+	public void setParallel(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("The number of threads should be 1 or greater, not " + threads);
+		}
+		this.threads = threads;
+	}
+
+	public CoverageMatrix getCoverageMatrix() {
+		return coverageMatrix;
+	}
+
+	/**
+	 * Returns the rows of the coverage matrix for the test cases of the
+	 * context table, in the order of {@link #getContextTableTestCases()}. Test
+	 * cases that are equal share the row of the last of them, as they share
+	 * its entry in the context table.
+	 * 
+	 * @return The numbers of the rows
+	 */
+	protected int[] getContextTableRows() {
+		HashMap<TestCase, Integer> rows = new HashMap<TestCase, Integer>();
+		for (int i = 0; i < coverageMatrix.getNumTestCases(); i++) {
+			rows.put(coverageMatrix.getTestCase(i), i);
+		}
+		int[] contextTableRows = new int[contextTable.size()];
+		int k = 0;
+		for (TestCase tc : contextTable.keySet()) {
+			contextTableRows[k++] = rows.get(tc);
+		}
+		return contextTableRows;
+	}
+
+	/**
+	 * Brings the covered tracker and the counts of test requirements still to
+	 * be covered by each test case up to date with a bitset of covered
+	 * requirements.
+	 * 
+	 * @param coveredRequirements The requirements covered
+	 */
+	protected void updateCovered(long[] coveredRequirements) {
+		for (int j = 0; j < coverageMatrix.getNumTestRequirements(); j++) {
+			covered.put(coverageMatrix.getTestRequirement(j), CoverageMatrix.get(coveredRequirements, j));
+		}
+		List<TestCase> testCases = getContextTableTestCases();
+		int[] rows = getContextTableRows();
+		for (int k = 0; k < rows.length; k++) {
+			testCaseTRCounter.put(testCases.get(k),
+					CoverageMatrix.cardinalityAndNot(coverageMatrix.getRow(rows[k]), coveredRequirements));
 		}
 	}
 	
@@ -1,8 +1,10 @@
 package org.schemaanalyst.reduction;
 
+import java.util.HashMap;
 import java.util.List;
 
 import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.Fingerprinter;
 import org.schemaanalyst.data.Row;
 import org.schemaanalyst.sqlrepresentation.Schema;
 import org.schemaanalyst.sqlrepresentation.Table;
@@ -20,6 +22,9 @@ import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.Pred
  */
 
 public class SticcerReduction extends AdditionalGreedyReduction {
+
+	// the rows of merged test cases are not changed, so their fingerprints are kept
+	private Fingerprinter fingerprinter = new Fingerprinter();
 	
 	public SticcerReduction(TestSuite originalTestSuite, Schema schema) {
 		super(originalTestSuite, schema);
@@ -39,6 +44,7 @@ public class SticcerReduction extends AdditionalGreedyReduction {
 		boolean reduced = super.reduceTestSuite();
 		// merge
 		for (int i = 0; i < this.pickedTestCases.size(); i++) {
+			HashMap<RowPair, Boolean> upperChecks = new HashMap<RowPair, Boolean>();
 			for (int j = i+1; j < this.pickedTestCases.size(); j++) {
 				TestCase upperTC = this.pickedTestCases.get(i);
 				TestCase lowerTC = this.pickedTestCases.get(j);
@@ -91,6 +97,8 @@ public class SticcerReduction extends AdditionalGreedyReduction {
 							combochecker.appendData(lowerTC.getData());
 							boolean compliant = true;
 
+							// stop at the first pair of rows that is not compliant
+							rows:
 							for (Table t : upperTCdata.getTables()) {
 								for (Row stateRow : upperTCdata.getRows(t)) {
 									for (Row testRow : lowerTCdata.getRows(t)) {
@@ -100,14 +108,24 @@ public class SticcerReduction extends AdditionalGreedyReduction {
 										Data testData = new Data();
 										testData.addRow(t, testRow);
 
-										combainedStateAndData1 = PredicateCheckerFactory.instantiate(upperTCpredicate,
-												true, testData, stateData);
+										// the upper test case's predicate is often checked against
+										// the same rows for different lower test cases
+										RowPair rowPair = new RowPair(t, stateRow, testRow);
+										Boolean upperCheck = upperChecks.get(rowPair);
+										if (upperCheck == null) {
+											combainedStateAndData1 = PredicateCheckerFactory.instantiate(upperTCpredicate,
+													true, testData, stateData);
+											upperCheck = combainedStateAndData1.check();
+											upperChecks.put(rowPair, upperCheck);
+										}
 
 										combainedStateAndData2 = PredicateCheckerFactory.instantiate(lowerTCpredicate,
 												true, testData, stateData);
 										
-										if (!combainedStateAndData1.check() && !combainedStateAndData2.check())
+										if (!upperCheck && !combainedStateAndData2.check()) {
 											compliant = false;
+											break rows;
+										}
 									}
 								}
 							}
@@ -153,4 +171,39 @@ public class SticcerReduction extends AdditionalGreedyReduction {
 	}
 
 	
+	/**
+	 * A row of the upper test case's data, used as its state, and a row of a
+	 * lower test case's data, which are the same as another pair if their
+	 * values are, whichever test cases they come from.
+	 */
+	private class RowPair {
+		private final Table table;
+		private final Row stateRow;
+		private final Row testRow;
+		private final long fingerprint;
+
+		RowPair(Table table, Row stateRow, Row testRow) {
+			this.table = table;
+			this.stateRow = stateRow;
+			this.testRow = testRow;
+			this.fingerprint = fingerprinter.get(stateRow) * 31 + fingerprinter.get(testRow);
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (fingerprint ^ (fingerprint >>> 32));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof RowPair)) {
+				return false;
+			}
+			RowPair other = (RowPair) obj;
+			return table == other.table && fingerprint == other.fingerprint
+					&& Fingerprinter.sameValues(stateRow, other.stateRow)
+					&& Fingerprinter.sameValues(testRow, other.testRow);
+		}
+	}
+
 }
@@ -31,6 +31,7 @@ public class Schema extends IdentifiableEntity {
 	private List<ForeignKeyConstraint> foreignKeyConstraints;
 	private List<NotNullConstraint> notNullConstraints;
 	private List<UniqueConstraint> uniqueConstraints;
+	private transient int modifications;
 
 	/**
 	 * Constructs the schema.
@@ -52,6 +53,24 @@ public class Schema extends IdentifiableEntity {
 		uniqueConstraints = new LinkedList<>();
 	}
 
+	/**
+	 * Returns a number that changes whenever a table or constraint is added to
+	 * or removed from the schema, or a column is added to or a table renamed
+	 * in one of its tables. Changes made through a constraint or expression
+	 * itself (for example, replacing the columns of a constraint) are not
+	 * counted, and should only be made to schemas, such as newly made mutants,
+	 * that have not yet been used.
+	 * 
+	 * @return the version of the schema.
+	 */
+	public int getVersion() {
+		int version = modifications;
+		for (Table table : tables) {
+			version += table.getVersion();
+		}
+		return version;
+	}
+
 	/**
 	 * Creates a table and adds it to the schema, returning the table created.
 	 * 
@@ -71,6 +90,7 @@ public class Schema extends IdentifiableEntity {
 	 *            The table to be added.
 	 */
 	public void addTable(Table table) {
+		modifications++;
 		boolean success = tables.add(table);
 		if (!success) {
 			throw new SQLRepresentationException("Table " + table
@@ -268,6 +288,7 @@ public class Schema extends IdentifiableEntity {
 	 *            the <tt>CHECK</tt> constraint to be added.
 	 */
 	public void addCheckConstraint(CheckConstraint constraint) {
+		modifications++;
 		Table table = constraint.getTable();
 		if (!tables.contains(table)) {
 			throw new SQLRepresentationException("No such table \"" + table
@@ -286,6 +307,7 @@ public class Schema extends IdentifiableEntity {
 	 *         and was successfully removed, else false.
 	 */
 	public boolean removeCheckConstraint(CheckConstraint constraint) {
+		modifications++;
 		return checkConstraints.remove(constraint);
 	}
 
@@ -408,6 +430,7 @@ public class Schema extends IdentifiableEntity {
 	 *            The <tt>FOREIGN KEY</tt> constraint to be added.
 	 */
 	public void addForeignKeyConstraint(ForeignKeyConstraint constraint) {
+		modifications++;
 		Table table = constraint.getTable();
 		if (!tables.contains(table)) {
 			throw new SQLRepresentationException("No such table \"" + table
@@ -428,6 +451,7 @@ public class Schema extends IdentifiableEntity {
 	 *         successfully, else false.
 	 */
 	public boolean removeForeignKeyConstraint(ForeignKeyConstraint constraint) {
+		modifications++;
 		return foreignKeyConstraints.remove(constraint);
 	}
 
@@ -494,6 +518,7 @@ public class Schema extends IdentifiableEntity {
 	 *            the <tt>NOT NULL</tt> constraint to add.
 	 */
 	public void addNotNullConstraint(NotNullConstraint constraint) {
+		modifications++;
 		Table table = constraint.getTable();
 		if (!tables.contains(table)) {
 			throw new SQLRepresentationException("No such table \"" + table
@@ -511,6 +536,7 @@ public class Schema extends IdentifiableEntity {
 	 *         was removed, else false.
 	 */
 	public boolean removeNotNullConstraint(NotNullConstraint constraint) {
+		modifications++;
 		return notNullConstraints.remove(constraint);
 	}
 
@@ -613,6 +639,7 @@ public class Schema extends IdentifiableEntity {
 	 *            The <tt>PRIMARY KEY</tt> for the table.
 	 */
 	public void setPrimaryKeyConstraint(PrimaryKeyConstraint constraint) {
+		modifications++;
 		Table table = constraint.getTable();
 		if (!tables.contains(table)) {
 			throw new SQLRepresentationException("No such table \"" + table
@@ -629,6 +656,7 @@ public class Schema extends IdentifiableEntity {
 	 *            The table whose <tt>PRIMARY KEY</tt> is to be removed.
 	 */
 	public void removePrimaryKeyConstraint(Table table) {
+		modifications++;
 		if (!tables.contains(table)) {
 			throw new SQLRepresentationException("No such table \"" + table
 					+ "\" in this schema for constraint");
@@ -774,6 +802,7 @@ public class Schema extends IdentifiableEntity {
 	 *            The <tt>UNIQUE</tt> constraint to be added.
 	 */
 	public void addUniqueConstraint(UniqueConstraint constraint) {
+		modifications++;
 		Table table = constraint.getTable();
 		if (!tables.contains(table)) {
 			throw new SQLRepresentationException("No such table \"" + table
@@ -792,6 +821,7 @@ public class Schema extends IdentifiableEntity {
 	 *         successfully removed, else false.
 	 */
 	public boolean removeUniqueConstraint(UniqueConstraint constraint) {
+		modifications++;
 		boolean found = false;
 		for (Iterator<UniqueConstraint> iter = uniqueConstraints.iterator(); iter
 				.hasNext();) {
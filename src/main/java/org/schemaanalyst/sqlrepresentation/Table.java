@@ -4,7 +4,10 @@ import org.schemaanalyst.sqlrepresentation.datatype.DataType;
 import org.schemaanalyst.util.collection.IdentifiableEntity;
 import org.schemaanalyst.util.collection.IdentifiableEntitySet;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a database table.
@@ -15,6 +18,9 @@ public class Table extends IdentifiableEntity {
 
 	private static final long serialVersionUID = 781185006248617033L;
 	private IdentifiableEntitySet<Column> columns;
+	private transient int modifications;
+	private transient volatile Map<Column, Integer> ordinals;
+	private transient int ordinalsVersion;
 
 	/**
 	 * Constructs a Table.
@@ -39,6 +45,7 @@ public class Table extends IdentifiableEntity {
 	 *            The name of the table.
 	 */
 	public void setName(String name) {
+		modifications++;
 		super.setName(name);
 		if (!getName().equals(name)) {
 			throw new SQLRepresentationException("Cannot rename table to \""
@@ -47,6 +54,16 @@ public class Table extends IdentifiableEntity {
 		}
 	}
 
+	/**
+	 * Returns a number that changes whenever the table is renamed or a column
+	 * is added to it.
+	 * 
+	 * @return the version of the table.
+	 */
+	public int getVersion() {
+		return modifications;
+	}
+
 	/**
 	 * Creates a column and adds it to the table
 	 * 
@@ -68,6 +85,7 @@ public class Table extends IdentifiableEntity {
 	 *            The column to be added.
 	 */
 	public void addColumn(Column column) {
+		modifications++;
 		if (!columns.add(column)) {
 			throw new SQLRepresentationException("Table \"" + getName()
 					+ "\" already has a column named \"" + column + "\"");
@@ -109,6 +127,44 @@ public class Table extends IdentifiableEntity {
 		return getColumn(columnName) != null;
 	}
 
+	/**
+	 * Returns the position of one of the table's columns in the order the
+	 * columns were created, so that it can be used to index arrays holding
+	 * something for each column. The column must be the table's own column
+	 * object, as columns are looked up by identity rather than by name.
+	 * 
+	 * @param column
+	 *            The column.
+	 * @return The ordinal of the column, or -1 if the column object is not
+	 *         one of the table's.
+	 */
+	public int getColumnOrdinal(Column column) {
+		Map<Column, Integer> ordinals = this.ordinals;
+		if (ordinals == null || ordinalsVersion != modifications) {
+			// the map is frozen for each version of the table, and replaced
+			// rather than changed when the table changes
+			Map<Column, Integer> map = new IdentityHashMap<>();
+			int ordinal = 0;
+			for (Column tableColumn : columns) {
+				map.put(tableColumn, ordinal++);
+			}
+			ordinals = Collections.unmodifiableMap(map);
+			ordinalsVersion = modifications;
+			this.ordinals = ordinals;
+		}
+		Integer ordinal = ordinals.get(column);
+		return (ordinal == null) ? -1 : ordinal;
+	}
+
+	/**
+	 * Returns the number of columns in the table.
+	 * 
+	 * @return The number of columns.
+	 */
+	public int getNumColumns() {
+		return columns.size();
+	}
+
 	/**
 	 * Retrieves the list of columns associated with this table, in the order
 	 * they were created.
@@ -0,0 +1,143 @@
+package org.schemaanalyst.sqlwriter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A cache of the statements an {@link SQLWriter} has written for a schema or
+ * table, so that statements that are written again and again for the same
+ * schema, such as the DELETE statements executed before each test case, are
+ * only built once.
+ * </p>
+ *
+ * <p>
+ * Statements are stored against the identity of the object they were written
+ * for (rather than its name, which mutants share with their original schema),
+ * its version, which changes whenever the object is modified, and the kind of
+ * statement. The least recently used entries are discarded once the cache
+ * holds more than its capacity. The numbers of hits and misses are counted, to
+ * show how effective the cache is.
+ * </p>
+ */
+public class SQLStatementCache {
+
+    /**
+     * The default maximum number of entries.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Map<Key, List<String>> statements;
+    private long hits, misses;
+
+    /**
+     * Constructs a cache with the default capacity.
+     */
+    public SQLStatementCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a cache.
+     *
+     * @param capacity The maximum number of entries
+     */
+    public SQLStatementCache(final int capacity) {
+        statements = new LinkedHashMap<Key, List<String>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<String>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the statements of a kind written for an object, counting a hit if
+     * they are cached or a miss if not.
+     *
+     * @param owner The schema or table the statements were written for
+     * @param version The version of the owner
+     * @param kind The kind of statements
+     * @return The statements, or null if they are not cached
+     */
+    public synchronized List<String> get(Object owner, int version, String kind) {
+        List<String> cached = statements.get(new Key(owner, version, kind));
+        if (cached == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return cached;
+    }
+
+    /**
+     * Stores the statements of a kind written for an object. The list should
+     * not be modified afterwards.
+     *
+     * @param owner The schema or table the statements were written for
+     * @param version The version of the owner
+     * @param kind The kind of statements
+     * @param cached The statements
+     */
+    public synchronized void put(Object owner, int version, String kind, List<String> cached) {
+        statements.put(new Key(owner, version, kind), cached);
+    }
+
+    /**
+     * Discards all the cached statements. The hit and miss counts are kept.
+     */
+    public synchronized void clear() {
+        statements.clear();
+    }
+
+    /**
+     * Returns the number of times statements were found in the cache.
+     *
+     * @return The number of hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of times statements were not found in the cache.
+     *
+     * @return The number of misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SQL statement cache: " + hits + " hits, " + misses + " misses";
+    }
+
+    private static class Key {
+
+        private final Object owner;
+        private final int version;
+        private final String kind;
+
+        Key(Object owner, int version, String kind) {
+            this.owner = owner;
+            this.version = version;
+            this.kind = kind;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(owner) * 31 + version) * 31 + kind.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return owner == other.owner && version == other.version && kind.equals(other.kind);
+        }
+    }
+}
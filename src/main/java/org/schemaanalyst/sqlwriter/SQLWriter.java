@@ -1,8 +1,8 @@
 package org.schemaanalyst.sqlwriter;
 
-import org.schemaanalyst.data.Cell;
 import org.schemaanalyst.data.Data;
 import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.Value;
 import org.schemaanalyst.sqlrepresentation.Column;
 import org.schemaanalyst.sqlrepresentation.Schema;
 import org.schemaanalyst.sqlrepresentation.Table;
@@ -11,6 +11,7 @@ import org.schemaanalyst.sqlrepresentation.constraint.*;
 import org.schemaanalyst.util.IndentableStringBuilder;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -24,6 +25,14 @@ import java.util.List;
  * classes are provided for specific DBMSs where it is necessary to format 
  * statements differently.
  * </p>
+ * 
+ * <p>
+ * The CREATE, DROP and DELETE statements for a schema, and the parameterised
+ * INSERT statement for a table, are kept in a {@link SQLStatementCache}, and
+ * only written again once the schema or table has changed. Subclasses that
+ * change how these statements are written after they have been used should
+ * call {@link #clearStatementCache()}.
+ * </p>
  */
 public class SQLWriter {
 
@@ -33,6 +42,10 @@ public class SQLWriter {
     protected CellSQLWriter cellSQLWriter;
     protected ValueSQLWriter valueSQLWriter;
 
+    private static final String CREATE = "CREATE", DELETE = "DELETE", DROP = "DROP",
+            DROP_IF_EXISTS = "DROP IF EXISTS", PARAMETERISED_INSERT = "PARAMETERISED INSERT";
+    private SQLStatementCache statementCache = new SQLStatementCache();
+
     public SQLWriter() {
         instanitateSubWriters();
         setupSubWriters();
@@ -53,6 +66,22 @@ public class SQLWriter {
         expressionSQLWriter.setValueSQLWriter(valueSQLWriter);
     }
 
+    /**
+     * Get the cache of statements written by this writer.
+     *
+     * @return The statement cache
+     */
+    public SQLStatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    /**
+     * Discard the statements cached by this writer.
+     */
+    protected void clearStatementCache() {
+        statementCache.clear();
+    }
+
     public List<String> writeComments(List<String> comments) {
         List<String> statements = new ArrayList<>();
 
@@ -68,13 +97,18 @@ public class SQLWriter {
     }
 
     public List<String> writeCreateTableStatements(Schema schema) {
-        List<String> statements = new ArrayList<>();
-
-        List<Table> tables = schema.getTablesInOrder();
-        for (Table table : tables) {
-            statements.add(writeCreateTableStatement(schema, table));
+        int version = schema.getVersion();
+        List<String> statements = statementCache.get(schema, version, CREATE);
+        if (statements == null) {
+            statements = new ArrayList<>();
+
+            List<Table> tables = schema.getTablesInOrder();
+            for (Table table : tables) {
+                statements.add(writeCreateTableStatement(schema, table));
+            }
+            statementCache.put(schema, version, CREATE, statements);
         }
-        return statements;
+        return new ArrayList<>(statements);
     }
 
     public String writeCreateTableStatement(Schema schema, Table table) {
@@ -175,14 +209,51 @@ public class SQLWriter {
         List<Column> columns = table.getColumns();
         List<String> valueStrings = new ArrayList<>();
 
-        for (Cell cell : row.getCells()) {
-            String string = cellSQLWriter.writeCell(cell);
+        for (Column column : columns) {
+            String string = cellSQLWriter.writeCell(row.getCell(column));
             valueStrings.add(string);
         }
 
         return writeInsertStatement(table, columns, valueStrings);
     }
 
+    /**
+     * Write an INSERT statement for all of the columns of a table, with a
+     * ? parameter in place of each value, for use as a prepared statement.
+     *
+     * @param table The table
+     * @return The parameterised INSERT statement
+     */
+    public String writeParameterisedInsertStatement(Table table) {
+        int version = table.getVersion();
+        List<String> statement = statementCache.get(table, version, PARAMETERISED_INSERT);
+        if (statement == null) {
+            List<Column> columns = table.getColumns();
+            List<String> parameters = new ArrayList<>();
+            for (int i = 0; i < columns.size(); i++) {
+                parameters.add("?");
+            }
+            statement = Collections.singletonList(writeInsertStatement(table, columns, parameters));
+            statementCache.put(table, version, PARAMETERISED_INSERT, statement);
+        }
+        return statement.get(0);
+    }
+
+    /**
+     * Get the values of a row, in the order of the parameters of the
+     * statement written by {@link #writeParameterisedInsertStatement(Table)}.
+     *
+     * @param row The row
+     * @return The values, some of which may be null
+     */
+    public List<Value> writeInsertParameters(Row row) {
+        List<Value> values = new ArrayList<>();
+        for (Column column : row.getTable().getColumns()) {
+            values.add(row.getCell(column).getValue());
+        }
+        return values;
+    }
+
     public List<String> writeInsertStatements(Schema schema, Data data) {
         List<String> statements = new ArrayList<>();
 
@@ -200,13 +271,18 @@ public class SQLWriter {
     }
 
     public List<String> writeDeleteFromTableStatements(Schema schema) {
-        List<String> statements = new ArrayList<>();
-
-        List<Table> tables = schema.getTablesInReverseOrder();
-        for (Table table : tables) {
-            statements.add(writeDeleteFromTableStatement(table));
+        int version = schema.getVersion();
+        List<String> statements = statementCache.get(schema, version, DELETE);
+        if (statements == null) {
+            statements = new ArrayList<>();
+
+            List<Table> tables = schema.getTablesInReverseOrder();
+            for (Table table : tables) {
+                statements.add(writeDeleteFromTableStatement(table));
+            }
+            statementCache.put(schema, version, DELETE, statements);
         }
-        return statements;
+        return new ArrayList<>(statements);
     }
 
     public String writeDeleteFromTableStatement(Table table) {
@@ -218,13 +294,19 @@ public class SQLWriter {
     }
 
     public List<String> writeDropTableStatements(Schema schema, boolean addIfExists) {
-        List<String> statements = new ArrayList<>();
-
-        List<Table> tables = schema.getTablesInReverseOrder();
-        for (Table table : tables) {
-            statements.add(writeDropTableStatement(table, addIfExists));
+        int version = schema.getVersion();
+        String kind = addIfExists ? DROP_IF_EXISTS : DROP;
+        List<String> statements = statementCache.get(schema, version, kind);
+        if (statements == null) {
+            statements = new ArrayList<>();
+
+            List<Table> tables = schema.getTablesInReverseOrder();
+            for (Table table : tables) {
+                statements.add(writeDropTableStatement(table, addIfExists));
+            }
+            statementCache.put(schema, version, kind, statements);
         }
-        return statements;
+        return new ArrayList<>(statements);
     }
 
 
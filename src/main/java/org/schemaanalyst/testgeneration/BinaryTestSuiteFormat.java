@@ -0,0 +1,79 @@
+package org.schemaanalyst.testgeneration;
+
+/**
+ * <p>
+ * Constants for the binary test suite format written by
+ * {@link BinaryTestSuiteWriter} and read by {@link BinaryTestSuiteReader}.
+ * All numbers are big-endian. The layout of a file is:
+ * </p>
+ *
+ * <pre>
+ * int      MAGIC
+ * int      VERSION
+ * int      schema name (dictionary index)
+ * int      generated INSERTs count, reduced INSERTs count
+ * int      number of test cases, n
+ * long     offset of the string dictionary
+ * long[n]  offset of each test case
+ * ...      test cases
+ * ...      string dictionary
+ * </pre>
+ *
+ * <p>
+ * A test case is its test requirement (descriptors, result and whether it
+ * requires a comparison row, but not its predicate), its DBMS results, and
+ * then its state and data. Each of the latter is written as a series of
+ * tables, identified by their position in the schema, with the values of
+ * each table's rows written column by column, in the column order of the
+ * schema. Each value is a tag byte followed by its content. Strings, and
+ * numbers that do not fit in a long, are written as indexes into the string
+ * dictionary, which is a count, an int offset for each entry relative to the
+ * start of the dictionary, and then each entry as a length and UTF-8 bytes.
+ * </p>
+ */
+final class BinaryTestSuiteFormat {
+
+    static final int MAGIC = 0x53415453; // "SATS"
+    static final int VERSION = 1;
+
+    // the offset of the test case offsets
+    static final int HEADER_LENGTH = 32;
+
+    // value tags
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte NUMERIC = 3;
+    static final byte STRING = 4;
+    static final byte DATE = 5;
+    static final byte DATE_TIME = 6;
+    static final byte TIME = 7;
+    static final byte TIMESTAMP = 8;
+
+    // number tags
+    static final byte LONG = 0;
+    static final byte DECIMAL = 1;
+
+    private BinaryTestSuiteFormat() {
+    }
+
+    static byte encodeBoolean(Boolean value) {
+        if (value == null) {
+            return NULL;
+        }
+        return value ? TRUE : FALSE;
+    }
+
+    static Boolean decodeBoolean(byte tag) {
+        switch (tag) {
+            case NULL:
+                return null;
+            case FALSE:
+                return false;
+            case TRUE:
+                return true;
+            default:
+                throw new TestGenerationException("Unknown boolean tag " + tag + " in binary test suite");
+        }
+    }
+}
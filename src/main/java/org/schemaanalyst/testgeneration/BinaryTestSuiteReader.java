@@ -0,0 +1,438 @@
+package org.schemaanalyst.testgeneration;
+
+import org.schemaanalyst.data.BooleanValue;
+import org.schemaanalyst.data.Cell;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.DateTimeValue;
+import org.schemaanalyst.data.DateValue;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.StringValue;
+import org.schemaanalyst.data.TimeValue;
+import org.schemaanalyst.data.TimestampValue;
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.data.ValueFactory;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirement;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementDescriptor;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementID;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.schemaanalyst.testgeneration.BinaryTestSuiteFormat.*;
+
+/**
+ * <p>
+ * Reads test suites written by a {@link BinaryTestSuiteWriter}. The file is
+ * memory-mapped, and each test case is only decoded when it is asked for, so
+ * the test cases can be streamed one at a time into an executor without
+ * holding the whole suite on the heap.
+ * </p>
+ *
+ * <p>
+ * Rows are created for the tables of the schema given to the reader, with
+ * the values of the DBMS's {@link ValueFactory}, so they have the bounds and
+ * maximum lengths of their columns. A value that does not fit its column's
+ * value (for example, a number out of its column's range) is given an
+ * unbounded value of its own instead.
+ * </p>
+ */
+public class BinaryTestSuiteReader implements Closeable, Iterable<TestCase> {
+
+    private File file;
+    private Schema schema;
+    private ValueFactory valueFactory;
+    private List<Table> tables;
+    private RandomAccessFile randomAccessFile;
+    private ByteBuffer buffer;
+    private int generatedInserts, reducedInsertsCount;
+    private long[] offsets;
+    private int dictionaryOffset;
+    private String[] dictionary;
+
+    /**
+     * Constructor, which maps the file and reads its header.
+     *
+     * @param file The file to read
+     * @param schema The schema the test suite was written for
+     * @param valueFactory The value factory of the DBMS
+     */
+    public BinaryTestSuiteReader(File file, Schema schema, ValueFactory valueFactory) {
+        this.file = file;
+        this.schema = schema;
+        this.valueFactory = valueFactory;
+        this.tables = schema.getTables();
+        try {
+            randomAccessFile = new RandomAccessFile(file, "r");
+            FileChannel channel = randomAccessFile.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new TestGenerationException("Binary test suite " + file + " is too large to map");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            closeQuietly();
+            throw new TestGenerationException("Could not open binary test suite " + file, e);
+        }
+
+        try {
+            readHeader();
+        } catch (RuntimeException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    private void readHeader() {
+        if (buffer.limit() < HEADER_LENGTH || buffer.getInt(0) != MAGIC) {
+            throw new TestGenerationException(file + " is not a binary test suite");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new TestGenerationException("Binary test suite " + file + " has version " + version
+                    + ", but only version " + VERSION + " can be read");
+        }
+        generatedInserts = buffer.getInt(12);
+        reducedInsertsCount = buffer.getInt(16);
+        offsets = new long[buffer.getInt(20)];
+        dictionaryOffset = (int) buffer.getLong(24);
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = buffer.getLong(HEADER_LENGTH + 8 * i);
+        }
+        dictionary = new String[buffer.getInt(dictionaryOffset)];
+
+        String schemaName = getString(buffer.getInt(8));
+        if (!schemaName.equals(schema.getName())) {
+            throw new TestGenerationException("Binary test suite " + file + " is for schema \"" + schemaName
+                    + "\", not \"" + schema.getName() + "\"");
+        }
+    }
+
+    /**
+     * Checks whether a file starts like a binary test suite.
+     *
+     * @param file The file
+     * @return True if the file is a binary test suite
+     */
+    public static boolean isBinaryTestSuite(File file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return file.length() >= HEADER_LENGTH && in.readInt() == MAGIC;
+        } catch (IOException e) {
+            throw new TestGenerationException("Could not read " + file, e);
+        }
+    }
+
+    /**
+     * Reads a whole test suite from a binary test suite file.
+     *
+     * @param file The file to read
+     * @param schema The schema the test suite was written for
+     * @param valueFactory The value factory of the DBMS
+     * @return The test suite
+     */
+    public static TestSuite read(File file, Schema schema, ValueFactory valueFactory) {
+        try (BinaryTestSuiteReader reader = new BinaryTestSuiteReader(file, schema, valueFactory)) {
+            return reader.readTestSuite();
+        }
+    }
+
+    /**
+     * Get the number of test cases in the test suite.
+     *
+     * @return The number of test cases
+     */
+    public int getNumTestCases() {
+        return offsets.length;
+    }
+
+    /**
+     * Reads all of the test cases into a test suite.
+     *
+     * @return The test suite
+     */
+    public TestSuite readTestSuite() {
+        TestSuite testSuite = new TestSuite();
+        for (TestCase testCase : this) {
+            testSuite.addTestCase(testCase);
+        }
+        testSuite.addGeneratedInserts(generatedInserts);
+        testSuite.addReducedInsertsCount(reducedInsertsCount);
+        return testSuite;
+    }
+
+    /**
+     * Returns an iterator that decodes each test case as it is reached.
+     *
+     * @return The iterator
+     */
+    @Override
+    public Iterator<TestCase> iterator() {
+        return new Iterator<TestCase>() {
+            int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < offsets.length;
+            }
+
+            @Override
+            public TestCase next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return readTestCase(next++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Reads a single test case.
+     *
+     * @param index The position of the test case in the test suite
+     * @return The test case
+     */
+    public TestCase readTestCase(int index) {
+        ByteBuffer in = buffer.duplicate();
+        in.position((int) offsets[index]);
+
+        TestRequirement testRequirement = null;
+        if (in.get() != 0) {
+            Boolean result = decodeBoolean(in.get());
+            boolean requiresComparisonRow = in.get() != 0;
+            int numDescriptors = in.getInt();
+            List<TestRequirementDescriptor> descriptors = new ArrayList<>();
+            for (int i = 0; i < numDescriptors; i++) {
+                int number = in.getInt();
+                String name = getString(in.getInt());
+                descriptors.add(new TestRequirementDescriptor(new TestRequirementID(number, name), getString(in.getInt())));
+            }
+            testRequirement = new TestRequirement(
+                    descriptors.isEmpty() ? null : descriptors.get(0), null, result, requiresComparisonRow);
+            if (descriptors.size() > 1) {
+                testRequirement.addDescriptors(descriptors.subList(1, descriptors.size()));
+            }
+        }
+
+        int numDBMSResults = in.getInt();
+        List<Boolean> dbmsResults = new ArrayList<>();
+        for (int i = 0; i < numDBMSResults; i++) {
+            dbmsResults.add(decodeBoolean(in.get()));
+        }
+
+        Data state = readData(in);
+        Data data = readData(in);
+        TestCase testCase = new TestCase(testRequirement, data, state);
+        testCase.setDBMSResults(dbmsResults);
+        return testCase;
+    }
+
+    private Data readData(ByteBuffer in) {
+        Data data = new Data();
+        int numTables = in.getInt();
+        for (int i = 0; i < numTables; i++) {
+            int tableIndex = in.getInt();
+            if (tableIndex < 0 || tableIndex >= tables.size()) {
+                throw new TestGenerationException("Binary test suite " + file + " refers to table " + tableIndex
+                        + ", but schema \"" + schema + "\" only has " + tables.size());
+            }
+            Table table = tables.get(tableIndex);
+            int numRows = in.getInt();
+
+            List<Row> rows = new ArrayList<>();
+            List<List<Cell>> cells = new ArrayList<>();
+            for (int j = 0; j < numRows; j++) {
+                Row row = new Row(table, valueFactory);
+                rows.add(row);
+                cells.add(row.getCells());
+            }
+
+            // the values are stored column by column
+            List<Column> columns = table.getColumns();
+            for (int column = 0; column < columns.size(); column++) {
+                for (List<Cell> rowCells : cells) {
+                    readValue(in, rowCells.get(column));
+                }
+            }
+
+            for (Row row : rows) {
+                data.addRow(table, row);
+            }
+        }
+        return data;
+    }
+
+    // sets the cell to the next value, reusing the cell's own value where it
+    // is of the same class
+    private void readValue(ByteBuffer in, Cell cell) {
+        Value value = cell.getValue();
+        byte tag = in.get();
+        switch (tag) {
+            case NULL:
+                cell.setNull(true);
+                break;
+            case FALSE:
+            case TRUE:
+                BooleanValue booleanValue = (value != null && value.getClass() == BooleanValue.class)
+                        ? (BooleanValue) value
+                        : new BooleanValue();
+                booleanValue.set(tag == TRUE);
+                cell.setValue(booleanValue);
+                break;
+            case NUMERIC:
+                cell.setValue(readNumber(in, (value != null && value.getClass() == NumericValue.class)
+                        ? (NumericValue) value
+                        : new NumericValue()));
+                break;
+            case TIMESTAMP:
+                cell.setValue(readNumber(in, (value != null && value.getClass() == TimestampValue.class)
+                        ? (TimestampValue) value
+                        : new TimestampValue()));
+                break;
+            case STRING:
+                cell.setValue(readString(in, (value != null && value.getClass() == StringValue.class)
+                        ? (StringValue) value
+                        : new StringValue()));
+                break;
+            case DATE:
+                DateValue dateValue = (value != null && value.getClass() == DateValue.class)
+                        ? (DateValue) value
+                        : new DateValue();
+                readNumbers(in, dateValue.getYear(), dateValue.getMonth(), dateValue.getDay());
+                cell.setValue(dateValue);
+                break;
+            case DATE_TIME:
+                DateTimeValue dateTimeValue = (value != null && value.getClass() == DateTimeValue.class)
+                        ? (DateTimeValue) value
+                        : new DateTimeValue();
+                readNumbers(in, dateTimeValue.getYear(), dateTimeValue.getMonth(), dateTimeValue.getDay(),
+                        dateTimeValue.getHour(), dateTimeValue.getMinute(), dateTimeValue.getSecond());
+                cell.setValue(dateTimeValue);
+                break;
+            case TIME:
+                TimeValue timeValue = (value != null && value.getClass() == TimeValue.class)
+                        ? (TimeValue) value
+                        : new TimeValue();
+                readNumbers(in, timeValue.getHour(), timeValue.getMinute(), timeValue.getSecond());
+                cell.setValue(timeValue);
+                break;
+            default:
+                throw new TestGenerationException("Unknown value tag " + tag + " in binary test suite " + file);
+        }
+    }
+
+    private NumericValue readNumber(ByteBuffer in, NumericValue value) {
+        BigDecimal number = readBigDecimal(in);
+        value.set(number);
+        if (!value.get().equals(number)) {
+            // the number was clamped to the bounds of the column's value
+            value = (value instanceof TimestampValue) ? new TimestampValue() : new NumericValue();
+            value.set(number);
+        }
+        return value;
+    }
+
+    private void readNumbers(ByteBuffer in, NumericValue... values) {
+        for (NumericValue value : values) {
+            value.set(readBigDecimal(in));
+        }
+    }
+
+    private BigDecimal readBigDecimal(ByteBuffer in) {
+        byte tag = in.get();
+        switch (tag) {
+            case LONG:
+                return BigDecimal.valueOf(in.getLong());
+            case DECIMAL:
+                return new BigDecimal(getString(in.getInt()));
+            default:
+                throw new TestGenerationException("Unknown number tag " + tag + " in binary test suite " + file);
+        }
+    }
+
+    private StringValue readString(ByteBuffer in, StringValue value) {
+        String string = getString(in.getInt());
+        setString(value, string);
+        if (!value.get().equals(string)) {
+            // the string was longer than the column's maximum length
+            value = new StringValue();
+            setString(value, string);
+        }
+        return value;
+    }
+
+    // sets the characters with the same ranges as the data generators use,
+    // where they allow the characters of the string
+    private static void setString(StringValue value, String string) {
+        boolean letters = true, lettersAndNumbers = true;
+        for (int i = 0; i < string.length(); i++) {
+            char character = string.charAt(i);
+            letters &= character >= StringValue.UPPER_A_CHAR && character <= StringValue.LOWER_Z_CHAR;
+            lettersAndNumbers &= character >= StringValue.UPPER_CHAR && character <= StringValue.LOWER_Z_CHAR;
+        }
+        if (letters) {
+            value.set(string);
+        } else if (lettersAndNumbers) {
+            value.setWithNumber(string);
+        } else {
+            value.clearCharacters();
+            for (int i = 0; i < string.length(); i++) {
+                value.addCharacter(new NumericValue(string.charAt(i)));
+            }
+        }
+    }
+
+    private String getString(int index) {
+        String string = dictionary[index];
+        if (string == null) {
+            int position = dictionaryOffset + buffer.getInt(dictionaryOffset + 4 + 4 * index);
+            byte[] bytes = new byte[buffer.getInt(position)];
+            ByteBuffer in = buffer.duplicate();
+            in.position(position + 4);
+            in.get(bytes);
+            string = new String(bytes, StandardCharsets.UTF_8);
+            dictionary[index] = string;
+        }
+        return string;
+    }
+
+    /**
+     * Closes the file. Test cases already read remain usable.
+     */
+    @Override
+    public void close() {
+        try {
+            randomAccessFile.close();
+        } catch (IOException e) {
+            throw new TestGenerationException("Could not close binary test suite " + file, e);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            if (randomAccessFile != null) {
+                randomAccessFile.close();
+            }
+        } catch (IOException e) {
+            // already failing
+        }
+    }
+}
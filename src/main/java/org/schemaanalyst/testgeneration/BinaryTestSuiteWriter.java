@@ -0,0 +1,241 @@
+package org.schemaanalyst.testgeneration;
+
+import org.schemaanalyst.data.BooleanValue;
+import org.schemaanalyst.data.Cell;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.DateTimeValue;
+import org.schemaanalyst.data.DateValue;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.StringValue;
+import org.schemaanalyst.data.TimeValue;
+import org.schemaanalyst.data.TimestampValue;
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirement;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementDescriptor;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.schemaanalyst.testgeneration.BinaryTestSuiteFormat.*;
+
+/**
+ * <p>
+ * Writes a {@link TestSuite} in a compact binary format, for reading back with
+ * a {@link BinaryTestSuiteReader}. Rows are stored by the position of their
+ * table and columns in the schema, and the values of each table are stored
+ * column by column, with strings kept once in a dictionary. See
+ * {@link BinaryTestSuiteFormat} for the layout.
+ * </p>
+ *
+ * <p>
+ * Test requirement predicates are not written, so test cases read back have
+ * requirements with the same descriptors and results, but no predicate.
+ * </p>
+ */
+public class BinaryTestSuiteWriter {
+
+    private Schema schema;
+    private List<Table> tables;
+    private Map<String, Integer> dictionary = new HashMap<>();
+    private List<String> dictionaryEntries = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param schema The schema of the test suites to be written
+     */
+    public BinaryTestSuiteWriter(Schema schema) {
+        this.schema = schema;
+        this.tables = schema.getTables();
+    }
+
+    /**
+     * Writes a test suite to a file.
+     *
+     * @param testSuite The test suite
+     * @param file The file to write
+     */
+    public void write(TestSuite testSuite, File file) {
+        dictionary.clear();
+        dictionaryEntries.clear();
+        int schemaName = index(schema.getName());
+
+        // write the test cases first, to find their offsets and fill the dictionary
+        List<TestCase> testCases = testSuite.getTestCases();
+        ByteArrayOutputStream testCaseBytes = new ByteArrayOutputStream();
+        DataOutputStream testCaseOut = new DataOutputStream(testCaseBytes);
+        long[] offsets = new long[testCases.size()];
+        long start = HEADER_LENGTH + 8L * testCases.size();
+        try {
+            for (int i = 0; i < testCases.size(); i++) {
+                offsets[i] = start + testCaseOut.size();
+                writeTestCase(testCases.get(i), testCaseOut);
+            }
+            testCaseOut.flush();
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(schemaName);
+                out.writeInt(testSuite.getGeneratedInserts());
+                out.writeInt(testSuite.getReducedInsertsCount());
+                out.writeInt(testCases.size());
+                out.writeLong(start + testCaseBytes.size());
+                for (long offset : offsets) {
+                    out.writeLong(offset);
+                }
+                testCaseBytes.writeTo(out);
+                writeDictionary(out);
+            }
+        } catch (IOException e) {
+            throw new TestGenerationException("Could not write binary test suite " + file, e);
+        }
+    }
+
+    private void writeTestCase(TestCase testCase, DataOutputStream out) throws IOException {
+        TestRequirement testRequirement = testCase.getTestRequirement();
+        if (testRequirement == null) {
+            out.writeBoolean(false);
+        } else {
+            out.writeBoolean(true);
+            out.writeByte(encodeBoolean(testRequirement.getResult()));
+            out.writeBoolean(testRequirement.getRequiresComparisonRow());
+            List<TestRequirementDescriptor> descriptors = testRequirement.getDescriptors();
+            out.writeInt(descriptors.size());
+            for (TestRequirementDescriptor descriptor : descriptors) {
+                out.writeInt(descriptor.getID().getNumber());
+                out.writeInt(index(descriptor.getID().getName()));
+                out.writeInt(index(descriptor.getMsg()));
+            }
+        }
+
+        List<Boolean> dbmsResults = testCase.getDBMSResults();
+        out.writeInt(dbmsResults.size());
+        for (Boolean dbmsResult : dbmsResults) {
+            out.writeByte(encodeBoolean(dbmsResult));
+        }
+
+        writeData(testCase.getState(), out);
+        writeData(testCase.getData(), out);
+    }
+
+    private void writeData(Data data, DataOutputStream out) throws IOException {
+        List<Table> dataTables = data.getTables();
+        out.writeInt(dataTables.size());
+        for (Table dataTable : dataTables) {
+            Table table = schema.getTable(dataTable.getName());
+            if (table == null) {
+                throw new TestGenerationException("Table \"" + dataTable + "\" is not in schema \"" + schema + "\"");
+            }
+            List<Row> rows = data.getRows(dataTable);
+            out.writeInt(tables.indexOf(table));
+            out.writeInt(rows.size());
+
+            // write the rows column by column
+            for (Column column : table.getColumns()) {
+                for (Row row : rows) {
+                    writeValue(getCell(row, column).getValue(), out);
+                }
+            }
+        }
+    }
+
+    // the rows of a deserialized test suite do not share the schema's columns,
+    // so the cells are found by name
+    private Cell getCell(Row row, Column column) {
+        for (Cell cell : row.getCells()) {
+            if (cell.getColumn().getName().equals(column.getName())) {
+                return cell;
+            }
+        }
+        throw new TestGenerationException("Row " + row + " has no value for column \"" + column + "\"");
+    }
+
+    private void writeValue(Value value, DataOutputStream out) throws IOException {
+        // subclasses are tested before their superclasses
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof BooleanValue) {
+            out.writeByte(((BooleanValue) value).get() ? TRUE : FALSE);
+        } else if (value instanceof StringValue) {
+            out.writeByte(STRING);
+            out.writeInt(index(((StringValue) value).get()));
+        } else if (value instanceof TimestampValue) {
+            out.writeByte(TIMESTAMP);
+            writeNumbers(out, (TimestampValue) value);
+        } else if (value instanceof NumericValue) {
+            out.writeByte(NUMERIC);
+            writeNumbers(out, (NumericValue) value);
+        } else if (value instanceof DateTimeValue) {
+            DateTimeValue dateTime = (DateTimeValue) value;
+            out.writeByte(DATE_TIME);
+            writeNumbers(out, dateTime.getYear(), dateTime.getMonth(), dateTime.getDay(),
+                    dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond());
+        } else if (value instanceof DateValue) {
+            DateValue date = (DateValue) value;
+            out.writeByte(DATE);
+            writeNumbers(out, date.getYear(), date.getMonth(), date.getDay());
+        } else if (value instanceof TimeValue) {
+            TimeValue time = (TimeValue) value;
+            out.writeByte(TIME);
+            writeNumbers(out, time.getHour(), time.getMinute(), time.getSecond());
+        } else {
+            throw new TestGenerationException("Cannot write value of " + value.getClass() + " to a binary test suite");
+        }
+    }
+
+    private void writeNumbers(DataOutputStream out, NumericValue... values) throws IOException {
+        for (NumericValue value : values) {
+            BigDecimal number = value.get();
+            if (number.scale() == 0 && number.unscaledValue().bitLength() < 64) {
+                out.writeByte(LONG);
+                out.writeLong(number.longValueExact());
+            } else {
+                out.writeByte(DECIMAL);
+                out.writeInt(index(number.toString()));
+            }
+        }
+    }
+
+    private int index(String string) {
+        Integer index = dictionary.get(string);
+        if (index == null) {
+            index = dictionaryEntries.size();
+            dictionary.put(string, index);
+            dictionaryEntries.add(string);
+        }
+        return index;
+    }
+
+    private void writeDictionary(DataOutputStream out) throws IOException {
+        List<byte[]> entries = new ArrayList<>();
+        for (String entry : dictionaryEntries) {
+            entries.add(entry.getBytes(StandardCharsets.UTF_8));
+        }
+
+        out.writeInt(entries.size());
+        int offset = 4 + 4 * entries.size();
+        for (byte[] entry : entries) {
+            out.writeInt(offset);
+            offset += 4 + entry.length;
+        }
+        for (byte[] entry : entries) {
+            out.writeInt(entry.length);
+            out.write(entry);
+        }
+    }
+}
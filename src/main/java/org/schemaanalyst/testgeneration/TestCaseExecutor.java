@@ -6,6 +6,7 @@ import org.schemaanalyst.data.Cell;
 import org.schemaanalyst.data.Data;
 import org.schemaanalyst.data.DateValue;
 import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.Value;
 import org.schemaanalyst.dbms.DBMS;
 import org.schemaanalyst.dbms.DatabaseInteractor;
 import org.schemaanalyst.sqlrepresentation.Schema;
@@ -24,6 +25,7 @@ public class TestCaseExecutor {
     private List<Table> tables;
     private DatabaseInteractor databaseInteractor;
     private SQLWriter sqlWriter;
+    private boolean preparedInserts = false;
 
     public TestCaseExecutor(Schema schema,
                             DBMS dbms,
@@ -36,6 +38,18 @@ public class TestCaseExecutor {
         sqlWriter = dbms.getSQLWriter();
     }
 
+    /**
+     * Sets whether rows are inserted with cached, parameterised prepared
+     * statements rather than with literal INSERT statements. When they are,
+     * the rows setting the database state for each table are inserted as a
+     * single batch.
+     *
+     * @param preparedInserts Whether to use prepared statements
+     */
+    public void setPreparedInserts(boolean preparedInserts) {
+        this.preparedInserts = preparedInserts;
+    }
+
     private void dropTablesIfExist() {
         List<String> dropTableStatements = sqlWriter.writeDropTableStatements(schema, true);
         for (String statement : dropTableStatements) {
@@ -94,12 +108,16 @@ public class TestCaseExecutor {
         for (Table table : tables) {
             if (stateTables.contains(table)) {
                 List<Row> rows = state.getRows(table);
-                for (Row row : rows) {
-                    String statement = sqlWriter.writeInsertStatement(row);
-                    Integer result = databaseInteractor.executeUpdate(statement);
-                    if (result != 1) {
-                        throw new TestCaseExecutionException(
-                                "INSERT statement for setting database state \"" + statement + "\" should affect exactly one row, was " + result);
+                if (preparedInserts) {
+                    insertStateRowsAsBatch(table, rows);
+                } else {
+                    for (Row row : rows) {
+                        String statement = sqlWriter.writeInsertStatement(row);
+                        Integer result = databaseInteractor.executeUpdate(statement);
+                        if (result != 1) {
+                            throw new TestCaseExecutionException(
+                                    "INSERT statement for setting database state \"" + statement + "\" should affect exactly one row, was " + result);
+                        }
                     }
                 }
             }
@@ -113,9 +131,17 @@ public class TestCaseExecutor {
         for (Table table : tables) {
             if (dataTables.contains(table)) {
                 List<Row> rows = data.getRows(table);
+                String preparedStatement = preparedInserts ? sqlWriter.writeParameterisedInsertStatement(table) : null;
                 for (Row row : rows) {
-                    String statement = sqlWriter.writeInsertStatement(row);
-                    Integer result = databaseInteractor.executeUpdate(statement);
+                    String statement;
+                    Integer result;
+                    if (preparedInserts) {
+                        statement = preparedStatement;
+                        result = databaseInteractor.executePreparedUpdate(statement, sqlWriter.writeInsertParameters(row));
+                    } else {
+                        statement = sqlWriter.writeInsertStatement(row);
+                        result = databaseInteractor.executeUpdate(statement);
+                    }
                     if (result < 0) {
                         throw new TestCaseExecutionException(
                                 "Could not execute INSERT statement \"" + statement + "\" while executing test case - result was " + result);
@@ -128,4 +154,22 @@ public class TestCaseExecutor {
 
         testCase.setDBMSResults(results);
     }
+
+    private void insertStateRowsAsBatch(Table table, List<Row> rows) {
+        String statement = sqlWriter.writeParameterisedInsertStatement(table);
+        List<List<Value>> parameters = new ArrayList<>();
+        for (Row row : rows) {
+            parameters.add(sqlWriter.writeInsertParameters(row));
+        }
+
+        // a failure stops the test case, so it does not matter if the rest
+        // of the batch is not attempted after one row fails
+        int[] results = databaseInteractor.executePreparedUpdatesAsBatch(statement, parameters);
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != 1) {
+                throw new TestCaseExecutionException(
+                        "INSERT statement for setting database state \"" + sqlWriter.writeInsertStatement(rows.get(i)) + "\" should affect exactly one row, was " + results[i]);
+            }
+        }
+    }
 }
@@ -5,7 +5,13 @@ package org.schemaanalyst.testgeneration;
  */
 public class TestGenerationException extends RuntimeException {
 
+    private static final long serialVersionUID = -4503861337895366698L;
+
     public TestGenerationException(String message) {
         super(message);
     }
+
+    public TestGenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
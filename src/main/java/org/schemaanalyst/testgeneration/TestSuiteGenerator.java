@@ -6,6 +6,7 @@ import org.schemaanalyst.data.StringValue;
 import org.schemaanalyst.data.ValueFactory;
 import org.schemaanalyst.data.generation.DataGenerationReport;
 import org.schemaanalyst.data.generation.DataGenerator;
+import org.schemaanalyst.data.generation.DataGeneratorProvider;
 import org.schemaanalyst.sqlrepresentation.Column;
 import org.schemaanalyst.sqlrepresentation.Schema;
 import org.schemaanalyst.sqlrepresentation.Table;
@@ -27,6 +28,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 /**
@@ -53,6 +59,11 @@ public class TestSuiteGenerator {
 	// reduction
 	private boolean fullreduce = false;
 
+	// parallel test case generation
+	private DataGeneratorProvider dataGeneratorProvider;
+	private long parallelRandomSeed;
+	private int parallelThreads = 0;
+
 
 	public TestSuiteGenerator(Schema schema, TestRequirements testRequirements, ValueFactory valueFactory,
 			DataGenerator dataGenerator) {
@@ -90,6 +101,27 @@ public class TestSuiteGenerator {
 		initialTableData = new HashMap<>();
 	}
 
+	/**
+	 * Generates the test cases for the test requirements in parallel rather
+	 * than one after another. The initial table data is still generated
+	 * using the data generator passed to the constructor, but each test
+	 * requirement is given its own data generator, seeded from the random
+	 * seed and the position of the test requirement. The test suite
+	 * generated is therefore the same for any number of threads (although
+	 * not the same as the one generated sequentially).
+	 * @param dataGeneratorProvider The provider of per-requirement data generators.
+	 * @param randomSeed The random seed from which requirement seeds are derived.
+	 * @param threads The number of threads to use.
+	 */
+	public void setParallel(DataGeneratorProvider dataGeneratorProvider, long randomSeed, int threads) {
+		if (threads < 1) {
+			throw new TestGenerationException("The number of threads should be 1 or greater, not " + threads);
+		}
+		this.dataGeneratorProvider = dataGeneratorProvider;
+		this.parallelRandomSeed = randomSeed;
+		this.parallelThreads = threads;
+	}
+
 	public TestSuite generate() {
 		LOGGER.fine("Generating test suite for " + schema);
 
@@ -184,57 +216,133 @@ public class TestSuiteGenerator {
 	}
 
 	protected void generateTestCases() {
-		int noneRemovedInsertsCount = 0;
-		int reducedInsertsCount = 0;
+		if (parallelThreads > 0) {
+			generateTestCasesInParallel();
+			return;
+		}
+
 		for (TestRequirement testRequirement : testRequirements.getTestRequirements()) {
+			DataGenerationResult result = generateTestCase(testRequirement, dataGenerator);
+			addTestCase(testRequirement, result);
+		}
+	}
 
-			Predicate predicate = testRequirement.getPredicate();
-			Table table = getTestRequirementTable(testRequirement);
+	/**
+	 * Generates the test cases for all test requirements at the same time,
+	 * using a fixed pool of threads. Each test requirement is given its own
+	 * data generator, seeded with a seed derived from the random seed and
+	 * the position of the test requirement, so the test suite does not
+	 * depend on the number of threads or the order in which they finish.
+	 */
+	protected void generateTestCasesInParallel() {
+		List<TestRequirement> requirements = testRequirements.getTestRequirements();
+		List<Future<DataGenerationResult>> futures = new ArrayList<>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(parallelThreads);
+		try {
+			for (int i = 0; i < requirements.size(); i++) {
+				final TestRequirement testRequirement = requirements.get(i);
+				final long requirementSeed = deriveSeed(parallelRandomSeed, i);
+
+				futures.add(executor.submit(new Callable<DataGenerationResult>() {
+					@Override
+					public DataGenerationResult call() {
+						DataGenerator requirementDataGenerator = dataGeneratorProvider.instantiate(requirementSeed);
+						return generateTestCase(testRequirement, requirementDataGenerator);
+					}
+				}));
+			}
 
-			LOGGER.fine("\nGENERATING TEST CASE");
-			for (TestRequirementDescriptor testRequirementDescriptor : testRequirement.getDescriptors()) {
-				LOGGER.fine(testRequirementDescriptor.toString());
+			// test cases are added in the order of the test requirements
+			for (int i = 0; i < requirements.size(); i++) {
+				addTestCase(requirements.get(i), futures.get(i).get());
 			}
-			LOGGER.fine("--- Predicate is " + predicate);
+		} catch (InterruptedException | ExecutionException e) {
+			throw new TestGenerationException("Parallel test case generation failed: " + e.getMessage(), e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 
-			Data state = new Data();
-			Data data = new Data();
-			predicate = addAdditionalRows(state, data, predicate, table, testRequirement.getRequiresComparisonRow());
+	/**
+	 * Derives the random seed for the test requirement at an index from a
+	 * random seed, by scrambling the two with the SplitMix64 finaliser.
+	 */
+	protected static long deriveSeed(long randomSeed, int index) {
+		long z = randomSeed + (index + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
 
-			if (predicate != null) {
-				data.addRow(table, valueFactory);
+	/**
+	 * Generates the data for a single test requirement. This method only
+	 * reads the state of the test suite generator, and so can be called for
+	 * different test requirements at the same time, as long as each call
+	 * uses a different data generator.
+	 * @return The result, or null if the rows required could not be added.
+	 */
+	protected DataGenerationResult generateTestCase(TestRequirement testRequirement, DataGenerator dataGenerator) {
+		Predicate predicate = testRequirement.getPredicate();
+		Table table = getTestRequirementTable(testRequirement);
+
+		LOGGER.fine("\nGENERATING TEST CASE");
+		for (TestRequirementDescriptor testRequirementDescriptor : testRequirement.getDescriptors()) {
+			LOGGER.fine(testRequirementDescriptor.toString());
+		}
+		LOGGER.fine("--- Predicate is " + predicate);
 
-				LOGGER.fine("--- Pre-reduced predicate is " + predicate);
-				predicate = predicate.reduce();
-				LOGGER.fine("--- Reduced predicate is " + predicate);
+		Data state = new Data();
+		Data data = new Data();
+		predicate = addAdditionalRows(state, data, predicate, table, testRequirement.getRequiresComparisonRow());
 
-				DataGenerationReport dataGenerationReport = dataGenerator.generateData(data, state, predicate);
-				if (dataGenerationReport.isSuccess()) {
-					noneRemovedInsertsCount = noneRemovedInsertsCount + data.getNumRows() + state.getNumRows();
-					testSuite.addGeneratedInserts(noneRemovedInsertsCount);
-					if (fullreduce) {
-						ReduecTestCase reduction = new ReduecTestCase();
-						reduction.reduceData(data, state, schema);
-						reducedInsertsCount = reducedInsertsCount + data.getNumRows() + state.getNumRows();
-					}
-					TestCase testCase = new TestCase(testRequirement, data, state);
-					testSuite.addTestCase(testCase);
-					testSuite.addReducedInsertsCount(reducedInsertsCount);
-					noneRemovedInsertsCount = 0;
-					reducedInsertsCount = 0;
-					LOGGER.fine(
-							"--- SUCCESS, generated in " + dataGenerationReport.getNumEvaluations() + " evaluations");
-					LOGGER.fine("--- Data is \n" + data);
-				} else {
-					LOGGER.fine("--- FAILED");
-				}
+		if (predicate == null) {
+			return null;
+		}
 
-				testSuiteGenerationReport.addTestRequirementResult(testRequirement,
-						new DataGenerationResult(data, state, dataGenerationReport));
-			} else {
-				testSuiteGenerationReport.addTestRequirementResult(testRequirement, null);
+		data.addRow(table, valueFactory);
+
+		LOGGER.fine("--- Pre-reduced predicate is " + predicate);
+		predicate = predicate.reduce();
+		LOGGER.fine("--- Reduced predicate is " + predicate);
+
+		DataGenerationReport dataGenerationReport = dataGenerator.generateData(data, state, predicate);
+		return new DataGenerationResult(data, state, dataGenerationReport);
+	}
+
+	/**
+	 * Adds the result of generating data for a test requirement to the test
+	 * suite and to the report.
+	 */
+	protected void addTestCase(TestRequirement testRequirement, DataGenerationResult result) {
+		if (result == null) {
+			testSuiteGenerationReport.addTestRequirementResult(testRequirement, null);
+			return;
+		}
+
+		Data data = result.getData();
+		Data state = result.getState();
+		DataGenerationReport dataGenerationReport = result.getReport();
+
+		if (dataGenerationReport.isSuccess()) {
+			testSuite.addGeneratedInserts(data.getNumRows() + state.getNumRows());
+			int reducedInsertsCount = 0;
+			if (fullreduce) {
+				ReduecTestCase reduction = new ReduecTestCase();
+				reduction.reduceData(data, state, schema);
+				reducedInsertsCount = data.getNumRows() + state.getNumRows();
 			}
+			TestCase testCase = new TestCase(testRequirement, data, state);
+			testSuite.addTestCase(testCase);
+			testSuite.addReducedInsertsCount(reducedInsertsCount);
+			LOGGER.fine(
+					"--- SUCCESS, generated in " + dataGenerationReport.getNumEvaluations() + " evaluations");
+			LOGGER.fine("--- Data is \n" + data);
+		} else {
+			LOGGER.fine("--- FAILED");
 		}
+
+		testSuiteGenerationReport.addTestRequirementResult(testRequirement, result);
 	}
 
 	protected Table getTestRequirementTable(TestRequirement testRequirement) {
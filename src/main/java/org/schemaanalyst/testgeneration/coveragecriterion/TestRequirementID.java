@@ -17,6 +17,14 @@ public class TestRequirementID implements Comparable<TestRequirementID>, Seriali
         this.name = name;
     }
 
+    public int getNumber() {
+        return number;
+    }
+
+    public String getName() {
+        return name;
+    }
+
     @Override
     public int compareTo(TestRequirementID other) {
         int nameCompare = name.compareTo(other.name);
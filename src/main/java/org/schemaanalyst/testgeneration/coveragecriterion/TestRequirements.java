@@ -14,26 +14,40 @@ public class TestRequirements {
 
     private List<TestRequirement> testRequirements;
 
+    // requirements are sorted when they are next needed, rather than each time one is added
+    private boolean sorted = true;
+
     public TestRequirements() {
         this.testRequirements = new ArrayList<>();
     }
 
     public List<TestRequirement> getTestRequirements() {
+        sort();
         return new ArrayList<>(testRequirements);
     }
 
     public void addTestRequirements(TestRequirements testRequirements) {
+        sort();
         this.testRequirements.addAll(testRequirements.getTestRequirements());
     }
 
     public void addTestRequirement(TestRequirement testRequirement) {
         testRequirements.add(testRequirement);
 
-        // updated the list, now sort it
-        Collections.sort(testRequirements);
+        // updated the list, so it needs sorting
+        sorted = false;
+    }
+
+    private void sort() {
+        if (!sorted) {
+            // the sort is stable, so this is the same order as sorting after each addition
+            Collections.sort(testRequirements);
+            sorted = true;
+        }
     }
 
     public void reduce() {
+        sort();
         Map<Predicate, Set<TestRequirement>> reducedSet = new HashMap<>();
 
         for (TestRequirement testRequirement : testRequirements) {
@@ -81,6 +95,7 @@ public class TestRequirements {
     }
 
     public void filterInfeasible() {
+        sort();
         List<TestRequirement> filteredList = new ArrayList<>();
 
         for (TestRequirement testRequirement : testRequirements) {
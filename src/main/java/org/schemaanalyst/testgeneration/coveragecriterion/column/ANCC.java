@@ -13,7 +13,7 @@ import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementIDGener
 import org.schemaanalyst.testgeneration.coveragecriterion.integrityconstraint.ConstraintSupplier;
 import org.schemaanalyst.testgeneration.coveragecriterion.integrityconstraint.PredicateGenerator;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.ComposedPredicate;
-import org.schemaanalyst.testgeneration.coveragecriterion.predicate.NullPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.PredicateFactory;
 
 import java.util.HashMap;
 import java.util.List;
@@ -79,7 +79,7 @@ public class ANCC extends NCC {
         } else {
             // remove clashing constraint to prevent an infeasible requirement
             topLevelPredicate = PredicateGenerator.generatePredicate(constraints, clashingConstraint);
-            topLevelPredicate.addPredicate(new NullPredicate(table, column, truthValue));
+            topLevelPredicate.addPredicate(PredicateFactory.nullPredicate(table, column, truthValue));
         }
 
         boolean result = !truthValue || clashingConstraint == null;
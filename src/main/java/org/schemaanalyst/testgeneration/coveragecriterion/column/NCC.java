@@ -6,7 +6,7 @@ import org.schemaanalyst.sqlrepresentation.Table;
 import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirement;
 import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementDescriptor;
 import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementIDGenerator;
-import org.schemaanalyst.testgeneration.coveragecriterion.predicate.NullPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.PredicateFactory;
 
 /**
  * Created by phil on 18/08/2014.
@@ -28,7 +28,7 @@ public class NCC extends ColumnCriterion {
                                 testRequirementIDGenerator.nextID(),
                                 column + " is " + ((truthValue) ? "NULL" : "NOT NULL")
                         ),
-                        new NullPredicate(table, column, truthValue),
+                        PredicateFactory.nullPredicate(table, column, truthValue),
                         null,
                         false
                 )
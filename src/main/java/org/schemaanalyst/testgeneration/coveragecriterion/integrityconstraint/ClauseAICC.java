@@ -74,10 +74,10 @@ public class ClauseAICC extends CondAICC {
 
         for (Column majorColumn : columns) {
             AndPredicate predicate = new AndPredicate();
-            predicate.addPredicate(new NullPredicate(table, majorColumn, true));
+            predicate.addPredicate(PredicateFactory.nullPredicate(table, majorColumn, true));
             for (Column minorColumn : columns) {
                 if (!minorColumn.equals(majorColumn)) {
-                    predicate.addPredicate(new NullPredicate(table, minorColumn, false));
+                    predicate.addPredicate(PredicateFactory.nullPredicate(table, minorColumn, false));
                 }
             }
             String msgSuffix = " - " + majorColumn + " is NULL";
@@ -7,7 +7,7 @@ import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirement;
 import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementDescriptor;
 import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementIDGenerator;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.ComposedPredicate;
-import org.schemaanalyst.testgeneration.coveragecriterion.predicate.NullPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.PredicateFactory;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
 
 import static org.schemaanalyst.testgeneration.coveragecriterion.integrityconstraint.PredicateGenerator.*;
@@ -118,14 +118,14 @@ public class CondAICC extends AICC {
             generateTestRequirement(
                     constraint,
                     " is CC=T",
-                    new NullPredicate(constraint.getTable(), constraint.getColumn(), false),
+                    PredicateFactory.nullPredicate(constraint.getTable(), constraint.getColumn(), false),
                     true);
         } else {
             // generate CC=F requirement
             generateTestRequirement(
                     constraint,
                     " is CC=F",
-                    new NullPredicate(constraint.getTable(), constraint.getColumn(), true),
+                    PredicateFactory.nullPredicate(constraint.getTable(), constraint.getColumn(), true),
                     false);
         }
     }
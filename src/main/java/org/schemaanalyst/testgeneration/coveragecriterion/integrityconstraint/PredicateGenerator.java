@@ -90,7 +90,7 @@ public class PredicateGenerator {
     }
 
     public static Predicate generateNotNullConstraintPredicate(NotNullConstraint notNullConstraint, boolean truthValue) {
-        return new NullPredicate(notNullConstraint.getTable(), notNullConstraint.getColumn(), !truthValue);
+        return PredicateFactory.nullPredicate(notNullConstraint.getTable(), notNullConstraint.getColumn(), !truthValue);
     }
 
     public static Predicate generatePrimaryKeyConstraintPredicate(PrimaryKeyConstraint primaryKeyConstraint, boolean truthValue) {
@@ -211,7 +211,7 @@ public class PredicateGenerator {
 
     public static ComposedPredicate addNullPredicates(ComposedPredicate composedPredicate, Table table, List<Column> columns, boolean truthValue) {
         for (Column column : columns) {
-            composedPredicate.addPredicate(new NullPredicate(table, column, truthValue));
+            composedPredicate.addPredicate(PredicateFactory.nullPredicate(table, column, truthValue));
         }
         return composedPredicate;
     }
@@ -220,8 +220,8 @@ public class PredicateGenerator {
     public static AndPredicate generateDummyInfeasiblePredicate(Table table) {
         Column col = table.getColumns().get(0);
         AndPredicate andPredicate = new AndPredicate();
-        andPredicate.addPredicate(new NullPredicate(table, col, true));
-        andPredicate.addPredicate(new NullPredicate(table, col, false));
+        andPredicate.addPredicate(PredicateFactory.nullPredicate(table, col, true));
+        andPredicate.addPredicate(PredicateFactory.nullPredicate(table, col, false));
         return andPredicate;
     }
 }
@@ -9,6 +9,10 @@ import java.util.List;
  */
 public class AndPredicate extends ComposedPredicate {
 
+    private static final long serialVersionUID = 6715389114297561278L;
+
+    private transient volatile Memo<Boolean> triviallyInfeasibleMemo;
+
     @Override
     public AndPredicate shallowDuplicate() {
         AndPredicate duplicate = new AndPredicate();
@@ -18,6 +22,16 @@ public class AndPredicate extends ComposedPredicate {
 
     @Override
     public boolean isTriviallyInfeasible() {
+        Boolean triviallyInfeasible = Memo.get(triviallyInfeasibleMemo);
+        if (triviallyInfeasible == null) {
+            long modificationCount = Memo.modificationCount();
+            triviallyInfeasible = checkTriviallyInfeasible();
+            triviallyInfeasibleMemo = new Memo<>(modificationCount, triviallyInfeasible);
+        }
+        return triviallyInfeasible;
+    }
+
+    private boolean checkTriviallyInfeasible() {
 
         // reduce the predicate first
         Predicate reducedPredicate = reduce();
@@ -70,7 +84,7 @@ public class AndPredicate extends ComposedPredicate {
 
     private boolean checkIfInverseNullPredicateExists(NullPredicate nullPredicate) {
         NullPredicate inverseNullPredicate =
-                new NullPredicate(
+                PredicateFactory.nullPredicate(
                         nullPredicate.getTable(),
                         nullPredicate.getColumn(),
                         !nullPredicate.getTruthValue());
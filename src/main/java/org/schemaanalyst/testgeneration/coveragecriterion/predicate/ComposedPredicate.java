@@ -3,19 +3,60 @@ package org.schemaanalyst.testgeneration.coveragecriterion.predicate;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Created by phil on 18/07/2014.
+ *
+ * The hash code and reduced form of a composed predicate are memoised, as
+ * test requirement generation and reduction work them out many times over for
+ * the same predicates. Since a change to any sub-predicate, however deeply
+ * nested, changes them, any change to any composed predicate invalidates all
+ * the memoised values. Reduced predicates are interned with the
+ * {@link PredicateFactory}, and so must not be modified.
  */
 public abstract class ComposedPredicate extends Predicate {
 
+    private static final long serialVersionUID = -7066613607612209044L;
+
+    /**
+     * Counts the changes made to any composed predicate.
+     */
+    private static final AtomicLong modifications = new AtomicLong();
+
     protected LinkedHashSet<Predicate> subPredicates;
 
+    private transient volatile Memo<Integer> hashCodeMemo;
+    private transient volatile Memo<Predicate> reduceMemo;
+
+    /**
+     * A value worked out for a predicate, which is valid until any composed
+     * predicate is changed after the modification count it was worked out at.
+     */
+    protected static class Memo<T> {
+        private final long modificationCount;
+        private final T value;
+
+        public Memo(long modificationCount, T value) {
+            this.modificationCount = modificationCount;
+            this.value = value;
+        }
+
+        public static long modificationCount() {
+            return modifications.get();
+        }
+
+        public static <T> T get(Memo<T> memo) {
+            return (memo != null && memo.modificationCount == modifications.get()) ? memo.value : null;
+        }
+    }
+
     public ComposedPredicate() {
         subPredicates = new LinkedHashSet<>();
     }
 
     public void addPredicate(Predicate subPredicate) {
+        modifications.incrementAndGet();
         subPredicates.add(subPredicate);
     }
 
@@ -24,6 +65,7 @@ public abstract class ComposedPredicate extends Predicate {
     }
     
     public boolean removeSubPredicate(Object object) {
+        modifications.incrementAndGet();
     	return subPredicates.remove(object);
     }
 
@@ -38,6 +80,16 @@ public abstract class ComposedPredicate extends Predicate {
     public abstract ComposedPredicate shallowDuplicate();
 
     public Predicate reduce() {
+        Predicate reduced = Memo.get(reduceMemo);
+        if (reduced == null) {
+            long modificationCount = Memo.modificationCount();
+            reduced = reduceSubPredicates();
+            reduceMemo = new Memo<>(modificationCount, reduced);
+        }
+        return reduced;
+    }
+
+    private Predicate reduceSubPredicates() {
 
         if (subPredicates.size() == 1) {
             return subPredicates.iterator().next();
@@ -56,7 +108,7 @@ public abstract class ComposedPredicate extends Predicate {
             }
         }
 
-        return duplicate;
+        return PredicateFactory.intern(duplicate);
     }
 
     @Override
@@ -82,8 +134,14 @@ public abstract class ComposedPredicate extends Predicate {
     @Override
     // This has been modified from the auto-generated version to return a different hashcode depending on the subclass
     public int hashCode() {
-        return (subPredicates != null)
-                ? this.getClass().getName().hashCode() * subPredicates.hashCode()
-                : 0;
+        Integer hashCode = Memo.get(hashCodeMemo);
+        if (hashCode == null) {
+            long modificationCount = Memo.modificationCount();
+            hashCode = (subPredicates != null)
+                    ? this.getClass().getName().hashCode() * subPredicates.hashCode()
+                    : 0;
+            hashCodeMemo = new Memo<>(modificationCount, hashCode);
+        }
+        return hashCode;
     }
 }
@@ -35,6 +35,10 @@ public class MatchPredicate extends Predicate {
     private boolean tableIsRefTable;
     private boolean colsAreRefCols;
 
+    // the hash code of a table is worked out from all its columns, so the hash code of the predicate
+    // is kept, with the versions of the tables it was worked out for in the upper 32 bits
+    private transient volatile long hashCodeMemo;
+
     public MatchPredicate(Table table, List<Column> equalCols, List<Column> notEqualCols, Mode mode) {
         this(table, equalCols, notEqualCols, table, equalCols, notEqualCols, mode);
     }
@@ -196,6 +200,17 @@ public class MatchPredicate extends Predicate {
     // This has been modified from the auto-generated version to ignore the mode field if there is
     // only one column
     public int hashCode() {
+        int version = table.getVersion() + refTable.getVersion();
+        long memo = hashCodeMemo;
+        if (memo != 0 && (int) (memo >>> 32) == version) {
+            return (int) memo;
+        }
+        int result = computeHashCode();
+        hashCodeMemo = ((long) version << 32) | (result & 0xFFFFFFFFL);
+        return result;
+    }
+
+    private int computeHashCode() {
         int result = table.hashCode();
         result = 31 * result + refTable.hashCode();
         result = 31 * result + matchingCols.hashCode();
@@ -12,6 +12,10 @@ public class NullPredicate extends Predicate {
     private Column column;
     private boolean truthValue;
 
+    // the hash code of a table is worked out from all its columns, so the hash code of the predicate
+    // is kept, with the version of the table it was worked out for in the upper 32 bits
+    private transient volatile long hashCodeMemo;
+
     public NullPredicate(Table table, Column column, boolean truthValue) {
         this.table = table;
         this.column = column;
@@ -58,6 +62,17 @@ public class NullPredicate extends Predicate {
     // This has been modified from the auto-generated version to return a more different hashcode
     // subcomponent for truthValue (previously it just added 1 if the truthValue was true)
     public int hashCode() {
+        int version = table.getVersion();
+        long memo = hashCodeMemo;
+        if (memo != 0 && (int) (memo >>> 32) == version) {
+            return (int) memo;
+        }
+        int result = computeHashCode();
+        hashCodeMemo = ((long) version << 32) | (result & 0xFFFFFFFFL);
+        return result;
+    }
+
+    private int computeHashCode() {
         int result = table.hashCode();
         result = 31 * result + column.hashCode();
         result = 31 * result * (truthValue ? 3 : 1);
@@ -0,0 +1,149 @@
+package org.schemaanalyst.testgeneration.coveragecriterion.predicate;
+
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A hash-consing factory for predicates. Equal predicates passed to
+ * {@link #intern(Predicate)} are replaced by a single canonical instance, so
+ * that the many identical sub-predicates generated for the test requirements
+ * of a schema share one object, whose hash code, reduced form and
+ * infeasibility are only worked out once, and which compare equal to each
+ * other by identity.
+ *
+ * {@link NullPredicate}s, of which there are the most, are made by
+ * {@link #nullPredicate(Table, Column, boolean)}, which looks them up by the
+ * identity of their table and column, without needing their hash code.
+ *
+ * Composed predicates are equal whatever the order of their sub-predicates,
+ * but the order matters to data generation and to the way requirements are
+ * printed, so a predicate is only replaced by a canonical instance with its
+ * sub-predicates in the same order. Canonical instances are shared, so they
+ * must not be modified. They are held weakly, and are discarded once nothing
+ * else refers to them.
+ */
+public class PredicateFactory {
+
+    private static final Map<Predicate, WeakReference<Predicate>> CANONICAL = new WeakHashMap<>();
+
+    private static final int NULL_PREDICATES_CAPACITY = 4096;
+
+    private static final Map<NullPredicateKey, NullPredicate> NULL_PREDICATES =
+            new LinkedHashMap<NullPredicateKey, NullPredicate>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<NullPredicateKey, NullPredicate> eldest) {
+                    return size() > NULL_PREDICATES_CAPACITY;
+                }
+            };
+
+    private PredicateFactory() {
+    }
+
+    /**
+     * Returns the canonical instance of a predicate, which is the predicate
+     * itself if no equal predicate has been interned.
+     *
+     * @param predicate The predicate
+     * @param <P> The type of the predicate
+     * @return The canonical instance equal to the predicate
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized <P extends Predicate> P intern(P predicate) {
+        WeakReference<Predicate> reference = CANONICAL.get(predicate);
+        Predicate canonical = (reference == null) ? null : reference.get();
+        if (canonical == null) {
+            CANONICAL.put(predicate, new WeakReference<Predicate>(predicate));
+            return predicate;
+        }
+        return sameOrder(predicate, canonical) ? (P) canonical : predicate;
+    }
+
+    private static boolean sameOrder(Predicate predicate, Predicate other) {
+        if (predicate == other) {
+            return true;
+        }
+        if (predicate instanceof ComposedPredicate) {
+            if (other.getClass() != predicate.getClass()) {
+                return false;
+            }
+            List<Predicate> subPredicates = ((ComposedPredicate) predicate).getSubPredicates();
+            List<Predicate> otherSubPredicates = ((ComposedPredicate) other).getSubPredicates();
+            if (subPredicates.size() != otherSubPredicates.size()) {
+                return false;
+            }
+            for (int i = 0; i < subPredicates.size(); i++) {
+                if (!sameOrder(subPredicates.get(i), otherSubPredicates.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return predicate.equals(other);
+    }
+
+    /**
+     * Returns the NullPredicate for a column, which is shared with any
+     * earlier call for the same table, column and truth value, unless the
+     * table has changed since.
+     *
+     * @param table The table of the column
+     * @param column The column
+     * @param truthValue Whether the column should be NULL
+     * @return The NullPredicate
+     */
+    public static synchronized NullPredicate nullPredicate(Table table, Column column, boolean truthValue) {
+        NullPredicateKey key = new NullPredicateKey(table, column, truthValue);
+        NullPredicate predicate = NULL_PREDICATES.get(key);
+        if (predicate == null) {
+            predicate = new NullPredicate(table, column, truthValue);
+            NULL_PREDICATES.put(key, predicate);
+        }
+        return predicate;
+    }
+
+    /**
+     * Returns the number of canonical instances held.
+     *
+     * @return The number of canonical instances
+     */
+    public static synchronized int size() {
+        return CANONICAL.size();
+    }
+
+    private static class NullPredicateKey {
+
+        private final Table table;
+        private final Column column;
+        private final boolean truthValue;
+        private final int tableVersion;
+
+        NullPredicateKey(Table table, Column column, boolean truthValue) {
+            this.table = table;
+            this.column = column;
+            this.truthValue = truthValue;
+            this.tableVersion = table.getVersion();
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(table) * 31 + System.identityHashCode(column)) * 31
+                    + tableVersion * 2 + (truthValue ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof NullPredicateKey)) {
+                return false;
+            }
+            NullPredicateKey other = (NullPredicateKey) obj;
+            return table == other.table && column == other.column
+                    && truthValue == other.truthValue && tableVersion == other.tableVersion;
+        }
+    }
+}
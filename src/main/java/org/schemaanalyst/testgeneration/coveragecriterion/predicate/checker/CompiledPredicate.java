@@ -0,0 +1,442 @@
+package org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker;
+
+import org.schemaanalyst.data.Cell;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.StringValue;
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.logic.RelationalOperator;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.expression.Expression;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * A predicate lowered into a flat program for checking single rows of one
+ * table as they are inserted, one after another, into a running state. The
+ * result of {@link #check(Row, IndexedState)} is the same as that of the
+ * {@link PredicateChecker} made by {@link PredicateCheckerFactory} for a
+ * {@link org.schemaanalyst.data.Data} object holding just the row, but the
+ * predicate tree is visited once, when it is compiled, rather than for every
+ * row.
+ * </p>
+ *
+ * <p>
+ * The program is held in arrays, in pre-order: each instruction records
+ * where its sub-tree ends, so that {@link AndPredicate} and
+ * {@link OrPredicate} instructions can short-circuit over their operands.
+ * Columns are resolved to their position in the table's rows, which is
+ * checked, rather than searched for, on every access. Checking a row
+ * allocates nothing, except for {@link ExpressionPredicate} instructions,
+ * which are still checked with an {@link ExpressionChecker}, and for
+ * equality-only {@link MatchPredicate} instructions, which look the row up
+ * in a {@link MatchIndex} of the state rather than comparing it with every
+ * row of the state.
+ * </p>
+ *
+ * <p>
+ * A compiled predicate keeps the indexes of the last state it checked a row
+ * against, and so is not safe for use by several threads at once.
+ * </p>
+ */
+public class CompiledPredicate {
+
+    private static final int FALSE = 0;
+    private static final int AND = 1;
+    private static final int OR = 2;
+    private static final int NULL = 3;
+    private static final int EXPRESSION = 4;
+    private static final int MATCH = 5;
+
+    private Table table;
+    private boolean allowNull;
+
+    // the program
+    private int[] opcodes;
+    private int[] ends;
+    private int[] operands;
+
+    // operands of NULL and EXPRESSION instructions
+    private int[] columnRefs;
+    private boolean[] truthValues;
+    private Expression[] expressions;
+
+    // operands of MATCH instructions
+    private Table[] referenceTables;
+    private int[][] matchingColumnRefs, matchingReferenceColumnRefs;
+    private int[][] nonMatchingColumnRefs, nonMatchingReferenceColumnRefs;
+    private boolean[] andModes;
+    private boolean[] includeRow;
+    private boolean[] indexable;
+    private List<List<Column>> indexedColumns, indexedReferenceColumns;
+
+    // the indexes of the last state checked against
+    private IndexedState indexedState;
+    private MatchIndex[] matchIndexes;
+
+    // resolved columns
+    private List<Column> columns;
+    private int[] slots;
+    private Column[] slotColumns;
+
+    private CompiledPredicate(Table table, boolean allowNull) {
+        this.table = table;
+        this.allowNull = allowNull;
+    }
+
+    /**
+     * Compiles a predicate for checking rows of a table.
+     *
+     * @param predicate The predicate
+     * @param table The table of the rows that will be checked
+     * @param allowNull Whether comparisons with NULL are satisfied
+     * @return The compiled predicate
+     */
+    public static CompiledPredicate compile(Predicate predicate, Table table, boolean allowNull) {
+        CompiledPredicate compiledPredicate = new CompiledPredicate(table, allowNull);
+        new Compiler(compiledPredicate).compile(predicate);
+        return compiledPredicate;
+    }
+
+    /**
+     * Get the table of the rows this predicate checks.
+     *
+     * @return The table
+     */
+    public Table getTable() {
+        return table;
+    }
+
+    /**
+     * Get the number of instructions in the program.
+     *
+     * @return The number of instructions
+     */
+    public int getNumInstructions() {
+        return opcodes.length;
+    }
+
+    /**
+     * Checks a row that is to be inserted into a running state.
+     *
+     * @param row The row
+     * @param state The rows already inserted
+     * @return Whether the predicate is satisfied by the row
+     */
+    public boolean check(Row row, IndexedState state) {
+        return execute(0, row, state);
+    }
+
+    private boolean execute(int pc, Row row, IndexedState state) {
+        int operand = operands[pc];
+        switch (opcodes[pc]) {
+            case AND:
+                for (int child = pc + 1; child < ends[pc]; child = ends[child]) {
+                    if (!execute(child, row, state)) {
+                        return false;
+                    }
+                }
+                return true;
+            case OR:
+                for (int child = pc + 1; child < ends[pc]; child = ends[child]) {
+                    if (execute(child, row, state)) {
+                        return true;
+                    }
+                }
+                return false;
+            case NULL:
+                return getCell(row, columnRefs[operand]).isNull() == truthValues[operand];
+            case EXPRESSION:
+                return new ExpressionChecker(expressions[operand], truthValues[operand], allowNull, row).check();
+            case MATCH:
+                return executeMatch(operand, row, state);
+            default:
+                return false;
+        }
+    }
+
+    private boolean executeMatch(int operand, Row row, IndexedState state) {
+        List<Row> stateRows = state.getRows(referenceTables[operand]);
+        int numStateRows = stateRows.size();
+        if (numStateRows == 0 && !includeRow[operand]) {
+            return true;
+        }
+
+        // the predicate fails only if every compare row fails
+        if (includeRow[operand] && matches(operand, row, row)) {
+            return true;
+        }
+        if (numStateRows == 0) {
+            return false;
+        }
+        if (indexable[operand]) {
+            Boolean compliant = getMatchIndex(operand, state).hasCompliantRow(
+                    row, indexedColumns.get(operand), matchingColumnRefs[operand].length > 0);
+            if (compliant != null) {
+                return compliant;
+            }
+        }
+        for (int i = 0; i < numStateRows; i++) {
+            if (matches(operand, row, stateRows.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MatchIndex getMatchIndex(int operand, IndexedState state) {
+        if (state != indexedState) {
+            indexedState = state;
+            matchIndexes = new MatchIndex[referenceTables.length];
+        }
+        MatchIndex matchIndex = matchIndexes[operand];
+        if (matchIndex == null) {
+            matchIndex = state.getIndex(referenceTables[operand], indexedReferenceColumns.get(operand));
+            matchIndexes[operand] = matchIndex;
+        }
+        return matchIndex;
+    }
+
+    private boolean matches(int operand, Row row, Row compareRow) {
+        boolean and = andModes[operand];
+        return checkColumns(row, compareRow, matchingColumnRefs[operand], matchingReferenceColumnRefs[operand],
+                            RelationalOperator.EQUALS, and)
+                && checkColumns(row, compareRow, nonMatchingColumnRefs[operand], nonMatchingReferenceColumnRefs[operand],
+                                RelationalOperator.NOT_EQUALS, and);
+    }
+
+    private boolean checkColumns(Row row, Row compareRow, int[] columnRefs, int[] referenceColumnRefs,
+                                 RelationalOperator op, boolean and) {
+        if (columnRefs.length == 0) {
+            return true;
+        }
+        for (int i = 0; i < columnRefs.length; i++) {
+            boolean satisfied = checkValues(
+                    getCell(row, columnRefs[i]).getValue(),
+                    op,
+                    getCell(compareRow, referenceColumnRefs[i]).getValue());
+            if (satisfied != and) {
+                return satisfied;
+            }
+        }
+        return and;
+    }
+
+    private boolean checkValues(Value lhs, RelationalOperator op, Value rhs) {
+        if (lhs == null || rhs == null) {
+            return allowNull;
+        }
+        if (lhs.getClass() == NumericValue.class && rhs.getClass() == NumericValue.class) {
+            boolean equal = ((NumericValue) lhs).get().equals(((NumericValue) rhs).get());
+            return (op == RelationalOperator.EQUALS) == equal;
+        }
+        if (lhs.getClass() == StringValue.class && rhs.getClass() == StringValue.class) {
+            boolean equal = stringsEqual((StringValue) lhs, (StringValue) rhs);
+            return (op == RelationalOperator.EQUALS) == equal;
+        }
+        return new RelationalChecker(lhs, op, rhs, allowNull).check();
+    }
+
+    private boolean stringsEqual(StringValue lhs, StringValue rhs) {
+        int length = lhs.getLength();
+        if (length != rhs.getLength()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!lhs.getCharacter(i).get().equals(rhs.getCharacter(i).get())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Cell getCell(Row row, int columnRef) {
+        int slot = slots[columnRef];
+        if (slot < row.getNumCells()) {
+            Cell cell = row.getCell(slot);
+            Column column = cell.getColumn();
+            if (column == slotColumns[columnRef]) {
+                return cell;
+            }
+            if (column.equals(columns.get(columnRef))) {
+                // rows of the same table share their column objects, so
+                // remember this one to compare by identity from now on
+                slotColumns[columnRef] = column;
+                return cell;
+            }
+        }
+        return row.getCell(columns.get(columnRef));
+    }
+
+    private static class Compiler implements PredicateVisitor {
+
+        private CompiledPredicate compiledPredicate;
+        private List<Integer> opcodes = new ArrayList<>();
+        private List<Integer> ends = new ArrayList<>();
+        private List<Integer> operands = new ArrayList<>();
+
+        private List<Integer> columnRefs = new ArrayList<>();
+        private List<Boolean> truthValues = new ArrayList<>();
+        private List<Expression> expressions = new ArrayList<>();
+
+        private List<Table> referenceTables = new ArrayList<>();
+        private List<int[]> matchingColumnRefs = new ArrayList<>();
+        private List<int[]> matchingReferenceColumnRefs = new ArrayList<>();
+        private List<int[]> nonMatchingColumnRefs = new ArrayList<>();
+        private List<int[]> nonMatchingReferenceColumnRefs = new ArrayList<>();
+        private List<Boolean> andModes = new ArrayList<>();
+        private List<Boolean> includeRow = new ArrayList<>();
+        private List<Boolean> indexable = new ArrayList<>();
+        private List<List<Column>> indexedColumns = new ArrayList<>();
+        private List<List<Column>> indexedReferenceColumns = new ArrayList<>();
+
+        private List<Column> columns = new ArrayList<>();
+        private List<Integer> slots = new ArrayList<>();
+
+        Compiler(CompiledPredicate compiledPredicate) {
+            this.compiledPredicate = compiledPredicate;
+        }
+
+        void compile(Predicate predicate) {
+            predicate.accept(this);
+
+            CompiledPredicate cp = compiledPredicate;
+            cp.opcodes = toIntArray(opcodes);
+            cp.ends = toIntArray(ends);
+            cp.operands = toIntArray(operands);
+            cp.columnRefs = toIntArray(columnRefs);
+            cp.truthValues = toBooleanArray(truthValues);
+            cp.expressions = expressions.toArray(new Expression[expressions.size()]);
+            cp.referenceTables = referenceTables.toArray(new Table[referenceTables.size()]);
+            cp.matchingColumnRefs = matchingColumnRefs.toArray(new int[matchingColumnRefs.size()][]);
+            cp.matchingReferenceColumnRefs = matchingReferenceColumnRefs.toArray(new int[matchingReferenceColumnRefs.size()][]);
+            cp.nonMatchingColumnRefs = nonMatchingColumnRefs.toArray(new int[nonMatchingColumnRefs.size()][]);
+            cp.nonMatchingReferenceColumnRefs = nonMatchingReferenceColumnRefs.toArray(new int[nonMatchingReferenceColumnRefs.size()][]);
+            cp.andModes = toBooleanArray(andModes);
+            cp.includeRow = toBooleanArray(includeRow);
+            cp.indexable = toBooleanArray(indexable);
+            cp.indexedColumns = indexedColumns;
+            cp.indexedReferenceColumns = indexedReferenceColumns;
+            cp.columns = Collections.unmodifiableList(columns);
+            cp.slots = toIntArray(slots);
+            cp.slotColumns = new Column[columns.size()];
+        }
+
+        private int emit(int opcode, int operand) {
+            int pc = opcodes.size();
+            opcodes.add(opcode);
+            ends.add(pc + 1);
+            operands.add(operand);
+            return pc;
+        }
+
+        private void visitComposed(ComposedPredicate predicate, int opcode) {
+            int pc = emit(opcode, 0);
+            for (Predicate subPredicate : predicate.getSubPredicates()) {
+                subPredicate.accept(this);
+            }
+            ends.set(pc, opcodes.size());
+        }
+
+        // Rows are only checked against predicates on their own table; any
+        // other predicate is not satisfied, as there are no rows to check it with.
+        private boolean appliesToTable(Table predicateTable) {
+            return predicateTable.equals(compiledPredicate.table);
+        }
+
+        @Override
+        public void visit(AndPredicate predicate) {
+            visitComposed(predicate, AND);
+        }
+
+        @Override
+        public void visit(OrPredicate predicate) {
+            visitComposed(predicate, OR);
+        }
+
+        @Override
+        public void visit(NullPredicate predicate) {
+            if (!appliesToTable(predicate.getTable())) {
+                emit(FALSE, 0);
+                return;
+            }
+            emit(NULL, truthValues.size());
+            columnRefs.add(columnRef(predicate.getTable(), predicate.getColumn()));
+            truthValues.add(predicate.getTruthValue());
+            expressions.add(null);
+        }
+
+        @Override
+        public void visit(ExpressionPredicate predicate) {
+            if (!appliesToTable(predicate.getTable())) {
+                emit(FALSE, 0);
+                return;
+            }
+            emit(EXPRESSION, truthValues.size());
+            columnRefs.add(-1);
+            truthValues.add(predicate.getTruthValue());
+            expressions.add(predicate.getExpression());
+        }
+
+        @Override
+        public void visit(MatchPredicate predicate) {
+            if (!appliesToTable(predicate.getTable())) {
+                emit(FALSE, 0);
+                return;
+            }
+            Table table = predicate.getTable();
+            Table referenceTable = predicate.getReferenceTable();
+
+            emit(MATCH, referenceTables.size());
+            referenceTables.add(referenceTable);
+            matchingColumnRefs.add(columnRefs(table, predicate.getMatchingColumns()));
+            matchingReferenceColumnRefs.add(columnRefs(referenceTable, predicate.getMatchingReferenceColumns()));
+            nonMatchingColumnRefs.add(columnRefs(table, predicate.getNonMatchingColumns()));
+            nonMatchingReferenceColumnRefs.add(columnRefs(referenceTable, predicate.getNonMatchingReferenceColumns()));
+            andModes.add(predicate.getMode().isAnd());
+            // a row is compared with itself only for a foreign key to the same table
+            includeRow.add(predicate.tableIsRefTable() && !predicate.colsAreRefCols());
+
+            indexable.add(MatchIndex.isIndexable(predicate, compiledPredicate.allowNull));
+            boolean match = predicate.getMatchingColumns().size() > 0;
+            indexedColumns.add(match ? predicate.getMatchingColumns() : predicate.getNonMatchingColumns());
+            indexedReferenceColumns.add(match ? predicate.getMatchingReferenceColumns() : predicate.getNonMatchingReferenceColumns());
+        }
+
+        private int[] columnRefs(Table table, List<Column> columns) {
+            int[] refs = new int[columns.size()];
+            for (int i = 0; i < refs.length; i++) {
+                refs[i] = columnRef(table, columns.get(i));
+            }
+            return refs;
+        }
+
+        private int columnRef(Table table, Column column) {
+            int slot = table.getColumns().indexOf(column);
+            columns.add(column);
+            slots.add(slot < 0 ? Integer.MAX_VALUE : slot);
+            return columns.size() - 1;
+        }
+
+        private static int[] toIntArray(List<Integer> list) {
+            int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i);
+            }
+            return array;
+        }
+
+        private static boolean[] toBooleanArray(List<Boolean> list) {
+            boolean[] array = new boolean[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i);
+            }
+            return array;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker;
+
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * The rows inserted into a database so far, for checking further rows with
+ * {@link CompiledPredicate}s. The {@link MatchIndex}es requested for each
+ * table are built from the rows already inserted, and then kept up to date
+ * as further rows are added, so that they never need to be rebuilt.
+ * </p>
+ *
+ * <p>
+ * Rows must not be modified once they have been added.
+ * </p>
+ */
+public class IndexedState {
+
+    private Map<Table, List<Row>> rows = new HashMap<>();
+    private Map<Table, Map<List<Column>, MatchIndex>> indexes = new HashMap<>();
+
+    /**
+     * Constructor, for an empty state.
+     */
+    public IndexedState() {
+    }
+
+    /**
+     * Constructor, for a state that starts with the rows of a data object.
+     *
+     * @param data The data
+     */
+    public IndexedState(Data data) {
+        for (Table table : data.getTables()) {
+            rows.put(table, data.getRows(table));
+        }
+    }
+
+    /**
+     * Returns the rows added for a table. The list must not be modified.
+     *
+     * @param table The table
+     * @return The rows for the table
+     */
+    public List<Row> getRows(Table table) {
+        List<Row> tableRows = rows.get(table);
+        return (tableRows == null) ? Collections.<Row>emptyList() : tableRows;
+    }
+
+    /**
+     * Adds a row for a table, updating the table's indexes.
+     *
+     * @param table The table
+     * @param row The row
+     */
+    public void addRow(Table table, Row row) {
+        List<Row> tableRows = rows.get(table);
+        if (tableRows == null) {
+            tableRows = new ArrayList<>();
+            rows.put(table, tableRows);
+        }
+        tableRows.add(row);
+
+        Map<List<Column>, MatchIndex> tableIndexes = indexes.get(table);
+        if (tableIndexes != null) {
+            for (MatchIndex index : tableIndexes.values()) {
+                index.add(row);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the rows of a table on some of its columns,
+     * building it if it has not been requested before.
+     *
+     * @param table The table
+     * @param columns The columns to index the rows on
+     * @return The index
+     */
+    public MatchIndex getIndex(Table table, List<Column> columns) {
+        Map<List<Column>, MatchIndex> tableIndexes = indexes.get(table);
+        if (tableIndexes == null) {
+            tableIndexes = new HashMap<>();
+            indexes.put(table, tableIndexes);
+        }
+        MatchIndex index = tableIndexes.get(columns);
+        if (index == null) {
+            index = new MatchIndex(columns);
+            for (Row row : getRows(table)) {
+                index.add(row);
+            }
+            tableIndexes.put(columns, index);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,214 @@
+package org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker;
+
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.StringValue;
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.MatchPredicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A hash index of compare rows, keyed on the values of a list of reference
+ * columns, for checking equality-only {@link MatchPredicate}s, such as those
+ * generated for PRIMARY KEY, UNIQUE and FOREIGN KEY constraints, without
+ * comparing a row with every compare row.
+ * </p>
+ *
+ * <p>
+ * Only numeric and string values are indexed, and then only while every
+ * indexed row has values of the same types. Rows with a NULL in a reference
+ * column are counted rather than indexed. Where the index cannot decide the
+ * result exactly as {@link MatchPredicateChecker} would, it says so, and the
+ * rows must be compared one by one.
+ * </p>
+ */
+public class MatchIndex {
+
+    private List<Column> referenceColumns;
+    private Map<Object, Integer> counts = new HashMap<>();
+    private Class<?>[] classes;
+    private int numIndexedRows = 0;
+    private int numNullRows = 0;
+    private boolean unusable = false;
+
+    /**
+     * Constructor.
+     *
+     * @param referenceColumns The columns of the compare rows to index
+     */
+    public MatchIndex(List<Column> referenceColumns) {
+        this.referenceColumns = new ArrayList<>(referenceColumns);
+    }
+
+    /**
+     * Indicates whether a match predicate can be checked with an index, that
+     * is, whether it only involves equalities or only non-equalities, and its
+     * mode makes each compare row either match all columns or not.
+     *
+     * @param matchPredicate The predicate
+     * @param allowNull Whether comparisons with NULL are satisfied
+     * @return True if an index can be used to check the predicate
+     */
+    public static boolean isIndexable(MatchPredicate matchPredicate, boolean allowNull) {
+        int numMatchingColumns = matchPredicate.getMatchingColumns().size();
+        int numNonMatchingColumns = matchPredicate.getNonMatchingColumns().size();
+        if (!allowNull || (numMatchingColumns > 0) == (numNonMatchingColumns > 0)) {
+            return false;
+        }
+        if (numMatchingColumns > 0) {
+            return matchPredicate.getMode().isAnd() || numMatchingColumns == 1;
+        } else {
+            return matchPredicate.getMode().isOr() || numNonMatchingColumns == 1;
+        }
+    }
+
+    /**
+     * Get the columns of the compare rows this index is keyed on.
+     *
+     * @return The reference columns
+     */
+    public List<Column> getReferenceColumns() {
+        return new ArrayList<>(referenceColumns);
+    }
+
+    /**
+     * Get the number of compare rows added to this index.
+     *
+     * @return The number of rows
+     */
+    public int getNumRows() {
+        return numIndexedRows + numNullRows;
+    }
+
+    /**
+     * Adds a compare row to the index.
+     *
+     * @param compareRow The row
+     */
+    public void add(Row compareRow) {
+        if (unusable) {
+            return;
+        }
+        Value[] values = getValues(compareRow, referenceColumns);
+        if (values == null) {
+            numNullRows++;
+            return;
+        }
+        if (!hasIndexedTypes(values)) {
+            // the types of the values must be the same for every indexed row, as
+            // values of different types are compared as strings by RelationalChecker
+            if (classes != null || !isIndexableType(values)) {
+                unusable = true;
+                return;
+            }
+            classes = new Class<?>[values.length];
+            for (int i = 0; i < values.length; i++) {
+                classes[i] = values[i].getClass();
+            }
+        }
+        Object key = getKey(values);
+        Integer count = counts.get(key);
+        counts.put(key, count == null ? 1 : count + 1);
+        numIndexedRows++;
+    }
+
+    /**
+     * Checks whether at least one compare row in the index complies with
+     * the given match predicate for a row, when NULL comparisons are allowed.
+     *
+     * @param row The row being checked
+     * @param columns The columns of the row, corresponding to the reference
+     *                columns of this index
+     * @param match True if the columns should all match (an equality-only
+     *              predicate), false if at least one should differ
+     * @return True or false if the index can decide, or null if the compare
+     * rows must be compared one by one
+     */
+    public Boolean hasCompliantRow(Row row, List<Column> columns, boolean match) {
+        if (unusable) {
+            return null;
+        }
+        Value[] values = getValues(row, columns);
+        if (values == null) {
+            // a NULL in the row satisfies any non-equality, but equality of
+            // the other columns can only be decided row by row
+            return match ? null : getNumRows() > 0;
+        }
+        int numMatchingRows = 0;
+        if (numIndexedRows > 0) {
+            if (!hasIndexedTypes(values)) {
+                return null;
+            }
+            Integer count = counts.get(getKey(values));
+            numMatchingRows = (count == null) ? 0 : count;
+        }
+        if (match) {
+            if (numMatchingRows > 0) {
+                return true;
+            }
+            return (numNullRows > 0) ? null : false;
+        } else {
+            // a NULL in a compare row satisfies the non-equality
+            return numIndexedRows - numMatchingRows > 0 || numNullRows > 0;
+        }
+    }
+
+    private boolean hasIndexedTypes(Value[] values) {
+        if (classes == null) {
+            return false;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].getClass() != classes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIndexableType(Value[] values) {
+        for (Value value : values) {
+            if (value.getClass() != NumericValue.class && value.getClass() != StringValue.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // returns null if any of the values is NULL
+    private static Value[] getValues(Row row, List<Column> columns) {
+        Value[] values = new Value[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = row.getCell(columns.get(i)).getValue();
+            if (values[i] == null) {
+                return null;
+            }
+        }
+        return values;
+    }
+
+    // keys are equal only when RelationalChecker finds every pair of values equal
+    private static Object getKey(Value[] values) {
+        if (values.length == 1) {
+            return getKey(values[0]);
+        }
+        Object[] key = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            key[i] = getKey(values[i]);
+        }
+        return Arrays.asList(key);
+    }
+
+    private static Object getKey(Value value) {
+        if (value instanceof NumericValue) {
+            return ((NumericValue) value).get();
+        }
+        return ((StringValue) value).get();
+    }
+}
@@ -14,6 +14,13 @@ import java.util.ListIterator;
 
 /**
  * Created by phil on 12/03/2014.
+ *
+ * <p>
+ * Where the predicate only involves equalities, or only non-equalities, the
+ * compare rows are put into a {@link MatchIndex}, so that the rows that do
+ * comply are found without being compared with every compare row. Rows that
+ * do not comply are still compared one by one, to record the cells involved.
+ * </p>
  */
 public class MatchPredicateChecker extends PredicateChecker {
 
@@ -67,6 +74,8 @@ public class MatchPredicateChecker extends PredicateChecker {
         List<Row> stateRows = getStateRows();
 
         if (rows.size() > 0) {
+            MatchIndex matchIndex = createMatchIndex(stateRows);
+            int numIndexedDataRows = 0;
             ListIterator<Row> rowsIterator = rows.listIterator();
 
             while (rowsIterator.hasNext()) {
@@ -77,6 +86,15 @@ public class MatchPredicateChecker extends PredicateChecker {
 
                 int numCompareRows = dataRows.size() + stateRows.size();
                 if (numCompareRows > 0) {
+                    if (matchIndex != null) {
+                        // the data rows compared with each row only ever grow
+                        while (numIndexedDataRows < dataRows.size()) {
+                            matchIndex.add(dataRows.get(numIndexedDataRows++));
+                        }
+                        if (Boolean.TRUE.equals(hasCompliantRow(matchIndex, row))) {
+                            continue;
+                        }
+                    }
                     checkRow(row, stateRows, dataRows);
                 }
             }
@@ -88,6 +106,30 @@ public class MatchPredicateChecker extends PredicateChecker {
         return false;
     }
 
+    private MatchIndex createMatchIndex(List<Row> stateRows) {
+        if (!MatchIndex.isIndexable(matchPredicate, allowNull)) {
+            return null;
+        }
+        MatchIndex matchIndex = new MatchIndex(isMatch()
+                ? matchPredicate.getMatchingReferenceColumns()
+                : matchPredicate.getNonMatchingReferenceColumns());
+        for (Row stateRow : stateRows) {
+            matchIndex.add(stateRow);
+        }
+        return matchIndex;
+    }
+
+    private Boolean hasCompliantRow(MatchIndex matchIndex, Row row) {
+        return matchIndex.hasCompliantRow(
+                row,
+                isMatch() ? matchPredicate.getMatchingColumns() : matchPredicate.getNonMatchingColumns(),
+                isMatch());
+    }
+
+    private boolean isMatch() {
+        return matchPredicate.getMatchingColumns().size() > 0;
+    }
+
     private void checkRow(Row row, List<Row> stateRows, List<Row> dataRows) {
 
         int numNonCompliantRows = 0;
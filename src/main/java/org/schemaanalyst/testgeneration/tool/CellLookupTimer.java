@@ -0,0 +1,175 @@
+package org.schemaanalyst.testgeneration.tool;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.schemaanalyst.data.Cell;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.ValueFactory;
+import org.schemaanalyst.dbms.DBMS;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlwriter.SQLWriter;
+import org.schemaanalyst.util.csv.CSVFileWriter;
+import org.schemaanalyst.util.csv.CSVResult;
+import org.schemaanalyst.util.runner.Parameter;
+import org.schemaanalyst.util.runner.RequiredParameters;
+import org.schemaanalyst.util.runner.Runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Compares the throughput of looking up the cells of a table's rows by
+ * column, as the objective functions and predicate checkers do, by searching
+ * each row's cells for an equal column ("scan", as rows used to) and by the
+ * column's ordinal in the table ("slots"). The throughput of writing INSERT
+ * statements for the rows ("insert"), which looks up every column of each row,
+ * is measured too. The widest table of the schema is used unless a table is
+ * named. Each technique is warmed up before it is measured, and one CSV row
+ * per technique is written to the results file.
+ * </p>
+ *
+ * <p>
+ * For example:
+ * <code>CellLookupTimer parsedcasestudy.iTrust SQLite</code>
+ * </p>
+ */
+@RequiredParameters("schema dbms")
+public class CellLookupTimer extends Runner {
+
+    @Parameter("The name of the schema to use.")
+    protected String schema;
+
+    @Parameter("The name of the DBMS whose values and SQL to use.")
+    protected String dbms;
+
+    @Parameter("The name of the table to use (the widest table if not given).")
+    protected String table;
+
+    @Parameter("The number of rows to look up cells in.")
+    protected int rows = 1000;
+
+    @Parameter("The number of unmeasured warm up runs for each technique.")
+    protected int warmups = 5;
+
+    @Parameter("The number of measured runs for each technique.")
+    protected int repetitions = 20;
+
+    @Parameter("The file to write the results to.")
+    protected String outputfile = "celllookuptimer.dat";
+
+    @Override
+    protected void task() {
+        Schema schemaObject = instantiateSchema();
+        DBMS dbmsObject = DBMSFactory.instantiate(dbms);
+        Table tableObject = getTable(schemaObject);
+        List<Column> columns = tableObject.getColumns();
+        ValueFactory valueFactory = dbmsObject.getValueFactory();
+        SQLWriter sqlWriter = dbmsObject.getSQLWriter();
+
+        List<Row> rowObjects = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            rowObjects.add(new Row(tableObject, valueFactory));
+        }
+        System.out.println(tableObject + ": " + columns.size() + " columns, " + rows + " rows");
+        CSVFileWriter writer = new CSVFileWriter(outputfile);
+
+        for (String technique : new String[]{"scan", "slots", "insert"}) {
+            for (int i = 0; i < warmups; i++) {
+                lookUp(technique, rowObjects, columns, sqlWriter);
+            }
+
+            StopWatch watch = new StopWatch();
+            watch.start();
+            long lookups = 0;
+            for (int i = 0; i < repetitions; i++) {
+                lookups += lookUp(technique, rowObjects, columns, sqlWriter);
+            }
+            watch.stop();
+
+            long time = Math.max(watch.getTime(), 1);
+            long lookupsPerSecond = (lookups * 1000L) / time;
+            System.out.println(technique + ": " + lookupsPerSecond + " lookups/s");
+
+            CSVResult result = new CSVResult();
+            result.addValue("schema", schemaObject.getName());
+            result.addValue("table", tableObject.getName());
+            result.addValue("columns", columns.size());
+            result.addValue("rows", rows);
+            result.addValue("technique", technique);
+            result.addValue("repetitions", repetitions);
+            result.addValue("lookups", lookups);
+            result.addValue("time", time);
+            result.addValue("lookupspersecond", lookupsPerSecond);
+            writer.write(result);
+        }
+    }
+
+    // returns the number of cells looked up, counting only those with values
+    // so that the lookups cannot be optimised away
+    private long lookUp(String technique, List<Row> rowObjects, List<Column> columns, SQLWriter sqlWriter) {
+        long lookups = 0;
+        for (Row row : rowObjects) {
+            if (technique.equals("insert")) {
+                if (sqlWriter.writeInsertStatement(row) != null) {
+                    lookups += columns.size();
+                }
+                continue;
+            }
+            for (Column column : columns) {
+                Cell cell = technique.equals("scan") ? scan(row, column) : row.getCell(column);
+                if (!cell.isNull()) {
+                    lookups++;
+                }
+            }
+        }
+        return lookups;
+    }
+
+    private Cell scan(Row row, Column column) {
+        for (Cell cell : row.getCells()) {
+            if (column.equals(cell.getColumn())) {
+                return cell;
+            }
+        }
+        throw new RuntimeException("Unknown column \"" + column + "\"");
+    }
+
+    private Table getTable(Schema schemaObject) {
+        if (table != null) {
+            Table tableObject = schemaObject.getTable(table);
+            if (tableObject == null) {
+                throw new RuntimeException("Schema \"" + schemaObject + "\" has no table \"" + table + "\"");
+            }
+            return tableObject;
+        }
+        Table widest = null;
+        for (Table tableObject : schemaObject.getTables()) {
+            if (widest == null || tableObject.getNumColumns() > widest.getNumColumns()) {
+                widest = tableObject;
+            }
+        }
+        return widest;
+    }
+
+    private Schema instantiateSchema() {
+        try {
+            return (Schema) Class.forName(schema).newInstance();
+        } catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    protected void validateParameters() {
+        check(rows > 0, "rows should be 1 or greater");
+        check(warmups >= 0, "warmups should be 0 or greater");
+        check(repetitions > 0, "repetitions should be 1 or greater");
+    }
+
+    public static void main(String... args) {
+        new CellLookupTimer().run(args);
+    }
+}
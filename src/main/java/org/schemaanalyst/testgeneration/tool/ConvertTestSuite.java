@@ -0,0 +1,130 @@
+package org.schemaanalyst.testgeneration.tool;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.List;
+import java.util.Objects;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.dbms.DBMS;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlwriter.SQLWriter;
+import org.schemaanalyst.testgeneration.BinaryTestSuiteReader;
+import org.schemaanalyst.testgeneration.BinaryTestSuiteWriter;
+import org.schemaanalyst.testgeneration.TestCase;
+import org.schemaanalyst.testgeneration.TestGenerationException;
+import org.schemaanalyst.testgeneration.TestSuite;
+import org.schemaanalyst.util.runner.Parameter;
+import org.schemaanalyst.util.runner.RequiredParameters;
+import org.schemaanalyst.util.runner.Runner;
+
+/**
+ * Converts a serialized {@link TestSuite} file into the binary format of
+ * {@link BinaryTestSuiteWriter}, and checks that the converted test suite
+ * reads back with the same INSERT statements and results.
+ */
+@RequiredParameters("schema input output")
+public class ConvertTestSuite extends Runner {
+
+    /**
+     * The name of the schema of the test suite.
+     */
+    @Parameter("The name of the schema of the test suite.")
+    protected String schema;
+    /**
+     * The serialized test suite file to convert.
+     */
+    @Parameter("The serialized test suite file to convert.")
+    protected String input;
+    /**
+     * The binary test suite file to write.
+     */
+    @Parameter("The binary test suite file to write.")
+    protected String output;
+    /**
+     * The name of the DBMS whose values the test suite was generated with.
+     */
+    @Parameter("The name of the DBMS whose values the test suite was generated with (the configured DBMS if not specified).")
+    protected String dbms;
+    /**
+     * Whether to check the converted test suite against the original.
+     */
+    @Parameter("Whether to check the converted test suite against the original.")
+    protected boolean verify = true;
+
+    @Override
+    protected void task() {
+        Schema schemaObject = instantiateSchema();
+        DBMS dbmsObject = DBMSFactory.instantiate(dbms == null ? databaseConfiguration.getDbms() : dbms);
+        TestSuite testSuite = readSerializedTestSuite();
+
+        File outputFile = new File(output);
+        new BinaryTestSuiteWriter(schemaObject).write(testSuite, outputFile);
+        System.out.println("Wrote " + testSuite.getTestCases().size() + " test cases to " + outputFile
+                + " (" + outputFile.length() + " bytes, from " + new File(input).length() + " bytes)");
+
+        if (verify) {
+            verify(schemaObject, dbmsObject, testSuite, outputFile);
+        }
+    }
+
+    private void verify(Schema schemaObject, DBMS dbmsObject, TestSuite testSuite, File outputFile) {
+        SQLWriter writer = dbmsObject.getSQLWriter();
+        List<TestCase> testCases = testSuite.getTestCases();
+        try (BinaryTestSuiteReader reader = new BinaryTestSuiteReader(outputFile, schemaObject, dbmsObject.getValueFactory())) {
+            if (reader.getNumTestCases() != testCases.size()) {
+                throw new TestGenerationException("Converted test suite has " + reader.getNumTestCases()
+                        + " test cases, not " + testCases.size());
+            }
+            int i = 0;
+            for (TestCase converted : reader) {
+                TestCase original = testCases.get(i);
+                check(writer, schemaObject, i, original.getState(), converted.getState());
+                check(writer, schemaObject, i, original.getData(), converted.getData());
+                if (!original.getDBMSResults().equals(converted.getDBMSResults())
+                        || (original.getTestRequirement() != null
+                            && !Objects.equals(original.getTestRequirement().getResult(), converted.getTestRequirement().getResult()))) {
+                    throw new TestGenerationException("Results of test case " + i + " differ after conversion");
+                }
+                i++;
+            }
+        }
+        System.out.println("Checked the converted test suite against the original");
+    }
+
+    private void check(SQLWriter writer, Schema schemaObject, int testCase, Data original, Data converted) {
+        List<String> originalInserts = writer.writeInsertStatements(schemaObject, original);
+        List<String> convertedInserts = writer.writeInsertStatements(schemaObject, converted);
+        if (!originalInserts.equals(convertedInserts)) {
+            throw new TestGenerationException("INSERT statements of test case " + testCase + " differ after conversion:\n"
+                    + originalInserts + "\n" + convertedInserts);
+        }
+    }
+
+    private TestSuite readSerializedTestSuite() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(input))) {
+            return (TestSuite) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Schema instantiateSchema() {
+        try {
+            return (Schema) Class.forName(schema).newInstance();
+        } catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    protected void validateParameters() {
+        // Intentionally blank
+    }
+
+    public static void main(String[] args) {
+        new ConvertTestSuite().run(args);
+    }
+}
@@ -0,0 +1,158 @@
+package org.schemaanalyst.testgeneration.tool;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.schemaanalyst.data.generation.DataGenerator;
+import org.schemaanalyst.data.generation.DataGeneratorFactory;
+import org.schemaanalyst.dbms.DBMS;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.testgeneration.TestSuiteGenerationReport;
+import org.schemaanalyst.testgeneration.TestSuiteGenerator;
+import org.schemaanalyst.testgeneration.coveragecriterion.CoverageCriterionFactory;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirements;
+import org.schemaanalyst.util.csv.CSVFileWriter;
+import org.schemaanalyst.util.csv.CSVResult;
+import org.schemaanalyst.util.random.RandomFactory;
+import org.schemaanalyst.util.runner.Parameter;
+import org.schemaanalyst.util.runner.RequiredParameters;
+import org.schemaanalyst.util.runner.Runner;
+
+/**
+ * <p>
+ * Compares the throughput, in objective function evaluations per second, of
+ * a number of data generators when generating a test suite for the same
+ * schema, criterion and random seed. Each generator is warmed up before it is
+ * measured, and one CSV row per generator is written to the results file.
+ * </p>
+ *
+ * <p>
+ * For example, to compare primitive and BigDecimal numeric moves in the AVM:
+ * <code>DataGeneratorTimer parsedcasestudy.iTrust postgres ClauseAICC
+ * --datagenerators=avsDefaults,avsDefaultsBigDecimal</code>
+ * </p>
+ */
+@RequiredParameters("schema dbms criterion")
+public class DataGeneratorTimer extends Runner {
+
+    @Parameter("The name of the schema to use.")
+    protected String schema;
+
+    @Parameter("The name of the DBMS to use.")
+    protected String dbms;
+
+    @Parameter("The name of the coverage criterion to use.")
+    protected String criterion;
+
+    @Parameter("A comma-separated list of the data generators to compare.")
+    protected String datagenerators = "avsDefaults,avsDefaultsBigDecimal";
+
+    @Parameter("The random seed.")
+    protected long randomseed = 0;
+
+    @Parameter("The random number generator for the data generators to use, e.g. simple or xoroshiro.")
+    protected String random = RandomFactory.DEFAULT;
+
+    @Parameter("The maximum fitness evaluations per test requirement.")
+    protected int maxevaluations = 100000;
+
+    @Parameter("The number of threads to generate test cases with in parallel (0 to generate them one after another).")
+    protected int threads = 0;
+
+    @Parameter("The number of unmeasured warm up runs for each data generator.")
+    protected int warmups = 2;
+
+    @Parameter("The number of measured runs for each data generator.")
+    protected int repetitions = 5;
+
+    @Parameter("The file to write the results to.")
+    protected String outputfile = "datageneratortimer.dat";
+
+    @Override
+    protected void task() {
+        Schema schemaObject = instantiateSchema();
+        DBMS dbmsObject = DBMSFactory.instantiate(dbms);
+        CSVFileWriter writer = new CSVFileWriter(outputfile);
+
+        for (String datagenerator : datagenerators.split(",")) {
+            for (int i = 0; i < warmups; i++) {
+                generate(schemaObject, dbmsObject, datagenerator, suspendedStopWatch());
+            }
+
+            StopWatch watch = suspendedStopWatch();
+            long evaluations = 0;
+            int covered = 0;
+            for (int i = 0; i < repetitions; i++) {
+                TestSuiteGenerationReport report = generate(schemaObject, dbmsObject, datagenerator, watch);
+                evaluations += report.getNumEvaluations(false);
+                covered = report.getNumTestRequirementsCovered();
+            }
+
+            long time = Math.max(watch.getTime(), 1);
+            long evaluationsPerSecond = (evaluations * 1000) / time;
+            System.out.println(datagenerator + ": " + evaluationsPerSecond + " evaluations/s");
+
+            CSVResult result = new CSVResult();
+            result.addValue("schema", schemaObject.getName());
+            result.addValue("criterion", criterion);
+            result.addValue("datagenerator", datagenerator);
+            result.addValue("random", random);
+            result.addValue("threads", threads);
+            result.addValue("repetitions", repetitions);
+            result.addValue("evaluations", evaluations);
+            result.addValue("time", time);
+            result.addValue("evaluationspersecond", evaluationsPerSecond);
+            result.addValue("covered", covered);
+            writer.write(result);
+        }
+    }
+
+    private TestSuiteGenerationReport generate(Schema schemaObject, DBMS dbmsObject, String datagenerator,
+                                               StopWatch watch) {
+        TestRequirements testRequirements = CoverageCriterionFactory
+                .instantiateSchemaCriterion(criterion, schemaObject, dbmsObject).generateRequirements();
+        testRequirements.filterInfeasible();
+        testRequirements.reduce();
+
+        DataGenerator dataGenerator = DataGeneratorFactory.instantiate(
+                datagenerator, randomseed, maxevaluations, schemaObject, random);
+        TestSuiteGenerator testSuiteGenerator = new TestSuiteGenerator(
+                schemaObject, testRequirements, dbmsObject.getValueFactory(), dataGenerator);
+        if (threads > 0) {
+            testSuiteGenerator.setParallel(
+                    DataGeneratorFactory.provider(datagenerator, maxevaluations, schemaObject, random), randomseed, threads);
+        }
+
+        // only the generation itself is timed, not the set up
+        watch.resume();
+        testSuiteGenerator.generate();
+        watch.suspend();
+
+        return testSuiteGenerator.getTestSuiteGenerationReport();
+    }
+
+    private StopWatch suspendedStopWatch() {
+        StopWatch watch = new StopWatch();
+        watch.start();
+        watch.suspend();
+        return watch;
+    }
+
+    private Schema instantiateSchema() {
+        try {
+            return (Schema) Class.forName(schema).newInstance();
+        } catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    protected void validateParameters() {
+        check(threads >= 0, "threads should be 0 or greater");
+        check(warmups >= 0, "warmups should be 0 or greater");
+        check(repetitions > 0, "repetitions should be 1 or greater");
+    }
+
+    public static void main(String... args) {
+        new DataGeneratorTimer().run(args);
+    }
+}
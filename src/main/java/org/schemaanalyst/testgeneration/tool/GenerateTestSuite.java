@@ -50,6 +50,9 @@ public class GenerateTestSuite extends Runner {
     @Parameter("The package into which the built test suite is placed")
     protected String packagename = "generatedtest";
 
+    @Parameter("The number of threads to generate test cases with in parallel (0 to generate them one after another)")
+    protected int threads = 0;
+
     @Override
     protected void task() {
 
@@ -69,6 +72,10 @@ public class GenerateTestSuite extends Runner {
                 testRequirements,
                 dbmsObject.getValueFactory(),
                 dataGeneratorObject);
+        if (threads > 0) {
+            testSuiteGenerator.setParallel(
+                    DataGeneratorFactory.provider(datagenerator, 100000, schemaObject), 0L, threads);
+        }
         TestSuite testSuite = testSuiteGenerator.generate();
 
         // print some stats
@@ -165,7 +172,7 @@ public class GenerateTestSuite extends Runner {
 
     @Override
     protected void validateParameters() {
-        // no params to validate
+        check(threads >= 0, "threads should be 0 or greater");
     }
 
     public static void main(String... args) {
@@ -0,0 +1,160 @@
+package org.schemaanalyst.testgeneration.tool;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.schemaanalyst.data.generation.DataGenerator;
+import org.schemaanalyst.data.generation.DataGeneratorFactory;
+import org.schemaanalyst.dbms.DBMS;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.testgeneration.TestCase;
+import org.schemaanalyst.testgeneration.TestCaseExecutor;
+import org.schemaanalyst.testgeneration.TestSuite;
+import org.schemaanalyst.testgeneration.TestSuiteGenerator;
+import org.schemaanalyst.testgeneration.coveragecriterion.CoverageCriterionFactory;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirements;
+import org.schemaanalyst.util.csv.CSVFileWriter;
+import org.schemaanalyst.util.csv.CSVResult;
+import org.schemaanalyst.util.runner.Parameter;
+import org.schemaanalyst.util.runner.RequiredParameters;
+import org.schemaanalyst.util.runner.Runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Compares the throughput, in INSERT statements per second, of executing a
+ * test suite with literal INSERT statements and with cached, parameterised
+ * prepared statements. A test suite is generated once for each DBMS, and then
+ * executed repeatedly in both ways, after being warmed up. One CSV row per
+ * DBMS and way of inserting is written to the results file, including
+ * whether the DBMS gave the same results for every row both ways.
+ * </p>
+ *
+ * <p>
+ * The DBMSs should be configured to run in-memory, so that the time measured
+ * is that spent communicating with the DBMS rather than writing to disk. For
+ * example:
+ * <code>InsertStatementTimer parsedcasestudy.iTrust --dbmses=HyperSQL,SQLite</code>
+ * </p>
+ */
+@RequiredParameters("schema")
+public class InsertStatementTimer extends Runner {
+
+    @Parameter("The name of the schema to use.")
+    protected String schema;
+
+    @Parameter("A comma-separated list of the DBMSs to compare on.")
+    protected String dbmses = "HyperSQL,SQLite";
+
+    @Parameter("The name of the coverage criterion to generate the test suite for.")
+    protected String criterion = "ClauseAICC";
+
+    @Parameter("The data generator to generate the test suite with.")
+    protected String datagenerator = "avsDefaults";
+
+    @Parameter("The random seed.")
+    protected long randomseed = 0;
+
+    @Parameter("The maximum fitness evaluations per test requirement.")
+    protected int maxevaluations = 100000;
+
+    @Parameter("The number of unmeasured warm up executions of the test suite.")
+    protected int warmups = 5;
+
+    @Parameter("The number of measured executions of the test suite.")
+    protected int repetitions = 20;
+
+    @Parameter("The file to write the results to.")
+    protected String outputfile = "insertstatementtimer.dat";
+
+    @Override
+    protected void task() {
+        Schema schemaObject = instantiateSchema();
+        CSVFileWriter writer = new CSVFileWriter(outputfile);
+
+        for (String dbms : dbmses.split(",")) {
+            DBMS dbmsObject = DBMSFactory.instantiate(dbms);
+            TestSuite testSuite = generateTestSuite(schemaObject, dbmsObject);
+            int statements = testSuite.countNumberOfInserts() * repetitions;
+
+            List<List<Boolean>> literalResults = null;
+            for (boolean prepared : new boolean[]{false, true}) {
+                TestCaseExecutor executor = new TestCaseExecutor(
+                        schemaObject, dbmsObject, databaseConfiguration, locationsConfiguration);
+                executor.setPreparedInserts(prepared);
+
+                for (int i = 0; i < warmups; i++) {
+                    executor.execute(testSuite);
+                }
+
+                StopWatch watch = new StopWatch();
+                watch.start();
+                for (int i = 0; i < repetitions; i++) {
+                    executor.execute(testSuite);
+                }
+                watch.stop();
+
+                List<List<Boolean>> results = getResults(testSuite);
+                if (!prepared) {
+                    literalResults = results;
+                }
+
+                String technique = prepared ? "prepared" : "literal";
+                long time = Math.max(watch.getTime(), 1);
+                long statementsPerSecond = (statements * 1000L) / time;
+                System.out.println(dbms + ", " + technique + ": " + statementsPerSecond + " statements/s");
+
+                CSVResult result = new CSVResult();
+                result.addValue("schema", schemaObject.getName());
+                result.addValue("dbms", dbms);
+                result.addValue("technique", technique);
+                result.addValue("repetitions", repetitions);
+                result.addValue("statements", statements);
+                result.addValue("time", time);
+                result.addValue("statementspersecond", statementsPerSecond);
+                result.addValue("sameresults", results.equals(literalResults));
+                writer.write(result);
+            }
+        }
+    }
+
+    private TestSuite generateTestSuite(Schema schemaObject, DBMS dbmsObject) {
+        TestRequirements testRequirements = CoverageCriterionFactory
+                .instantiateSchemaCriterion(criterion, schemaObject, dbmsObject).generateRequirements();
+        testRequirements.filterInfeasible();
+        testRequirements.reduce();
+
+        DataGenerator dataGenerator = DataGeneratorFactory.instantiate(
+                datagenerator, randomseed, maxevaluations, schemaObject);
+        TestSuiteGenerator testSuiteGenerator = new TestSuiteGenerator(
+                schemaObject, testRequirements, dbmsObject.getValueFactory(), dataGenerator);
+        return testSuiteGenerator.generate();
+    }
+
+    private List<List<Boolean>> getResults(TestSuite testSuite) {
+        List<List<Boolean>> results = new ArrayList<>();
+        for (TestCase testCase : testSuite.getTestCases()) {
+            results.add(new ArrayList<>(testCase.getDBMSResults()));
+        }
+        return results;
+    }
+
+    private Schema instantiateSchema() {
+        try {
+            return (Schema) Class.forName(schema).newInstance();
+        } catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    protected void validateParameters() {
+        check(warmups >= 0, "warmups should be 0 or greater");
+        check(repetitions > 0, "repetitions should be 1 or greater");
+    }
+
+    public static void main(String... args) {
+        new InsertStatementTimer().run(args);
+    }
+}
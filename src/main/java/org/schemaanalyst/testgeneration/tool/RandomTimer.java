@@ -0,0 +1,149 @@
+package org.schemaanalyst.testgeneration.tool;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.schemaanalyst.data.Cell;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.ValueMiner;
+import org.schemaanalyst.data.generation.cellvaluegeneration.RandomCellValueGenerator;
+import org.schemaanalyst.data.generation.cellvaluegeneration.ValueInitializationProfile;
+import org.schemaanalyst.dbms.DBMS;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.util.csv.CSVFileWriter;
+import org.schemaanalyst.util.csv.CSVResult;
+import org.schemaanalyst.util.random.RandomFactory;
+import org.schemaanalyst.util.runner.Parameter;
+import org.schemaanalyst.util.runner.RequiredParameters;
+import org.schemaanalyst.util.runner.Runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Compares the throughput of a number of random number generators, named as
+ * for {@link RandomFactory}, when generating random cell values as the data
+ * generators do, i.e., with a {@link RandomCellValueGenerator} using the
+ * constants mined from the schema. The cells of a number of rows of each of
+ * the schema's tables are set over and over. Each random number generator is
+ * warmed up before it is measured, and one CSV row per random number
+ * generator is written to the results file.
+ * </p>
+ *
+ * <p>
+ * For example:
+ * <code>RandomTimer parsedcasestudy.iTrust SQLite --randoms=simple,xoroshiro</code>
+ * </p>
+ */
+@RequiredParameters("schema dbms")
+public class RandomTimer extends Runner {
+
+    @Parameter("The name of the schema to use.")
+    protected String schema;
+
+    @Parameter("The name of the DBMS whose values to use.")
+    protected String dbms;
+
+    @Parameter("A comma-separated list of the random number generators to compare.")
+    protected String randoms = "simple,xoroshiro";
+
+    @Parameter("The random seed.")
+    protected long randomseed = 0;
+
+    @Parameter("The number of rows of each table to generate cell values for.")
+    protected int rows = 100;
+
+    @Parameter("The number of unmeasured warm up runs for each random number generator.")
+    protected int warmups = 5;
+
+    @Parameter("The number of measured runs for each random number generator.")
+    protected int repetitions = 20;
+
+    @Parameter("The file to write the results to.")
+    protected String outputfile = "randomtimer.dat";
+
+    @Override
+    protected void task() {
+        Schema schemaObject = instantiateSchema();
+        DBMS dbmsObject = DBMSFactory.instantiate(dbms);
+
+        List<Cell> cells = new ArrayList<>();
+        for (Table table : schemaObject.getTables()) {
+            for (int i = 0; i < rows; i++) {
+                cells.addAll(new Row(table, dbmsObject.getValueFactory()).getCells());
+            }
+        }
+        System.out.println(schemaObject + ": " + cells.size() + " cells");
+        CSVFileWriter writer = new CSVFileWriter(outputfile);
+
+        for (String random : randoms.split(",")) {
+            RandomCellValueGenerator generator = new RandomCellValueGenerator(
+                    RandomFactory.instantiate(random, randomseed),
+                    ValueInitializationProfile.SMALL,
+                    0.1,
+                    new ValueMiner().mineShared(schemaObject),
+                    0.25);
+
+            for (int i = 0; i < warmups; i++) {
+                generate(generator, cells);
+            }
+
+            StopWatch watch = new StopWatch();
+            watch.start();
+            long nulls = 0;
+            for (int i = 0; i < repetitions; i++) {
+                nulls += generate(generator, cells);
+            }
+            watch.stop();
+
+            long generated = (long) cells.size() * repetitions;
+            long time = Math.max(watch.getTime(), 1);
+            long cellsPerSecond = (generated * 1000L) / time;
+            System.out.println(random + ": " + cellsPerSecond + " cells/s");
+
+            CSVResult result = new CSVResult();
+            result.addValue("schema", schemaObject.getName());
+            result.addValue("random", random);
+            result.addValue("cells", cells.size());
+            result.addValue("repetitions", repetitions);
+            result.addValue("generated", generated);
+            result.addValue("nulls", nulls);
+            result.addValue("time", time);
+            result.addValue("cellspersecond", cellsPerSecond);
+            writer.write(result);
+        }
+    }
+
+    // returns the number of cells set to NULL, so that the generation
+    // cannot be optimised away
+    private long generate(RandomCellValueGenerator generator, List<Cell> cells) {
+        long nulls = 0;
+        for (Cell cell : cells) {
+            generator.generateCellValue(cell);
+            if (cell.isNull()) {
+                nulls++;
+            }
+        }
+        return nulls;
+    }
+
+    private Schema instantiateSchema() {
+        try {
+            return (Schema) Class.forName(schema).newInstance();
+        } catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    protected void validateParameters() {
+        check(rows > 0, "rows should be 1 or greater");
+        check(warmups >= 0, "warmups should be 0 or greater");
+        check(repetitions > 0, "repetitions should be 1 or greater");
+    }
+
+    public static void main(String... args) {
+        new RandomTimer().run(args);
+    }
+}
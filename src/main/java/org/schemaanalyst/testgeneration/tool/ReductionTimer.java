@@ -0,0 +1,247 @@
+package org.schemaanalyst.testgeneration.tool;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.schemaanalyst.data.generation.DataGenerator;
+import org.schemaanalyst.data.generation.DataGeneratorFactory;
+import org.schemaanalyst.dbms.DBMS;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.reduction.AdditionalGreedyReduction;
+import org.schemaanalyst.reduction.HGSReduction;
+import org.schemaanalyst.reduction.NaiveGreedyReduction;
+import org.schemaanalyst.reduction.RandomReduction;
+import org.schemaanalyst.reduction.Reduction;
+import org.schemaanalyst.reduction.SticcerReduction;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.testgeneration.TestSuite;
+import org.schemaanalyst.testgeneration.TestSuiteGenerationReport;
+import org.schemaanalyst.testgeneration.TestSuiteGenerator;
+import org.schemaanalyst.testgeneration.coveragecriterion.CoverageCriterionFactory;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirement;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirements;
+import org.schemaanalyst.util.csv.CSVFileWriter;
+import org.schemaanalyst.util.csv.CSVResult;
+import org.schemaanalyst.util.runner.Parameter;
+import org.schemaanalyst.util.runner.RequiredParameters;
+import org.schemaanalyst.util.runner.Runner;
+
+/**
+ * <p>
+ * Times the test suite reduction techniques on the test suite generated for a
+ * schema, criterion and random seed. The test suite is generated once, and
+ * each reduction is made on a fresh copy of it, as reductions change the test
+ * cases and requirements they are given. Only the reduction itself, including
+ * building its coverage matrix, is timed. Each technique is warmed up before
+ * it is measured, and one CSV row per technique is written to the results
+ * file.
+ * </p>
+ *
+ * <p>
+ * For example, to time the reductions of the largest case study's test suite
+ * with the coverage matrix built by one thread:
+ * <code>ReductionTimer parsedcasestudy.iTrust SQLite AICC+AUCC+ANCC
+ * --threads=1</code>
+ * </p>
+ */
+@RequiredParameters("schema dbms criterion")
+public class ReductionTimer extends Runner {
+
+    @Parameter("The name of the schema to use.")
+    protected String schema;
+
+    @Parameter("The name of the DBMS to use.")
+    protected String dbms;
+
+    @Parameter("The name of the coverage criterion to use.")
+    protected String criterion;
+
+    @Parameter("A comma-separated list of the reduction techniques to time.")
+    protected String techniques = "additionalGreedy,simpleGreedy,HGS,random,sticcer";
+
+    @Parameter("The data generator to generate the test suite with.")
+    protected String datagenerator = "avsDefaults";
+
+    @Parameter("The random seed, for generating the test suite and for random reduction.")
+    protected long randomseed = 0;
+
+    @Parameter("The maximum fitness evaluations per test requirement.")
+    protected int maxevaluations = 100000;
+
+    @Parameter("The number of threads to build the coverage matrix with.")
+    protected int threads = Runtime.getRuntime().availableProcessors();
+
+    @Parameter("The number of unmeasured warm up runs for each technique.")
+    protected int warmups = 2;
+
+    @Parameter("The number of measured runs for each technique.")
+    protected int repetitions = 5;
+
+    @Parameter("The file to write the results to.")
+    protected String outputfile = "reductiontimer.dat";
+
+    @Override
+    protected void task() {
+        byte[] generated = generate();
+        GeneratedSuite original = copy(generated);
+        System.out.println(original.testSuite.getTestCases().size() + " test cases, "
+                + original.testRequirements.size() + " test requirements");
+        CSVFileWriter writer = new CSVFileWriter(outputfile);
+
+        for (String technique : techniques.split(",")) {
+            for (int i = 0; i < warmups; i++) {
+                reduce(technique, copy(generated), suspendedStopWatch());
+            }
+
+            StopWatch watch = suspendedStopWatch();
+            int reduced = 0;
+            for (int i = 0; i < repetitions; i++) {
+                reduced = reduce(technique, copy(generated), watch);
+            }
+
+            long time = watch.getTime();
+            System.out.println(technique + ": " + reduced + " test cases, "
+                    + (time / repetitions) + "ms per reduction");
+
+            CSVResult result = new CSVResult();
+            result.addValue("schema", original.schema.getName());
+            result.addValue("criterion", criterion);
+            result.addValue("technique", technique);
+            result.addValue("threads", threads);
+            result.addValue("testcases", original.testSuite.getTestCases().size());
+            result.addValue("testrequirements", original.testRequirements.size());
+            result.addValue("reducedtestcases", reduced);
+            result.addValue("repetitions", repetitions);
+            result.addValue("time", time);
+            result.addValue("timeperreduction", time / repetitions);
+            writer.write(result);
+        }
+    }
+
+    private int reduce(String technique, GeneratedSuite suite, StopWatch watch) {
+        TestRequirements testRequirements = new TestRequirements();
+        for (TestRequirement testRequirement : suite.testRequirements) {
+            testRequirements.addTestRequirement(testRequirement);
+        }
+
+        Reduction reduction;
+        if (technique.equals("additionalGreedy")) {
+            reduction = new AdditionalGreedyReduction(
+                    suite.testSuite, testRequirements, suite.schema, suite.failedTestRequirements);
+        } else if (technique.equals("simpleGreedy")) {
+            reduction = new NaiveGreedyReduction(
+                    suite.testSuite, testRequirements, suite.schema, suite.failedTestRequirements);
+        } else if (technique.equals("HGS")) {
+            reduction = new HGSReduction(
+                    suite.testSuite, testRequirements, suite.schema, suite.failedTestRequirements);
+        } else if (technique.equals("random")) {
+            reduction = new RandomReduction(
+                    suite.testSuite, testRequirements, suite.schema, suite.failedTestRequirements);
+        } else if (technique.equals("sticcer")) {
+            reduction = new SticcerReduction(
+                    suite.testSuite, testRequirements, suite.schema, suite.failedTestRequirements);
+        } else {
+            throw new IllegalArgumentException("Unknown reduction technique \"" + technique + "\"");
+        }
+        reduction.setParallel(threads);
+        reduction.removeEqualTestCases();
+
+        // only the reduction itself is timed, not the set up
+        watch.resume();
+        if (reduction instanceof SticcerReduction) {
+            ((SticcerReduction) reduction).mergeTestCases();
+        } else if (reduction instanceof AdditionalGreedyReduction) {
+            ((AdditionalGreedyReduction) reduction).reduceTestSuite();
+        } else if (reduction instanceof NaiveGreedyReduction) {
+            ((NaiveGreedyReduction) reduction).reduceTestSuite();
+        } else if (reduction instanceof HGSReduction) {
+            ((HGSReduction) reduction).reduceTestSuite();
+        } else {
+            ((RandomReduction) reduction).reduceTestSuite(randomseed);
+        }
+        watch.suspend();
+
+        return reduction.getReducedTestSuite().getTestCases().size();
+    }
+
+    private byte[] generate() {
+        Schema schemaObject = instantiateSchema();
+        DBMS dbmsObject = DBMSFactory.instantiate(dbms);
+        TestRequirements testRequirements = CoverageCriterionFactory
+                .instantiateSchemaCriterion(criterion, schemaObject, dbmsObject).generateRequirements();
+        testRequirements.filterInfeasible();
+        testRequirements.reduce();
+
+        DataGenerator dataGenerator = DataGeneratorFactory.instantiate(
+                datagenerator, randomseed, maxevaluations, schemaObject);
+        TestSuiteGenerator testSuiteGenerator = new TestSuiteGenerator(
+                schemaObject, testRequirements, dbmsObject.getValueFactory(), dataGenerator);
+        TestSuite testSuite = testSuiteGenerator.generate();
+        TestSuiteGenerationReport report = testSuiteGenerator.getTestSuiteGenerationReport();
+
+        // the schema, test suite and requirements are serialized together, so
+        // that each copy shares its requirements and tables between them
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(schemaObject);
+            out.writeObject(testSuite);
+            out.writeObject(testRequirements.getTestRequirements());
+            out.writeObject(report.getFailedTestRequirements());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private GeneratedSuite copy(byte[] generated) {
+        GeneratedSuite suite = new GeneratedSuite();
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(generated))) {
+            suite.schema = (Schema) in.readObject();
+            suite.testSuite = (TestSuite) in.readObject();
+            suite.testRequirements = (List<TestRequirement>) in.readObject();
+            suite.failedTestRequirements = (List<TestRequirement>) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+        return suite;
+    }
+
+    private StopWatch suspendedStopWatch() {
+        StopWatch watch = new StopWatch();
+        watch.start();
+        watch.suspend();
+        return watch;
+    }
+
+    private Schema instantiateSchema() {
+        try {
+            return (Schema) Class.forName(schema).newInstance();
+        } catch (ClassNotFoundException | IllegalAccessException | InstantiationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    protected void validateParameters() {
+        check(threads > 0, "threads should be 1 or greater");
+        check(warmups >= 0, "warmups should be 0 or greater");
+        check(repetitions > 0, "repetitions should be 1 or greater");
+    }
+
+    private static class GeneratedSuite {
+        Schema schema;
+        TestSuite testSuite;
+        List<TestRequirement> testRequirements;
+        List<TestRequirement> failedTestRequirements;
+    }
+
+    public static void main(String... args) {
+        new ReductionTimer().run(args);
+    }
+}
@@ -40,9 +40,17 @@ public class CSVDatabaseWriter extends CSVWriter {
      */
     private Connection connection;
 
+    /**
+     * The sink buffering the results for the database table, if initialization
+     * was successful.
+     */
+    private final CSVSink sink;
+
     /**
      * Constructs a writer that will connect to a database using the provided
-     * details and credentials.
+     * details and credentials. Writers for the same database table share a 
+     * {@link CSVSink}, and the connection of the writer that opened it, so 
+     * results are stored in order by a background thread.
      *
      * @param databaseConfiguration The database configuration
      * @param experimentConfiguration The experiment configuration
@@ -50,7 +58,17 @@ public class CSVDatabaseWriter extends CSVWriter {
     public CSVDatabaseWriter(DatabaseConfiguration databaseConfiguration, ExperimentConfiguration experimentConfiguration) {
         this.databaseConfiguration = databaseConfiguration;
         this.experimentConfiguration = experimentConfiguration;
-        this.initialized = initializeDatabaseConnection();
+        String sinkName = "database:" + experimentConfiguration.getDatabaseUrl() + ":" + experimentConfiguration.getTableName();
+        synchronized (CSVDatabaseWriter.class) {
+            CSVSink existing = CSVSink.getSink(sinkName);
+            if (existing != null) {
+                this.initialized = true;
+                this.sink = existing;
+            } else {
+                this.initialized = initializeDatabaseConnection();
+                this.sink = initialized ? CSVSink.getSink(sinkName, new DatabaseTarget()) : null;
+            }
+        }
         if (!initialized) {
             LOGGER.log(Level.SEVERE, "Failed to open database connection (allowing execution to continue, in case other writers are in use)");
         }
@@ -59,13 +77,14 @@ public class CSVDatabaseWriter extends CSVWriter {
     @Override
     public void write(CSVResult result) {
         if (initialized) {
-            try {
-                PreparedStatement stmt = connection.prepareStatement(buildStatementString(result));
-                setStatementValues(result,stmt);
-                stmt.execute();
-            } catch (SQLException | NumberFormatException ex) {
-                Logger.getLogger(CSVDatabaseWriter.class.getName()).log(Level.SEVERE, "Failed to write CSVResult", ex);
-            }
+            sink.add(result);
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (initialized) {
+            sink.flush();
         }
     }
 
@@ -139,4 +158,21 @@ public class CSVDatabaseWriter extends CSVWriter {
             }
         }
     }
+
+    /**
+     * Stores batches of results from the sink using this writer's connection.
+     */
+    private class DatabaseTarget extends CSVWriter {
+
+        @Override
+        public void write(CSVResult result) {
+            try {
+                PreparedStatement stmt = connection.prepareStatement(buildStatementString(result));
+                setStatementValues(result,stmt);
+                stmt.execute();
+            } catch (SQLException | NumberFormatException ex) {
+                Logger.getLogger(CSVDatabaseWriter.class.getName()).log(Level.SEVERE, "Failed to write CSVResult", ex);
+            }
+        }
+    }
 }
@@ -7,10 +7,16 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.*;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.util.Collections;
 
 /**
  * A simple writer for saving CSVResult objects to files.
  * 
+ * Results are buffered in a {@link CSVSink} shared by all the writers of the 
+ * same file, and appended to it by a background thread, which opens the file 
+ * once for each batch of results rather than once per result. Use 
+ * {@link #flush()} to wait until the results written so far are in the file.
+ * 
  * @author Chris J. Wright
  */
 public class CSVFileWriter extends CSVWriter {
@@ -22,6 +28,10 @@ public class CSVFileWriter extends CSVWriter {
      * The separator to use between writing values.
      */
     private final String separator;
+    /**
+     * The sink buffering the results for the file.
+     */
+    private final CSVSink sink;
 
     /**
      * Constructor for creating a writer that saves CSVResults to a file at the 
@@ -43,6 +53,7 @@ public class CSVFileWriter extends CSVWriter {
     public CSVFileWriter(String path, String separator) {
         this.path = path;
         this.separator = separator;
+        this.sink = CSVSink.getSink("file:" + new File(path).getAbsolutePath() + ":" + separator, new FileTarget());
     }
     
     /**
@@ -52,21 +63,16 @@ public class CSVFileWriter extends CSVWriter {
      * @param result The content to write.
      */
     @Override
-    public synchronized void write(CSVResult result) {
-        boolean writeHeader = writeHeader();
-        File output = new File(path);
-        File parent = output.getParentFile();
-        if (parent != null) {
-            parent.mkdirs();
-        }
-        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(path, true)))) {
-            if (writeHeader) {
-                writer.println(StringUtils.join(result.getValues().keySet(), separator));
-            }
-            writer.println(StringUtils.join(result.getValues().values(), separator));
-        } catch (IOException ex) {
-            throw new RuntimeException(ex);
-        }
+    public void write(CSVResult result) {
+        sink.add(result);
+    }
+
+    /**
+     * Wait until the results written so far have been saved to the file.
+     */
+    @Override
+    public void flush() {
+        sink.flush();
     }
     
     /**
@@ -77,4 +83,36 @@ public class CSVFileWriter extends CSVWriter {
     private boolean writeHeader() {
         return (!Files.exists(FileSystems.getDefault().getPath(path)));
     }
+
+    /**
+     * Appends batches of results from the sink to the file.
+     */
+    private class FileTarget extends CSVWriter {
+
+        @Override
+        public void write(CSVResult result) {
+            write(Collections.singletonList(result));
+        }
+
+        @Override
+        public void write(Iterable<CSVResult> results) {
+            boolean writeHeader = writeHeader();
+            File output = new File(path);
+            File parent = output.getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(path, true)))) {
+                for (CSVResult result : results) {
+                    if (writeHeader) {
+                        writer.println(StringUtils.join(result.getValues().keySet(), separator));
+                        writeHeader = false;
+                    }
+                    writer.println(StringUtils.join(result.getValues().values(), separator));
+                }
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
 }
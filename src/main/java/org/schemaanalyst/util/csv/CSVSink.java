@@ -0,0 +1,338 @@
+/*
+ */
+package org.schemaanalyst.util.csv;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * <p>
+ * A buffer of {@link CSVResult} objects that are written to a target
+ * {@link CSVWriter} by a background thread, so that the threads producing
+ * results do not wait for files to be opened or database statements to be
+ * executed.
+ * </p>
+ *
+ * <p>
+ * Results are written in the order they were added, in batches of whatever has
+ * been buffered since the last batch was written. At most
+ * {@link #DEFAULT_CAPACITY} results are buffered; beyond that, adding a result
+ * waits until there is room. Every sink is closed when the Java process shuts
+ * down, and {@link #flush()} or {@link #flushAll()} can be used to wait for
+ * results to be written before that. {@link #flushAll()} also stops the
+ * background threads, which are started again when more results are added. If
+ * the target fails to write a batch, the first failure is thrown by the next
+ * call to add a result to the sink or flush it.
+ * </p>
+ *
+ * <p>
+ * Sinks are shared by name, so that all the writers of a file or database
+ * table feed the same sink, and the order of their results is kept.
+ * </p>
+ */
+public class CSVSink {
+
+    /**
+     * The number of results buffered before adding a result waits.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The open sinks, by name.
+     */
+    private static final Map<String, CSVSink> SINKS = new HashMap<>();
+
+    /**
+     * Whether the sinks have been closed because the process is shutting down.
+     */
+    private static boolean shutdown = false;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread("CSVSink shutdown") {
+            @Override
+            public void run() {
+                synchronized (CSVSink.class) {
+                    shutdown = true;
+                }
+                closeAll();
+            }
+        });
+    }
+
+    /**
+     * Placed in the queue, after the results to be flushed, by
+     * {@link #flush()}.
+     */
+    private static class FlushMarker {
+        private final CountDownLatch latch = new CountDownLatch(1);
+    }
+
+    /**
+     * Placed in the queue by {@link #stop()} to stop the background thread.
+     */
+    private static final Object STOP_MARKER = new Object();
+
+    private final String name;
+    private final CSVWriter target;
+    private final BlockingQueue<Object> queue;
+    // the background thread, or null until results are added after the sink
+    // has been opened or stopped
+    private Thread thread;
+    private volatile RuntimeException failure;
+    private boolean closed;
+
+    /**
+     * Constructor. The background thread writing the results added to the
+     * sink to the target is started when the first result is added.
+     *
+     * @param name The name of the sink
+     * @param target The writer results are written to
+     * @param capacity The number of results buffered before adding a result
+     * waits
+     */
+    protected CSVSink(String name, CSVWriter target, int capacity) {
+        this.name = name;
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Gets the open sink with the given name, or null if there is none.
+     *
+     * @param name The name of the sink
+     * @return The sink, or null
+     */
+    public static synchronized CSVSink getSink(String name) {
+        return SINKS.get(name);
+    }
+
+    /**
+     * Gets the open sink with the given name, opening a new one writing to the
+     * given target if there is none.
+     *
+     * @param name The name of the sink
+     * @param target The writer results are written to, if a new sink is opened
+     * @return The sink
+     */
+    public static synchronized CSVSink getSink(String name, CSVWriter target) {
+        CSVSink sink = SINKS.get(name);
+        if (sink == null) {
+            sink = new CSVSink(name, target, DEFAULT_CAPACITY);
+            if (shutdown) {
+                // too late to buffer anything, so write results directly
+                sink.close();
+            } else {
+                SINKS.put(name, sink);
+            }
+        }
+        return sink;
+    }
+
+    /**
+     * Waits until the results added to every open sink have been written, and
+     * stops their background threads until more results are added. The first
+     * failure of any sink to write its results is thrown once every sink has
+     * been stopped.
+     */
+    public static void flushAll() {
+        stopAll(false);
+    }
+
+    /**
+     * Writes the results added to every open sink, and closes them. The first
+     * failure of any sink to write its results is thrown once every sink has
+     * been closed.
+     */
+    public static void closeAll() {
+        stopAll(true);
+    }
+
+    private static void stopAll(boolean close) {
+        RuntimeException failure = null;
+        for (CSVSink sink : openSinks()) {
+            try {
+                if (close) {
+                    sink.close();
+                } else {
+                    sink.stop();
+                }
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static synchronized List<CSVSink> openSinks() {
+        return new ArrayList<>(SINKS.values());
+    }
+
+    /**
+     * Adds a result to be written. A copy of the result is buffered, so the
+     * result may be changed afterwards.
+     *
+     * @param result The result to write
+     */
+    public void add(CSVResult result) {
+        CSVResult copy = new CSVResult();
+        for (Map.Entry<String, Object> entry : result.getValues().entrySet()) {
+            copy.addValue(entry.getKey(), entry.getValue());
+        }
+        synchronized (this) {
+            checkFailure();
+            if (closed) {
+                // the process is shutting down, so write the result directly
+                target.write(copy);
+                return;
+            }
+            if (thread == null) {
+                start();
+            }
+            put(copy);
+        }
+    }
+
+    /**
+     * Waits until the results added to the sink have been written.
+     */
+    public void flush() {
+        FlushMarker marker = new FlushMarker();
+        synchronized (this) {
+            if (thread == null) {
+                // nothing has been added since the sink was stopped
+                checkFailure();
+                return;
+            }
+            put(marker);
+        }
+        try {
+            marker.latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        checkFailure();
+    }
+
+    /**
+     * Writes the results added to the sink and stops its background thread.
+     * Results added afterwards are written directly to the target.
+     */
+    public void close() {
+        synchronized (CSVSink.class) {
+            if (SINKS.get(name) == this) {
+                SINKS.remove(name);
+            }
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            // results added from now on are written directly, so wait for the
+            // buffered ones to be written first
+            closed = true;
+            stop();
+        }
+    }
+
+    private synchronized void start() {
+        thread = new Thread("CSVSink " + name) {
+            @Override
+            public void run() {
+                drain();
+            }
+        };
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Writes the results added to the sink and stops its background thread,
+     * which is started again if more results are added.
+     */
+    private synchronized void stop() {
+        if (thread != null) {
+            put(STOP_MARKER);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            thread = null;
+        }
+        checkFailure();
+    }
+
+    private void put(Object element) {
+        try {
+            queue.put(element);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void checkFailure() {
+        RuntimeException e = failure;
+        if (e != null) {
+            failure = null;
+            throw e;
+        }
+    }
+
+    private void drain() {
+        List<Object> elements = new ArrayList<>();
+        List<CSVResult> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                elements.add(queue.take());
+            } catch (InterruptedException e) {
+                // only the stop marker stops the thread
+                continue;
+            }
+            queue.drainTo(elements);
+
+            // write the results between markers as batches, releasing each
+            // marker once the results before it have been written
+            for (Object element : elements) {
+                if (element instanceof CSVResult) {
+                    batch.add((CSVResult) element);
+                } else {
+                    writeBatch(batch);
+                    if (element == STOP_MARKER) {
+                        running = false;
+                    } else {
+                        ((FlushMarker) element).latch.countDown();
+                    }
+                }
+            }
+            writeBatch(batch);
+            elements.clear();
+        }
+    }
+
+    private void writeBatch(List<CSVResult> batch) {
+        if (!batch.isEmpty()) {
+            try {
+                target.write(batch);
+            } catch (RuntimeException e) {
+                // keep the first failure until it has been reported
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+            batch.clear();
+        }
+    }
+}
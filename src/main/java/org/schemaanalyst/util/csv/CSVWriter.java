@@ -24,4 +24,12 @@ public abstract class CSVWriter {
             write(result);
         }
     }
+
+    /**
+     * Wait until the results written so far have reached the output, for 
+     * writers that buffer them. By default, results are not buffered, so 
+     * there is nothing to wait for.
+     */
+    public void flush() {
+    }
 }
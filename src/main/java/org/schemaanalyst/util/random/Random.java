@@ -21,4 +21,13 @@ public abstract class Random {
     public abstract int nextInt(int ceiling);
 
     public abstract long nextLong();
+
+    /**
+     * Returns a new random number generator of the same kind, seeded from
+     * this one, so that independent workers can each be given their own
+     * generator and still be reproducible from a single seed.
+     *
+     * @return The new random number generator
+     */
+    public abstract Random split();
 }
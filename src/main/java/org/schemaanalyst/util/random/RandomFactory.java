@@ -0,0 +1,38 @@
+package org.schemaanalyst.util.random;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Instantiates random number generators by name, e.g. "simple" for
+ * {@link SimpleRandom} and "xoroshiro" for {@link XoroshiroRandom}.
+ */
+public class RandomFactory {
+
+    public static final String DEFAULT = "simple";
+
+    public static Random instantiate(String name, long seed) {
+        Class<RandomFactory> c = RandomFactory.class;
+        Method methods[] = c.getMethods();
+
+        for (Method m : methods) {
+            if (m.getName().equals(name) && m.getReturnType() == Random.class && m.getParameterTypes().length == 1) {
+                try {
+                    return (Random) m.invoke(null, seed);
+                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        throw new RuntimeException("Unknown random number generator \"" + name + "\"");
+    }
+
+    public static Random simple(long seed) {
+        return new SimpleRandom(seed);
+    }
+
+    public static Random xoroshiro(long seed) {
+        return new XoroshiroRandom(seed);
+    }
+}
@@ -33,4 +33,9 @@ public class SimpleRandom extends Random {
     public long nextLong() {
         return random.nextLong();
     }
+
+    @Override
+    public SimpleRandom split() {
+        return new SimpleRandom(random.nextLong());
+    }
 }
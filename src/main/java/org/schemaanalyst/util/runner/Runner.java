@@ -4,6 +4,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.schemaanalyst.configuration.DataCapturerConfiguration;
 import org.schemaanalyst.configuration.DatabaseConfiguration;
 import org.schemaanalyst.configuration.LocationsConfiguration;
+import org.schemaanalyst.util.csv.CSVSink;
 
 import java.io.File;
 import java.io.IOException;
@@ -146,12 +147,17 @@ public abstract class Runner {
     }
 
     /**
-     * Initialises the runner and executes the Runner's task.
+     * Initialises the runner and executes the Runner's task, waiting for any
+     * results it wrote to a {@link CSVSink} to be saved.
      * @param args The arguments passed from the command line.
      */
     protected void doRun(String... args) {
         initialise(args);
-        task();
+        try {
+            task();
+        } finally {
+            CSVSink.flushAll();
+        }
     }
 
     /**
@@ -0,0 +1,216 @@
+package paper.datagenerationjv;
+
+import org.schemaanalyst.configuration.DatabaseConfiguration;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the trials of {@link RunCoverageExptCluster} for every combination of
+ * schema, coverage criterion, data generator, DBMS and run number on the
+ * cores of a single machine, rather than as separate cluster jobs.
+ *
+ * Each trial instantiates its own DBMS, so with in-memory SQLite or HyperSQL
+ * databases (see database.properties) every trial has a database of its own.
+ * Trials for any other DBMS configuration share files or a server, and are run
+ * one at a time.
+ *
+ * The name of each completed trial is appended to a checkpoint file in the
+ * results directory, once its results have been written. Trials already named
+ * in the checkpoint file are skipped, so an interrupted sweep can be restarted
+ * with the same arguments and carry on where it stopped. Trials that fail are
+ * not recorded, and are tried again.
+ */
+public class RunCoverageExptLocal {
+
+    public static final String CHECKPOINT_FILE_NAME = "coverage-expt.checkpoint";
+
+    protected RunCoverageExptCluster rce;
+    protected DatabaseConfiguration databaseConfiguration;
+    protected int numThreads;
+    protected File checkpointFile;
+    protected Set<String> completed;
+
+    private Lock sharedDatabaseLock = new ReentrantLock();
+
+    public RunCoverageExptLocal(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("The number of threads should be 1 or greater, not " + numThreads);
+        }
+        this.numThreads = numThreads;
+        rce = new RunCoverageExptCluster();
+        databaseConfiguration = new DatabaseConfiguration();
+        checkpointFile = new File(rce.resultsDir + "/" + CHECKPOINT_FILE_NAME);
+        completed = readCheckpoint(checkpointFile);
+    }
+
+    public void runExpts(List<String> schemaNames,
+                         List<String> coverageCriterionNames,
+                         List<String> dataGeneratorNames,
+                         List<String> dbmsNames,
+                         int numRuns) {
+        if (numRuns > rce.seeds.length) {
+            throw new IllegalArgumentException("There are only seeds for " + rce.seeds.length + " runs, not " + numRuns);
+        }
+
+        // work out the trials still to do
+        final List<Trial> trials = new ArrayList<>();
+        int numAlreadyDone = 0;
+        for (String schemaName : schemaNames) {
+            for (String coverageCriterionName : coverageCriterionNames) {
+                for (String dataGeneratorName : dataGeneratorNames) {
+                    for (String dbmsName : dbmsNames) {
+                        for (int runNo = 1; runNo <= numRuns; runNo++) {
+                            Trial trial = new Trial(schemaName, coverageCriterionName, dataGeneratorName, dbmsName, runNo);
+                            if (completed.contains(trial.getName())) {
+                                numAlreadyDone ++;
+                            } else {
+                                trials.add(trial);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        System.out.println(trials.size() + " trials to run on " + numThreads + " threads ("
+                + numAlreadyDone + " already done according to " + checkpointFile + ")");
+
+        final long startTime = System.currentTimeMillis();
+        final AtomicInteger numFinished = new AtomicInteger();
+        final AtomicInteger numFailed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        for (final Trial trial : trials) {
+            executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    boolean success = runTrial(trial);
+                    if (!success) {
+                        numFailed.incrementAndGet();
+                    }
+                    int finished = numFinished.incrementAndGet();
+                    System.out.println("[" + finished + "/" + trials.size() + "] " + trial.getName()
+                            + (success ? "" : " FAILED") + ", "
+                            + formatThroughput(finished, System.currentTimeMillis() - startTime));
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        System.out.println("Finished " + numFinished.get() + " trials (" + numFailed.get() + " failed) in "
+                + (System.currentTimeMillis() - startTime) / 1000 + "s, "
+                + formatThroughput(numFinished.get(), System.currentTimeMillis() - startTime));
+    }
+
+    protected boolean runTrial(Trial trial) {
+        boolean isolated = hasIsolatedDatabase(trial.dbmsName);
+        if (!isolated) {
+            sharedDatabaseLock.lock();
+        }
+        try {
+            rce.runExpt(trial.schemaName, trial.coverageCriterionName, trial.dataGeneratorName, trial.dbmsName, trial.runNo);
+        } catch (Exception e) {
+            // don't let the termination of one experiment kill the whole job ...
+            e.printStackTrace();
+            return false;
+        } finally {
+            if (!isolated) {
+                sharedDatabaseLock.unlock();
+            }
+        }
+        writeCheckpoint(trial.getName());
+        return true;
+    }
+
+    protected boolean hasIsolatedDatabase(String dbmsName) {
+        switch (dbmsName) {
+            case "SQLite":
+                return databaseConfiguration.getSqliteInMemory();
+            case "HyperSQL":
+                return databaseConfiguration.getHsqldb_in_memory();
+            default:
+                return false;
+        }
+    }
+
+    protected synchronized void writeCheckpoint(String trialName) {
+        try (PrintWriter pw = new PrintWriter(new FileWriter(checkpointFile, true))) {
+            pw.println(trialName);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        completed.add(trialName);
+    }
+
+    protected static Set<String> readCheckpoint(File checkpointFile) {
+        Set<String> completed = new HashSet<>();
+        if (checkpointFile.exists()) {
+            try (BufferedReader br = new BufferedReader(new FileReader(checkpointFile))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    // a partly written last line left by a crash names no trial, so does no harm
+                    if (!line.trim().isEmpty()) {
+                        completed.add(line.trim());
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return completed;
+    }
+
+    protected static String formatThroughput(int numTrials, long millis) {
+        double perMinute = (millis == 0) ? 0 : numTrials * 60000.0 / millis;
+        return String.format("%.2f trials/min", perMinute);
+    }
+
+    protected static class Trial {
+        final String schemaName, coverageCriterionName, dataGeneratorName, dbmsName;
+        final int runNo;
+
+        Trial(String schemaName, String coverageCriterionName, String dataGeneratorName, String dbmsName, int runNo) {
+            this.schemaName = schemaName;
+            this.coverageCriterionName = coverageCriterionName;
+            this.dataGeneratorName = dataGeneratorName;
+            this.dbmsName = dbmsName;
+            this.runNo = runNo;
+        }
+
+        // the same as the names of the results files written by RunCoverageExptCluster
+        String getName() {
+            return schemaName + "-" + coverageCriterionName + "-" + dataGeneratorName + "-" + dbmsName + "-" + runNo;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4 || args.length > 6) {
+            System.out.println("Usage: RunCoverageExptLocal schemas criteria datagenerators dbmses [threads] [runs]");
+            System.out.println("where the first four arguments are comma-separated lists");
+            System.exit(1);
+        }
+
+        int numThreads = (args.length > 4) ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        int numRuns = (args.length > 5) ? Integer.parseInt(args[5]) : 30;
+
+        RunCoverageExptLocal rcel = new RunCoverageExptLocal(numThreads);
+        rcel.runExpts(Arrays.asList(args[0].split(",")),
+                      Arrays.asList(args[1].split(",")),
+                      Arrays.asList(args[2].split(",")),
+                      Arrays.asList(args[3].split(",")),
+                      numRuns);
+    }
+}
@@ -25,6 +25,7 @@ import org.schemaanalyst.testgeneration.coveragecriterion.predicate.AndPredicate
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.ComposedPredicate;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.ExpressionPredicate;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
+import org.schemaanalyst.util.random.SimpleRandom;
 import parsedcasestudy.FrenchTowns;
 
 /**
@@ -35,7 +36,7 @@ public class SelectQueryTests {
     public static void main(String... args) {
 
         Schema schema = new FrenchTowns();
-        DataGenerator dg = DataGeneratorFactory.avsDefaultsGenerator(0, 100000, schema);
+        DataGenerator dg = DataGeneratorFactory.avsDefaultsGenerator(new SimpleRandom(0), 100000, schema);
         ValueFactory vf = new ValueFactory();
 
         Table table = schema.getTable("Regions");
@@ -5,17 +5,24 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	org.schemaanalyst.unittest.data.TestFingerprinter.class,
+	org.schemaanalyst.unittest.data.TestNumericValue.class,
+	org.schemaanalyst.unittest.data.TestRow.class,
 	org.schemaanalyst.unittest.data.TestStringValue.class,
 	org.schemaanalyst.unittest.data.TestValueEquality.class,
+	org.schemaanalyst.unittest.data.TestValueLibrary.class,
 	org.schemaanalyst.unittest.data.generation.TestCellValueGenerator.class,
 	org.schemaanalyst.unittest.data.generation.TestExpressionConstantMiner.class,
 	org.schemaanalyst.unittest.data.generation.domino.TestExpressionPredicateFixer.class,
 	org.schemaanalyst.unittest.data.generation.domino.TestMatchPredicateFixer.class,
 	org.schemaanalyst.unittest.data.generation.domino.TestNullPredicateFixer.class,
 	org.schemaanalyst.unittest.data.generation.search.TestAlternatingValueSearch.class,
+	org.schemaanalyst.unittest.data.generation.search.TestBestDataJournal.class,
 	org.schemaanalyst.unittest.data.generation.search.TestSearchEvaluation.class,
 	org.schemaanalyst.unittest.data.generation.search.objective.TestDistanceObjectiveValue.class,
 	org.schemaanalyst.unittest.data.generation.search.objective.TestObjectiveValue.class,
+	org.schemaanalyst.unittest.data.generation.search.objective.incremental.TestIncrementalPredicateObjectiveFunction.class,
+	org.schemaanalyst.unittest.data.generation.search.objective.primitive.TestDoubleObjectiveFunction.class,
 	org.schemaanalyst.unittest.data.generation.search.objective.row.TestAndExpressionRowObjectiveFunction.class,
 	org.schemaanalyst.unittest.data.generation.search.objective.row.TestBetweenExpressionRowObjectiveFunction.class,
 	org.schemaanalyst.unittest.data.generation.search.objective.row.TestInExpressionRowObjectiveFunction.class,
@@ -27,13 +34,19 @@ import org.junit.runners.Suite;
 	org.schemaanalyst.unittest.data.generation.search.objective.row.value.TestRelationalBooleanValueObjectiveFunction.class,
 	org.schemaanalyst.unittest.data.generation.search.objective.row.value.TestRelationalCompoundValueObjectiveFunction.class,
 	org.schemaanalyst.unittest.data.generation.search.objective.row.value.TestRelationalNumericValueObjectiveFunction.class,
+	org.schemaanalyst.unittest.dbms.TestDatabaseInteractorPool.class,
 	org.schemaanalyst.unittest.dbms.TestHyperSQL.class,
 	org.schemaanalyst.unittest.dbms.TestPostgres.class,
+	org.schemaanalyst.unittest.dbms.TestPreparedInserts.class,
 	org.schemaanalyst.unittest.dbms.TestSQLite.class,
         org.schemaanalyst.unittest.dbms.postgres.TestPostgresSchemaNormaliser.class,
 	org.schemaanalyst.unittest.faultlocalization.TestCalculator.class,
+	org.schemaanalyst.unittest.faultlocalization.TestKillMatrix.class,
 	org.schemaanalyst.unittest.faultlocalization.TestProcessMatrix.class,
 	org.schemaanalyst.unittest.logic.TestRelationalOperator.class,
+	org.schemaanalyst.unittest.mutation.TestSchemaDelta.class,
+	org.schemaanalyst.unittest.mutation.analysis.executor.technique.TestAltersTechnique.class,
+	org.schemaanalyst.unittest.mutation.analysis.executor.testsuite.TestVirtualTestSuiteExecutor.class,
 	org.schemaanalyst.unittest.mutation.analysis.util.TestSchemaMerger.class,
 	org.schemaanalyst.unittest.mutation.equivalence.TestChangedConstraintFinder.class,
 	org.schemaanalyst.unittest.mutation.equivalence.TestChangedTableFinder.class,
@@ -61,6 +74,8 @@ import org.junit.runners.Suite;
 	org.schemaanalyst.unittest.mutation.operator.TestPKCColumnARE.class,
 	org.schemaanalyst.unittest.mutation.operator.TestUCColumnARE.class,
         org.schemaanalyst.unittest.mutation.operator.TestUCColumnE.class,
+	org.schemaanalyst.unittest.mutation.pipeline.TestMutationPipeline.class,
+	org.schemaanalyst.unittest.mutation.quasimutant.TestDBMSRemover.class,
 	org.schemaanalyst.unittest.mutation.reduction.TestNSelectiveRemover.class,
 	org.schemaanalyst.unittest.mutation.reduction.TestPercentageSamplingRemover.class,
 	org.schemaanalyst.unittest.mutation.reduction.TestSamplingRemover.class,
@@ -81,19 +96,27 @@ import org.junit.runners.Suite;
 	org.schemaanalyst.unittest.sqlrepresentation.expression.TestExpressionTreeWithExpressionPath.class,
 	org.schemaanalyst.unittest.sqlrepresentation.expression.TestExpressions.class,
 	org.schemaanalyst.unittest.sqlwriter.TestDateWriter.class,
+	org.schemaanalyst.unittest.sqlwriter.TestSQLStatementCache.class,
+	org.schemaanalyst.unittest.testgeneration.TestBinaryTestSuite.class,
 	org.schemaanalyst.unittest.testgeneration.TestTestSuiteGenerator.class,
 	org.schemaanalyst.unittest.testgeneration.coveragecriterion.TestTestRequirementIDGenerator.class,
 	org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.TestAndPredicate.class,
 	org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.TestComposedPredicate.class,
+	org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.TestPredicateFactory.class,
+	org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.checker.TestCompiledPredicate.class,
 	org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.checker.TestExpressionChecker.class,
+	org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.checker.TestMatchIndex.class,
 	org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.checker.TestMatchPredicateChecker.class,
 	org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.checker.TestNullPredicateChecker.class,
 	org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.checker.TestRelationalChecker.class,
 	org.schemaanalyst.unittest.util.collection.TestIdentifiableEntity.class,
 	org.schemaanalyst.unittest.util.collection.TestIdentifiableEntitySet.class,
 	org.schemaanalyst.unittest.util.collection.TestIdentifier.class,
+	org.schemaanalyst.unittest.util.csv.TestCSVFileWriter.class,
+	org.schemaanalyst.unittest.util.random.TestXoroshiroRandom.class,
 	org.schemaanalyst.unittest.util.runner.TestRunner.class,
 	org.schemaanalyst.unittest.util.sql.TestSQLRepairer.class,
+	org.schemaanalyst.unittest.reduction.TestCoverageMatrix.class,
 	org.schemaanalyst.unittest.reduction.TestReductionTechniques.class
 })
 
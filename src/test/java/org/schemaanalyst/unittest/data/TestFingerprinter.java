@@ -0,0 +1,96 @@
+package org.schemaanalyst.unittest.data;
+
+import org.junit.Test;
+import org.schemaanalyst.data.*;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.sqlrepresentation.datatype.VarCharDataType;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.*;
+
+public class TestFingerprinter {
+
+    Schema schema = new Schema("schema");
+    Table table = schema.createTable("table");
+    Table otherTable = schema.createTable("otherTable");
+    ValueFactory valueFactory = new ValueFactory();
+
+    {
+        table.createColumn("id", new IntDataType());
+        table.createColumn("name", new VarCharDataType(10));
+        otherTable.createColumn("id", new IntDataType());
+        otherTable.createColumn("name", new VarCharDataType(10));
+    }
+
+    Data data(Table table, int id, String name) {
+        Data data = new Data();
+        Row row = data.addRow(table, valueFactory);
+        row.getCell(table.getColumn("id")).setValue(new NumericValue(id));
+        row.getCell(table.getColumn("name")).setValue(new StringValue(name));
+        return data;
+    }
+
+    @Test
+    public void testEqualDataHaveEqualFingerprints() {
+        Data data1 = data(table, 1, "a");
+        Data data2 = data(table, 1, "a");
+        assertEquals(data1.toString(), data2.toString());
+        assertEquals(Fingerprinter.fingerprint(data1), Fingerprinter.fingerprint(data2));
+        assertEquals(Fingerprinter.fingerprint(data1), Fingerprinter.fingerprint(data1.duplicate()));
+    }
+
+    @Test
+    public void testDifferentDataHaveDifferentFingerprints() {
+        long fingerprint = Fingerprinter.fingerprint(data(table, 1, "a"));
+        assertNotEquals(fingerprint, Fingerprinter.fingerprint(data(table, 2, "a")));
+        assertNotEquals(fingerprint, Fingerprinter.fingerprint(data(table, 1, "b")));
+        assertNotEquals(fingerprint, Fingerprinter.fingerprint(data(otherTable, 1, "a")));
+        assertNotEquals(fingerprint, Fingerprinter.fingerprint(new Data()));
+    }
+
+    @Test
+    public void testValuesWrittenTheSameHaveEqualFingerprints() {
+        StringValue quoted = new StringValue();
+        quoted.setWithNumber("it's");
+        StringValue unquoted = new StringValue();
+        unquoted.setWithNumber("its");
+        assertEquals(quoted.toString(), unquoted.toString());
+        assertEquals(Fingerprinter.fingerprint(quoted), Fingerprinter.fingerprint(unquoted));
+        assertEquals(Fingerprinter.fingerprint(new NumericValue(new BigDecimal("1E+3"))),
+                Fingerprinter.fingerprint(new NumericValue(1000)));
+        assertNotEquals(Fingerprinter.fingerprint(new NumericValue(new BigDecimal("1000.0"))),
+                Fingerprinter.fingerprint(new NumericValue(1000)));
+        assertNotEquals(Fingerprinter.fingerprint(new NumericValue(1)),
+                Fingerprinter.fingerprint(new StringValue("1")));
+        assertNotEquals(Fingerprinter.fingerprint((Value) null),
+                Fingerprinter.fingerprint(new NumericValue(0)));
+    }
+
+    @Test
+    public void testCachedFingerprints() {
+        Fingerprinter fingerprinter = new Fingerprinter();
+        Data data = data(table, 1, "a");
+        long fingerprint = fingerprinter.get(data);
+
+        // the cached fingerprint stands until it is forgotten
+        data.getCell(table, table.getColumn("id"), 0).setValue(new NumericValue(2));
+        assertEquals(fingerprint, fingerprinter.get(data));
+        fingerprinter.forget(data);
+        assertEquals(Fingerprinter.fingerprint(data(table, 2, "a")), fingerprinter.get(data));
+    }
+
+    @Test
+    public void testSameValues() {
+        Row row1 = data(table, 1, "a").getRows(table).get(0);
+        Row row2 = data(table, 1, "a").getRows(table).get(0);
+        assertTrue(Fingerprinter.sameValues(row1, row2));
+        assertEquals(Fingerprinter.fingerprint(row1), Fingerprinter.fingerprint(row2));
+
+        row2.getCell(table.getColumn("name")).setValue(new StringValue("b"));
+        assertFalse(Fingerprinter.sameValues(row1, row2));
+        assertFalse(Fingerprinter.sameValues(row1, data(otherTable, 1, "a").getRows(otherTable).get(0)));
+    }
+}
@@ -0,0 +1,80 @@
+package org.schemaanalyst.unittest.data;
+
+import org.junit.Test;
+import org.schemaanalyst.data.NumericValue;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestNumericValue {
+
+    @Test
+    public void setLongWithinBounds() {
+        NumericValue value = new NumericValue(0, -10, 10);
+        value.set(5L);
+
+        assertTrue("Value should be long valued", value.isLongValued());
+        assertEquals("Long value should be 5", 5, value.getLong());
+        assertEquals("BigDecimal value should be 5", new BigDecimal(5), value.get());
+    }
+
+    @Test
+    public void setLongClampsToBounds() {
+        NumericValue value = new NumericValue(0, -10, 10);
+
+        value.set(11L);
+        assertEquals("Long value should be clamped to the max", 10, value.getLong());
+        assertEquals("BigDecimal value should be clamped to the max", value.max, value.get());
+
+        value.set(-11L);
+        assertEquals("Long value should be clamped to the min", -10, value.getLong());
+        assertEquals("BigDecimal value should be clamped to the min", value.min, value.get());
+    }
+
+    @Test
+    public void setLongEqualsSetBigDecimal() {
+        NumericValue longValue = new NumericValue(0, -100, 100);
+        NumericValue bigDecimalValue = new NumericValue(0, -100, 100);
+
+        for (long i = -150; i <= 150; i += 25) {
+            longValue.set(i);
+            bigDecimalValue.set(BigDecimal.valueOf(i));
+            assertEquals("Values set via a long and a BigDecimal should be equal",
+                    bigDecimalValue, longValue);
+        }
+    }
+
+    @Test
+    public void fractionalValueIsNotLongValued() {
+        NumericValue value = new NumericValue("1.5");
+        assertFalse("Value with a fractional part should not be long valued", value.isLongValued());
+
+        value.set(2L);
+        assertTrue("Value should be long valued once set to a long", value.isLongValued());
+    }
+
+    @Test
+    public void boundsExceedingLongAreNotLongValued() {
+        NumericValue value = new NumericValue("0", "0", "18446744073709551615");
+        assertFalse("Value with bounds outside a long should not be long valued", value.isLongValued());
+
+        value.set(Long.MAX_VALUE);
+        assertEquals("Value should not be clamped to Long.MAX_VALUE",
+                BigDecimal.valueOf(Long.MAX_VALUE), value.get());
+    }
+
+    @Test
+    public void duplicateIsLongValued() {
+        NumericValue value = new NumericValue(7, 0, 10);
+        NumericValue duplicate = value.duplicate();
+
+        assertTrue("Duplicate should be long valued", duplicate.isLongValued());
+        assertEquals("Duplicate long value should be 7", 7, duplicate.getLong());
+
+        duplicate.set(20L);
+        assertEquals("Duplicate should retain the bounds of the original", 10, duplicate.getLong());
+    }
+}
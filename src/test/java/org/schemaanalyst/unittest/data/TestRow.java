@@ -0,0 +1,75 @@
+package org.schemaanalyst.unittest.data;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+import org.schemaanalyst.data.*;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TestRow {
+
+    Table table = new Table("table");
+    Column column1 = table.createColumn("column1", new IntDataType());
+    Column column2 = table.createColumn("column2", new IntDataType());
+    ValueFactory valueFactory = new ValueFactory();
+
+    @Test
+    public void testGetCell() {
+        Row row = new Row(table, valueFactory);
+        assertSame(row.getCell(0), row.getCell(column1));
+        assertSame(row.getCell(1), row.getCell(column2));
+        assertTrue(row.hasColumn(column2));
+
+        // columns equal to the table's are found too
+        assertSame(row.getCell(1), row.getCell(column2.duplicate()));
+        assertTrue(row.hasColumn(column2.duplicate()));
+        assertFalse(row.hasColumn(new Column("column3", new IntDataType())));
+    }
+
+    @Test(expected = DataException.class)
+    public void testGetUnknownCell() {
+        new Row(table, valueFactory).getCell(new Column("column3", new IntDataType()));
+    }
+
+    @Test
+    public void testGetCellOfReducedRow() {
+        Row row = new Row(table, valueFactory);
+        Row reduced = row.reduceRow(Arrays.asList(column2));
+        assertEquals(1, reduced.getNumCells());
+        assertSame(row.getCell(column2), reduced.getCell(column2));
+        assertFalse(reduced.hasColumn(column1));
+    }
+
+    @Test
+    public void testGetCellOfRowWithoutTable() {
+        Cell cell = new Cell(column2, valueFactory);
+        Row row = new Row(cell);
+        assertSame(cell, row.getCell(column2));
+        assertFalse(row.hasColumn(column1));
+    }
+
+    @Test
+    public void testGetCellAfterColumnAdded() {
+        Row row = new Row(table, valueFactory);
+        Column column3 = table.createColumn("column3", new IntDataType());
+        assertSame(row.getCell(1), row.getCell(column2));
+        assertFalse(row.hasColumn(column3));
+        assertEquals(3, new Row(table, valueFactory).getNumCells());
+    }
+
+    @Test
+    public void testGetCellOfDeserializedRow() {
+        Row row = new Row(table, valueFactory);
+        row.getCell(column2).setValue(new NumericValue(5));
+        Row copy = SerializationUtils.clone(row);
+        Column copiedColumn2 = copy.getTable().getColumn("column2");
+        assertNotSame(column2, copiedColumn2);
+        assertSame(copy.getCell(1), copy.getCell(copiedColumn2));
+        assertEquals(new NumericValue(5), copy.getCell(column2).getValue());
+    }
+}
@@ -0,0 +1,74 @@
+package org.schemaanalyst.unittest.data;
+
+import org.junit.Test;
+import org.schemaanalyst.data.*;
+
+import static org.junit.Assert.*;
+
+public class TestValueLibrary {
+
+    @Test
+    public void testCopyValues() {
+        ValueLibrary library = new ValueLibrary();
+        library.addValue(new NumericValue(10));
+        library.addValue(new StringValue("Hello"));
+        library.addValue(new DateValue(2014, 2, 26));
+        library.addValue(new DateTimeValue(2014, 2, 26, 12, 30, 15));
+        library.addValue(new TimeValue(12, 30, 15));
+        library.addValue(new BooleanValue(true));
+        assertEquals(1, library.getNumNumericValues());
+
+        // values added after sampling are sampled too
+        library.addValue(new NumericValue(20));
+        assertEquals(2, library.getNumNumericValues());
+        assertEquals(0, library.getNumTimestampValues());
+
+        NumericValue numericValue = new NumericValue();
+        library.copyNumericValue(1, numericValue);
+        assertEquals(new NumericValue(20), numericValue);
+
+        StringValue stringValue = new StringValue();
+        library.copyStringValue(0, stringValue);
+        assertEquals("Hello", stringValue.get());
+
+        DateValue dateValue = new DateValue();
+        library.copyDateValue(0, dateValue);
+        assertEquals(new DateValue(2014, 2, 26), dateValue);
+
+        DateTimeValue dateTimeValue = new DateTimeValue();
+        library.copyDateTimeValue(0, dateTimeValue);
+        assertEquals(new DateTimeValue(2014, 2, 26, 12, 30, 15), dateTimeValue);
+
+        TimeValue timeValue = new TimeValue();
+        library.copyTimeValue(0, timeValue);
+        assertEquals(new TimeValue(12, 30, 15), timeValue);
+
+        BooleanValue booleanValue = new BooleanValue(false);
+        library.copyBooleanValue(0, booleanValue);
+        assertTrue(booleanValue.get());
+    }
+
+    @Test
+    public void testFreeze() {
+        ValueLibrary library = new ValueLibrary();
+        library.addValue(new NumericValue(10));
+        assertNotSame(library.getNumericValues(), library.getNumericValues());
+        assertFalse(library.isFrozen());
+
+        assertSame(library, library.freeze());
+        assertTrue(library.isFrozen());
+        assertSame(library.getNumericValues(), library.getNumericValues());
+        assertTrue(library.getNumericValues().contains(new NumericValue(10)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFrozenValuesUnmodifiable() {
+        ValueLibrary library = new ValueLibrary().freeze();
+        library.getNumericValues().add(new NumericValue(10));
+    }
+
+    @Test(expected = DataException.class)
+    public void testAddToFrozen() {
+        new ValueLibrary().freeze().addValue(new NumericValue(10));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.Test;
 import org.schemaanalyst.data.NumericValue;
 import org.schemaanalyst.data.StringValue;
 import org.schemaanalyst.data.ValueLibrary;
+import org.schemaanalyst.data.Value;
 import org.schemaanalyst.data.ValueMiner;
 import org.schemaanalyst.logic.RelationalOperator;
 import org.schemaanalyst.sqlrepresentation.Column;
@@ -14,6 +15,8 @@ import org.schemaanalyst.sqlrepresentation.datatype.VarCharDataType;
 import org.schemaanalyst.sqlrepresentation.expression.*;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 
@@ -76,4 +79,34 @@ public class TestExpressionConstantMiner {
         assertTrue(library.getNumericValues().contains(new NumericValue(1)));
     }
 
+    Schema schemaWithConstant(Value constant) {
+        Schema schema = new Schema("Test");
+        Table table = schema.createTable("Residence");
+        table.createColumn("name", new VarCharDataType(50));
+        schema.createCheckConstraint(table,
+                new RelationalExpression(
+                        new ColumnExpression(table, table.getColumn("name")),
+                        RelationalOperator.EQUALS,
+                        new ConstantExpression(constant)));
+        return schema;
+    }
+
+    StringValue string(String string) {
+        StringValue value = new StringValue();
+        value.setWithNumber(string);
+        return value;
+    }
+
+    @Test
+    public void testMineShared() {
+        ValueLibrary library = new ValueMiner().mineShared(schemaWithConstant(string("it's")));
+        assertTrue(library.isFrozen());
+        assertTrue(library.getStringValues().contains(string("it's")));
+        assertSame(library, new ValueMiner().mineShared(schemaWithConstant(string("it's"))));
+
+        // the strings are written out the same, but are not the same
+        assertNotSame(library, new ValueMiner().mineShared(schemaWithConstant(string("its"))));
+        assertNotSame(library, new ValueMiner().mineShared(schemaWithConstant(new NumericValue(1))));
+    }
+
 }
@@ -0,0 +1,144 @@
+package org.schemaanalyst.unittest.data.generation.search;
+
+import org.junit.Test;
+import org.schemaanalyst.data.Cell;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.ValueLibrary;
+import org.schemaanalyst.data.generation.cellinitialization.DefaultCellInitializer;
+import org.schemaanalyst.data.generation.cellinitialization.RandomCellInitializer;
+import org.schemaanalyst.data.generation.cellvaluegeneration.RandomCellValueGenerator;
+import org.schemaanalyst.data.generation.cellvaluegeneration.ValueInitializationProfile;
+import org.schemaanalyst.data.generation.search.AlternatingValueSearch;
+import org.schemaanalyst.data.generation.search.BestDataJournal;
+import org.schemaanalyst.data.generation.search.objective.primitive.DoublePredicateObjectiveFunctionFactory;
+import org.schemaanalyst.data.generation.search.termination.CombinedTerminationCriterion;
+import org.schemaanalyst.data.generation.search.termination.CounterTerminationCriterion;
+import org.schemaanalyst.data.generation.search.termination.OptimumTerminationCriterion;
+import org.schemaanalyst.logic.RelationalOperator;
+import org.schemaanalyst.sqlrepresentation.expression.ColumnExpression;
+import org.schemaanalyst.sqlrepresentation.expression.ConstantExpression;
+import org.schemaanalyst.sqlrepresentation.expression.RelationalExpression;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.AndPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.ExpressionPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.MatchPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.NullPredicate;
+import org.schemaanalyst.unittest.testutil.mock.TwoColumnMockDatabase;
+import org.schemaanalyst.util.random.Random;
+import org.schemaanalyst.util.random.SimpleRandom;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.schemaanalyst.unittest.testutil.assertion.DataAssert.assertDataEquals;
+
+public class TestBestDataJournal {
+
+    @Test
+    public void testNoBest() {
+        TwoColumnMockDatabase database = new TwoColumnMockDatabase();
+        database.setDataValues(1, 2);
+
+        BestDataJournal journal = new BestDataJournal(database.data);
+        journal.allCellsWillChange();
+
+        assertNull("There should be no best data", journal.getBestData());
+        assertEquals("No cells should be journalled before a best is recorded", 0, journal.getNumJournalledCells());
+    }
+
+    @Test
+    public void testChangedCellsAreUndone() {
+        TwoColumnMockDatabase database = new TwoColumnMockDatabase();
+        database.setDataValues(1, 2, 3, 4);
+        List<Cell> cells = database.data.getCells();
+
+        BestDataJournal journal = new BestDataJournal(database.data);
+        journal.recordBest();
+
+        journal.cellWillChange(cells.get(1));
+        ((NumericValue) cells.get(1).getValue()).set(10);
+        journal.cellWillChange(cells.get(1));
+        ((NumericValue) cells.get(1).getValue()).set(20);
+        journal.cellWillChange(cells.get(2));
+        cells.get(2).setNull(true);
+
+        assertEquals("Only changed cells should be journalled", 2, journal.getNumJournalledCells());
+        assertDataEquals(new Integer[]{1, 2, 3, 4}, journal.getBestData());
+        assertDataEquals(new Integer[]{1, 20, null, 4}, database.data);
+
+        journal.recordBest();
+        assertEquals("Recording a best should empty the journal", 0, journal.getNumJournalledCells());
+        assertDataEquals(new Integer[]{1, 20, null, 4}, journal.getBestData());
+    }
+
+    @Test
+    public void testRestart() {
+        TwoColumnMockDatabase database = new TwoColumnMockDatabase();
+        database.setDataValues(1, 2, 3, 4);
+
+        BestDataJournal journal = new BestDataJournal(database.data);
+        journal.recordBest();
+        journal.allCellsWillChange();
+        database.setDataValues(5, 6, 7, 8);
+
+        assertDataEquals(new Integer[]{1, 2, 3, 4}, journal.getBestData());
+    }
+
+    class DuplicatingAlternatingValueSearch extends AlternatingValueSearch {
+
+        Data duplicatedBest;
+
+        DuplicatingAlternatingValueSearch(Random random, RandomCellInitializer restartInitializer) {
+            super(random, new DefaultCellInitializer(), restartInitializer);
+        }
+
+        @Override
+        protected void recordBestCandidateSolution(Data candidateSolution) {
+            super.recordBestCandidateSolution(candidateSolution);
+            duplicatedBest = candidateSolution.duplicate();
+        }
+    }
+
+    @Test
+    public void testAlternatingValueSearchBestEqualsDuplicatedBest() {
+        TwoColumnMockDatabase database = new TwoColumnMockDatabase();
+        Data state = database.createState(1);
+        Data data = database.createData(3);
+
+        // an infeasible predicate, so that the search restarts
+        AndPredicate predicate = new AndPredicate();
+        predicate.addPredicate(new ExpressionPredicate(database.table, new RelationalExpression(
+                new ColumnExpression(database.table, database.column1),
+                RelationalOperator.GREATER,
+                new ConstantExpression(new NumericValue(30))), true));
+        predicate.addPredicate(new ExpressionPredicate(database.table, new RelationalExpression(
+                new ColumnExpression(database.table, database.column1),
+                RelationalOperator.LESS,
+                new ConstantExpression(new NumericValue(20))), true));
+        predicate.addPredicate(new NullPredicate(database.table, database.column1, false));
+        predicate.addPredicate(new NullPredicate(database.table, database.column2, false));
+        predicate.addPredicate(new MatchPredicate(
+                database.table,
+                MatchPredicate.EMPTY_COLUMN_LIST,
+                Collections.singletonList(database.column2),
+                MatchPredicate.Mode.OR));
+
+        Random random = new SimpleRandom(0);
+        RandomCellInitializer restartInitializer = new RandomCellInitializer(new RandomCellValueGenerator(
+                random, ValueInitializationProfile.SMALL, 0.1, new ValueLibrary(), 0.25));
+
+        DuplicatingAlternatingValueSearch avs = new DuplicatingAlternatingValueSearch(random, restartInitializer);
+        avs.setTerminationCriterion(new CombinedTerminationCriterion(
+                new CounterTerminationCriterion(avs.getEvaluationsCounter(), 2000),
+                new OptimumTerminationCriterion<>(avs)));
+        avs.setObjectiveFunction(DoublePredicateObjectiveFunctionFactory.createObjectiveFunction(predicate, state));
+        avs.initialize();
+        avs.search(data);
+
+        assertEquals("The search should have restarted", true, avs.getNumRestarts() > 0);
+        assertEquals("The journalled best should equal a duplicate of the best",
+                avs.duplicatedBest.toString(), avs.getBestCandidateSolution().toString());
+    }
+}
@@ -0,0 +1,154 @@
+package org.schemaanalyst.unittest.data.generation.search.objective.incremental;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.schemaanalyst.data.Cell;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.generation.DataGeneratorFactory;
+import org.schemaanalyst.data.generation.search.objective.incremental.IncrementalPredicateObjectiveFunction;
+import org.schemaanalyst.data.generation.search.objective.primitive.DoublePredicateObjectiveFunctionFactory;
+import org.schemaanalyst.dbms.sqlite.SQLiteDBMS;
+import org.schemaanalyst.logic.RelationalOperator;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.expression.ColumnExpression;
+import org.schemaanalyst.sqlrepresentation.expression.ConstantExpression;
+import org.schemaanalyst.sqlrepresentation.expression.RelationalExpression;
+import org.schemaanalyst.testgeneration.TestSuiteGenerationReport;
+import org.schemaanalyst.testgeneration.TestSuiteGenerator;
+import org.schemaanalyst.testgeneration.coveragecriterion.CoverageCriterionFactory;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirements;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.*;
+import org.schemaanalyst.unittest.testutil.mock.TwoColumnMockDatabase;
+import parsedcasestudy.BookTown;
+import parsedcasestudy.Flights;
+
+import java.util.Collections;
+import java.util.List;
+
+import static junitparams.JUnitParamsRunner.$;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(JUnitParamsRunner.class)
+public class TestIncrementalPredicateObjectiveFunction {
+
+    private Predicate createPredicate(TwoColumnMockDatabase database, MatchPredicate.Mode mode) {
+        AndPredicate predicate = new AndPredicate();
+        predicate.addPredicate(new MatchPredicate(
+                database.table,
+                Collections.singletonList(database.column1),
+                Collections.singletonList(database.column2),
+                mode));
+        predicate.addPredicate(new NullPredicate(database.table, database.column2, false));
+        predicate.addPredicate(new ExpressionPredicate(
+                database.table,
+                new RelationalExpression(
+                        new ColumnExpression(database.table, database.column1),
+                        RelationalOperator.GREATER,
+                        new ConstantExpression(new NumericValue(3))),
+                true));
+        return predicate;
+    }
+
+    Object[] modes() {
+        return $(
+                $(MatchPredicate.Mode.AND),
+                $(MatchPredicate.Mode.OR)
+        );
+    }
+
+    @Test
+    @Parameters(method = "modes")
+    public void testSingleCellChangesEvaluateAsFullEvaluation(MatchPredicate.Mode mode) {
+        TwoColumnMockDatabase database = new TwoColumnMockDatabase();
+        database.setStateValues(1, 2);
+        database.setDataValues(1, 2, 3, 4, 5, 6, 1, 2);
+        Data data = database.data;
+
+        Predicate predicate = createPredicate(database, mode);
+        IncrementalPredicateObjectiveFunction incrementalObjFun =
+                new IncrementalPredicateObjectiveFunction(predicate, database.state);
+
+        assertEquals(fullEvaluation(predicate, database.state, data),
+                incrementalObjFun.evaluateValue(data), 0);
+
+        List<Cell> cells = data.getCells();
+        int[] newValues = {7, 2, 3, 3, 0, 1, 5, 2};
+        for (int i = 0; i < cells.size(); i++) {
+            Cell cell = cells.get(i);
+            ((NumericValue) cell.getValue()).set(newValues[i]);
+            incrementalObjFun.cellChanged(cell);
+
+            assertEquals("Value after changing cell " + i,
+                    fullEvaluation(predicate, database.state, data),
+                    incrementalObjFun.evaluateValue(data), 0);
+        }
+
+        cells.get(3).setNull(true);
+        incrementalObjFun.cellChanged(cells.get(3));
+        assertEquals("Value after setting a cell to NULL",
+                fullEvaluation(predicate, database.state, data),
+                incrementalObjFun.evaluateValue(data), 0);
+    }
+
+    @Test
+    public void testInvalidate() {
+        TwoColumnMockDatabase database = new TwoColumnMockDatabase();
+        database.setStateValues(1, 2);
+        database.setDataValues(1, 2, 3, 4);
+        Data data = database.data;
+
+        Predicate predicate = createPredicate(database, MatchPredicate.Mode.OR);
+        IncrementalPredicateObjectiveFunction incrementalObjFun =
+                new IncrementalPredicateObjectiveFunction(predicate, database.state);
+        incrementalObjFun.evaluateValue(data);
+
+        // change every cell without reporting the individual changes
+        database.setDataValues(4, 3, 2, 1);
+        incrementalObjFun.invalidate();
+
+        assertEquals(fullEvaluation(predicate, database.state, data),
+                incrementalObjFun.evaluateValue(data), 0);
+    }
+
+    private double fullEvaluation(Predicate predicate, Data state, Data data) {
+        return DoublePredicateObjectiveFunctionFactory.createObjectiveFunction(predicate, state).evaluateValue(data);
+    }
+
+    Object[] schemas() {
+        return $(
+                $(new BookTown(), "avs"),
+                $(new Flights(), "avsDefaults")
+        );
+    }
+
+    @Test
+    @Parameters(method = "schemas")
+    public void testSameSearchTrajectory(Schema schema, String dataGenerator) {
+        TestSuiteGenerationReport expected = generate(schema, dataGenerator + "Double");
+        TestSuiteGenerationReport actual = generate(schema, dataGenerator + "Incremental");
+
+        assertEquals("The number of evaluations should be the same",
+                expected.getNumEvaluations(false), actual.getNumEvaluations(false));
+        assertEquals("The number of covered requirements should be the same",
+                expected.getNumTestRequirementsCovered(), actual.getNumTestRequirementsCovered());
+    }
+
+    private TestSuiteGenerationReport generate(Schema schema, String dataGenerator) {
+        SQLiteDBMS dbms = new SQLiteDBMS();
+        TestRequirements testRequirements = CoverageCriterionFactory
+                .instantiateSchemaCriterion("ClauseAICC", schema, dbms).generateRequirements();
+        testRequirements.filterInfeasible();
+        testRequirements.reduce();
+
+        TestSuiteGenerator testSuiteGenerator = new TestSuiteGenerator(
+                schema,
+                testRequirements,
+                dbms.getValueFactory(),
+                DataGeneratorFactory.instantiate(dataGenerator, 0L, 10000, schema));
+        testSuiteGenerator.generate();
+        return testSuiteGenerator.getTestSuiteGenerationReport();
+    }
+}
@@ -0,0 +1,120 @@
+package org.schemaanalyst.unittest.data.generation.search.objective.primitive;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.StringValue;
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.data.generation.DataGeneratorFactory;
+import org.schemaanalyst.data.generation.search.objective.ObjectiveValue;
+import org.schemaanalyst.data.generation.search.objective.primitive.DoubleValueObjectiveFunction;
+import org.schemaanalyst.data.generation.search.objective.value.RelationalValueObjectiveFunction;
+import org.schemaanalyst.dbms.sqlite.SQLiteDBMS;
+import org.schemaanalyst.logic.RelationalOperator;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.testgeneration.TestSuiteGenerationReport;
+import org.schemaanalyst.testgeneration.TestSuiteGenerator;
+import org.schemaanalyst.testgeneration.coveragecriterion.CoverageCriterionFactory;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirements;
+import parsedcasestudy.BookTown;
+import parsedcasestudy.NistWeather;
+
+import static junitparams.JUnitParamsRunner.$;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(JUnitParamsRunner.class)
+public class TestDoubleObjectiveFunction {
+
+    private static final double DELTA = 1E-12;
+
+    Object[] numericValues() {
+        return $(
+                $(new NumericValue(1), new NumericValue(1)),
+                $(new NumericValue(1), new NumericValue(2)),
+                $(new NumericValue(-5), new NumericValue(100)),
+                $(new NumericValue("1.5"), new NumericValue("1.25")),
+                $(new NumericValue("2.0"), new NumericValue(2)),
+                $(new NumericValue("-9223372036854775808"), new NumericValue("9223372036854775807"))
+        );
+    }
+
+    Object[] stringValues() {
+        return $(
+                $(new StringValue("phil"), new StringValue("phil")),
+                $(new StringValue("phil"), new StringValue("ohim")),
+                $(new StringValue("phil"), new StringValue("philm")),
+                $(new StringValue("philm"), new StringValue("phil")),
+                $(new StringValue(""), new StringValue("")),
+                $(new StringValue(""), new StringValue("a"))
+        );
+    }
+
+    @Test
+    @Parameters(method = "numericValues")
+    public void testNumericValues(Value lhs, Value rhs) {
+        assertEquivalentForAllOperators(lhs, rhs);
+    }
+
+    @Test
+    @Parameters(method = "stringValues")
+    public void testStringValues(Value lhs, Value rhs) {
+        assertEquivalentForAllOperators(lhs, rhs);
+    }
+
+    @Test
+    public void testNullValues() {
+        assertEquivalentForAllOperators(null, new NumericValue(1));
+        assertEquivalentForAllOperators(new StringValue("a"), null);
+    }
+
+    private void assertEquivalentForAllOperators(Value lhs, Value rhs) {
+        for (RelationalOperator op : RelationalOperator.values()) {
+            for (boolean allowNull : new boolean[]{true, false}) {
+                ObjectiveValue expected = RelationalValueObjectiveFunction.compute(lhs, op, rhs, allowNull);
+                double actual = DoubleValueObjectiveFunction.computeRelational(lhs, op, rhs, allowNull);
+
+                String message = lhs + " " + op + " " + rhs + " (allow null: " + allowNull + ")";
+                assertEquals(message, expected.getValue().doubleValue(), actual, DELTA);
+                assertEquals(message, expected.isOptimal(), actual == 0.0);
+            }
+        }
+    }
+
+    Object[] schemas() {
+        return $(
+                $(new BookTown(), "avsDefaults"),
+                $(new NistWeather(), "avsDefaults"),
+                $(new NistWeather(), "avs")
+        );
+    }
+
+    @Test
+    @Parameters(method = "schemas")
+    public void testSameSearchTrajectory(Schema schema, String dataGenerator) {
+        TestSuiteGenerationReport expected = generate(schema, dataGenerator);
+        TestSuiteGenerationReport actual = generate(schema, dataGenerator + "Double");
+
+        assertEquals("The number of evaluations should be the same",
+                expected.getNumEvaluations(false), actual.getNumEvaluations(false));
+        assertEquals("The number of covered requirements should be the same",
+                expected.getNumTestRequirementsCovered(), actual.getNumTestRequirementsCovered());
+    }
+
+    private TestSuiteGenerationReport generate(Schema schema, String dataGenerator) {
+        SQLiteDBMS dbms = new SQLiteDBMS();
+        TestRequirements testRequirements = CoverageCriterionFactory
+                .instantiateSchemaCriterion("ClauseAICC", schema, dbms).generateRequirements();
+        testRequirements.filterInfeasible();
+        testRequirements.reduce();
+
+        TestSuiteGenerator testSuiteGenerator = new TestSuiteGenerator(
+                schema,
+                testRequirements,
+                dbms.getValueFactory(),
+                DataGeneratorFactory.instantiate(dataGenerator, 0L, 10000, schema));
+        testSuiteGenerator.generate();
+        return testSuiteGenerator.getTestSuiteGenerationReport();
+    }
+}
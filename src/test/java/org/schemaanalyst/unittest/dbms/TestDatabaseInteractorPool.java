@@ -0,0 +1,163 @@
+package org.schemaanalyst.unittest.dbms;
+
+import org.junit.Test;
+import org.schemaanalyst.configuration.DatabaseConfiguration;
+import org.schemaanalyst.configuration.LocationsConfiguration;
+import org.schemaanalyst.dbms.DBMSException;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.dbms.DatabaseInteractor;
+import org.schemaanalyst.dbms.DatabaseInteractorPool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestDatabaseInteractorPool {
+
+    private DatabaseInteractor getDatabaseInteractor(String dbms) {
+        DatabaseInteractor databaseInteractor = DBMSFactory.instantiate(dbms).getDatabaseInteractor(
+                "test",
+                new DatabaseConfiguration(),
+                new LocationsConfiguration());
+        databaseInteractor.executeUpdate("DROP TABLE IF EXISTS t");
+        databaseInteractor.executeUpdate("CREATE TABLE t(c1 INT PRIMARY KEY)");
+        return databaseInteractor;
+    }
+
+    @Test
+    public void pooledConnectionsShareTheDatabase() {
+        DatabaseInteractor databaseInteractor = getDatabaseInteractor("HyperSQL");
+        DatabaseInteractorPool pool = new DatabaseInteractorPool(databaseInteractor, 2);
+
+        DatabaseInteractor first = pool.lease();
+        DatabaseInteractor second = pool.lease();
+        assertNotSame("Leased interactors should be different", first, second);
+        assertNotSame("Leased interactors should have their own connections", databaseInteractor, first);
+        assertEquals("No interactors should be available", 0, pool.getNumAvailable());
+
+        assertEquals("Row should be inserted through the first connection",
+                1, (int) first.executeUpdate("INSERT INTO t(c1) VALUES(1)"));
+        assertEquals("Row should be visible through the second connection",
+                0, (int) second.executeUpdate("INSERT INTO t(c1) VALUES(1)"));
+
+        pool.release(first);
+        assertSame("Released interactor should be leased again", first, pool.lease());
+        pool.release(first);
+        pool.release(second);
+        assertEquals("All interactors should be available", 2, pool.getNumAvailable());
+
+        assertEquals("Each pooled interactor should count its own inserts", 1, first.getInsertInteractions());
+        pool.close();
+        assertEquals("Inserts should be added to the original interactor's counters",
+                2, databaseInteractor.getInsertInteractions());
+        assertEquals("Leases should be added to the original interactor's counters",
+                3, databaseInteractor.getLeaseInteractions());
+    }
+
+    @Test
+    public void leaseWaitsForRelease() throws Exception {
+        DatabaseInteractor databaseInteractor = getDatabaseInteractor("HyperSQL");
+        final DatabaseInteractorPool pool = new DatabaseInteractorPool(databaseInteractor, 1);
+        DatabaseInteractor leased = pool.lease();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<DatabaseInteractor> future = executor.submit(new java.util.concurrent.Callable<DatabaseInteractor>() {
+            @Override
+            public DatabaseInteractor call() {
+                return pool.lease();
+            }
+        });
+        Thread.sleep(50);
+        assertFalse("Lease should wait while the only interactor is in use", future.isDone());
+
+        pool.release(leased);
+        assertSame("Waiting lease should receive the released interactor",
+                leased, future.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        pool.release(leased);
+        pool.close();
+        assertTrue("Time spent waiting should be recorded", databaseInteractor.getLeaseWaitTime() > 0);
+    }
+
+    /**
+     * An interactor whose connection can be made to look unusable.
+     */
+    private static class BreakableDatabaseInteractor extends DatabaseInteractor {
+
+        boolean broken = false;
+
+        BreakableDatabaseInteractor() {
+            super(null, null);
+        }
+
+        @Override
+        public void initializeDatabaseConnection() {
+        }
+
+        @Override
+        public DatabaseInteractor duplicate() {
+            return new BreakableDatabaseInteractor();
+        }
+
+        @Override
+        public boolean isConnectionValid() {
+            return !broken;
+        }
+    }
+
+    @Test
+    public void unusableConnectionIsReplaced() {
+        DatabaseInteractor databaseInteractor = new BreakableDatabaseInteractor();
+        DatabaseInteractorPool pool = new DatabaseInteractorPool(databaseInteractor, 1);
+
+        BreakableDatabaseInteractor leased = (BreakableDatabaseInteractor) pool.lease();
+        leased.addInteractions("insert", 5);
+        leased.broken = true;
+        pool.release(leased);
+
+        DatabaseInteractor replacement = pool.lease();
+        assertNotSame("Unusable interactor should be replaced", leased, replacement);
+        assertEquals("Replacement should keep the counters of the unusable interactor",
+                5, replacement.getInsertInteractions());
+        pool.release(replacement);
+
+        pool.close();
+        assertEquals("Replacement should be recorded", 1, databaseInteractor.getReconnectInteractions());
+        assertEquals("Inserts should be added to the original interactor's counters",
+                5, databaseInteractor.getInsertInteractions());
+    }
+
+    @Test
+    public void inMemorySQLiteIsShared() {
+        DatabaseInteractor databaseInteractor = getDatabaseInteractor("SQLite");
+        DatabaseInteractorPool pool = new DatabaseInteractorPool(databaseInteractor, 4);
+
+        assertEquals("Pool for an in-memory SQLite database should have one interactor", 1, pool.getSize());
+        DatabaseInteractor leased = pool.lease();
+        assertSame("The original interactor should be leased", databaseInteractor, leased);
+        assertEquals("Table should be visible through the leased interactor",
+                1, (int) leased.executeUpdate("INSERT INTO t(c1) VALUES(1)"));
+        pool.release(leased);
+        pool.close();
+    }
+
+    @Test(expected = DBMSException.class)
+    public void emptyPoolIsRejected() {
+        new DatabaseInteractorPool(getDatabaseInteractor("HyperSQL"), 0);
+    }
+
+    @Test(expected = DBMSException.class)
+    public void releasingForeignInteractorIsRejected() {
+        DatabaseInteractor databaseInteractor = getDatabaseInteractor("HyperSQL");
+        DatabaseInteractorPool pool = new DatabaseInteractorPool(databaseInteractor, 1);
+        pool.release(databaseInteractor);
+    }
+}
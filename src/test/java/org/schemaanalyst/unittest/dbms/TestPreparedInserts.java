@@ -0,0 +1,133 @@
+package org.schemaanalyst.unittest.dbms;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.schemaanalyst.configuration.DatabaseConfiguration;
+import org.schemaanalyst.configuration.LocationsConfiguration;
+import org.schemaanalyst.data.DateValue;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.StringValue;
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.data.generation.DataGeneratorFactory;
+import org.schemaanalyst.dbms.DBMS;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.dbms.DatabaseInteractor;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.testgeneration.TestCase;
+import org.schemaanalyst.testgeneration.TestCaseExecutor;
+import org.schemaanalyst.testgeneration.TestSuite;
+import org.schemaanalyst.testgeneration.TestSuiteGenerator;
+import org.schemaanalyst.testgeneration.coveragecriterion.CoverageCriterionFactory;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirements;
+import parsedcasestudy.BookTown;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static junitparams.JUnitParamsRunner.$;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnitParamsRunner.class)
+public class TestPreparedInserts {
+
+    private static final String INSERT = "INSERT INTO t(c1, c2, c3, c4) VALUES(?, ?, ?, ?)";
+
+    Object[] dbmses() {
+        return $($("SQLite"), $("HyperSQL"));
+    }
+
+    private DatabaseInteractor setUp(String dbms) {
+        DatabaseInteractor databaseInteractor = DBMSFactory.instantiate(dbms).getDatabaseInteractor(
+                "test",
+                new DatabaseConfiguration(),
+                new LocationsConfiguration());
+        databaseInteractor.execute("DROP TABLE IF EXISTS t");
+        databaseInteractor.execute("CREATE TABLE t(c1 INT PRIMARY KEY, c2 VARCHAR(10), c3 DATE, c4 DECIMAL(5, 2))");
+        return databaseInteractor;
+    }
+
+    private List<Value> values(int c1, String c2) {
+        return Arrays.<Value>asList(
+                new NumericValue(c1),
+                c2 == null ? null : new StringValue(c2),
+                new DateValue(2000, 2, 30),
+                new NumericValue("1.5"));
+    }
+
+    @Test
+    @Parameters(method = "dbmses")
+    public void preparedStatementIsReusedAfterFailure(String dbms) {
+        DatabaseInteractor databaseInteractor = setUp(dbms);
+
+        assertEquals("First row should be inserted",
+                1, (int) databaseInteractor.executePreparedUpdate(INSERT, values(1, "a")));
+        assertEquals("Row with a duplicate primary key should not be inserted",
+                0, (int) databaseInteractor.executePreparedUpdate(INSERT, values(1, "b")));
+        assertEquals("Row with NULL should be inserted after the failure",
+                1, (int) databaseInteractor.executePreparedUpdate(INSERT, values(2, null)));
+
+        assertEquals("Only one prepared statement should be cached", 1, databaseInteractor.getNumPreparedStatements());
+        assertEquals("Each insert should be recorded as an interaction", 3, databaseInteractor.getInsertInteractions());
+
+        databaseInteractor.closePreparedStatements();
+        assertEquals("No prepared statements should be cached once closed", 0, databaseInteractor.getNumPreparedStatements());
+    }
+
+    @Test
+    @Parameters(method = "dbmses")
+    public void batchResults(String dbms) {
+        DatabaseInteractor databaseInteractor = setUp(dbms);
+
+        int[] results = databaseInteractor.executePreparedUpdatesAsBatch(
+                INSERT, Arrays.asList(values(1, "a"), values(2, null), values(3, "c")));
+        assertArrayEquals("All rows in the batch should be inserted", new int[]{1, 1, 1}, results);
+
+        results = databaseInteractor.executePreparedUpdatesAsBatch(
+                INSERT, Arrays.asList(values(4, "d"), values(1, "e")));
+        assertEquals("There should be one result per row", 2, results.length);
+        assertEquals("Row with a duplicate primary key should not be inserted", 0, results[1]);
+
+        assertArrayEquals("The batch should still work after a failure",
+                new int[]{1}, databaseInteractor.executePreparedUpdatesAsBatch(INSERT, Arrays.asList(values(5, "f"))));
+    }
+
+    @Test
+    @Parameters(method = "dbmses")
+    public void preparedInsertsGiveSameResultsAsLiterals(String dbms) {
+        Schema schema = new BookTown();
+        DBMS dbmsObject = DBMSFactory.instantiate(dbms);
+        TestRequirements testRequirements = CoverageCriterionFactory
+                .instantiateSchemaCriterion("ClauseAICC", schema, dbmsObject).generateRequirements();
+        testRequirements.filterInfeasible();
+        testRequirements.reduce();
+        TestSuite testSuite = new TestSuiteGenerator(
+                schema,
+                testRequirements,
+                dbmsObject.getValueFactory(),
+                DataGeneratorFactory.instantiate("avsDefaults", 0L, 100000, schema)).generate();
+
+        TestCaseExecutor executor = new TestCaseExecutor(
+                schema, dbmsObject, new DatabaseConfiguration(), new LocationsConfiguration());
+        executor.execute(testSuite);
+        List<List<Boolean>> literalResults = new ArrayList<>();
+        for (TestCase testCase : testSuite.getTestCases()) {
+            literalResults.add(new ArrayList<>(testCase.getDBMSResults()));
+        }
+
+        executor.setPreparedInserts(true);
+        executor.execute(testSuite);
+        List<List<Boolean>> preparedResults = new ArrayList<>();
+        for (TestCase testCase : testSuite.getTestCases()) {
+            preparedResults.add(new ArrayList<>(testCase.getDBMSResults()));
+        }
+
+        assertTrue("There should be some test cases", literalResults.size() > 0);
+        assertEquals("Prepared inserts should give the same results as literal inserts",
+                literalResults, preparedResults);
+    }
+}
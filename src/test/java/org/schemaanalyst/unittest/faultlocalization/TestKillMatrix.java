@@ -0,0 +1,58 @@
+package org.schemaanalyst.unittest.faultlocalization;
+
+import org.junit.Test;
+import org.schemaanalyst.faultlocalization.KillMatrix;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestKillMatrix {
+
+	@Test
+	public void testCounts() {
+		KillMatrix matrix = new KillMatrix(Arrays.asList(true, true, false, true, false));
+		assertEquals(5, matrix.getNumInserts());
+		assertEquals(3, matrix.getTotalPassed());
+		assertEquals(2, matrix.getTotalFailed());
+
+		assertEquals(0, matrix.addMutant(Arrays.asList(true, true, false, true, false)));
+		assertEquals(1, matrix.addMutant(Arrays.asList(false, true, true, true, false)));
+		assertEquals(2, matrix.getNumMutants());
+
+		assertEquals(0, matrix.getPassed(0));
+		assertEquals(0, matrix.getFailed(0));
+
+		// the first INSERT was accepted and is now rejected, the third the other way round
+		assertEquals(1, matrix.getPassed(1));
+		assertEquals(2, matrix.getFailed(1));
+		assertTrue(matrix.isFailed(1, 0));
+		assertFalse(matrix.isFailed(1, 1));
+		assertTrue(matrix.isFailed(1, 2));
+	}
+
+	@Test
+	public void testManyInserts() {
+		Boolean[] original = new Boolean[150];
+		Boolean[] mutant = new Boolean[150];
+		for (int i = 0; i < original.length; i++) {
+			original[i] = i % 2 == 0;
+			mutant[i] = i % 3 == 0 ? !original[i] : original[i];
+		}
+		KillMatrix matrix = new KillMatrix(Arrays.asList(original));
+		matrix.addMutant(Arrays.asList(mutant));
+		assertEquals(75, matrix.getTotalPassed());
+		// multiples of 3, of which the even ones were accepted
+		assertEquals(50, matrix.getFailed(0));
+		assertEquals(25, matrix.getPassed(0));
+		assertTrue(matrix.isFailed(0, 147));
+		assertFalse(matrix.isFailed(0, 149));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDifferentNumberOfInserts() {
+		new KillMatrix(Arrays.asList(true, false)).addMutant(Arrays.asList(true));
+	}
+}
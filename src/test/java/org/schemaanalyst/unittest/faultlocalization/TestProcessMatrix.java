@@ -120,4 +120,34 @@ public class TestProcessMatrix {
 		
 	}
 
+	@Test
+	public void testProcessScoresSameAsProcess() {
+		Table t = new Table("first");
+		Column col = new Column("first" , new IntDataType());
+		Schema s = new Schema("example");
+		t.addColumn(col);
+		s.addTable(t);
+		NotNullConstraint c = new NotNullConstraint(t, t.getColumn("first"));
+		s.addNotNullConstraint(c);
+
+		ArrayList<ResultMatrixRow> rows1 = new ArrayList<>();
+		rows1.add(new ResultMatrixRow(c , "first mutant", 5, 13, 10, 4, false));
+		rows1.add(new ResultMatrixRow(c , "second mutant", 5, 13, 4, 2, true));
+		rows1.add(new ResultMatrixRow(c , "third mutant", 5, 13, 8, 1, false));
+		ArrayList<ResultMatrixRow> rows2 = new ArrayList<>();
+		rows2.add(new ResultMatrixRow(c , "first mutant", 5, 13, 10, 4, false));
+		rows2.add(new ResultMatrixRow(c , "second mutant", 5, 13, 4, 2, true));
+		rows2.add(new ResultMatrixRow(c , "third mutant", 5, 13, 8, 1, false));
+
+		ProcessMatrix.Process(s, new ResultMatrix(s, rows1));
+		ProcessMatrix.processScores(new ResultMatrix(s, rows2));
+		for (int i = 0; i < rows1.size(); i++) {
+			assertEquals(rows1.get(i).getOchiaiScore(), rows2.get(i).getOchiaiScore(), 0);
+			assertEquals(rows1.get(i).getScoreOchiai(), rows2.get(i).getScoreOchiai(), 0);
+			assertEquals(rows1.get(i).getScoreTarantula(), rows2.get(i).getScoreTarantula(), 0);
+			assertEquals(rows1.get(i).getScoreJaccard(), rows2.get(i).getScoreJaccard(), 0);
+			assertEquals(rows1.get(i).getOchiaiRank(), rows2.get(i).getOchiaiRank());
+		}
+	}
+
 }
@@ -0,0 +1,96 @@
+package org.schemaanalyst.unittest.mutation;
+
+import org.junit.Test;
+import org.schemaanalyst.mutation.Mutant;
+import org.schemaanalyst.mutation.SchemaDelta;
+import org.schemaanalyst.mutation.operator.CCNullifier;
+import org.schemaanalyst.mutation.operator.FKCColumnPairE;
+import org.schemaanalyst.mutation.operator.NNCA;
+import org.schemaanalyst.mutation.operator.UCColumnR;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.sqlwriter.SQLWriter;
+import parsedcasestudy.BookTown;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestSchemaDelta {
+
+    private List<Mutant<Schema>> mutants(Schema schema) {
+        List<Mutant<Schema>> mutants = new ArrayList<>();
+        mutants.addAll(new CCNullifier(schema).mutate());
+        mutants.addAll(new FKCColumnPairE(schema).mutate());
+        mutants.addAll(new NNCA(schema).mutate());
+        mutants.addAll(new UCColumnR(schema).mutate());
+        return mutants;
+    }
+
+    @Test
+    public void testMaterialisedMutantsEqualOriginalMutants() {
+        Schema schema = new BookTown();
+        SchemaDelta.Encoder encoder = new SchemaDelta.Encoder(schema);
+        SQLWriter sqlWriter = new SQLWriter();
+
+        List<Mutant<Schema>> mutants = mutants(schema);
+        assertTrue(mutants.size() > 0);
+        for (Mutant<Schema> mutant : mutants) {
+            Schema mutantSchema = mutant.getMutatedArtefact();
+            SchemaDelta delta = encoder.encode(mutantSchema);
+            assertNotNull(delta);
+
+            Schema materialised = delta.materialise();
+            assertEquals(mutantSchema, materialised);
+            assertEquals(sqlWriter.writeCreateTableStatements(mutantSchema),
+                    sqlWriter.writeCreateTableStatements(materialised));
+        }
+    }
+
+    @Test
+    public void testChangedAndRemovedConstraints() {
+        Schema schema = new BookTown();
+        Mutant<Schema> mutant = new CCNullifier(schema).mutate().get(0);
+        SchemaDelta delta = new SchemaDelta.Encoder(schema).encode(mutant.getMutatedArtefact());
+
+        assertSame(schema, delta.getOriginal());
+        assertEquals(0, delta.getChangedConstraints().size());
+        assertEquals(1, delta.getRemovedConstraints().size());
+        assertSame(schema.getCheckConstraints().get(0), delta.getRemovedConstraints().get(0));
+    }
+
+    @Test
+    public void testSchemaWithOtherTablesNotEncoded() {
+        Schema schema = new BookTown();
+        Schema other = schema.duplicate();
+        Table table = other.createTable("extra");
+        table.createColumn("id", new IntDataType());
+        assertNull(new SchemaDelta.Encoder(schema).encode(other));
+    }
+
+    @Test
+    public void testCompactMutant() {
+        Schema schema = new BookTown();
+        Mutant<Schema> mutant = new NNCA(schema).mutate().get(0);
+        Schema mutantSchema = mutant.getMutatedArtefact();
+        assertFalse(mutant.isCompact());
+
+        assertTrue(mutant.compact(new SchemaDelta.Encoder(schema)));
+        assertTrue(mutant.isCompact());
+        assertEquals(mutantSchema, mutant.getMutatedArtefactView());
+        assertTrue(mutant.isCompact());
+
+        Schema retrieved = mutant.getMutatedArtefact();
+        assertEquals(mutantSchema, retrieved);
+        assertFalse("Retrieving the artefact for modification keeps it", mutant.isCompact());
+        assertNotSame(schema, retrieved);
+    }
+}
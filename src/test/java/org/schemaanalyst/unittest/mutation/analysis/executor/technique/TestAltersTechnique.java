@@ -0,0 +1,148 @@
+package org.schemaanalyst.unittest.mutation.analysis.executor.technique;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.ValueFactory;
+import org.schemaanalyst.dbms.DBMS;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.dbms.DatabaseInteractor;
+import org.schemaanalyst.mutation.Mutant;
+import org.schemaanalyst.mutation.analysis.executor.alters.technique.AltersTechnique;
+import org.schemaanalyst.mutation.analysis.executor.alters.testcase.AltersTestCaseExecutor;
+import org.schemaanalyst.mutation.analysis.executor.alters.testsuite.AltersTestSuiteExecutor;
+import org.schemaanalyst.mutation.analysis.executor.technique.AnalysisResult;
+import org.schemaanalyst.mutation.analysis.executor.testsuite.TestSuiteResult;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.testgeneration.TestCase;
+import org.schemaanalyst.testgeneration.TestSuite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestAltersTechnique {
+
+    // an interactor that adds a NOT NULL constraint unless a row inserted
+    // since the last DELETE has a NULL in the column, counting the ALTERs
+    private static class NotNullInteractor extends DatabaseInteractor {
+
+        List<String> inserts = new ArrayList<>();
+        int alters;
+
+        NotNullInteractor() {
+            super(null, null);
+        }
+
+        @Override
+        public void initializeDatabaseConnection() {
+        }
+
+        @Override
+        public DatabaseInteractor duplicate() {
+            return new NotNullInteractor();
+        }
+
+        @Override
+        public Integer executeUpdate(String command) {
+            if (command.startsWith("INSERT")) {
+                inserts.add(command.substring(command.indexOf("VALUES")).replaceAll("\\s", ""));
+            } else if (command.startsWith("DELETE")) {
+                inserts.clear();
+            } else if (command.startsWith("ALTER")) {
+                alters++;
+                for (String insert : inserts) {
+                    if ((command.contains("ALTER a SET NOT NULL") && insert.startsWith("VALUES(NULL,"))
+                            || (command.contains("ALTER b SET NOT NULL") && insert.endsWith(",NULL)"))) {
+                        return -2;
+                    }
+                }
+            }
+            return 0;
+        }
+    }
+
+    private DBMS dbms;
+    private NotNullInteractor interactor;
+    private Schema original;
+    private Table table;
+    private Column a, b;
+    private TestSuite suite;
+
+    @Before
+    public void createSchemaAndSuite() {
+        dbms = DBMSFactory.instantiate("SQLite");
+        interactor = new NotNullInteractor();
+
+        original = new Schema("s");
+        table = original.createTable("t");
+        a = table.createColumn("a", new IntDataType());
+        b = table.createColumn("b", new IntDataType());
+        original.createNotNullConstraint(table, a);
+
+        suite = new TestSuite();
+        suite.addTestCase(testCase(1, null));
+        suite.addTestCase(testCase(null, 1));
+        suite.addTestCase(testCase(1, 1));
+    }
+
+    private TestCase testCase(Integer aValue, Integer bValue) {
+        Data data = new Data();
+        Row row = data.addRow(table, new ValueFactory());
+        row.getCell(a).setValue(aValue == null ? null : new NumericValue(aValue));
+        row.getCell(b).setValue(bValue == null ? null : new NumericValue(bValue));
+        return new TestCase(null, data, new Data());
+    }
+
+    private Mutant<Schema> mutant(String description, boolean notNullA, boolean notNullB) {
+        Schema schema = new Schema("s");
+        Table mutantTable = schema.createTable("t");
+        Column mutantA = mutantTable.createColumn("a", new IntDataType());
+        Column mutantB = mutantTable.createColumn("b", new IntDataType());
+        if (notNullA) {
+            schema.createNotNullConstraint(mutantTable, mutantA);
+        }
+        if (notNullB) {
+            schema.createNotNullConstraint(mutantTable, mutantB);
+        }
+        return new Mutant<>(schema, description);
+    }
+
+    @Test
+    public void testKilledMutantsAreNotAlteredAgain() {
+        Mutant<Schema> moved = mutant("moved", false, true);
+        Mutant<Schema> removed = mutant("removed", false, false);
+        Mutant<Schema> added = mutant("added", true, true);
+        Mutant<Schema> equivalent = mutant("equivalent", true, false);
+        List<Mutant<Schema>> mutants = Arrays.asList(moved, removed, added, equivalent);
+
+        AltersTestCaseExecutor executor = new AltersTestCaseExecutor(original, interactor, dbms.getSQLWriter());
+        TestSuiteResult originalResults = new AltersTestSuiteExecutor().executeTestSuite(executor, suite);
+
+        interactor.alters = 0;
+        AltersTechnique technique = new AltersTechnique(original, mutants, suite, dbms, interactor, null, null, 0);
+        AnalysisResult result = technique.analyse(originalResults);
+
+        assertEquals(new HashSet<>(Arrays.asList(moved, removed, added)), new HashSet<>(result.getKilled()));
+        assertEquals(new HashSet<>(Arrays.asList(equivalent)), new HashSet<>(result.getLive()));
+
+        // the mutants with as many or more constraints are killed by the
+        // first test case, the mutant with fewer only once all have run
+        long saved = 2 * executor.countAlters(moved.getMutatedArtefact())
+                + 2 * executor.countAlters(added.getMutatedArtefact());
+        assertEquals(saved, technique.getSavedStatements());
+        long all = 0;
+        for (Mutant<Schema> mutant : mutants) {
+            all += 3 * executor.countAlters(mutant.getMutatedArtefact());
+        }
+        assertEquals(all - saved, interactor.alters);
+    }
+}
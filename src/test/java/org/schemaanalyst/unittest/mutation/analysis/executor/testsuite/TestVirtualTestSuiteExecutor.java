@@ -0,0 +1,114 @@
+package org.schemaanalyst.unittest.mutation.analysis.executor.testsuite;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.ValueFactory;
+import org.schemaanalyst.dbms.DBMS;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.mutation.analysis.executor.testcase.VirtualTestCaseExecutor;
+import org.schemaanalyst.mutation.analysis.executor.testsuite.VirtualTestSuiteExecutor;
+import org.schemaanalyst.mutation.analysis.executor.testsuite.VirtualTestSuiteResult;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.testgeneration.BinaryTestSuiteReader;
+import org.schemaanalyst.testgeneration.BinaryTestSuiteWriter;
+import org.schemaanalyst.testgeneration.TestCase;
+import org.schemaanalyst.testgeneration.TestSuite;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestVirtualTestSuiteExecutor {
+
+    private DBMS dbms;
+    private Schema original, mutant;
+    private Table table;
+    private Column column;
+    private TestSuite suite;
+
+    @Before
+    public void createSchemasAndSuite() {
+        dbms = DBMSFactory.instantiate("SQLite");
+
+        original = new Schema("s");
+        table = original.createTable("t");
+        column = table.createColumn("a", new IntDataType());
+        original.createPrimaryKeyConstraint(table, column);
+
+        // a mutant with the primary key removed
+        mutant = original.duplicate();
+        mutant.removePrimaryKeyConstraint(mutant.getTable("t"));
+
+        suite = new TestSuite();
+        suite.addTestCase(testCase(1));
+        suite.addTestCase(testCase(1, 1));
+        suite.addTestCase(testCase(2));
+    }
+
+    private TestCase testCase(int... values) {
+        Data data = new Data();
+        for (int value : values) {
+            Row row = data.addRow(table, new ValueFactory());
+            row.getCell(column).setValue(new NumericValue(value));
+        }
+        return new TestCase(null, data, new Data());
+    }
+
+    private VirtualTestSuiteResult execute(Schema schema) {
+        return new VirtualTestSuiteExecutor().executeTestSuite(new VirtualTestCaseExecutor(schema, dbms), suite);
+    }
+
+    @Test
+    public void testSameResultRunsEveryTestCase() {
+        VirtualTestSuiteResult expected = execute(original);
+        VirtualTestSuiteResult result = new VirtualTestSuiteExecutor().executeTestSuiteUntilDifferent(
+                new VirtualTestCaseExecutor(original, dbms), suite, expected);
+        assertEquals(3, result.getResultCount());
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testDifferentResultStopsAtFirstDifference() {
+        VirtualTestSuiteResult expected = execute(original);
+        VirtualTestSuiteResult result = new VirtualTestSuiteExecutor().executeTestSuiteUntilDifferent(
+                new VirtualTestCaseExecutor(mutant, dbms), suite, expected);
+        assertEquals("The test case after the duplicate primary key should be skipped", 2, result.getResultCount());
+        assertNotEquals(expected, result);
+        assertNotEquals(expected, execute(mutant));
+    }
+
+    @Test
+    public void testStreamedTestCasesAreComparedByPosition() throws IOException {
+        File file = File.createTempFile("testsuite", ".bin");
+        try {
+            new BinaryTestSuiteWriter(original).write(suite, file);
+            try (BinaryTestSuiteReader reader = new BinaryTestSuiteReader(file, original, dbms.getValueFactory())) {
+                VirtualTestSuiteExecutor executor = new VirtualTestSuiteExecutor();
+                VirtualTestSuiteResult expected = executor.executeTestSuite(new VirtualTestCaseExecutor(original, dbms), reader);
+
+                // each iteration decodes new test cases, unequal to the last
+                VirtualTestSuiteResult same = executor.executeTestSuiteUntilDifferent(
+                        new VirtualTestCaseExecutor(original, dbms), reader, expected);
+                assertEquals(3, same.getResultCount());
+                assertTrue(expected.hasSameResults(same));
+
+                VirtualTestSuiteResult different = executor.executeTestSuiteUntilDifferent(
+                        new VirtualTestCaseExecutor(mutant, dbms), reader, expected);
+                assertEquals(2, different.getResultCount());
+                assertFalse(expected.hasSameResults(different));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.schemaanalyst.unittest.mutation.pipeline;
+
+import org.junit.Test;
+import org.schemaanalyst.mutation.Mutant;
+import org.schemaanalyst.mutation.MutationException;
+import org.schemaanalyst.mutation.pipeline.AllOperatorsWithRemoversPipeline;
+import org.schemaanalyst.mutation.pipeline.MutationPipeline;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import parsedcasestudy.BookTown;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestMutationPipeline {
+
+    @Test
+    public void testParallelProductionKeepsMutantOrder() {
+        Schema schema = new BookTown();
+        AllOperatorsWithRemoversPipeline sequential = new AllOperatorsWithRemoversPipeline(schema);
+        AllOperatorsWithRemoversPipeline parallel = new AllOperatorsWithRemoversPipeline(schema);
+        parallel.setParallel(4);
+
+        List<Mutant<Schema>> sequentialMutants = sequential.mutate();
+        List<Mutant<Schema>> parallelMutants = parallel.mutate();
+
+        assertTrue(sequentialMutants.size() > 0);
+        assertEquals(sequentialMutants.size(), parallelMutants.size());
+        for (int i = 0; i < sequentialMutants.size(); i++) {
+            Mutant<Schema> sequentialMutant = sequentialMutants.get(i);
+            Mutant<Schema> parallelMutant = parallelMutants.get(i);
+            assertEquals(sequentialMutant.getIdentifier(), parallelMutant.getIdentifier());
+            assertEquals(sequentialMutant.getSimpleDescription(), parallelMutant.getSimpleDescription());
+            assertEquals(sequentialMutant.getDescription(), parallelMutant.getDescription());
+            assertEquals(sequentialMutant.getMutatedArtefact(), parallelMutant.getMutatedArtefact());
+        }
+        assertEquals(sequential.getProducerCounts(), parallel.getProducerCounts());
+        assertEquals(sequential.getRemoverCounts(), parallel.getRemoverCounts());
+        assertEquals(sequential.getProducerTimings().keySet(), parallel.getProducerTimings().keySet());
+    }
+
+    @Test(expected = MutationException.class)
+    public void testNoThreadsRejected() {
+        new MutationPipeline<Schema>().setParallel(0);
+    }
+}
@@ -0,0 +1,275 @@
+package org.schemaanalyst.unittest.mutation.quasimutant;
+
+import org.junit.Test;
+import org.schemaanalyst.configuration.DatabaseConfiguration;
+import org.schemaanalyst.configuration.LocationsConfiguration;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.dbms.DBMS;
+import org.schemaanalyst.dbms.DBMSFactory;
+import org.schemaanalyst.dbms.DatabaseInteractor;
+import org.schemaanalyst.logic.RelationalOperator;
+import org.schemaanalyst.mutation.Mutant;
+import org.schemaanalyst.mutation.quasimutant.DBMSRemover;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.SQLRepresentationException;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.sqlrepresentation.expression.ColumnExpression;
+import org.schemaanalyst.sqlrepresentation.expression.ConstantExpression;
+import org.schemaanalyst.sqlrepresentation.expression.RelationalExpression;
+import org.schemaanalyst.sqlwriter.SQLWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestDBMSRemover {
+
+    // parent(id) <- child(parent_id), and other(x), unrelated to both
+    private Schema createSchema() {
+        Schema schema = new Schema("s");
+        Table parent = schema.createTable("parent");
+        Column id = parent.createColumn("id", new IntDataType());
+        schema.createPrimaryKeyConstraint(parent, id);
+        Table child = schema.createTable("child");
+        child.createColumn("id", new IntDataType());
+        Column parentId = child.createColumn("parent_id", new IntDataType());
+        schema.createForeignKeyConstraint(child, parentId, parent, id);
+        Table other = schema.createTable("other");
+        other.createColumn("x", new IntDataType());
+        return schema;
+    }
+
+    private Mutant<Schema> unchanged() {
+        return new Mutant<>(createSchema(), "unchanged");
+    }
+
+    private Mutant<Schema> otherNotNull() {
+        Schema schema = createSchema();
+        Table other = schema.getTable("other");
+        schema.createNotNullConstraint(other, other.getColumn("x"));
+        return new Mutant<>(schema, "other NOT NULL");
+    }
+
+    // rejected by HyperSQL, as the CHECK refers to a column "other" lacks,
+    // while SQLite takes the name for a string
+    private Mutant<Schema> otherCheckOnMissingColumn() {
+        Schema schema = createSchema();
+        Table other = schema.getTable("other");
+        schema.createCheckConstraint(other, new RelationalExpression(
+                new ColumnExpression(other, new Column("missing", new IntDataType())),
+                RelationalOperator.GREATER,
+                new ConstantExpression(new NumericValue(0))));
+        return new Mutant<>(schema, "other CHECK on a missing column");
+    }
+
+    // rejected by SQLite, which reserves names starting with "sqlite_"
+    private Mutant<Schema> otherWithReservedName() {
+        Schema schema = createSchema();
+        schema.getTable("other").setName("sqlite_other");
+        return new Mutant<>(schema, "other with a reserved name");
+    }
+
+    // the table of the mutant is unchanged, but refers to a changed one,
+    // which HyperSQL rejects as the referenced column is no longer a key
+    private Mutant<Schema> parentWithoutPrimaryKey() {
+        Schema schema = createSchema();
+        schema.removePrimaryKeyConstraint(schema.getTable("parent"));
+        return new Mutant<>(schema, "parent without PRIMARY KEY");
+    }
+
+    // a changed table referring to an unchanged table
+    private Mutant<Schema> otherReferringToParent() {
+        Schema schema = createSchema();
+        Table parent = schema.getTable("parent");
+        Table other = schema.getTable("other");
+        schema.createForeignKeyConstraint(other, other.getColumn("x"), parent, parent.getColumn("id"));
+        return new Mutant<>(schema, "other referring to parent");
+    }
+
+    // a changed table referring to an unchanged table that comes later
+    private Mutant<Schema> parentReferringToOther() {
+        Schema schema = createSchema();
+        Table parent = schema.getTable("parent");
+        Table other = schema.getTable("other");
+        schema.createPrimaryKeyConstraint(other, other.getColumn("x"));
+        Column otherX = parent.createColumn("other_x", new IntDataType());
+        schema.createForeignKeyConstraint(parent, otherX, other, other.getColumn("x"));
+        return new Mutant<>(schema, "parent referring to other");
+    }
+
+    // a changed table referring to itself, and referred to by an unchanged one
+    private Mutant<Schema> parentReferringToItself() {
+        Schema schema = createSchema();
+        Table parent = schema.getTable("parent");
+        Column parentId = parent.createColumn("parent_id", new IntDataType());
+        schema.createForeignKeyConstraint(parent, parentId, parent, parent.getColumn("id"));
+        return new Mutant<>(schema, "parent referring to itself");
+    }
+
+    // tables referring to each other, which cannot be put in order
+    private Mutant<Schema> parentInCycleWithChild() {
+        Schema schema = createSchema();
+        Table parent = schema.getTable("parent");
+        Table child = schema.getTable("child");
+        schema.createPrimaryKeyConstraint(child, child.getColumn("id"));
+        Column childId = parent.createColumn("child_id", new IntDataType());
+        schema.createForeignKeyConstraint(parent, childId, child, child.getColumn("id"));
+        return new Mutant<>(schema, "parent in a cycle with child");
+    }
+
+    // a table missing from the base schema, referring to one in it
+    private Mutant<Schema> withExtraTable() {
+        Schema schema = createSchema();
+        Table parent = schema.getTable("parent");
+        Table extra = schema.createTable("extra");
+        Column parentId = extra.createColumn("parent_id", new IntDataType());
+        schema.createForeignKeyConstraint(extra, parentId, parent, parent.getColumn("id"));
+        return new Mutant<>(schema, "with extra table");
+    }
+
+    private List<Mutant<Schema>> createMutants(int copies) {
+        List<Mutant<Schema>> mutants = new ArrayList<>();
+        for (int i = 0; i < copies; i++) {
+            // the copies of each mutant are checked with cached verdicts
+            mutants.add(unchanged());
+            mutants.add(otherNotNull());
+            mutants.add(otherCheckOnMissingColumn());
+            mutants.add(parentWithoutPrimaryKey());
+            mutants.add(otherReferringToParent());
+            mutants.add(parentReferringToOther());
+            mutants.add(parentReferringToItself());
+            mutants.add(withExtraTable());
+            mutants.add(otherWithReservedName());
+        }
+        return mutants;
+    }
+
+    /**
+     * Finds the indices of the mutants that can be created, creating and
+     * dropping every table of each mutant in turn.
+     */
+    private List<Integer> findValidByCreatingAllTables(String dbmsName, List<Mutant<Schema>> mutants) {
+        DBMS dbms = DBMSFactory.instantiate(dbmsName);
+        SQLWriter sqlWriter = dbms.getSQLWriter();
+        DatabaseInteractor databaseInteractor = dbms.getDatabaseInteractor(
+                "reference",
+                new DatabaseConfiguration(),
+                new LocationsConfiguration());
+        List<Integer> valid = new ArrayList<>();
+        try {
+            for (int i = 0; i < mutants.size(); i++) {
+                Schema schema = mutants.get(i).getMutatedArtefact();
+                boolean created = true;
+                for (String statement : sqlWriter.writeCreateTableStatements(schema)) {
+                    if (databaseInteractor.executeUpdate(statement) == -1) {
+                        created = false;
+                        break;
+                    }
+                }
+                for (String statement : sqlWriter.writeDropTableStatements(schema, true)) {
+                    databaseInteractor.executeUpdate(statement);
+                }
+                if (created) {
+                    valid.add(i);
+                }
+            }
+        } finally {
+            databaseInteractor.close();
+        }
+        return valid;
+    }
+
+    // the indices of the mutants kept by the remover, found by identity as
+    // mutants are not equal to themselves
+    private List<Integer> findValidWithRemover(String dbms, int threads, List<Mutant<Schema>> mutants) {
+        List<Integer> valid = new ArrayList<>();
+        for (Mutant<Schema> kept : new DBMSRemover(dbms, threads).removeMutants(new ArrayList<>(mutants))) {
+            for (int i = 0; i < mutants.size(); i++) {
+                if (mutants.get(i) == kept) {
+                    valid.add(i);
+                }
+            }
+        }
+        return valid;
+    }
+
+    private void assertSameAsCreatingAllTables(String dbms, int threads, List<Mutant<Schema>> mutants) {
+        assertEquals("The mutants kept should be those whose tables can all be created",
+                findValidByCreatingAllTables(dbms, mutants), findValidWithRemover(dbms, threads, mutants));
+    }
+
+    @Test
+    public void hyperSQLVerdictsMatchCreatingAllTables() {
+        List<Mutant<Schema>> mutants = createMutants(2);
+        List<Integer> valid = findValidByCreatingAllTables("HyperSQL", mutants);
+        assertTrue("The unchanged mutant should be kept", valid.contains(0));
+        assertFalse("The mutant with a CHECK on a missing column should be removed", valid.contains(2));
+        assertFalse("The mutant whose unchanged table refers to a column that is no longer a key should be removed",
+                valid.contains(3));
+        assertSameAsCreatingAllTables("HyperSQL", 1, mutants);
+    }
+
+    @Test
+    public void sqliteVerdictsMatchCreatingAllTables() {
+        List<Mutant<Schema>> mutants = createMutants(2);
+        List<Integer> valid = findValidByCreatingAllTables("SQLite", mutants);
+        assertTrue("The unchanged mutant should be kept", valid.contains(0));
+        assertFalse("The mutant with a reserved table name should be removed", valid.contains(8));
+        assertSameAsCreatingAllTables("SQLite", 1, mutants);
+    }
+
+    @Test
+    public void hyperSQLVerdictsMatchCreatingAllTablesOnSeveralThreads() {
+        assertSameAsCreatingAllTables("HyperSQL", 4, createMutants(10));
+    }
+
+    @Test
+    public void sqliteVerdictsMatchCreatingAllTablesOnSeveralThreads() {
+        assertSameAsCreatingAllTables("SQLite", 4, createMutants(10));
+    }
+
+    // most mutants have a table that cannot be created, and so does the
+    // base schema made from them
+    private List<Mutant<Schema>> createMutantsOfRejectedBaseSchema(String dbms) {
+        List<Mutant<Schema>> mutants = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            mutants.add(dbms.equals("SQLite") ? otherWithReservedName() : otherCheckOnMissingColumn());
+        }
+        mutants.add(unchanged());
+        mutants.add(otherNotNull());
+        mutants.add(parentWithoutPrimaryKey());
+        return mutants;
+    }
+
+    @Test
+    public void hyperSQLVerdictsMatchCreatingAllTablesForRejectedBaseSchema() {
+        List<Mutant<Schema>> mutants = createMutantsOfRejectedBaseSchema("HyperSQL");
+        assertSameAsCreatingAllTables("HyperSQL", 1, mutants);
+        assertSameAsCreatingAllTables("HyperSQL", 2, mutants);
+    }
+
+    @Test
+    public void sqliteVerdictsMatchCreatingAllTablesForRejectedBaseSchema() {
+        List<Mutant<Schema>> mutants = createMutantsOfRejectedBaseSchema("SQLite");
+        assertSameAsCreatingAllTables("SQLite", 1, mutants);
+        assertSameAsCreatingAllTables("SQLite", 2, mutants);
+    }
+
+    @Test(expected = SQLRepresentationException.class)
+    public void cycleOfTablesIsRejectedLikeCreatingAllTables() {
+        // neither approach can write the CREATE TABLE statements in order
+        List<Mutant<Schema>> mutants = createMutants(1);
+        mutants.add(parentInCycleWithChild());
+        new DBMSRemover("HyperSQL", 1).removeMutants(mutants);
+    }
+
+    @Test
+    public void noMutants() {
+        assertEquals(0, new DBMSRemover("SQLite", 2).removeMutants(new ArrayList<Mutant<Schema>>()).size());
+    }
+}
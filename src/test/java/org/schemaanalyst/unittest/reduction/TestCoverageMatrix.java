@@ -0,0 +1,244 @@
+package org.schemaanalyst.unittest.reduction;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.ValueFactory;
+import org.schemaanalyst.reduction.AdditionalGreedyReduction;
+import org.schemaanalyst.reduction.CoverageMatrix;
+import org.schemaanalyst.reduction.HGSReduction;
+import org.schemaanalyst.reduction.NaiveGreedyReduction;
+import org.schemaanalyst.reduction.RandomReduction;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.testgeneration.TestCase;
+import org.schemaanalyst.testgeneration.TestSuite;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirement;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementDescriptor;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementID;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirements;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.NullPredicate;
+
+public class TestCoverageMatrix {
+
+	Schema schema = new Schema("schema");
+	Table table1 = schema.createTable("table1");
+	Table table2 = schema.createTable("table2");
+
+	{
+		table1.createColumn("column", new IntDataType());
+		table2.createColumn("column", new IntDataType());
+	}
+
+	TestRequirement requirement(int number, Table table, boolean result) {
+		TestRequirementDescriptor descriptor = new TestRequirementDescriptor(new TestRequirementID(number, "R"), "R" + number);
+		return new TestRequirement(descriptor, new NullPredicate(table, table.getColumn("column"), true), result, false);
+	}
+
+	// covers requirements whose number is a multiple of its own requirement's number
+	CoverageMatrix.CoverageCheck multiples = new CoverageMatrix.CoverageCheck() {
+		@Override
+		public boolean covers(TestCase testCase, TestRequirement testRequirement) {
+			int own = testCase.getTestRequirement().getDescriptors().get(0).getID().getNumber();
+			int other = testRequirement.getDescriptors().get(0).getID().getNumber();
+			return other % own == 0;
+		}
+	};
+
+	@Test
+	public void testBitSets() {
+		long[] bits = CoverageMatrix.newBitSet(130);
+		assertEquals(3, bits.length);
+		CoverageMatrix.set(bits, 0);
+		CoverageMatrix.set(bits, 63);
+		CoverageMatrix.set(bits, 64);
+		CoverageMatrix.set(bits, 129);
+		assertTrue(CoverageMatrix.get(bits, 64));
+		assertFalse(CoverageMatrix.get(bits, 65));
+		assertEquals(4, CoverageMatrix.cardinality(bits));
+
+		assertEquals(0, CoverageMatrix.nextSetBit(bits, 0));
+		assertEquals(63, CoverageMatrix.nextSetBit(bits, 1));
+		assertEquals(64, CoverageMatrix.nextSetBit(bits, 64));
+		assertEquals(129, CoverageMatrix.nextSetBit(bits, 65));
+		assertEquals(-1, CoverageMatrix.nextSetBit(bits, 130));
+
+		long[] mask = CoverageMatrix.newBitSet(130);
+		CoverageMatrix.set(mask, 63);
+		CoverageMatrix.set(mask, 129);
+		assertEquals(2, CoverageMatrix.cardinalityAndNot(bits, mask));
+		assertTrue(CoverageMatrix.intersectsAndNot(bits, mask));
+		CoverageMatrix.or(mask, bits);
+		assertFalse(CoverageMatrix.intersectsAndNot(bits, mask));
+	}
+
+	@Test
+	public void testOnlySameTablesAndResultsChecked() {
+		List<TestRequirement> requirements = new ArrayList<>();
+		requirements.add(requirement(1, table1, false));
+		requirements.add(requirement(2, table1, false));
+		requirements.add(requirement(3, table2, false));
+		requirements.add(requirement(4, table1, true));
+
+		List<TestCase> testCases = new ArrayList<>();
+		testCases.add(new TestCase(requirements.get(0), new Data(), new Data()));
+		testCases.add(new TestCase(requirements.get(3), new Data(), new Data()));
+
+		CoverageMatrix matrix = new CoverageMatrix(testCases, requirements, multiples, 1);
+		assertEquals(2, matrix.getNumTestCases());
+		assertEquals(4, matrix.getNumTestRequirements());
+
+		// the first test case's check would pass for every requirement
+		assertTrue(matrix.covers(0, 0));
+		assertTrue(matrix.covers(0, 1));
+		assertFalse(matrix.covers(0, 2));
+		assertFalse(matrix.covers(0, 3));
+		assertTrue(matrix.covers(1, 3));
+		assertEquals(2, CoverageMatrix.cardinality(matrix.getRow(0)));
+		assertTrue(CoverageMatrix.get(matrix.getColumn(3), 1));
+
+		assertEquals(-1, matrix.indexOf(requirement(5, table1, false)));
+		assertEquals(2, matrix.indexOf(requirements.get(2)));
+		matrix.add(0, 2);
+		assertTrue(matrix.covers(0, 2));
+		assertTrue(CoverageMatrix.get(matrix.getColumn(2), 0));
+	}
+
+	@Test
+	public void testParallelMatchesSequential() {
+		List<TestRequirement> requirements = new ArrayList<>();
+		for (int i = 1; i <= 100; i++) {
+			requirements.add(requirement(i, table1, false));
+		}
+		List<TestCase> testCases = new ArrayList<>();
+		for (int i = 0; i < 100; i += 3) {
+			testCases.add(new TestCase(requirements.get(i), new Data(), new Data()));
+		}
+
+		CoverageMatrix sequential = new CoverageMatrix(testCases, requirements, multiples, 1);
+		CoverageMatrix parallel = new CoverageMatrix(testCases, requirements, multiples, 4);
+		for (int i = 0; i < testCases.size(); i++) {
+			assertArrayEquals(sequential.getRow(i), parallel.getRow(i));
+		}
+		for (int j = 0; j < requirements.size(); j++) {
+			assertArrayEquals(sequential.getColumn(j), parallel.getColumn(j));
+		}
+		// requirement 1 covers all the others
+		assertEquals(100, CoverageMatrix.cardinality(sequential.getRow(0)));
+	}
+
+	/*
+	 * 		r1	r2	r3	r4	r5	r6
+	 * t0	X	X	X
+	 * t1		X		X
+	 * t2				X	X
+	 * t3			X			X
+	 * t4	X				X
+	 * t5		X				X
+	 *
+	 * rK = columnK IS NULL, and each test case is for the first requirement
+	 * it covers, except t2 (r4) and t3 (r3). The test cases have no state, so
+	 * that the order of the hash maps of test cases the reductions use is the
+	 * same on every run. It is 5 0 1 4 2 3, rather than the suite's order.
+	 */
+	Schema reductionSchema;
+	Table reductionTable;
+	TestRequirements reductionRequirements;
+	List<TestCase> reductionTestCases;
+
+	TestSuite reductionTestSuite() {
+		reductionSchema = new Schema("schema");
+		reductionTable = reductionSchema.createTable("table");
+		reductionRequirements = new TestRequirements();
+		reductionTestCases = new ArrayList<>();
+		for (int k = 1; k <= 6; k++) {
+			reductionTable.createColumn("column" + k, new IntDataType());
+		}
+		List<TestRequirement> requirements = new ArrayList<>();
+		for (int k = 1; k <= 6; k++) {
+			TestRequirementDescriptor descriptor = new TestRequirementDescriptor(new TestRequirementID(k, "R"), "R" + k);
+			TestRequirement requirement = new TestRequirement(descriptor,
+					new NullPredicate(reductionTable, reductionTable.getColumn("column" + k), true), false, false);
+			requirements.add(requirement);
+			reductionRequirements.addTestRequirement(requirement);
+		}
+
+		int[][] nullColumns = {{1, 2, 3}, {2, 4}, {4, 5}, {3, 6}, {1, 5}, {2, 6}};
+		int[] ownRequirements = {1, 2, 4, 3, 5, 6};
+		TestSuite testSuite = new TestSuite();
+		for (int i = 0; i < nullColumns.length; i++) {
+			Data data = new Data();
+			Row row = data.addRow(reductionTable, new ValueFactory());
+			for (int k = 1; k <= 6; k++) {
+				row.getCell(reductionTable.getColumn("column" + k)).setValue(new NumericValue(k));
+			}
+			for (int k : nullColumns[i]) {
+				row.getCell(reductionTable.getColumn("column" + k)).setValue(null);
+			}
+			TestCase testCase = new TestCase(requirements.get(ownRequirements[i] - 1), data, null);
+			reductionTestCases.add(testCase);
+			testSuite.addTestCase(testCase);
+		}
+		return testSuite;
+	}
+
+	// the numbers of the test cases picked, in the order they were picked
+	List<Integer> picked(TestSuite reducedTestSuite) {
+		List<Integer> picked = new ArrayList<>();
+		for (TestCase testCase : reducedTestSuite.getTestCases()) {
+			for (int i = 0; i < reductionTestCases.size(); i++) {
+				if (reductionTestCases.get(i) == testCase) {
+					picked.add(i);
+				}
+			}
+		}
+		return picked;
+	}
+
+	@Test
+	public void testAdditionalGreedyPicksAsBefore() {
+		AdditionalGreedyReduction reduction = new AdditionalGreedyReduction(reductionTestSuite(),
+				reductionRequirements, reductionSchema, new ArrayList<TestRequirement>());
+		assertTrue(reduction.reduceTestSuite());
+		// t3 and t5 tie for r6, and t5 comes first in the hash map
+		assertEquals(Arrays.asList(0, 2, 5), picked(reduction.getReducedTestSuite()));
+	}
+
+	@Test
+	public void testSimpleGreedyPicksAsBefore() {
+		NaiveGreedyReduction reduction = new NaiveGreedyReduction(reductionTestSuite(),
+				reductionRequirements, reductionSchema, new ArrayList<TestRequirement>());
+		assertTrue(reduction.reduceTestSuite());
+		// t1 to t5 tie with two requirements each
+		assertEquals(Arrays.asList(0, 5, 1, 4), picked(reduction.getReducedTestSuite()));
+	}
+
+	@Test
+	public void testHGSPicksAsBefore() {
+		HGSReduction reduction = new HGSReduction(reductionTestSuite(),
+				reductionRequirements, reductionSchema, new ArrayList<TestRequirement>());
+		assertTrue(reduction.reduceTestSuite());
+		assertEquals(Arrays.asList(0, 5, 4, 1), picked(reduction.getReducedTestSuite()));
+	}
+
+	@Test
+	public void testRandomPicksAsBefore() {
+		RandomReduction reduction = new RandomReduction(reductionTestSuite(),
+				reductionRequirements, reductionSchema, new ArrayList<TestRequirement>());
+		assertTrue(reduction.reduceTestSuite(0));
+		assertEquals(Arrays.asList(5, 2, 0), picked(reduction.getReducedTestSuite()));
+
+		reduction = new RandomReduction(reductionTestSuite(),
+				reductionRequirements, reductionSchema, new ArrayList<TestRequirement>());
+		assertTrue(reduction.reduceTestSuite(1));
+		assertEquals(Arrays.asList(4, 2, 0, 5), picked(reduction.getReducedTestSuite()));
+	}
+}
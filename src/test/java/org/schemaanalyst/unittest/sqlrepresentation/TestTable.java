@@ -155,4 +155,23 @@ public class TestTable {
     			"The table's name should be changed as the new name is unique again in the duplicated schema",
     			"test1", dupTab1.getName());    	
     }    
+
+    @Test
+    public void testColumnOrdinals() {
+        Table t = new Table("table");
+        Column c1 = t.createColumn("column1", new IntDataType());
+        Column c2 = t.createColumn("column2", new IntDataType());
+        assertEquals("The first column should have ordinal 0", 0, t.getColumnOrdinal(c1));
+        assertEquals("The second column should have ordinal 1", 1, t.getColumnOrdinal(c2));
+
+        Column c3 = t.createColumn("column3", new IntDataType());
+        assertEquals(
+                "A column added later should have the next ordinal",
+                2, t.getColumnOrdinal(c3));
+        assertEquals("There should be 3 columns in the table", 3, t.getNumColumns());
+
+        assertEquals(
+                "An equal column that is not the table's own should have no ordinal",
+                -1, t.getColumnOrdinal(c1.duplicate()));
+    }
 }
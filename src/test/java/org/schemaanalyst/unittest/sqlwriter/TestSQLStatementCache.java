@@ -0,0 +1,83 @@
+package org.schemaanalyst.unittest.sqlwriter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.schemaanalyst.dbms.derby.DerbySQLWriter;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.sqlwriter.SQLStatementCache;
+import org.schemaanalyst.sqlwriter.SQLWriter;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestSQLStatementCache {
+
+    private Schema schema;
+    private Table table;
+    private Column column;
+
+    @Before
+    public void setup() {
+        schema = new Schema("s");
+        table = schema.createTable("t");
+        column = table.createColumn("a", new IntDataType());
+    }
+
+    @Test
+    public void testStatementsCached() {
+        SQLWriter sqlWriter = new SQLWriter();
+        SQLStatementCache cache = sqlWriter.getStatementCache();
+        List<String> first = sqlWriter.writeDeleteFromTableStatements(schema);
+        assertEquals(Arrays.asList("DELETE FROM \"t\""), first);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        first.add("changed by the caller");
+        assertEquals(Arrays.asList("DELETE FROM \"t\""), sqlWriter.writeDeleteFromTableStatements(schema));
+        assertEquals(1, cache.getHits());
+
+        String insert = sqlWriter.writeParameterisedInsertStatement(table);
+        assertEquals(insert, sqlWriter.writeParameterisedInsertStatement(table));
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testChangedSchemaRewritten() {
+        SQLWriter sqlWriter = new SQLWriter();
+        String create = sqlWriter.writeCreateTableStatements(schema).get(0);
+
+        schema.createPrimaryKeyConstraint(table, column);
+        String createWithPrimaryKey = sqlWriter.writeCreateTableStatements(schema).get(0);
+        assertEquals(create.replace("INT", "INT\tPRIMARY KEY"), createWithPrimaryKey);
+
+        table.createColumn("b", new IntDataType());
+        assertTrue(sqlWriter.writeCreateTableStatements(schema).get(0).contains("\"b\""));
+        assertTrue(sqlWriter.writeParameterisedInsertStatement(table).contains("\"b\""));
+        assertEquals(0, sqlWriter.getStatementCache().getHits());
+    }
+
+    @Test
+    public void testMutantWithSameNameNotShared() {
+        SQLWriter sqlWriter = new SQLWriter();
+        Schema mutant = schema.duplicate();
+        mutant.createTable("u");
+        assertEquals(1, sqlWriter.writeDropTableStatements(schema).size());
+        assertEquals(2, sqlWriter.writeDropTableStatements(mutant).size());
+        assertEquals(0, sqlWriter.getStatementCache().getHits());
+    }
+
+    @Test
+    public void testSubclassStatements() {
+        SQLWriter sqlWriter = new DerbySQLWriter();
+        assertEquals(Arrays.asList("DROP TABLE t"), sqlWriter.writeDropTableStatements(schema, true));
+        assertEquals(Arrays.asList("DROP TABLE t"), sqlWriter.writeDropTableStatements(schema, true));
+        assertEquals(1, sqlWriter.getStatementCache().getHits());
+    }
+}
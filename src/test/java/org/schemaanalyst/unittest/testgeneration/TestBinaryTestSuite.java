@@ -0,0 +1,196 @@
+package org.schemaanalyst.unittest.testgeneration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.schemaanalyst.data.BooleanValue;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.DateTimeValue;
+import org.schemaanalyst.data.DateValue;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.StringValue;
+import org.schemaanalyst.data.TimeValue;
+import org.schemaanalyst.data.TimestampValue;
+import org.schemaanalyst.data.ValueFactory;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.BooleanDataType;
+import org.schemaanalyst.sqlrepresentation.datatype.DateDataType;
+import org.schemaanalyst.sqlrepresentation.datatype.DateTimeDataType;
+import org.schemaanalyst.sqlrepresentation.datatype.DecimalDataType;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.sqlrepresentation.datatype.TimeDataType;
+import org.schemaanalyst.sqlrepresentation.datatype.TimestampDataType;
+import org.schemaanalyst.sqlrepresentation.datatype.VarCharDataType;
+import org.schemaanalyst.sqlwriter.SQLWriter;
+import org.schemaanalyst.testgeneration.BinaryTestSuiteReader;
+import org.schemaanalyst.testgeneration.BinaryTestSuiteWriter;
+import org.schemaanalyst.testgeneration.TestCase;
+import org.schemaanalyst.testgeneration.TestGenerationException;
+import org.schemaanalyst.testgeneration.TestSuite;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirement;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementDescriptor;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirementID;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestBinaryTestSuite {
+
+    private Schema schema;
+    private Table parent, child;
+    private Column id, name, amount, born, alarm, updated, created, active, parentId;
+    private ValueFactory valueFactory = new ValueFactory();
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        schema = new Schema("s");
+        parent = schema.createTable("parent");
+        id = parent.createColumn("id", new IntDataType());
+        name = parent.createColumn("name", new VarCharDataType(5));
+        amount = parent.createColumn("amount", new DecimalDataType(4, 2));
+        born = parent.createColumn("born", new DateDataType());
+        alarm = parent.createColumn("alarm", new TimeDataType());
+        updated = parent.createColumn("updated", new DateTimeDataType());
+        created = parent.createColumn("created", new TimestampDataType());
+        active = parent.createColumn("active", new BooleanDataType());
+        child = schema.createTable("child");
+        parentId = child.createColumn("parent_id", new IntDataType());
+
+        file = File.createTempFile("testsuite", ".bin");
+    }
+
+    @After
+    public void deleteFile() {
+        file.delete();
+    }
+
+    private Row parentRow(Data data, int idValue, String nameValue) {
+        Row row = data.addRow(parent, valueFactory);
+        ((NumericValue) row.getCell(id).getValue()).set(idValue);
+        ((StringValue) row.getCell(name).getValue()).set(nameValue);
+        return row;
+    }
+
+    private TestSuite createTestSuite() {
+        TestSuite testSuite = new TestSuite();
+
+        Data state = new Data();
+        Row stateRow = parentRow(state, 1, "abc");
+        stateRow.getCell(born).setValue(new DateValue(2014, 7, 24));
+        stateRow.getCell(alarm).setValue(new TimeValue(13, 30, 5));
+        stateRow.getCell(updated).setValue(new DateTimeValue(2015, 1, 28, 9, 15, 0));
+        stateRow.getCell(created).setValue(new TimestampValue(2016, 2, 29));
+        ((BooleanValue) stateRow.getCell(active).getValue()).set(true);
+        ((NumericValue) stateRow.getCell(amount).getValue()).set(new BigDecimal("12.34"));
+
+        Data data = new Data();
+        Row nullRow = parentRow(data, 2, "");
+        nullRow.getCell(name).setNull(true);
+        nullRow.getCell(born).setNull(true);
+        Row digitsRow = parentRow(data, -2147483648, "");
+        ((StringValue) digitsRow.getCell(name).getValue()).setWithNumber("a1 2");
+        Row childRow = data.addRow(child, valueFactory);
+        childRow.getCell(parentId).setValue(new NumericValue(1));
+
+        TestRequirement testRequirement = new TestRequirement(
+                new TestRequirementDescriptor(new TestRequirementID(3, "PK"), "parent PK is unique"),
+                null, false, true);
+        testRequirement.addDescriptor(new TestRequirementDescriptor(new TestRequirementID(1, "Check"), "parent check"));
+        TestCase testCase = new TestCase(testRequirement, data, state);
+        testCase.setDBMSResults(Arrays.asList(true, false, null));
+        testSuite.addTestCase(testCase);
+
+        testSuite.addTestCase(new TestCase(null, new Data(), new Data()));
+        testSuite.addGeneratedInserts(7);
+        return testSuite;
+    }
+
+    private List<String> inserts(Data data) {
+        return new SQLWriter().writeInsertStatements(schema, data);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        TestSuite original = createTestSuite();
+        new BinaryTestSuiteWriter(schema).write(original, file);
+        assertTrue(BinaryTestSuiteReader.isBinaryTestSuite(file));
+
+        TestSuite read = BinaryTestSuiteReader.read(file, schema, valueFactory);
+        assertEquals(2, read.getTestCases().size());
+        assertEquals(7, read.getGeneratedInserts());
+
+        TestCase originalTestCase = original.getTestCases().get(0);
+        TestCase readTestCase = read.getTestCases().get(0);
+        assertEquals(inserts(originalTestCase.getState()), inserts(readTestCase.getState()));
+        assertEquals(inserts(originalTestCase.getData()), inserts(readTestCase.getData()));
+        assertEquals(originalTestCase.getDBMSResults(), readTestCase.getDBMSResults());
+        assertEquals(originalTestCase.getTestRequirement().getDescriptors(),
+                readTestCase.getTestRequirement().getDescriptors());
+        assertEquals(false, readTestCase.getTestRequirement().getResult());
+        assertTrue(readTestCase.getTestRequirement().getRequiresComparisonRow());
+        assertNull("Predicates are not written", readTestCase.getTestRequirement().getPredicate());
+
+        Row digitsRow = readTestCase.getData().getRows(parent).get(1);
+        assertEquals("a1 2", ((StringValue) digitsRow.getCell(name).getValue()).get());
+        assertTrue("Rows are created for the schema's tables", digitsRow.getTable() == parent);
+
+        TestCase emptyTestCase = read.getTestCases().get(1);
+        assertNull(emptyTestCase.getTestRequirement());
+        assertEquals(0, emptyTestCase.getData().getNumRows());
+    }
+
+    @Test
+    public void testValuesOutsideColumnBounds() {
+        TestSuite testSuite = new TestSuite();
+        Data data = new Data();
+        Row row = data.addRow(parent, valueFactory);
+        row.getCell(id).setValue(new NumericValue("12345678901234567890"));
+        StringValue longString = new StringValue();
+        longString.setWithNumber("longer than five");
+        row.getCell(name).setValue(longString);
+        testSuite.addTestCase(new TestCase(null, data, new Data()));
+
+        new BinaryTestSuiteWriter(schema).write(testSuite, file);
+        Row read = BinaryTestSuiteReader.read(file, schema, valueFactory).getTestCases().get(0).getData().getRows(parent).get(0);
+        assertEquals(new BigDecimal("12345678901234567890"), ((NumericValue) read.getCell(id).getValue()).get());
+        assertEquals("longer than five", ((StringValue) read.getCell(name).getValue()).get());
+    }
+
+    @Test
+    public void testStreamingTestCases() {
+        TestSuite testSuite = createTestSuite();
+        new BinaryTestSuiteWriter(schema).write(testSuite, file);
+        try (BinaryTestSuiteReader reader = new BinaryTestSuiteReader(file, schema, valueFactory)) {
+            assertEquals(2, reader.getNumTestCases());
+            assertEquals(inserts(testSuite.getTestCases().get(0).getData()), inserts(reader.readTestCase(0).getData()));
+            int count = 0;
+            for (TestCase testCase : reader) {
+                count++;
+            }
+            assertEquals(2, count);
+        }
+    }
+
+    @Test(expected = TestGenerationException.class)
+    public void testOtherSchemaRejected() {
+        new BinaryTestSuiteWriter(schema).write(createTestSuite(), file);
+        BinaryTestSuiteReader.read(file, new Schema("other"), valueFactory);
+    }
+
+    @Test
+    public void testOtherFileNotBinaryTestSuite() {
+        assertFalse(BinaryTestSuiteReader.isBinaryTestSuite(file));
+    }
+}
@@ -3,14 +3,20 @@ package org.schemaanalyst.unittest.testgeneration;
 import org.junit.Test;
 import org.schemaanalyst.data.Data;
 import org.schemaanalyst.data.ValueFactory;
+import org.schemaanalyst.data.generation.DataGeneratorFactory;
+import org.schemaanalyst.dbms.sqlite.SQLiteDBMS;
 import org.schemaanalyst.sqlrepresentation.Column;
 import org.schemaanalyst.sqlrepresentation.Schema;
 import org.schemaanalyst.sqlrepresentation.Table;
 import org.schemaanalyst.sqlrepresentation.constraint.ForeignKeyConstraint;
 import org.schemaanalyst.sqlrepresentation.datatype.CharDataType;
+import org.schemaanalyst.testgeneration.TestCase;
 import org.schemaanalyst.testgeneration.TestSuiteGenerator;
+import org.schemaanalyst.testgeneration.coveragecriterion.CoverageCriterionFactory;
+import org.schemaanalyst.testgeneration.coveragecriterion.TestRequirements;
 import org.schemaanalyst.testgeneration.coveragecriterion.integrityconstraint.PredicateGenerator;
 import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
+import parsedcasestudy.BookTown;
 import parsedcasestudy.UnixUsage;
 
 import static org.junit.Assert.assertEquals;
@@ -110,4 +116,33 @@ public class TestTestSuiteGenerator {
         tsg.addLinkedTableRowsToData(data, predicate, t);
         System.out.println("DATA is " + data);
     }
+
+    private String generateInParallel(Schema schema, int threads) {
+        SQLiteDBMS dbms = new SQLiteDBMS();
+        TestRequirements testRequirements = CoverageCriterionFactory
+                .instantiateSchemaCriterion("ClauseAICC", schema, dbms).generateRequirements();
+        testRequirements.filterInfeasible();
+        testRequirements.reduce();
+
+        TestSuiteGenerator testSuiteGenerator = new TestSuiteGenerator(
+                schema,
+                testRequirements,
+                dbms.getValueFactory(),
+                DataGeneratorFactory.instantiate("avs", 0L, 10000, schema));
+        testSuiteGenerator.setParallel(DataGeneratorFactory.provider("avs", 10000, schema), 0L, threads);
+
+        StringBuilder sb = new StringBuilder();
+        for (TestCase testCase : testSuiteGenerator.generate().getTestCases()) {
+            sb.append(testCase.getState()).append(testCase.getData());
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testParallelGenerationIndependentOfThreads() {
+        Schema schema = new BookTown();
+        String oneThread = generateInParallel(schema, 1);
+        assertEquals("The test suite should be the same for any number of threads",
+                oneThread, generateInParallel(schema, 4));
+    }
 }
@@ -0,0 +1,92 @@
+package org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate;
+
+import org.junit.Test;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.AndPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.NullPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.OrPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.PredicateFactory;
+
+import static org.junit.Assert.*;
+
+public class TestPredicateFactory {
+
+    Table table = new Table("tab");
+    Column column1 = table.createColumn("column1", new IntDataType());
+    Column column2 = table.createColumn("column2", new IntDataType());
+
+    private AndPredicate andOf(Predicate... predicates) {
+        AndPredicate andPredicate = new AndPredicate();
+        for (Predicate predicate : predicates) {
+            andPredicate.addPredicate(predicate);
+        }
+        return andPredicate;
+    }
+
+    @Test
+    public void testNullPredicatesShared() {
+        NullPredicate nullPredicate = PredicateFactory.nullPredicate(table, column1, true);
+        assertSame(nullPredicate, PredicateFactory.nullPredicate(table, column1, true));
+        assertNotSame(nullPredicate, PredicateFactory.nullPredicate(table, column1, false));
+        assertEquals(new NullPredicate(table, column1, true), nullPredicate);
+    }
+
+    @Test
+    public void testNullPredicateForChangedTable() {
+        NullPredicate nullPredicate = PredicateFactory.nullPredicate(table, column1, true);
+        int hashCode = nullPredicate.hashCode();
+        table.createColumn("column3", new IntDataType());
+
+        NullPredicate changed = PredicateFactory.nullPredicate(table, column1, true);
+        assertNotSame(nullPredicate, changed);
+        assertEquals(new NullPredicate(table, column1, true).hashCode(), changed.hashCode());
+        assertNotEquals(hashCode, nullPredicate.hashCode());
+    }
+
+    @Test
+    public void testReducedPredicatesShared() {
+        NullPredicate nullPredicate1 = new NullPredicate(table, column1, true);
+        NullPredicate nullPredicate2 = new NullPredicate(table, column2, false);
+        Predicate reduced1 = andOf(nullPredicate1, andOf(nullPredicate2, nullPredicate1)).reduce();
+        Predicate reduced2 = andOf(nullPredicate1, andOf(nullPredicate2)).reduce();
+        assertSame(reduced1, reduced2);
+    }
+
+    @Test
+    public void testReducedPredicatesInDifferentOrderNotShared() {
+        NullPredicate nullPredicate1 = new NullPredicate(table, column1, true);
+        NullPredicate nullPredicate2 = new NullPredicate(table, column2, false);
+        OrPredicate orPredicate = new OrPredicate();
+        orPredicate.addPredicate(nullPredicate1);
+        Predicate reduced1 = andOf(nullPredicate1, nullPredicate2, orPredicate).reduce();
+        Predicate reduced2 = andOf(nullPredicate2, nullPredicate1, orPredicate).reduce();
+        assertEquals(reduced1, reduced2);
+        assertNotSame(reduced1, reduced2);
+        assertEquals(reduced2.toString(), andOf(nullPredicate2, nullPredicate1).toString());
+    }
+
+    @Test
+    public void testMemoisedValuesFollowChanges() {
+        NullPredicate nullPredicate = new NullPredicate(table, column1, true);
+        NullPredicate notNullPredicate = new NullPredicate(table, column1, false);
+        OrPredicate orPredicate = new OrPredicate();
+        orPredicate.addPredicate(nullPredicate);
+        AndPredicate andPredicate = andOf(new NullPredicate(table, column2, true), orPredicate);
+
+        int hashCode = andPredicate.hashCode();
+        Predicate reduced = andPredicate.reduce();
+        assertSame(reduced, andPredicate.reduce());
+        assertFalse(andPredicate.isTriviallyInfeasible());
+
+        // changing a nested predicate changes the outer one
+        andPredicate.addPredicate(notNullPredicate);
+        assertNotEquals(reduced, andPredicate.reduce());
+        assertTrue(andPredicate.isTriviallyInfeasible());
+        orPredicate.addPredicate(new NullPredicate(table, column2, false));
+        assertNotEquals(hashCode, andPredicate.hashCode());
+        assertEquals(3, ((AndPredicate) andPredicate.reduce()).numSubPredicates());
+    }
+}
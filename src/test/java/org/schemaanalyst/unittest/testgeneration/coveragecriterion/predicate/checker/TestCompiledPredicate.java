@@ -0,0 +1,176 @@
+package org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.checker;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.schemaanalyst.data.Cell;
+import org.schemaanalyst.data.Data;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.StringValue;
+import org.schemaanalyst.data.ValueFactory;
+import org.schemaanalyst.logic.RelationalOperator;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Schema;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.sqlrepresentation.datatype.VarCharDataType;
+import org.schemaanalyst.sqlrepresentation.expression.ColumnExpression;
+import org.schemaanalyst.sqlrepresentation.expression.ConstantExpression;
+import org.schemaanalyst.sqlrepresentation.expression.RelationalExpression;
+import org.schemaanalyst.testgeneration.coveragecriterion.integrityconstraint.PredicateGenerator;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.Predicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.CompiledPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.IndexedState;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.PredicateCheckerFactory;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestCompiledPredicate {
+
+    private Schema schema;
+    private Table parent, child;
+    private Column parentId, parentCode, childId, childParentId, childManager;
+    private IndexedState state;
+    private Data stateData;
+
+    @Before
+    public void createSchema() {
+        schema = new Schema("s");
+
+        parent = schema.createTable("parent");
+        parentId = parent.createColumn("id", new IntDataType());
+        parentCode = parent.createColumn("code", new VarCharDataType(10));
+        schema.createPrimaryKeyConstraint(parent, parentId);
+        schema.createUniqueConstraint(parent, parentCode);
+
+        child = schema.createTable("child");
+        childId = child.createColumn("id", new IntDataType());
+        childParentId = child.createColumn("parent_id", new IntDataType());
+        childManager = child.createColumn("manager", new IntDataType());
+        schema.createPrimaryKeyConstraint(child, childId);
+        schema.createForeignKeyConstraint(child, childParentId, parent, parentId);
+        schema.createForeignKeyConstraint(child, childManager, child, childId);
+        schema.createCheckConstraint(child, new RelationalExpression(
+                new ColumnExpression(child, childId),
+                RelationalOperator.GREATER,
+                new ConstantExpression(new NumericValue(0))));
+
+        state = new IndexedState();
+        stateData = new Data();
+    }
+
+    private Row parentRow(Integer id, String code) {
+        Row row = new Row(parent, new ValueFactory());
+        setValue(row.getCell(parentId), id);
+        row.getCell(parentCode).setValue(code == null ? null : new StringValue(code));
+        return row;
+    }
+
+    private Row childRow(Integer id, Integer parentId, Integer manager) {
+        Row row = new Row(child, new ValueFactory());
+        setValue(row.getCell(childId), id);
+        setValue(row.getCell(childParentId), parentId);
+        setValue(row.getCell(childManager), manager);
+        return row;
+    }
+
+    private void setValue(Cell cell, Integer value) {
+        cell.setValue(value == null ? null : new NumericValue(value));
+    }
+
+    private CompiledPredicate compile(Table table) {
+        Predicate predicate = PredicateGenerator.generatePredicate(schema.getConstraints(table));
+        return CompiledPredicate.compile(predicate, table, true);
+    }
+
+    // inserts the row into the running state if it is accepted, after
+    // checking that the compiled predicate agrees with the predicate checker
+    private boolean insert(CompiledPredicate compiledPredicate, Row row) {
+        Table table = compiledPredicate.getTable();
+        Data data = new Data();
+        data.addRow(table, row);
+        Predicate predicate = PredicateGenerator.generatePredicate(schema.getConstraints(table));
+        boolean expected = PredicateCheckerFactory.instantiate(predicate, true, data, stateData).check();
+
+        boolean result = compiledPredicate.check(row, state);
+        assertEquals("Compiled predicate should agree with the predicate checker for " + row, expected, result);
+
+        if (result) {
+            state.addRow(table, row);
+            stateData.addRow(table, row);
+        }
+        return result;
+    }
+
+    @Test
+    public void testPrimaryKeyAndUnique() {
+        CompiledPredicate compiledPredicate = compile(parent);
+
+        assertTrue(insert(compiledPredicate, parentRow(1, "a")));
+        assertFalse("Duplicate primary key", insert(compiledPredicate, parentRow(1, "b")));
+        assertFalse("Duplicate unique value", insert(compiledPredicate, parentRow(2, "a")));
+        assertFalse("NULL primary key", insert(compiledPredicate, parentRow(null, "c")));
+        assertTrue("NULL unique value", insert(compiledPredicate, parentRow(2, null)));
+        assertTrue("Second NULL unique value", insert(compiledPredicate, parentRow(3, null)));
+        assertTrue(insert(compiledPredicate, parentRow(4, "ab")));
+    }
+
+    @Test
+    public void testForeignKeys() {
+        CompiledPredicate parentPredicate = compile(parent);
+        CompiledPredicate childPredicate = compile(child);
+
+        assertTrue(insert(parentPredicate, parentRow(1, "a")));
+        assertFalse("Reference to a missing parent", insert(childPredicate, childRow(1, 2, null)));
+        assertTrue(insert(childPredicate, childRow(1, 1, null)));
+        assertTrue("NULL foreign key", insert(childPredicate, childRow(2, null, null)));
+        assertTrue("Reference to an existing row of the same table", insert(childPredicate, childRow(3, 1, 1)));
+        assertTrue("Reference to the row itself", insert(childPredicate, childRow(4, 1, 4)));
+        assertFalse("Reference to a missing row of the same table", insert(childPredicate, childRow(5, 1, 9)));
+        assertFalse("Failed check constraint", insert(childPredicate, childRow(-1, 1, null)));
+    }
+
+    @Test
+    public void testManyRows() {
+        CompiledPredicate parentPredicate = compile(parent);
+        CompiledPredicate childPredicate = compile(child);
+
+        for (int i = 1; i <= 20; i++) {
+            assertTrue(insert(parentPredicate, parentRow(i, i % 2 == 0 ? null : "c" + i)));
+        }
+        // insert checks the results agree with the predicate checker
+        insert(parentPredicate, parentRow(10, "x"));
+        insert(parentPredicate, parentRow(21, "c11"));
+        insert(parentPredicate, parentRow(22, null));
+
+        for (int i = 1; i <= 20; i++) {
+            assertTrue(insert(childPredicate, childRow(i, i, i > 1 ? i - 1 : null)));
+        }
+        assertFalse("Reference to a missing parent among many rows", insert(childPredicate, childRow(21, 99, 1)));
+        assertFalse("Reference to a missing row of the same table among many rows",
+                insert(childPredicate, childRow(21, 1, 99)));
+    }
+
+    @Test
+    public void testColumnOrderIndependent() {
+        CompiledPredicate compiledPredicate = compile(parent);
+        insert(compiledPredicate, parentRow(1, "a"));
+
+        List<Cell> cells = parentRow(2, "a").getCells();
+        Collections.reverse(cells);
+        assertFalse("Duplicate unique value in a row with reordered cells",
+                insert(compiledPredicate, new Row(parent, cells)));
+    }
+
+    @Test
+    public void testOtherTableNotSatisfied() {
+        CompiledPredicate compiledPredicate = CompiledPredicate.compile(
+                PredicateGenerator.generatePredicate(schema.getConstraints(child)), parent, true);
+        assertFalse(compiledPredicate.check(parentRow(1, "a"), state));
+    }
+}
@@ -0,0 +1,103 @@
+package org.schemaanalyst.unittest.testgeneration.coveragecriterion.predicate.checker;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.schemaanalyst.data.NumericValue;
+import org.schemaanalyst.data.Row;
+import org.schemaanalyst.data.StringValue;
+import org.schemaanalyst.data.Value;
+import org.schemaanalyst.data.ValueFactory;
+import org.schemaanalyst.sqlrepresentation.Column;
+import org.schemaanalyst.sqlrepresentation.Table;
+import org.schemaanalyst.sqlrepresentation.datatype.IntDataType;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.MatchPredicate;
+import org.schemaanalyst.testgeneration.coveragecriterion.predicate.checker.MatchIndex;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestMatchIndex {
+
+    private Table table;
+    private Column a, b;
+    private List<Column> columns;
+    private MatchIndex index;
+
+    @Before
+    public void createTable() {
+        table = new Table("t");
+        a = table.createColumn("a", new IntDataType());
+        b = table.createColumn("b", new IntDataType());
+        columns = Arrays.asList(a, b);
+        index = new MatchIndex(columns);
+    }
+
+    private Row row(Value aValue, Value bValue) {
+        Row row = new Row(table, new ValueFactory());
+        row.getCell(a).setValue(aValue);
+        row.getCell(b).setValue(bValue);
+        return row;
+    }
+
+    private Row row(Integer aValue, Integer bValue) {
+        return row(aValue == null ? null : new NumericValue(aValue),
+                   bValue == null ? null : new NumericValue(bValue));
+    }
+
+    @Test
+    public void testIsIndexable() {
+        List<Column> none = MatchPredicate.EMPTY_COLUMN_LIST;
+        assertTrue(MatchIndex.isIndexable(new MatchPredicate(table, columns, none, MatchPredicate.Mode.AND), true));
+        assertTrue(MatchIndex.isIndexable(new MatchPredicate(table, none, columns, MatchPredicate.Mode.OR), true));
+        assertTrue(MatchIndex.isIndexable(new MatchPredicate(table, Arrays.asList(a), none, MatchPredicate.Mode.OR), true));
+        assertFalse(MatchIndex.isIndexable(new MatchPredicate(table, columns, none, MatchPredicate.Mode.OR), true));
+        assertFalse(MatchIndex.isIndexable(new MatchPredicate(table, none, columns, MatchPredicate.Mode.AND), true));
+        assertFalse(MatchIndex.isIndexable(new MatchPredicate(table, Arrays.asList(a), Arrays.asList(b), MatchPredicate.Mode.AND), true));
+        assertFalse(MatchIndex.isIndexable(new MatchPredicate(table, columns, none, MatchPredicate.Mode.AND), false));
+    }
+
+    @Test
+    public void testMatch() {
+        assertFalse("No compare rows", index.hasCompliantRow(row(1, 2), columns, true));
+
+        index.add(row(1, 2));
+        index.add(row(1, 3));
+        assertEquals(2, index.getNumRows());
+        assertTrue(index.hasCompliantRow(row(1, 2), columns, true));
+        assertFalse(index.hasCompliantRow(row(2, 1), columns, true));
+        assertNull("NULL in the row", index.hasCompliantRow(row(1, null), columns, true));
+
+        index.add(row(null, 4));
+        assertTrue(index.hasCompliantRow(row(1, 3), columns, true));
+        assertNull("NULL in a compare row", index.hasCompliantRow(row(5, 4), columns, true));
+    }
+
+    @Test
+    public void testNonMatch() {
+        index.add(row(1, 2));
+        assertFalse("Only compare row is the same", index.hasCompliantRow(row(1, 2), columns, false));
+        assertTrue(index.hasCompliantRow(row(1, 3), columns, false));
+        assertTrue("NULL in the row", index.hasCompliantRow(row(1, null), columns, false));
+
+        index.add(row(1, 2));
+        assertFalse("Every compare row is the same", index.hasCompliantRow(row(1, 2), columns, false));
+
+        index.add(row(null, 2));
+        assertTrue("NULL in a compare row", index.hasCompliantRow(row(1, 2), columns, false));
+    }
+
+    @Test
+    public void testValuesOfDifferentTypes() {
+        index.add(row(1, 2));
+        assertNull("Row with values of another type",
+                index.hasCompliantRow(row(new StringValue("1"), new NumericValue(2)), columns, true));
+
+        index.add(row(new StringValue("1"), new NumericValue(2)));
+        assertNull("Compare rows with values of different types", index.hasCompliantRow(row(1, 2), columns, true));
+    }
+}
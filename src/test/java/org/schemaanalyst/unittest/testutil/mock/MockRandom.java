@@ -60,4 +60,9 @@ public class MockRandom extends Random {
     public long nextLong() {
         return (long) nextInt();
     }
+
+    @Override
+    public MockRandom split() {
+        return new MockRandom(nextInts);
+    }
 }
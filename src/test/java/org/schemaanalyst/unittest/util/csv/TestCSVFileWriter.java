@@ -0,0 +1,182 @@
+package org.schemaanalyst.unittest.util.csv;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.schemaanalyst.util.csv.CSVFileWriter;
+import org.schemaanalyst.util.csv.CSVResult;
+import org.schemaanalyst.util.csv.CSVSink;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestCSVFileWriter {
+
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("results", ".dat");
+        file.delete();
+    }
+
+    @After
+    public void deleteFile() {
+        CSVSink.flushAll();
+        file.delete();
+    }
+
+    private CSVResult result(int i) {
+        return new CSVResult().addValue("number", i).addValue("square", i * i);
+    }
+
+    private List<String> lines() throws IOException {
+        return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testHeaderAndOrder() throws IOException {
+        CSVFileWriter writer = new CSVFileWriter(file.getPath());
+        for (int i = 0; i < 5000; i++) {
+            writer.write(result(i));
+        }
+        writer.flush();
+
+        List<String> lines = lines();
+        assertEquals(5001, lines.size());
+        assertEquals("number,square", lines.get(0));
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i + "," + (i * i), lines.get(i + 1));
+        }
+    }
+
+    @Test
+    public void testWritersOfSameFileShareHeader() throws IOException {
+        new CSVFileWriter(file.getPath(), ";").write(result(1));
+        CSVFileWriter writer = new CSVFileWriter(file.getPath(), ";");
+        writer.write(result(2));
+        writer.flush();
+
+        List<String> lines = lines();
+        assertEquals(3, lines.size());
+        assertEquals("number;square", lines.get(0));
+        assertEquals("1;1", lines.get(1));
+        assertEquals("2;4", lines.get(2));
+    }
+
+    @Test
+    public void testResultChangedAfterWrite() throws IOException {
+        CSVFileWriter writer = new CSVFileWriter(file.getPath());
+        CSVResult result = result(3);
+        writer.write(result);
+        result.addValue("square", 0);
+        writer.flush();
+
+        assertEquals("3,9", lines().get(1));
+    }
+
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        final String path = file.getPath();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t * 1000;
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    CSVFileWriter writer = new CSVFileWriter(path);
+                    for (int i = offset; i < offset + 1000; i++) {
+                        writer.write(result(i));
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        CSVSink.flushAll();
+
+        List<String> lines = lines();
+        assertEquals(4001, lines.size());
+        assertEquals("number,square", lines.get(0));
+        // each thread's rows are in the order it wrote them
+        int[] last = {-1, -1, -1, -1};
+        for (String line : lines.subList(1, lines.size())) {
+            int i = Integer.parseInt(line.split(",")[0]);
+            int t = i / 1000;
+            assertTrue(i > last[t]);
+            last[t] = i;
+        }
+    }
+
+    private boolean isSinkThreadRunning(String path) {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("CSVSink file:" + new File(path).getAbsolutePath() + ":")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testFlushAllStopsThreadUntilMoreResults() throws IOException {
+        CSVFileWriter writer = new CSVFileWriter(file.getPath());
+        writer.write(result(1));
+        assertTrue(isSinkThreadRunning(file.getPath()));
+        CSVSink.flushAll();
+        assertFalse(isSinkThreadRunning(file.getPath()));
+
+        writer.write(result(2));
+        writer.flush();
+        assertTrue(isSinkThreadRunning(file.getPath()));
+        CSVSink.flushAll();
+        assertFalse(isSinkThreadRunning(file.getPath()));
+
+        List<String> lines = lines();
+        assertEquals(3, lines.size());
+        assertEquals("1,1", lines.get(1));
+        assertEquals("2,4", lines.get(2));
+    }
+
+    @Test
+    public void testFailureReportedByFlush() throws IOException {
+        // the file cannot be written, as its parent directory is a file
+        file.createNewFile();
+        CSVFileWriter writer = new CSVFileWriter(new File(file, "results.dat").getPath());
+        writer.write(result(1));
+        try {
+            writer.flush();
+            fail("The failure to write the result should be reported");
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        // the failure is only reported once
+        writer.flush();
+    }
+
+    @Test
+    public void testFailureReportedByFlushAll() throws IOException {
+        file.createNewFile();
+        CSVFileWriter failing = new CSVFileWriter(new File(file, "results.dat").getPath());
+        failing.write(result(1));
+        try {
+            CSVSink.flushAll();
+            fail("The failure to write the result should be reported");
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertFalse(isSinkThreadRunning(new File(file, "results.dat").getPath()));
+    }
+}
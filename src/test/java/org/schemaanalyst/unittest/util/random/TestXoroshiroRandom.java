@@ -0,0 +1,70 @@
+package org.schemaanalyst.unittest.util.random;
+
+import org.junit.Test;
+import org.schemaanalyst.data.generation.DataGeneratorFactory;
+import org.schemaanalyst.util.random.Random;
+import org.schemaanalyst.util.random.RandomFactory;
+import org.schemaanalyst.util.random.SimpleRandom;
+import org.schemaanalyst.util.random.XoroshiroRandom;
+
+import static org.junit.Assert.*;
+
+public class TestXoroshiroRandom {
+
+    @Test
+    public void testSameSeedGivesSameNumbers() {
+        Random random1 = new XoroshiroRandom(42);
+        Random random2 = new XoroshiroRandom(42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(random1.nextLong(), random2.nextLong());
+        }
+        assertEquals(42, random1.getSeed());
+        assertNotEquals(new XoroshiroRandom(42).nextLong(), new XoroshiroRandom(43).nextLong());
+    }
+
+    @Test
+    public void testNumbersInRange() {
+        Random random = new XoroshiroRandom(0);
+        int[] counts = new int[3];
+        for (int i = 0; i < 3000; i++) {
+            counts[random.nextInt(3)]++;
+            double d = random.nextDouble();
+            assertTrue(d >= 0 && d < 1);
+        }
+        for (int count : counts) {
+            assertTrue("Each of 0, 1 and 2 should be about as likely, not " + count, count > 800 && count < 1200);
+        }
+        assertEquals(0, random.nextInt(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveCeiling() {
+        new XoroshiroRandom(0).nextInt(0);
+    }
+
+    @Test
+    public void testSplitIsReproducibleAndIndependent() {
+        XoroshiroRandom random1 = new XoroshiroRandom(7);
+        XoroshiroRandom random2 = new XoroshiroRandom(7);
+        Random split1 = random1.split();
+        Random split2 = random2.split();
+        assertEquals(split1.nextLong(), split2.nextLong());
+
+        // the parent carries on differently from the generator split off
+        Random parent = new XoroshiroRandom(7);
+        Random child = parent.split();
+        assertNotEquals(parent.nextLong(), child.nextLong());
+    }
+
+    @Test
+    public void testFactory() {
+        assertTrue(RandomFactory.instantiate("simple", 0) instanceof SimpleRandom);
+        assertTrue(RandomFactory.instantiate("xoroshiro", 0) instanceof XoroshiroRandom);
+        assertEquals(new XoroshiroRandom(3).nextLong(), RandomFactory.instantiate("xoroshiro", 3).nextLong());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testUnknownRandomNumberGenerator() {
+        DataGeneratorFactory.instantiate("avsDefaults", 0, 100, null, "unknown");
+    }
+}